@@ -86,6 +86,7 @@ public class JettyHttpServer {
 
         context.setEventListeners(new EventListener[]{new EverrestInitializedListener()});
         ServletHolder servletHolder = new ServletHolder(new EverrestServlet());
+        servletHolder.setAsyncSupported(true);
 
         context.addServlet(servletHolder, UNSECURE_PATH_SPEC);
         context.addServlet(servletHolder, SECURE_PATH_SPEC);
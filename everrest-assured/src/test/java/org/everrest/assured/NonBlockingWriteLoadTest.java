@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.assured;
+
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.everrest.core.ProviderBinder;
+import org.everrest.core.ResourceBinder;
+import org.everrest.core.impl.ApplicationPublisher;
+import org.everrest.core.servlet.EverrestInitializedListener;
+import org.everrest.core.servlet.EverrestServlet;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Application;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EventListener;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.everrest.core.impl.ServerConfigurationProperties.EVERREST_MAX_BUFFER_SIZE;
+import static org.everrest.core.impl.ServerConfigurationProperties.EVERREST_NON_BLOCKING_WRITE;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Downloads large entity with several clients that read response slowly and compares average number of busy container
+ * threads when entities are written in blocking and in non-blocking mode. In non-blocking mode container threads are
+ * busy only while chunks of entity are handed off to connection, so average is used rather than peak number.
+ */
+public class NonBlockingWriteLoadTest {
+    private static final int ENTITY_SIZE   = 16 * 1024 * 1024;
+    private static final int CLIENTS       = 8;
+    private static final int READ_CHUNK    = 16 * 1024;
+    private static final int READ_DELAY_MS = 1;
+
+    @Path("download")
+    public static class DownloadService {
+        private static final byte[] ENTITY = new byte[ENTITY_SIZE];
+
+        @GET
+        @Produces("application/octet-stream")
+        public byte[] download() {
+            return ENTITY;
+        }
+    }
+
+    private Server server;
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void nonBlockingWriteReleasesContainerThreadsWhileSlowClientsReadEntity() throws Exception {
+        double blockingBusyThreads = measureBusyThreadsWithSlowClients(false);
+        server.stop();
+        double nonBlockingBusyThreads = measureBusyThreadsWithSlowClients(true);
+
+        assertTrue(blockingBusyThreads >= CLIENTS / 2, String.format("Busy threads with blocking write: %.2f", blockingBusyThreads));
+        assertTrue(nonBlockingBusyThreads < blockingBusyThreads / 2,
+                   String.format("Busy threads with blocking write: %.2f, with non-blocking write: %.2f", blockingBusyThreads, nonBlockingBusyThreads));
+    }
+
+    private double measureBusyThreadsWithSlowClients(boolean nonBlockingWrite) throws Exception {
+        QueuedThreadPool threadPool = new QueuedThreadPool(CLIENTS * 2 + 8);
+        server = new Server(threadPool);
+        ServerConnector connector = new ServerConnector(server);
+        server.addConnector(connector);
+        ServletContextHandler context = new ServletContextHandler(server, "/");
+        context.setInitParameter(EVERREST_NON_BLOCKING_WRITE, Boolean.toString(nonBlockingWrite));
+        // Whole entity is buffered, so container thread is released as soon as entity is handed off to WriteListener
+        context.setInitParameter(EVERREST_MAX_BUFFER_SIZE, Integer.toString(ENTITY_SIZE));
+        context.setEventListeners(new EventListener[]{new EverrestInitializedListener()});
+        ServletHolder servletHolder = new ServletHolder(new EverrestServlet());
+        servletHolder.setAsyncSupported(true);
+        context.addServlet(servletHolder, "/*");
+        server.start();
+        publishDownloadService(context);
+
+        // Acceptor and selector threads of connector are busy all the time
+        int idleBusyThreads = connector.getAcceptors() + connector.getSelectorManager().getSelectorCount();
+        ExecutorService clients = newFixedThreadPool(CLIENTS);
+        try {
+            List<Future<Long>> downloads = new ArrayList<>(CLIENTS);
+            for (int i = 0; i < CLIENTS; i++) {
+                downloads.add(clients.submit(() -> downloadSlowly(connector.getLocalPort())));
+            }
+            long busyThreads = 0;
+            long samples = 0;
+            while (!downloads.stream().allMatch(Future::isDone)) {
+                busyThreads += threadPool.getBusyThreads() - idleBusyThreads;
+                samples++;
+                MILLISECONDS.sleep(READ_DELAY_MS);
+            }
+            for (Future<Long> download : downloads) {
+                assertEquals(download.get().longValue(), ENTITY_SIZE);
+            }
+            return (double)busyThreads / samples;
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private void publishDownloadService(ServletContextHandler context) {
+        ResourceBinder resources = (ResourceBinder)context.getServletContext().getAttribute(ResourceBinder.class.getName());
+        ProviderBinder providers = (ProviderBinder)context.getServletContext().getAttribute(ProviderBinder.class.getName());
+        new ApplicationPublisher(resources, providers).publish(new Application() {
+            @Override
+            public Set<Class<?>> getClasses() {
+                return Collections.singleton(DownloadService.class);
+            }
+        });
+    }
+
+    /** Reads response with small receive buffer and pauses between reads, returns number of bytes of entity. */
+    private long downloadSlowly(int port) throws Exception {
+        try (Socket socket = new Socket()) {
+            socket.setReceiveBufferSize(READ_CHUNK);
+            socket.connect(new InetSocketAddress("localhost", port));
+            socket.setSoTimeout(30000);
+            OutputStream request = socket.getOutputStream();
+            request.write("GET /download HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n".getBytes(US_ASCII));
+            request.flush();
+
+            InputStream response = socket.getInputStream();
+            byte[] buffer = new byte[READ_CHUNK];
+            long received = 0;
+            int headersEnd = -1;
+            StringBuilder headers = new StringBuilder();
+            int n;
+            while ((n = response.read(buffer)) != -1) {
+                if (headersEnd < 0) {
+                    headers.append(new String(buffer, 0, n, US_ASCII));
+                    headersEnd = headers.indexOf("\r\n\r\n");
+                    if (headersEnd >= 0) {
+                        received = headers.length() - headersEnd - 4;
+                    }
+                } else {
+                    received += n;
+                }
+                MILLISECONDS.sleep(READ_DELAY_MS);
+            }
+            return received;
+        }
+    }
+}
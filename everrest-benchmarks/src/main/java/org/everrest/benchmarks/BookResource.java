@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.benchmarks;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
+import static javax.ws.rs.core.MediaType.TEXT_PLAIN;
+
+/** Resource that is used in benchmarks of request processing. */
+@Path("books")
+public class BookResource {
+    @GET
+    @Path("{id}")
+    @Produces(TEXT_PLAIN)
+    public String getTitle(@PathParam("id") String id, @QueryParam("lang") String lang) {
+        return id + ':' + lang;
+    }
+
+    @GET
+    @Path("{id}/details")
+    @Produces(APPLICATION_JSON)
+    public Book getBook(@PathParam("id") String id) {
+        return new Book(id, "Jules Verne", 305, 9.99, true);
+    }
+
+    @POST
+    @Consumes(APPLICATION_JSON)
+    @Produces(APPLICATION_JSON)
+    public Book addBook(Book book) {
+        return book;
+    }
+}
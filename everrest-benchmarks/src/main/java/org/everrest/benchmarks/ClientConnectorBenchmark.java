@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.benchmarks;
+
+import org.everrest.assured.JettyHttpServer;
+import org.everrest.core.impl.client.EverrestClientBuilder;
+import org.everrest.core.impl.client.InvocationBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.Response;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Requests of everrest client to {@link BookResource} deployed on local Jetty server. Parameter {@code connector} sets
+ * class of {@link org.everrest.core.impl.client.ClientConnector}. Connector based on {@code java.net.http.HttpClient}
+ * exists only in build with JDK 11 or higher, with JDK 8 run benchmark with
+ * {@code -p connector=org.everrest.core.impl.client.HttpURLConnectionConnector}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class ClientConnectorBenchmark {
+    private static final int FAN_OUT = 16;
+
+    @Param({"org.everrest.core.impl.client.HttpURLConnectionConnector", "org.everrest.httpclient.HttpClientConnector"})
+    private String connector;
+
+    private JettyHttpServer server;
+    private Client          client;
+    private WebTarget       books;
+    private Book            book;
+
+    @Setup
+    public void setUp() throws Exception {
+        server = new JettyHttpServer();
+        server.start();
+        server.publish(new Application() {
+            @Override
+            public Set<Class<?>> getClasses() {
+                return Collections.singleton(BookResource.class);
+            }
+        });
+        client = new EverrestClientBuilder().property(EverrestClientBuilder.CLIENT_CONNECTOR, connector).build();
+        books = client.target(String.format("http://localhost:%d%s/books", server.getPort(), JettyHttpServer.UNSECURE_REST));
+        book = new Book("Around the World in Eighty Days", "Jules Verne", 305, 9.99, true);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        client.close();
+        server.stop();
+    }
+
+    @Benchmark
+    public String getText() {
+        return books.path("1").queryParam("lang", "en").request().get(String.class);
+    }
+
+    @Benchmark
+    public Book postJson() {
+        return books.request().post(Entity.json(book), Book.class);
+    }
+
+    /** Sends {@code FAN_OUT} requests with reactive invoker and waits for all responses. */
+    @Benchmark
+    @OperationsPerInvocation(FAN_OUT)
+    public void getTextFanOut(Blackhole blackhole) {
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[FAN_OUT];
+        for (int i = 0; i < FAN_OUT; i++) {
+            InvocationBuilder request = (InvocationBuilder) books.path("1").queryParam("lang", "en").request();
+            responses[i] = request.rx().get(String.class).thenAccept(blackhole::consume).toCompletableFuture();
+        }
+        CompletableFuture.allOf(responses).join();
+    }
+
+    @Benchmark
+    public int getStatusWithoutReadingEntity() {
+        Response response = books.path("1").request().get();
+        response.close();
+        return response.getStatus();
+    }
+}
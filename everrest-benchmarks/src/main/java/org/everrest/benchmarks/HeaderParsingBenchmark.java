@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.benchmarks;
+
+import org.everrest.core.impl.header.AcceptLanguage;
+import org.everrest.core.impl.header.AcceptMediaType;
+import org.everrest.core.impl.header.HeaderHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.ws.rs.core.Cookie;
+import javax.ws.rs.core.MediaType;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of HTTP headers with {@link HeaderHelper} and of media types with {@link MediaType#valueOf(String)}. Parsed
+ * 'Accept', 'Accept-Language' and 'Content-Type' headers are cached, parameter {@code distinctHeaders} sets number of
+ * different values of these headers, values are used in turn. When it exceeds size of caches most of lookups miss and
+ * benchmark shows cost of parsing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HeaderParsingBenchmark {
+    @Param({"1", "10000"})
+    private int distinctHeaders;
+
+    private String[] accept;
+    private String[] acceptLanguage;
+    private String[] contentType;
+    private String   cookie;
+    private String   date;
+    private int      next;
+
+    @Setup
+    public void setUp() {
+        accept = new String[distinctHeaders];
+        acceptLanguage = new String[distinctHeaders];
+        contentType = new String[distinctHeaders];
+        for (int i = 0; i < distinctHeaders; i++) {
+            // Header values differ only by value of parameter, so cost of parsing of them is the same
+            accept[i] = "text/html,application/xhtml+xml,application/xml;q=0.9,image/webp,*/*;q=0.8;v=" + i;
+            acceptLanguage[i] = "en-US,en;q=0.8,uk;q=0.6,ru;q=0.4,x-v" + i + ";q=0.1";
+            // Only media types without parameters or with charset are cached
+            contentType[i] = "application/json;charset=x-" + i;
+        }
+        cookie = "$Version=1;session=9f2e1a;$Path=/api;locale=en_US;theme=dark";
+        date = "Sun, 06 Nov 1994 08:49:37 GMT";
+    }
+
+    private int next() {
+        int current = next;
+        next = current + 1 == distinctHeaders ? 0 : current + 1;
+        return current;
+    }
+
+    @Benchmark
+    public List<AcceptMediaType> parseAccept() {
+        return HeaderHelper.createAcceptMediaTypeList(accept[next()]);
+    }
+
+    @Benchmark
+    public List<AcceptLanguage> parseAcceptLanguage() {
+        return HeaderHelper.createAcceptedLanguageList(acceptLanguage[next()]);
+    }
+
+    @Benchmark
+    public MediaType parseContentType() {
+        return MediaType.valueOf(contentType[next()]);
+    }
+
+    @Benchmark
+    public List<Cookie> parseCookies() {
+        return HeaderHelper.parseCookies(cookie);
+    }
+
+    @Benchmark
+    public Date parseDate() {
+        return HeaderHelper.parseDateHeader(date);
+    }
+
+    @Benchmark
+    public String formatCurrentDate() {
+        return HeaderHelper.formatDate(new Date());
+    }
+}
@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.benchmarks;
+
+import org.everrest.core.impl.provider.json.JsonGenerator;
+import org.everrest.core.impl.provider.json.JsonParser;
+import org.everrest.core.impl.provider.json.JsonValue;
+import org.everrest.core.impl.provider.json.JsonWriter;
+import org.everrest.core.impl.provider.json.ObjectBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+/** Serialization of java bean to JSON and back with {@link JsonGenerator}, {@link JsonWriter} and {@link JsonParser}. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+    private Book   book;
+    private String json;
+
+    @Setup
+    public void setUp() throws Exception {
+        book = new Book("Around the World in Eighty Days", "Jules Verne", 305, 9.99, true);
+        json = write(book);
+    }
+
+    @Benchmark
+    public String write() throws Exception {
+        return write(book);
+    }
+
+    @Benchmark
+    public Book read() throws Exception {
+        return read(json);
+    }
+
+    @Benchmark
+    public Book roundTrip() throws Exception {
+        return read(write(book));
+    }
+
+    private String write(Book book) throws Exception {
+        StringWriter out = new StringWriter();
+        JsonWriter jsonWriter = new JsonWriter(out);
+        JsonGenerator.createJsonObject(book).writeTo(jsonWriter);
+        jsonWriter.flush();
+        return out.toString();
+    }
+
+    private Book read(String json) throws Exception {
+        JsonParser parser = new JsonParser();
+        parser.parse(new StringReader(json));
+        JsonValue jsonValue = parser.getJsonObject();
+        return ObjectBuilder.createObject(Book.class, jsonValue);
+    }
+}
@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.benchmarks;
+
+import org.everrest.core.impl.provider.json.JsonParser;
+import org.everrest.core.impl.provider.json.JsonValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Parsing of JSON array of books with {@link JsonParser} from UTF-8 bytes directly and through {@link InputStreamReader}.
+ * The same input is parsed with {@link BaselineJsonParser}, copy of previous implementation of parser, for comparison.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonParserBenchmark {
+    @Param({"1", "100"})
+    private int numberOfBooks;
+
+    private byte[] json;
+
+    @Setup
+    public void setUp() {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < numberOfBooks; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append("{\"title\":\"Around the World in Eighty Days ").append(i)
+                   .append("\",\"author\":\"Jules Verne\",\"pages\":").append(300 + i)
+                   .append(",\"price\":9.99,\"availability\":true,\"description\":\"Le tour du monde en quatre-vingts jours\"}");
+        }
+        json = builder.append(']').toString().getBytes(UTF_8);
+    }
+
+    @Benchmark
+    public JsonValue parseStream() throws Exception {
+        JsonParser parser = new JsonParser();
+        parser.parse(new ByteArrayInputStream(json));
+        return parser.getJsonObject();
+    }
+
+    @Benchmark
+    public JsonValue parseReader() throws Exception {
+        JsonParser parser = new JsonParser();
+        parser.parse(new InputStreamReader(new ByteArrayInputStream(json), UTF_8));
+        return parser.getJsonObject();
+    }
+
+    @Benchmark
+    public JsonValue parseStreamBaseline() throws Exception {
+        BaselineJsonParser parser = new BaselineJsonParser();
+        parser.parse(new ByteArrayInputStream(json));
+        return parser.getJsonObject();
+    }
+
+    @Benchmark
+    public JsonValue parseReaderBaseline() throws Exception {
+        BaselineJsonParser parser = new BaselineJsonParser();
+        parser.parse(new InputStreamReader(new ByteArrayInputStream(json), UTF_8));
+        return parser.getJsonObject();
+    }
+}
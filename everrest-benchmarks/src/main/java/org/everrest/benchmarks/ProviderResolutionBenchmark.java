@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.benchmarks;
+
+import org.everrest.core.SimpleConfigurationProperties;
+import org.everrest.core.impl.ApplicationContext;
+import org.everrest.core.impl.ContainerRequest;
+import org.everrest.core.impl.ContainerResponse;
+import org.everrest.core.impl.DefaultProviderBinder;
+import org.everrest.core.impl.EnvironmentContext;
+import org.everrest.core.impl.InputHeadersMap;
+import org.everrest.core.impl.ServerConfigurationProperties;
+import org.everrest.core.impl.provider.ServerEmbeddedProvidersFeature;
+import org.everrest.core.tools.ByteArrayContainerResponseWriter;
+import org.everrest.core.tools.DependencySupplierImpl;
+import org.everrest.core.tools.SimpleSecurityContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.ws.rs.ext.ExceptionMapper;
+import javax.ws.rs.ext.MessageBodyReader;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.ParamConverter;
+import java.io.ByteArrayInputStream;
+import java.lang.annotation.Annotation;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import static javax.ws.rs.RuntimeType.SERVER;
+import static org.everrest.core.impl.ApplicationContext.anApplicationContext;
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
+import static javax.ws.rs.core.MediaType.TEXT_PLAIN_TYPE;
+
+/**
+ * Lookup of entity providers, exception mappers and param converters in {@link DefaultProviderBinder}. Some providers
+ * are created per request, so lookup is done in scope of {@link ApplicationContext} that is bound to benchmark thread.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProviderResolutionBenchmark {
+    private DefaultProviderBinder providers;
+    private Annotation[]          annotations;
+
+    @Setup
+    public void setUp() {
+        providers = new DefaultProviderBinder(SERVER, new ServerConfigurationProperties());
+        providers.register(new ServerEmbeddedProvidersFeature());
+        annotations = new Annotation[0];
+        ContainerRequest request = new ContainerRequest("GET", URI.create("/books"), URI.create(""), new ByteArrayInputStream(new byte[0]),
+                                                        new InputHeadersMap(new HashMap<>()), new SimpleSecurityContext(false),
+                                                        new SimpleConfigurationProperties());
+        ApplicationContext.setCurrent(anApplicationContext().withRequest(request)
+                                                            .withResponse(new ContainerResponse(new ByteArrayContainerResponseWriter()))
+                                                            .withProviders(providers)
+                                                            .withDependencySupplier(new DependencySupplierImpl())
+                                                            .withEnvironmentContext(new EnvironmentContext())
+                                                            .build());
+    }
+
+    @TearDown
+    public void tearDown() {
+        ApplicationContext.setCurrent(null);
+    }
+
+    @Benchmark
+    public MessageBodyWriter<String> stringWriter() {
+        return providers.getMessageBodyWriter(String.class, String.class, annotations, TEXT_PLAIN_TYPE);
+    }
+
+    @Benchmark
+    public MessageBodyReader<Book> jsonReader() {
+        return providers.getMessageBodyReader(Book.class, Book.class, annotations, APPLICATION_JSON_TYPE);
+    }
+
+    @Benchmark
+    public MessageBodyWriter<Book> jsonWriter() {
+        return providers.getMessageBodyWriter(Book.class, Book.class, annotations, APPLICATION_JSON_TYPE);
+    }
+
+    @Benchmark
+    public ExceptionMapper<IllegalStateException> exceptionMapper() {
+        return providers.getExceptionMapper(IllegalStateException.class);
+    }
+
+    @Benchmark
+    public ParamConverter<Integer> paramConverter() {
+        return providers.getConverter(Integer.class, Integer.class, annotations);
+    }
+}
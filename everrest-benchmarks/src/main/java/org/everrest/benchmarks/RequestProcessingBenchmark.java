@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.benchmarks;
+
+import com.google.common.collect.ImmutableMap;
+import org.everrest.core.impl.DefaultProviderBinder;
+import org.everrest.core.impl.EverrestProcessor;
+import org.everrest.core.impl.RequestDispatcher;
+import org.everrest.core.impl.RequestHandlerImpl;
+import org.everrest.core.impl.ResourceBinderImpl;
+import org.everrest.core.impl.ServerConfigurationProperties;
+import org.everrest.core.impl.provider.ServerEmbeddedProvidersFeature;
+import org.everrest.core.tools.ByteArrayContainerResponseWriter;
+import org.everrest.core.tools.DependencySupplierImpl;
+import org.everrest.core.tools.ResourceLauncher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonList;
+import static javax.ws.rs.RuntimeType.SERVER;
+import static javax.ws.rs.core.HttpHeaders.ACCEPT;
+import static javax.ws.rs.core.HttpHeaders.CONTENT_TYPE;
+
+/**
+ * End to end processing of request with {@link EverrestProcessor}: matching of resource, content negotiation, reading
+ * of request entity, invocation of resource method and writing of response entity to
+ * {@link ByteArrayContainerResponseWriter}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestProcessingBenchmark {
+    private EverrestProcessor                processor;
+    private ResourceLauncher                 launcher;
+    private ByteArrayContainerResponseWriter writer;
+    private Map<String, List<String>>        textHeaders;
+    private Map<String, List<String>>        jsonHeaders;
+    private byte[]                           book;
+
+    @Setup
+    public void setUp() {
+        ResourceBinderImpl resources = new ResourceBinderImpl();
+        DefaultProviderBinder providers = new DefaultProviderBinder(SERVER, new ServerConfigurationProperties());
+        providers.register(new ServerEmbeddedProvidersFeature());
+        resources.addResource(BookResource.class, null);
+        processor = new EverrestProcessor(new ServerConfigurationProperties(), new DependencySupplierImpl(),
+                                          new RequestHandlerImpl(new RequestDispatcher(resources), providers), resources, providers, null);
+        launcher = new ResourceLauncher(processor);
+        writer = new ByteArrayContainerResponseWriter();
+        textHeaders = ImmutableMap.of(ACCEPT, singletonList("text/plain"));
+        jsonHeaders = ImmutableMap.of(ACCEPT, singletonList("application/json"), CONTENT_TYPE, singletonList("application/json"));
+        book = "{\"title\":\"Around the World in Eighty Days\",\"author\":\"Jules Verne\",\"pages\":305,\"price\":9.99,\"available\":true}"
+                .getBytes(UTF_8);
+    }
+
+    @TearDown
+    public void tearDown() {
+        processor.stop();
+    }
+
+    @Benchmark
+    public byte[] getText() throws Exception {
+        writer.reset();
+        launcher.service("GET", "/books/101?lang=en", "", textHeaders, null, writer, null);
+        return writer.getBody();
+    }
+
+    @Benchmark
+    public byte[] getJson() throws Exception {
+        writer.reset();
+        launcher.service("GET", "/books/101/details", "", jsonHeaders, null, writer, null);
+        return writer.getBody();
+    }
+
+    @Benchmark
+    public byte[] postJson() throws Exception {
+        writer.reset();
+        launcher.service("POST", "/books", "", jsonHeaders, book, writer, null);
+        return writer.getBody();
+    }
+
+    @Benchmark
+    public byte[] notFound() throws Exception {
+        writer.reset();
+        launcher.service("GET", "/authors/1", "", textHeaders, null, writer, null);
+        return writer.getBody();
+    }
+}
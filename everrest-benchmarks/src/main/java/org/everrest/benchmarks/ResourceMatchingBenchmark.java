@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.benchmarks;
+
+import org.everrest.core.ObjectFactory;
+import org.everrest.core.impl.ResourceBinderImpl;
+import org.everrest.core.resource.ResourceDescriptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Matching of request path to root resources with {@link ResourceBinderImpl#getMatchedResource(String, List)}. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResourceMatchingBenchmark {
+    @Param({"10", "100", "1000"})
+    public int numberOfResources;
+
+    private ResourceBinderImpl resources;
+    private List<String>       parameterValues;
+    private String             firstPath;
+    private String             lastPath;
+    private String             literalPath;
+    private String             notFoundPath;
+
+    @Setup
+    public void setUp() {
+        resources = new ResourceBinderImpl();
+        for (int i = 0; i < numberOfResources; i++) {
+            resources.addResource(String.format("/service%d/items/{id}", i), BookResource.class, null);
+            resources.addResource(String.format("/static%d/items", i), BookResource.class, null);
+        }
+        parameterValues = new ArrayList<>();
+        firstPath = "/service0/items/101/details";
+        lastPath = String.format("/service%d/items/101/details", numberOfResources - 1);
+        literalPath = String.format("/static%d/items", numberOfResources / 2);
+        notFoundPath = "/unknown/items/101";
+    }
+
+    @Benchmark
+    public ObjectFactory<ResourceDescriptor> matchFirst() {
+        return resources.getMatchedResource(firstPath, parameterValues);
+    }
+
+    @Benchmark
+    public ObjectFactory<ResourceDescriptor> matchLast() {
+        return resources.getMatchedResource(lastPath, parameterValues);
+    }
+
+    @Benchmark
+    public ObjectFactory<ResourceDescriptor> matchLiteral() {
+        return resources.getMatchedResource(literalPath, parameterValues);
+    }
+
+    @Benchmark
+    public ObjectFactory<ResourceDescriptor> notFound() {
+        return resources.getMatchedResource(notFoundPath, parameterValues);
+    }
+}
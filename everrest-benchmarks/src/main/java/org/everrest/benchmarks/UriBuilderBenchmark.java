@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.benchmarks;
+
+import org.everrest.core.impl.uri.UriBuilderImpl;
+import org.everrest.core.impl.uri.UriComponent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+/** Building and encoding of URIs with {@link UriBuilderImpl}. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UriBuilderBenchmark {
+    private URI baseUri;
+
+    @Setup
+    public void setUp() {
+        baseUri = URI.create("http://localhost:8080/api");
+    }
+
+    @Benchmark
+    public URI buildFromTemplate() {
+        return new UriBuilderImpl().uri(baseUri).path("books/{id}/chapters/{chapter}").queryParam("lang", "{lang}")
+                                   .build("101", "Chapter One", "en");
+    }
+
+    @Benchmark
+    public URI buildWithEncoding() {
+        return new UriBuilderImpl().uri(baseUri).path("search").path("{query}").queryParam("q", "a b&c/d")
+                                   .build("jules verne/around the world");
+    }
+
+    @Benchmark
+    public String encodePathSegment() {
+        return UriComponent.encode("around the world in 80 days/chapter #1", UriComponent.PATH_SEGMENT, false);
+    }
+}
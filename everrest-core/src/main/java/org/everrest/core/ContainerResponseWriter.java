@@ -13,6 +13,7 @@ package org.everrest.core;
 import javax.ws.rs.ext.MessageBodyWriter;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * All implementation of this interface should be able to write data in container response, e. g. servlet response.
@@ -52,4 +53,53 @@ public interface ContainerResponseWriter {
      * @throws IOException if any i/o error occurs
      */
     OutputStream getOutputStream() throws IOException;
+
+    /**
+     * Called when status, headers and entity of response are written. Writer that does not send entity to client
+     * immediately, e.g. keeps it in buffer, must send it now or start sending it.
+     *
+     * @throws IOException if any i/o error occurs
+     */
+    default void finish() throws IOException {
+    }
+
+    /**
+     * Called instead of {@link #finish()} when writing of response fails, e.g. {@link MessageBodyWriter} throws exception.
+     * Writer must release resources acquired for response, e.g. buffers of entity, and stop sending entity to client.
+     */
+    default void abort() {
+    }
+
+    /**
+     * Suspends processing of request. If request is suspended then container must not complete response when thread
+     * that handles request returns. Response is written later, possibly by other thread, and then
+     * {@link #complete(Throwable)} is called.
+     *
+     * @return {@code true} if request is suspended and {@code false} if container does not support asynchronous
+     * processing of requests
+     */
+    default boolean suspend() {
+        return false;
+    }
+
+    /**
+     * Completes processing of request that was suspended with {@link #suspend()}.
+     *
+     * @param failure error that occurred while processing of resumed request or {@code null} if request is processed
+     *                successfully
+     * @throws IOException if any i/o error occurs
+     */
+    default void complete(Throwable failure) throws IOException {
+    }
+
+    /**
+     * Runs task that continues processing of request suspended with {@link #suspend()}, e.g. when suspend timeout
+     * expires. Container should run task with own threads, so thread that detects timeout is never blocked while response
+     * is processed and written. By default task is run with {@link ForkJoinPool#commonPool()}.
+     *
+     * @param task task to run
+     */
+    default void runAsync(Runnable task) {
+        ForkJoinPool.commonPool().execute(task);
+    }
 }
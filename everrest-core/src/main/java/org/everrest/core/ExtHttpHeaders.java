@@ -77,6 +77,13 @@ public interface ExtHttpHeaders extends HttpHeaders {
      */
     String IF = "If";
 
+    /**
+     * HTTP 1.1 "If-Range" header. See <a
+     * href='http://tools.ietf.org/html/rfc7233#section-3.2'> HTTP/1.1 Range
+     * Requests section 3.2 "If-Range"</a> for more information.
+     */
+    String IF_RANGE = "If-Range";
+
     /**
      * WebDav "DAV" header. See <a href='http://www.ietf.org/rfc/rfc2518.txt'>
      * HTTP Headers for Distributed Authoring</a> section 9 for more information.
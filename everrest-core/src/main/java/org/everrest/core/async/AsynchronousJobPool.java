@@ -40,6 +40,16 @@ public interface AsynchronousJobPool {
 
     List<AsynchronousJob> getAll();
 
+    /**
+     * Gets all jobs without copying them in new list. Iterator of result may reflect jobs that are added or removed
+     * while iterating. Default implementation returns {@link #getAll()}.
+     *
+     * @return all jobs of pool
+     */
+    default Iterable<AsynchronousJob> getJobs() {
+        return getAll();
+    }
+
     /**
      * Registers new listener if it is not registered yet.
      *
@@ -23,6 +23,7 @@ import org.everrest.core.impl.method.DefaultParameterResolverFactory;
 import org.everrest.core.impl.method.DefaultTypeProducerFactory;
 import org.everrest.core.impl.method.MethodInvokerDecoratorFactory;
 import org.everrest.core.impl.method.OptionsRequestMethodInvoker;
+import org.everrest.core.impl.metrics.RequestTimer;
 import org.everrest.core.impl.uri.UriComponent;
 import org.everrest.core.method.MethodInvoker;
 import org.everrest.core.method.ParameterResolverFactory;
@@ -66,6 +67,15 @@ public class ApplicationContext implements UriInfo, Lifecycle {
     /** {@link ThreadLocal} ApplicationContext. */
     private static ThreadLocal<ApplicationContext> current = new ThreadLocal<>();
 
+    /**
+     * Parameter resolver factory and method invokers that are used when ParameterResolverFactory is not set explicitly.
+     * They do not keep any request specific state, so they are shared between all requests. Shared
+     * {@link DefaultMethodInvoker} keeps parameter resolvers of resource methods between requests.
+     */
+    private static final ParameterResolverFactory    DEFAULT_PARAMETER_RESOLVER_FACTORY = new DefaultParameterResolverFactory(new DefaultTypeProducerFactory());
+    private static final DefaultMethodInvoker        DEFAULT_METHOD_INVOKER             = new DefaultMethodInvoker(DEFAULT_PARAMETER_RESOLVER_FACTORY);
+    private static final OptionsRequestMethodInvoker OPTIONS_REQUEST_METHOD_INVOKER     = new OptionsRequestMethodInvoker(new WadlProcessor());
+
     /** @return current ApplicationContext. */
     public static ApplicationContext getCurrent() {
         return current.get();
@@ -122,6 +132,10 @@ public class ApplicationContext implements UriInfo, Lifecycle {
     private ParameterResolverFactory       parameterResolverFactory;
     private EnvironmentContext             environmentContext;
     private ProcessingPhase                processingPhase;
+    /** Measures duration of phases of request processing, {@code null} if metrics are disabled. */
+    private RequestTimer                   requestTimer;
+    /** Suspended response, {@code null} if resource method does not suspend processing of request. */
+    private AsyncResponseImpl              asyncResponse;
 
     private ApplicationContext(ApplicationContextBuilder builder) {
         request = builder.request;
@@ -256,7 +270,7 @@ public class ApplicationContext implements UriInfo, Lifecycle {
             // GenericMethodResource.getMethod() always return null if method for
             // "OPTIONS" request was not described in source code of service. In
             // this case we provide mechanism for "fake" method invoking.
-            return new OptionsRequestMethodInvoker(new WadlProcessor());
+            return OPTIONS_REQUEST_METHOD_INVOKER;
         }
         MethodInvoker invoker = null;
         // Never use AsynchronousMethodInvoker for process SubResourceLocatorDescriptor.
@@ -269,7 +283,7 @@ public class ApplicationContext implements UriInfo, Lifecycle {
             invoker = new AsynchronousMethodInvoker(asyncJobsResolver.getContext(null), getParameterResolverFactory());
         }
         if (invoker == null) {
-            invoker = new DefaultMethodInvoker(getParameterResolverFactory());
+            invoker = parameterResolverFactory == null ? DEFAULT_METHOD_INVOKER : new DefaultMethodInvoker(parameterResolverFactory);
         }
         if (methodInvokerDecoratorFactory != null) {
             invoker = methodInvokerDecoratorFactory.makeDecorator(invoker);
@@ -452,9 +466,7 @@ public class ApplicationContext implements UriInfo, Lifecycle {
     }
 
     public ParameterResolverFactory getParameterResolverFactory() {
-        return parameterResolverFactory == null
-                ? parameterResolverFactory = new DefaultParameterResolverFactory(new DefaultTypeProducerFactory())
-                : parameterResolverFactory;
+        return parameterResolverFactory == null ? DEFAULT_PARAMETER_RESOLVER_FACTORY : parameterResolverFactory;
     }
 
     public EnvironmentContext getEnvironmentContext() {
@@ -469,6 +481,24 @@ public class ApplicationContext implements UriInfo, Lifecycle {
         this.processingPhase = processingPhase;
     }
 
+    /** @return timer of current request or {@code null} if metrics are disabled */
+    public RequestTimer getRequestTimer() {
+        return requestTimer;
+    }
+
+    public void setRequestTimer(RequestTimer requestTimer) {
+        this.requestTimer = requestTimer;
+    }
+
+    /** @return asynchronous response if resource method suspends processing of request, {@code null} otherwise */
+    public AsyncResponseImpl getAsyncResponse() {
+        return asyncResponse;
+    }
+
+    public void setAsyncResponse(AsyncResponseImpl asyncResponse) {
+        this.asyncResponse = asyncResponse;
+    }
+
     @Override
     public final void start() {
     }
@@ -0,0 +1,394 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.everrest.core.ContainerResponseWriter;
+import org.everrest.core.GenericContainerResponse;
+import org.everrest.core.UnhandledException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.CompletionCallback;
+import javax.ws.rs.container.TimeoutHandler;
+import javax.ws.rs.core.Response;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static javax.ws.rs.core.HttpHeaders.RETRY_AFTER;
+import static javax.ws.rs.core.Response.Status.SERVICE_UNAVAILABLE;
+import static org.everrest.core.impl.header.HeaderHelper.formatDate;
+
+/**
+ * Implementation of {@link AsyncResponse} that is injected in parameters of resource methods annotated with
+ * {@link javax.ws.rs.container.Suspended}. When such resource method returns, processing of request is suspended until
+ * response is resumed, cancelled or suspend timeout expires. If timeout expires and {@link TimeoutHandler} does not
+ * resume response or extend timeout then response is resumed with status 503.
+ * <p>
+ * If container supports asynchronous processing, see {@link ContainerResponseWriter#suspend()}, thread that handles
+ * request is released as soon as resource method returns, and response is processed and written by the thread that
+ * resumes response. Otherwise thread that handles request waits until response is resumed and then processes it as
+ * usual. Timeouts of all responses are detected by one scheduler thread that only hands expired responses over to
+ * container, see {@link ContainerResponseWriter#runAsync(Runnable)}.
+ * <p>
+ * {@link CompletionCallback}s are supported, {@link javax.ws.rs.container.ConnectionCallback}s are not and are never
+ * registered.
+ */
+public final class AsyncResponseImpl implements AsyncResponse {
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncResponseImpl.class);
+
+    private static final ScheduledExecutorService TIMEOUT_SCHEDULER =
+            newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("everrest.AsyncResponseTimeout-%d").setDaemon(true).build());
+
+    /** Continues processing of request when response is resumed. */
+    @FunctionalInterface
+    interface ResumeAction {
+        void run() throws Exception;
+    }
+
+    private enum State {
+        /** Resource method is invoked, request is not suspended yet. */
+        RUNNING,
+        /** Request is suspended by container, thread that handles request is released. */
+        SUSPENDED,
+        /** Container does not support asynchronous processing and thread that handles request waits for resume. */
+        WAITING,
+        /** Response is resumed or cancelled. */
+        RESUMED
+    }
+
+    private final ApplicationContext       context;
+    private final List<CompletionCallback> completionCallbacks;
+
+    private volatile TimeoutHandler timeoutHandler;
+    private ResumeAction            resumeAction;
+    private ContainerResponseWriter suspendedWriter;
+
+    private State              state = State.RUNNING;
+    private boolean            cancelled;
+    private Object             result;
+    private Throwable          error;
+    private long               timeoutNanos;
+    private long               timeoutGeneration;
+    private ScheduledFuture<?> timeoutFuture;
+
+    public AsyncResponseImpl(ApplicationContext context) {
+        this.context = requireNonNull(context);
+        completionCallbacks = new CopyOnWriteArrayList<>();
+    }
+
+    @Override
+    public boolean resume(Object response) {
+        return resume(response, null, false);
+    }
+
+    @Override
+    public boolean resume(Throwable response) {
+        return resume(null, requireNonNull(response), false);
+    }
+
+    @Override
+    public boolean cancel() {
+        return resume(Response.status(SERVICE_UNAVAILABLE).build(), null, true);
+    }
+
+    @Override
+    public boolean cancel(int retryAfter) {
+        return resume(Response.status(SERVICE_UNAVAILABLE).header(RETRY_AFTER, retryAfter).build(), null, true);
+    }
+
+    @Override
+    public boolean cancel(Date retryAfter) {
+        return resume(Response.status(SERVICE_UNAVAILABLE).header(RETRY_AFTER, formatDate(retryAfter)).build(), null, true);
+    }
+
+    private boolean resume(Object result, Throwable error, boolean cancel) {
+        State previousState;
+        synchronized (this) {
+            if (state == State.RESUMED) {
+                return cancel && cancelled;
+            }
+            previousState = state;
+            this.result = result;
+            this.error = error;
+            cancelled = cancel;
+            state = State.RESUMED;
+            cancelTimeout();
+            if (previousState == State.WAITING) {
+                notifyAll();
+            }
+        }
+        if (previousState == State.SUSPENDED) {
+            complete();
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized boolean isSuspended() {
+        return state != State.RESUMED;
+    }
+
+    @Override
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public synchronized boolean isDone() {
+        return state == State.RESUMED;
+    }
+
+    @Override
+    public synchronized boolean setTimeout(long time, TimeUnit unit) {
+        if (state == State.RESUMED) {
+            return false;
+        }
+        timeoutNanos = unit.toNanos(time);
+        if (state != State.RUNNING) {
+            scheduleTimeout();
+        }
+        return true;
+    }
+
+    @Override
+    public void setTimeoutHandler(TimeoutHandler handler) {
+        timeoutHandler = handler;
+    }
+
+    @Override
+    public Collection<Class<?>> register(Class<?> callback) {
+        return register(newCallbackInstance(callback));
+    }
+
+    @Override
+    public Map<Class<?>, Collection<Class<?>>> register(Class<?> callback, Class<?>... callbacks) {
+        Map<Class<?>, Collection<Class<?>>> result = new LinkedHashMap<>();
+        result.put(callback, register(callback));
+        for (Class<?> aCallback : callbacks) {
+            result.put(aCallback, register(aCallback));
+        }
+        return result;
+    }
+
+    @Override
+    public Collection<Class<?>> register(Object callback) {
+        requireNonNull(callback);
+        if (callback instanceof CompletionCallback) {
+            completionCallbacks.add((CompletionCallback)callback);
+            return Collections.singletonList(CompletionCallback.class);
+        }
+        return Collections.emptyList();
+    }
+
+    @Override
+    public Map<Class<?>, Collection<Class<?>>> register(Object callback, Object... callbacks) {
+        Map<Class<?>, Collection<Class<?>>> result = new LinkedHashMap<>();
+        result.put(callback.getClass(), register(callback));
+        for (Object aCallback : callbacks) {
+            result.put(aCallback.getClass(), register(aCallback));
+        }
+        return result;
+    }
+
+    private Object newCallbackInstance(Class<?> callback) {
+        try {
+            return requireNonNull(callback).newInstance();
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new IllegalArgumentException(String.format("Unable instantiate callback %s", callback.getName()), e);
+        }
+    }
+
+    /** @return action that continues processing of request when response is resumed, {@code null} if not set yet */
+    ResumeAction getResumeAction() {
+        return resumeAction;
+    }
+
+    /**
+     * Sets action that continues processing of request when response is resumed. Must be called only by thread that
+     * handles request before {@link #suspend()}.
+     */
+    void setResumeAction(ResumeAction resumeAction) {
+        this.resumeAction = resumeAction;
+    }
+
+    /**
+     * Gets value passed to {@link #resume(Object)}. If response is resumed with {@link #resume(Throwable)} then
+     * exception is thrown.
+     */
+    synchronized Object getResult() throws Exception {
+        if (error == null) {
+            return result;
+        }
+        if (error instanceof Exception) {
+            throw (Exception)error;
+        }
+        if (error instanceof Error) {
+            throw (Error)error;
+        }
+        throw new UnhandledException(error);
+    }
+
+    /**
+     * Suspends processing of request. Must be called by thread that handles request when it does not use application
+     * context any more. If response is already resumed or container does not support asynchronous processing then
+     * response is processed by the current thread and this method returns when response is written.
+     *
+     * @throws IOException if any i/o error occurs while response is processed by the current thread
+     */
+    void suspend() throws IOException {
+        synchronized (this) {
+            if (state == State.RUNNING) {
+                ContainerResponseWriter writer = getContainerResponseWriter();
+                if (writer != null && writer.suspend()) {
+                    suspendedWriter = writer;
+                    state = State.SUSPENDED;
+                    scheduleTimeout();
+                    return;
+                }
+                state = State.WAITING;
+                scheduleTimeout();
+                while (state == State.WAITING) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        result = Response.status(SERVICE_UNAVAILABLE).build();
+                        state = State.RESUMED;
+                        cancelTimeout();
+                    }
+                }
+            }
+        }
+        Throwable failure = complete();
+        if (failure instanceof IOException) {
+            throw (IOException)failure;
+        } else if (failure instanceof RuntimeException) {
+            throw (RuntimeException)failure;
+        } else if (failure instanceof Error) {
+            throw (Error)failure;
+        } else if (failure != null) {
+            throw new UnhandledException(failure);
+        }
+    }
+
+    private ContainerResponseWriter getContainerResponseWriter() {
+        GenericContainerResponse response = context.getContainerResponse();
+        return response instanceof ContainerResponse ? ((ContainerResponse)response).getContainerResponseWriter() : null;
+    }
+
+    private Throwable complete() {
+        ApplicationContext previousContext = ApplicationContext.getCurrent();
+        ApplicationContext.setCurrent(context);
+        Throwable failure = null;
+        try {
+            resumeAction.run();
+        } catch (Throwable e) {
+            failure = e;
+        } finally {
+            ApplicationContext.setCurrent(previousContext);
+        }
+        if (suspendedWriter != null) {
+            try {
+                suspendedWriter.complete(failure);
+            } catch (Exception e) {
+                LOG.error(e.getMessage(), e);
+            }
+        }
+        for (CompletionCallback callback : completionCallbacks) {
+            try {
+                callback.onComplete(failure);
+            } catch (RuntimeException e) {
+                LOG.error(e.getMessage(), e);
+            }
+        }
+        return failure;
+    }
+
+    private void scheduleTimeout() {
+        cancelTimeout();
+        if (timeoutNanos > 0) {
+            long generation = timeoutGeneration;
+            timeoutFuture = TIMEOUT_SCHEDULER.schedule(() -> fireTimeout(generation), timeoutNanos, NANOSECONDS);
+        }
+    }
+
+    private void cancelTimeout() {
+        timeoutGeneration++;
+        if (timeoutFuture != null) {
+            timeoutFuture.cancel(false);
+            timeoutFuture = null;
+        }
+    }
+
+    /**
+     * Called by scheduler when timeout expires. Scheduler thread is shared by all suspended responses, so timeout handler
+     * and processing of resumed response are run by container, see {@link ContainerResponseWriter#runAsync(Runnable)}.
+     */
+    private void fireTimeout(long generation) {
+        ContainerResponseWriter writer;
+        synchronized (this) {
+            if (state == State.RESUMED || generation != timeoutGeneration) {
+                return;
+            }
+            writer = suspendedWriter;
+        }
+        Runnable task = () -> onTimeout(generation);
+        try {
+            if (writer == null) {
+                // Thread that handles request waits for resume, only timeout handler is run here
+                ForkJoinPool.commonPool().execute(task);
+            } else {
+                writer.runAsync(task);
+            }
+        } catch (RuntimeException e) {
+            LOG.error(e.getMessage(), e);
+        }
+    }
+
+    private void onTimeout(long generation) {
+        synchronized (this) {
+            if (state == State.RESUMED || generation != timeoutGeneration) {
+                return;
+            }
+        }
+        TimeoutHandler handler = timeoutHandler;
+        if (handler != null) {
+            try {
+                handler.handleTimeout(this);
+            } catch (RuntimeException e) {
+                resume(e);
+                return;
+            }
+            synchronized (this) {
+                if (state == State.RESUMED || generation != timeoutGeneration) {
+                    // resumed or timeout is updated by handler
+                    return;
+                }
+            }
+        }
+        resume(Response.status(SERVICE_UNAVAILABLE).build());
+    }
+}
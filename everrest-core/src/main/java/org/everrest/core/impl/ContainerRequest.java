@@ -17,6 +17,7 @@ import org.everrest.core.GenericContainerRequest;
 import org.everrest.core.impl.header.AcceptLanguage;
 import org.everrest.core.impl.header.AcceptMediaType;
 import org.everrest.core.impl.header.HeaderHelper;
+import org.everrest.core.impl.header.HttpDates;
 import org.everrest.core.impl.header.MediaTypeHelper;
 
 import javax.ws.rs.ProcessingException;
@@ -452,12 +453,9 @@ public class ContainerRequest implements GenericContainerRequest {
         if (isNullOrEmpty(ifUnmodified)) {
             return null;
         }
-        try {
-            long unmodifiedSince = HeaderHelper.parseDateHeader(ifUnmodified).getTime();
-            if (lastModified > unmodifiedSince) {
-                return Response.status(PRECONDITION_FAILED);
-            }
-        } catch (IllegalArgumentException ignored) {
+        long unmodifiedSince = HttpDates.parse(ifUnmodified);
+        if (unmodifiedSince != HttpDates.INVALID_DATE && lastModified > unmodifiedSince) {
+            return Response.status(PRECONDITION_FAILED);
         }
 
         return null;
@@ -477,12 +475,9 @@ public class ContainerRequest implements GenericContainerRequest {
         if (isNullOrEmpty(ifModified)) {
             return null;
         }
-        try {
-            long modifiedSince = HeaderHelper.parseDateHeader(ifModified).getTime();
-            if (lastModified <= modifiedSince) {
-                return Response.notModified();
-            }
-        } catch (IllegalArgumentException ignored) {
+        long modifiedSince = HttpDates.parse(ifModified);
+        if (modifiedSince != HttpDates.INVALID_DATE && lastModified <= modifiedSince) {
+            return Response.notModified();
         }
 
         return null;
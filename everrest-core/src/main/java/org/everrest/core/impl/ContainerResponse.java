@@ -16,6 +16,7 @@ import org.everrest.core.ContainerResponseWriter;
 import org.everrest.core.GenericContainerResponse;
 import org.everrest.core.ProviderBinder;
 import org.everrest.core.impl.header.HeaderHelper;
+import org.everrest.core.impl.header.HttpDates;
 import org.everrest.core.impl.provider.MessageBodyWriterNotFoundException;
 import org.everrest.core.impl.provider.StringEntityProvider;
 import org.everrest.core.util.CaselessMultivaluedMap;
@@ -99,6 +100,11 @@ public class ContainerResponse implements GenericContainerResponse {
         this.responseWriter = responseWriter;
     }
 
+    /** @return writer that writes this response in container */
+    public ContainerResponseWriter getContainerResponseWriter() {
+        return responseWriter;
+    }
+
     @Override
     public void setResponse(Response response) {
         if (response == null) {
@@ -121,13 +127,26 @@ public class ContainerResponse implements GenericContainerResponse {
         return new ResponseImpl(getStatus(), getEntity(), getEntityAnnotations(), getHeaders());
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public void writeResponse() throws IOException {
-        if (entity == null) {
-            writeResponseWithoutEntity();
-            return;
+        if (!getHeaders().containsKey(DATE)) {
+            getHeaders().putSingle(DATE, HttpDates.formatNow());
+        }
+        try {
+            if (entity == null) {
+                writeResponseWithoutEntity();
+            } else {
+                writeEntity();
+            }
+            responseWriter.finish();
+        } catch (IOException | RuntimeException e) {
+            responseWriter.abort();
+            throw e;
         }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void writeEntity() throws IOException {
 
         ApplicationContext context = ApplicationContext.getCurrent();
         ProviderBinder providers = context.getProviders();
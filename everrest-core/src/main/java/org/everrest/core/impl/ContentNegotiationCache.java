@@ -0,0 +1,213 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import org.everrest.core.resource.ResourceMethodDescriptor;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Throwables.propagate;
+
+/**
+ * Keeps results of content negotiation for sets of resource methods. Each set of resource methods, e.g. all methods of
+ * resource for HTTP method GET, has own bounded cache. Results are keyed by type and subtype of Content-Type header and
+ * raw value of Accept header. Parameters of Content-Type, e.g. boundary of multipart content or charset, are not used
+ * for matching of resource methods but they may be different for each request, so they are not part of the key. Sets of
+ * resource methods are weakly referenced and compared by identity. Resource descriptors never change own sets of
+ * methods, so results for removed or replaced resources are never reused and get dropped together with resource
+ * descriptors.
+ */
+public class ContentNegotiationCache {
+    /** Default max number of results for one set of resource methods. */
+    public static final int DEFAULT_MAX_SIZE = 64;
+
+    private final LoadingCache<List<? extends ResourceMethodDescriptor>, Cache<Key, Decision<?>>> decisions;
+    private final LongAdder                                                                     hits   = new LongAdder();
+    private final LongAdder                                                                     misses = new LongAdder();
+
+    public ContentNegotiationCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * @param maxSize max number of results for one set of resource methods
+     */
+    public ContentNegotiationCache(int maxSize) {
+        decisions = CacheBuilder.newBuilder()
+                                .concurrencyLevel(16)
+                                .weakKeys()
+                                .build(new CacheLoader<List<? extends ResourceMethodDescriptor>, Cache<Key, Decision<?>>>() {
+                                    @Override
+                                    public Cache<Key, Decision<?>> load(List<? extends ResourceMethodDescriptor> resourceMethods) {
+                                        return CacheBuilder.newBuilder().concurrencyLevel(16).maximumSize(maxSize).build();
+                                    }
+                                });
+    }
+
+    /**
+     * Get result of content negotiation for set of resource methods. If there is no cached result, {@code negotiation}
+     * is used to get it.
+     *
+     * @param resourceMethods set of resource methods
+     * @param contentType     raw value of Content-Type header, may be {@code null}, parameters are ignored
+     * @param accept          raw value of Accept header, may be {@code null}
+     * @param negotiation     performs content negotiation
+     * @param <T>             type of resource methods
+     * @return result of content negotiation
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends ResourceMethodDescriptor> Decision<T> get(List<T> resourceMethods, String contentType, String accept,
+                                                                Supplier<Decision<T>> negotiation) {
+        Cache<Key, Decision<?>> cache;
+        try {
+            cache = decisions.get(resourceMethods);
+        } catch (ExecutionException e) {
+            throw propagate(e.getCause());
+        }
+        Key key = new Key(withoutParameters(contentType), accept);
+        Decision<T> decision = (Decision<T>)cache.getIfPresent(key);
+        if (decision == null) {
+            misses.increment();
+            decision = negotiation.get();
+            cache.put(key, decision);
+        } else {
+            hits.increment();
+        }
+        return decision;
+    }
+
+    private static String withoutParameters(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        int semicolon = contentType.indexOf(';');
+        return semicolon < 0 ? contentType : contentType.substring(0, semicolon).trim();
+    }
+
+    /** @return number of times when result of content negotiation was found in cache */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /** @return number of times when content negotiation was performed */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /** Removes all cached results. */
+    public void invalidateAll() {
+        decisions.invalidateAll();
+    }
+
+    /**
+     * Result of content negotiation.
+     *
+     * @param <T> type of resource methods
+     */
+    public static final class Decision<T extends ResourceMethodDescriptor> {
+        /**
+         * Creates result of successful content negotiation.
+         *
+         * @param candidates        resource methods that may serve request in order of preference, must not be empty
+         * @param responseMediaType media type of response if the first candidate is used
+         * @param accept            raw value of Accept header that was used for content negotiation
+         */
+        public static <T extends ResourceMethodDescriptor> Decision<T> matched(List<T> candidates, MediaType responseMediaType, String accept) {
+            return new Decision<>(null, Collections.unmodifiableList(candidates), responseMediaType, accept);
+        }
+
+        /**
+         * Creates result of failed content negotiation.
+         *
+         * @param status status of response, e.g. 415 or 406
+         */
+        public static <T extends ResourceMethodDescriptor> Decision<T> failed(Response.Status status) {
+            return new Decision<>(status, Collections.emptyList(), null, null);
+        }
+
+        private final Response.Status status;
+        private final List<T>         candidates;
+        private final MediaType       responseMediaType;
+        private final String          accept;
+
+        private Decision(Response.Status status, List<T> candidates, MediaType responseMediaType, String accept) {
+            this.status = status;
+            this.candidates = candidates;
+            this.responseMediaType = responseMediaType;
+            this.accept = accept;
+        }
+
+        /** @return {@code true} if at least one resource method may serve request */
+        public boolean isMatched() {
+            return status == null;
+        }
+
+        /** @return status of response if content negotiation failed or {@code null} */
+        public Response.Status getStatus() {
+            return status;
+        }
+
+        /** @return unmodifiable list of resource methods that may serve request in order of preference */
+        public List<T> getCandidates() {
+            return candidates;
+        }
+
+        /**
+         * Get media type of response if the first candidate is used to serve request.
+         *
+         * @param accept raw value of Accept header of request
+         * @return media type of response or {@code null} if it is not known for the specified Accept header
+         */
+        public MediaType getResponseMediaType(String accept) {
+            return Objects.equals(this.accept, accept) ? responseMediaType : null;
+        }
+    }
+
+    private static final class Key {
+        private final String contentType;
+        private final String accept;
+        private final int    hash;
+
+        Key(String contentType, String accept) {
+            this.contentType = contentType;
+            this.accept = accept;
+            this.hash = Objects.hash(contentType, accept);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key)o;
+            return Objects.equals(contentType, other.contentType) && Objects.equals(accept, other.accept);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
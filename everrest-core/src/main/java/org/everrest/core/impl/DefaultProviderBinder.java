@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.everrest.core.impl;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableMap;
 import org.everrest.core.ConfigurationProperties;
 import org.everrest.core.ObjectFactory;
@@ -21,6 +23,7 @@ import org.everrest.core.impl.method.StringParamConverter;
 import org.everrest.core.impl.method.ValueOfStringParamConverter;
 import org.everrest.core.impl.provider.ProviderDescriptorImpl;
 import org.everrest.core.provider.ProviderDescriptor;
+import org.everrest.core.resource.ResourceMethodDescriptor;
 import org.everrest.core.util.MediaTypeComparator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -67,6 +70,7 @@ import java.util.concurrent.ConcurrentNavigableMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 
 import static java.util.Collections.emptyMap;
@@ -90,7 +94,7 @@ import static org.everrest.core.util.ReflectionUtils.getStringValueOfMethod;
 /**
  * Gives access to common predefined providers. Users of EverRest are not expected to use this class or any of its subclasses.
  */
-public class DefaultProviderBinder implements ProviderBinder {
+public class DefaultProviderBinder implements ProviderBinder, InvocationPlanSource {
     private static final Logger LOG = LoggerFactory.getLogger(DefaultProviderBinder.class);
 
     private static final int NO_PRIORITY = -1;
@@ -191,6 +195,78 @@ public class DefaultProviderBinder implements ProviderBinder {
         }
     }
 
+    private static class MessageBodyProviderKey {
+        final Class<?> type;
+        final Type genericType;
+        final Annotation[] annotations;
+        final MediaType mediaType;
+        final int hash;
+
+        MessageBodyProviderKey(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+            this.type = type;
+            this.genericType = genericType;
+            this.annotations = annotations;
+            this.mediaType = mediaType;
+            this.hash = Objects.hash(type, genericType, Arrays.hashCode(annotations), mediaType);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof MessageBodyProviderKey)) {
+                return false;
+            }
+            MessageBodyProviderKey other = (MessageBodyProviderKey) o;
+            return type == other.type
+                   && Objects.equals(genericType, other.genericType)
+                   && Objects.equals(mediaType, other.mediaType)
+                   && Arrays.equals(annotations, other.annotations);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static class ParamConverterKey {
+        final Class<?> rawType;
+        final Type genericType;
+        final Annotation[] annotations;
+        final int hash;
+
+        ParamConverterKey(Class<?> rawType, Type genericType, Annotation[] annotations) {
+            this.rawType = rawType;
+            this.genericType = genericType;
+            this.annotations = annotations;
+            this.hash = Objects.hash(rawType, genericType, Arrays.hashCode(annotations));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ParamConverterKey)) {
+                return false;
+            }
+            ParamConverterKey other = (ParamConverterKey) o;
+            return rawType == other.rawType
+                   && Objects.equals(genericType, other.genericType)
+                   && Arrays.equals(annotations, other.annotations);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /** Max number of resolved message body readers, message body writers and parameter converters that are kept in cache. */
+    public static final int RESOLVED_PROVIDERS_CACHE_SIZE = 1024;
+
     private final RuntimeType runtimeType;
     private final ConfigurationProperties configuration;
     protected ObjectFactoryProducer objectFactoryProducer = new DefaultObjectFactoryProducer();
@@ -211,6 +287,29 @@ public class DefaultProviderBinder implements ProviderBinder {
     protected final Set<Class<?>> enabledFeatureClasses = new CopyOnWriteArraySet<>();
     protected final Set<Feature> enabledFeatures = new CopyOnWriteArraySet<>();
     protected final Map<Class<?>, ComponentConfiguration> allRegistrations = new ConcurrentHashMap<>();
+    /** Incremented each time when set of registered providers is changed. */
+    private final AtomicLong version = new AtomicLong();
+    private final Cache<ResourceMethodDescriptor, ResourceMethodInvocationPlan> invocationPlans = CacheBuilder.newBuilder()
+                                                                                                              .concurrencyLevel(16)
+                                                                                                              .weakKeys()
+                                                                                                              .build();
+    /**
+     * Resolved message body readers and writers. Only results that depend on singleton providers are cached, if any
+     * per-request provider was checked while resolving message body reader or writer then result is not cached.
+     */
+    private final Cache<MessageBodyProviderKey, Optional<MessageBodyReader>> messageBodyReaders = CacheBuilder.newBuilder()
+                                                                                                             .concurrencyLevel(16)
+                                                                                                             .maximumSize(RESOLVED_PROVIDERS_CACHE_SIZE)
+                                                                                                             .build();
+    private final Cache<MessageBodyProviderKey, Optional<MessageBodyWriter>> messageBodyWriters = CacheBuilder.newBuilder()
+                                                                                                             .concurrencyLevel(16)
+                                                                                                             .maximumSize(RESOLVED_PROVIDERS_CACHE_SIZE)
+                                                                                                             .build();
+    /** Resolved converters for parameters of resource methods. Converters are cached only if all ParamConverterProviders are singletons. */
+    private final Cache<ParamConverterKey, Optional<ParamConverter>> paramConverters = CacheBuilder.newBuilder()
+                                                                                                   .concurrencyLevel(16)
+                                                                                                   .maximumSize(RESOLVED_PROVIDERS_CACHE_SIZE)
+                                                                                                   .build();
 
     public DefaultProviderBinder(RuntimeType runtimeType, ConfigurationProperties configuration) {
         this.runtimeType = runtimeType;
@@ -413,6 +512,10 @@ public class DefaultProviderBinder implements ProviderBinder {
         if (registered) {
             LOG.debug("Add provider: {}", singleton ? component : componentClass);
             allRegistrations.put(componentClass, configuration);
+            version.incrementAndGet();
+            messageBodyReaders.invalidateAll();
+            messageBodyWriters.invalidateAll();
+            paramConverters.invalidateAll();
         }
     }
 
@@ -590,11 +693,25 @@ public class DefaultProviderBinder implements ProviderBinder {
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public <T> ParamConverter<T> getConverter(Class<T> rawType, Type genericType, Annotation[] annotations) {
+        boolean cacheable = paramConverterProviders.stream().allMatch(factory -> factory instanceof SingletonObjectFactory);
+        ParamConverterKey key = null;
+        if (cacheable) {
+            key = new ParamConverterKey(rawType, genericType, annotations);
+            Optional<ParamConverter> cached = paramConverters.getIfPresent(key);
+            if (cached != null) {
+                return cached.orElse(null);
+            }
+        }
+        long versionBeforeResolving = version.get();
         ParamConverter<T> converter = doGetConverter(rawType, genericType, annotations);
         if (converter == null) {
             converter = getEmbeddedConverter(rawType);
         }
+        if (cacheable) {
+            cacheResolved(paramConverters, key, Optional.ofNullable(converter), versionBeforeResolving);
+        }
         return converter;
     }
 
@@ -650,6 +767,59 @@ public class DefaultProviderBinder implements ProviderBinder {
         return doGetDynamicFeatures();
     }
 
+    /**
+     * Get version of this ProviderBinder. Version is changed each time when any provider is registered or all providers
+     * are removed.
+     *
+     * @return current version
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Get invocation plan for resource method. Plan is created at first call of this method for resource method and
+     * reused until set of registered providers is changed. All dynamic features are applied to resource method when plan
+     * is created.
+     *
+     * @param method resource method
+     * @return invocation plan
+     */
+    @Override
+    public ResourceMethodInvocationPlan getInvocationPlan(ResourceMethodDescriptor method) {
+        long currentVersion = version.get();
+        ResourceMethodInvocationPlan plan = invocationPlans.getIfPresent(method);
+        if (plan == null || plan.getVersion() != currentVersion) {
+            plan = createInvocationPlan(method, currentVersion);
+            invocationPlans.put(method, plan);
+        }
+        return plan;
+    }
+
+    private ResourceMethodInvocationPlan createInvocationPlan(ResourceMethodDescriptor method, long currentVersion) {
+        DefaultProviderBinder source = this;
+        List<DynamicFeature> dynamicFeatures = doGetDynamicFeatures();
+        if (!dynamicFeatures.isEmpty()) {
+            ConfigurationProperties properties = new RuntimeConfigurationProperties(configuration);
+            DefaultProviderBinder withDynamicFeatures = new DefaultProviderBinder(runtimeType, properties);
+            withDynamicFeatures.copyComponentsFrom(this);
+            long versionBeforeDynamicFeatures = withDynamicFeatures.getVersion();
+            dynamicFeatures.forEach(df -> df.configure(method.getResourceInfo(), new DefaultFeatureContext(withDynamicFeatures, properties)));
+            if (withDynamicFeatures.getVersion() != versionBeforeDynamicFeatures) {
+                source = withDynamicFeatures;
+            }
+        }
+        Annotation[] nameBindingAnnotations = method.getNameBindingAnnotations();
+        return new ResourceMethodInvocationPlan(currentVersion,
+                                                source == this ? null : source,
+                                                source.containerRequestFilters.stream()
+                                                                              .filter(containerRequestFilterPredicate(nameBindingAnnotations, false))
+                                                                              .collect(toList()),
+                                                source.containerResponseFilters.stream()
+                                                                               .filter(containerResponseFilterPredicate(nameBindingAnnotations))
+                                                                               .collect(toList()));
+    }
+
     protected boolean addContextResolver(ObjectFactory<ProviderDescriptor> contextResolverFactory) {
         boolean added = false;
         for (Type type : contextResolverFactory.getObjectModel().getObjectClass().getGenericInterfaces()) {
@@ -808,14 +978,22 @@ public class DefaultProviderBinder implements ProviderBinder {
      */
     @SuppressWarnings({"unchecked"})
     protected <T> MessageBodyReader<T> doGetMessageBodyReader(Class<T> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        MessageBodyProviderKey key = new MessageBodyProviderKey(type, genericType, annotations, mediaType);
+        Optional<MessageBodyReader> cached = messageBodyReaders.getIfPresent(key);
+        if (cached != null) {
+            return cached.orElse(null);
+        }
+        long versionBeforeResolving = version.get();
         Iterator<MediaType> mediaTypeRange = createDescendingMediaTypeIterator(mediaType);
         Map<Class, MessageBodyReader> instanceCache = new HashMap<>();
         List<MessageBodyReader> matchedReaders = new ArrayList<>();
+        boolean cacheable = true;
         while (mediaTypeRange.hasNext()) {
             MediaType actual = mediaTypeRange.next();
             Collection<ObjectFactory<ProviderDescriptor>> messageBodyReaderFactories = readProviders.get(actual);
             if (messageBodyReaderFactories != null) {
                 for (ObjectFactory messageBodyReaderFactory : messageBodyReaderFactories) {
+                    cacheable &= messageBodyReaderFactory instanceof SingletonObjectFactory;
                     Class<?> messageBodyReaderClass = messageBodyReaderFactory.getObjectModel().getObjectClass();
                     MessageBodyReader messageBodyReader = instanceCache.get(messageBodyReaderClass);
                     if (messageBodyReader == null) {
@@ -828,13 +1006,32 @@ public class DefaultProviderBinder implements ProviderBinder {
                 }
             }
         }
-        if (matchedReaders.isEmpty()) {
-            return null;
+        MessageBodyReader reader = null;
+        if (!matchedReaders.isEmpty()) {
+            if (matchedReaders.size() > 1) {
+                Collections.sort(matchedReaders, comparing(this::getTypeSupportedByReader, new TypeProximityComparator(type)));
+            }
+            reader = matchedReaders.get(0);
         }
-        if (matchedReaders.size() > 1) {
-            Collections.sort(matchedReaders, comparing(this::getTypeSupportedByReader, new TypeProximityComparator(type)));
+        if (cacheable) {
+            cacheResolved(messageBodyReaders, key, Optional.ofNullable(reader), versionBeforeResolving);
+        }
+        return reader;
+    }
+
+    /**
+     * Caches provider resolved while version of this binder was {@code versionBeforeResolving}. Registration of provider
+     * increments version before it invalidates caches, so entry that is put concurrently with registration is either
+     * invalidated by registration or found stale by the check after put.
+     */
+    private <K, V> void cacheResolved(Cache<K, V> cache, K key, V resolved, long versionBeforeResolving) {
+        if (version.get() != versionBeforeResolving) {
+            return;
+        }
+        cache.put(key, resolved);
+        if (version.get() != versionBeforeResolving) {
+            cache.invalidate(key);
         }
-        return matchedReaders.get(0);
     }
 
     private Type getTypeSupportedByReader(MessageBodyReader<?> reader) {
@@ -865,14 +1062,22 @@ public class DefaultProviderBinder implements ProviderBinder {
      */
     @SuppressWarnings({"unchecked"})
     protected <T> MessageBodyWriter<T> doGetMessageBodyWriter(Class<T> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        MessageBodyProviderKey key = new MessageBodyProviderKey(type, genericType, annotations, mediaType);
+        Optional<MessageBodyWriter> cached = messageBodyWriters.getIfPresent(key);
+        if (cached != null) {
+            return cached.orElse(null);
+        }
+        long versionBeforeResolving = version.get();
         Iterator<MediaType> mediaTypeRange = createDescendingMediaTypeIterator(mediaType);
         Map<Class, MessageBodyWriter> instanceCache = new HashMap<>();
         List<MessageBodyWriter> matchedWriters = new ArrayList<>();
+        boolean cacheable = true;
         while (mediaTypeRange.hasNext()) {
             MediaType actual = mediaTypeRange.next();
             Collection<ObjectFactory<ProviderDescriptor>> messageBodyWriterFactories = writeProviders.get(actual);
             if (messageBodyWriterFactories != null) {
                 for (ObjectFactory messageBodyWriterFactory : messageBodyWriterFactories) {
+                    cacheable &= messageBodyWriterFactory instanceof SingletonObjectFactory;
                     Class<?> messageBodyWriterClass = messageBodyWriterFactory.getObjectModel().getObjectClass();
                     MessageBodyWriter messageBodyWriter = instanceCache.get(messageBodyWriterClass);
                     if (messageBodyWriter == null) {
@@ -885,13 +1090,17 @@ public class DefaultProviderBinder implements ProviderBinder {
                 }
             }
         }
-        if (matchedWriters.isEmpty()) {
-            return null;
+        MessageBodyWriter writer = null;
+        if (!matchedWriters.isEmpty()) {
+            if (matchedWriters.size() > 1) {
+                Collections.sort(matchedWriters, comparing(this::getTypeSupportedByWriter, new TypeProximityComparator(type)));
+            }
+            writer = matchedWriters.get(0);
         }
-        if (matchedWriters.size() > 1) {
-            Collections.sort(matchedWriters, comparing(this::getTypeSupportedByWriter, new TypeProximityComparator(type)));
+        if (cacheable) {
+            cacheResolved(messageBodyWriters, key, Optional.ofNullable(writer), versionBeforeResolving);
         }
-        return matchedWriters.get(0);
+        return writer;
     }
 
     private Type getTypeSupportedByWriter(MessageBodyWriter writer) {
@@ -1059,5 +1268,10 @@ public class DefaultProviderBinder implements ProviderBinder {
         enabledFeatureClasses.clear();
         enabledFeatures.clear();
         allRegistrations.clear();
+        version.incrementAndGet();
+        invocationPlans.invalidateAll();
+        messageBodyReaders.invalidateAll();
+        messageBodyWriters.invalidateAll();
+        paramConverters.invalidateAll();
     }
 }
@@ -19,6 +19,8 @@ import org.everrest.core.ProviderBinder;
 import org.everrest.core.RequestHandler;
 import org.everrest.core.ResourceBinder;
 import org.everrest.core.impl.method.MethodInvokerDecoratorFactory;
+import org.everrest.core.impl.metrics.RequestTimer;
+import org.everrest.core.impl.metrics.ResourceMetricsRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,6 +47,7 @@ public class EverrestProcessor implements Lifecycle {
     private final ProviderBinder providers;
 
     private final MethodInvokerDecoratorFactory methodInvokerDecoratorFactory;
+    private final ResourceMetricsRegistry       metricsRegistry;
 
     public EverrestProcessor(DependencySupplier dependencySupplier,
                              RequestHandler requestHandler,
@@ -69,6 +72,12 @@ public class EverrestProcessor implements Lifecycle {
             addApplication(application);
         }
         methodInvokerDecoratorFactory = createMethodInvokerDecoratorFactory(this.configuration);
+        if (this.configuration.isMetricsEnabled()) {
+            metricsRegistry = new ResourceMetricsRegistry();
+            providers.register(metricsRegistry);
+        } else {
+            metricsRegistry = null;
+        }
     }
 
     private MethodInvokerDecoratorFactory createMethodInvokerDecoratorFactory(ServerConfigurationProperties configuration) {
@@ -97,19 +106,56 @@ public class EverrestProcessor implements Lifecycle {
                 .withDependencySupplier(dependencySupplier)
                 .withMethodInvokerDecoratorFactory(methodInvokerDecoratorFactory)
                 .build();
+        if (metricsRegistry != null) {
+            context.setRequestTimer(new RequestTimer());
+        }
+        boolean completed = false;
+        AsyncResponseImpl suspended = null;
         try {
             context.start();
             context.setProcessingPhase(PRE_MATCHED);
             ApplicationContext.setCurrent(context);
             requestHandler.handleRequest(request, response);
+            completed = true;
+            suspended = getSuspendedResponse(context, response);
         } finally {
             try {
-                context.stop();
-                context.setProcessingPhase(ENDED);
+                if (suspended == null) {
+                    endRequest(context, response, completed);
+                }
             } finally {
                 ApplicationContext.setCurrent(null);
             }
         }
+        if (suspended != null) {
+            suspended.suspend();
+        }
+    }
+
+    private AsyncResponseImpl getSuspendedResponse(ApplicationContext context, GenericContainerResponse response) {
+        AsyncResponseImpl asyncResponse = context.getAsyncResponse();
+        if (asyncResponse == null || asyncResponse.getResumeAction() == null) {
+            return null;
+        }
+        AsyncResponseImpl.ResumeAction handleAction = asyncResponse.getResumeAction();
+        asyncResponse.setResumeAction(() -> {
+            boolean completed = false;
+            try {
+                handleAction.run();
+                completed = true;
+            } finally {
+                endRequest(context, response, completed);
+            }
+        });
+        return asyncResponse;
+    }
+
+    private void endRequest(ApplicationContext context, GenericContainerResponse response, boolean completed) {
+        context.stop();
+        context.setProcessingPhase(ENDED);
+        if (metricsRegistry != null) {
+            metricsRegistry.record(context.getRequestTimer(), completed ? response.getStatus() : 500);
+        }
     }
 
     public void addApplication(Application application) {
@@ -138,6 +184,15 @@ public class EverrestProcessor implements Lifecycle {
         return everrestApplication;
     }
 
+    public ServerConfigurationProperties getConfiguration() {
+        return configuration;
+    }
+
+    /** @return registry of metrics of resource methods or {@code null} if metrics are disabled */
+    public ResourceMetricsRegistry getMetricsRegistry() {
+        return metricsRegistry;
+    }
+
     @VisibleForTesting
     MethodInvokerDecoratorFactory getMethodInvokerDecoratorFactory() {
         return methodInvokerDecoratorFactory;
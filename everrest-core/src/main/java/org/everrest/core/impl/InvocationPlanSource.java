@@ -0,0 +1,28 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl;
+
+import org.everrest.core.resource.ResourceMethodDescriptor;
+
+/**
+ * Implemented by {@link org.everrest.core.ProviderBinder}s that precompute filters and contributions of dynamic
+ * features for resource methods. Other implementations of ProviderBinder are handled by {@link RequestDispatcher} per
+ * request.
+ */
+interface InvocationPlanSource {
+    /**
+     * Get precomputed filters and contributions of dynamic features for resource method.
+     *
+     * @param method resource method
+     * @return invocation plan or {@code null} if plan is not available
+     */
+    ResourceMethodInvocationPlan getInvocationPlan(ResourceMethodDescriptor method);
+}
@@ -21,9 +21,12 @@ import org.everrest.core.ObjectFactory;
 import org.everrest.core.ProviderBinder;
 import org.everrest.core.ResourceBinder;
 import org.everrest.core.async.AsynchronousJob;
+import org.everrest.core.impl.ContentNegotiationCache.Decision;
 import org.everrest.core.impl.header.AcceptMediaType;
 import org.everrest.core.impl.header.MediaTypeHelper;
+import org.everrest.core.impl.metrics.RequestTimer;
 import org.everrest.core.impl.resource.AbstractResourceDescriptor;
+import org.everrest.core.impl.resource.SubResourceDispatchTable;
 import org.everrest.core.method.MethodInvoker;
 import org.everrest.core.resource.ResourceDescriptor;
 import org.everrest.core.resource.ResourceMethodDescriptor;
@@ -47,13 +50,13 @@ import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Predicate;
 
 import static com.google.common.base.Throwables.propagate;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
+import static javax.ws.rs.core.HttpHeaders.ACCEPT;
 import static javax.ws.rs.core.HttpHeaders.ALLOW;
 import static javax.ws.rs.core.HttpHeaders.CONTENT_TYPE;
 import static javax.ws.rs.core.HttpHeaders.LOCATION;
@@ -81,6 +84,8 @@ public class RequestDispatcher {
     /** See {@link org.everrest.core.ResourceBinder}. */
     private final ResourceBinder resourceBinder;
     private final LoadingCache<Class<?>, ResourceDescriptor> locatorDescriptorCache;
+    private final LoadingCache<ResourceDescriptor, SubResourceDispatchTable> dispatchTableCache;
+    private final ContentNegotiationCache contentNegotiationCache;
 
     /**
      * Constructs new instance of RequestDispatcher.
@@ -99,6 +104,16 @@ public class RequestDispatcher {
                                                      return new AbstractResourceDescriptor(aClass);
                                                  }
                                              });
+        contentNegotiationCache = new ContentNegotiationCache();
+        dispatchTableCache = CacheBuilder.newBuilder()
+                                         .concurrencyLevel(16)
+                                         .weakKeys()
+                                         .build(new CacheLoader<ResourceDescriptor, SubResourceDispatchTable>() {
+                                             @Override
+                                             public SubResourceDispatchTable load(ResourceDescriptor resourceDescriptor) {
+                                                 return new SubResourceDispatchTable(resourceDescriptor);
+                                             }
+                                         });
     }
 
     /**
@@ -141,6 +156,14 @@ public class RequestDispatcher {
     }
 
     private String getRequestPathWithoutMatrixParameters(ApplicationContext context) {
+        String path = context.getPath(false);
+        if (path != null && path.indexOf(';') < 0) {
+            // There is no matrix parameters, path is the same as path joined from path segments.
+            if (path.isEmpty()) {
+                return "/";
+            }
+            return path.charAt(0) == '/' ? path : '/' + path;
+        }
         List<PathSegment> requestPathSegments = context.getPathSegments(false);
         if (requestPathSegments.isEmpty()) {
             return "/";
@@ -187,59 +210,58 @@ public class RequestDispatcher {
         boolean resourceMethodRequested = lastParameterValue == null || "/".equals(lastParameterValue);
         Map<String, List<ResourceMethodDescriptor>> resourceMethods = resourceDescriptor.getResourceMethods();
         if (resourceMethodRequested && !resourceMethods.isEmpty()) {
-            List<ResourceMethodDescriptor> matchedResourceMethods = new ArrayList<>();
-            boolean match = processResourceMethod(resourceMethods, request, response, matchedResourceMethods);
-            if (match) {
-                ResourceMethodDescriptor mostMatchedResourceMethod = matchedResourceMethods.get(0);
+            Decision<ResourceMethodDescriptor> decision = processResourceMethod(resourceMethods, request, response);
+            if (decision != null) {
+                ResourceMethodDescriptor mostMatchedResourceMethod = decision.getCandidates().get(0);
                 if (Tracer.isTracingEnabled()) {
                     Tracer.trace("Matched resource method for method \"%s\", media type \"%s\" = (%s)",
                                  request.getMethod(), request.getMediaType(), mostMatchedResourceMethod.getMethod());
                 }
 
                 context.setProcessingPhase(MATCHED);
-                invokeResourceMethod(mostMatchedResourceMethod, resource, context, request, response);
+                invokeResourceMethod(mostMatchedResourceMethod, decision, resource, context, request, response);
             } else {
                 LOG.debug("Not found resource method for method {}", request.getMethod());
             }
         } else {
-            Map<UriPattern, Map<String, List<SubResourceMethodDescriptor>>> subResourceMethods = resourceDescriptor.getSubResourceMethods();
-            Map<UriPattern, SubResourceLocatorDescriptor> subResourceLocators = resourceDescriptor.getSubResourceLocators();
+            SubResourceDispatchTable dispatchTable = getSubResourceDispatchTable(resourceDescriptor);
 
-            List<SubResourceMethodDescriptor> matchedSubResourceMethods = new ArrayList<>();
-            boolean match = processSubResourceMethod(subResourceMethods, requestPath, request, response, parameterValues, matchedSubResourceMethods);
+            Decision<SubResourceMethodDescriptor> decision = processSubResourceMethod(dispatchTable, requestPath, request, response, parameterValues);
+            SubResourceLocatorDescriptor matchedSubResourceLocator = dispatchTable.findSubResourceLocator(requestPath, parameterValues);
 
-            List<SubResourceLocatorDescriptor> matchedSubResourceLocators = new ArrayList<>();
-            match |= processSubResourceLocator(subResourceLocators, requestPath, parameterValues, matchedSubResourceLocators);
-
-            if (match) {
+            if (decision != null || matchedSubResourceLocator != null) {
                 response.setResponse(null);
 
-                boolean foundMatchedSubResourceMethods = !matchedSubResourceMethods.isEmpty();
-                boolean foundMatchedSubResourceLocators = !matchedSubResourceLocators.isEmpty();
+                boolean foundMatchedSubResourceMethods = decision != null;
+                boolean foundMatchedSubResourceLocators = matchedSubResourceLocator != null;
                 if (foundMatchedSubResourceMethods && Tracer.isTracingEnabled()) {
                     Tracer.trace("Matched sub-resource method for method \"%s\", path \"%s\", media type \"%s\" = (%s)",
-                                 request.getMethod(), requestPath, request.getMediaType(), matchedSubResourceMethods.get(0).getMethod());
+                                 request.getMethod(), requestPath, request.getMediaType(), decision.getCandidates().get(0).getMethod());
                 }
                 if (foundMatchedSubResourceLocators && Tracer.isTracingEnabled()) {
                     Tracer.trace("Matched sub-resource locator for path \"%s\", media type \"%s\" = (%s)",
-                                 requestPath, request.getMediaType(), matchedSubResourceLocators.get(0).getMethod());
+                                 requestPath, request.getMediaType(), matchedSubResourceLocator.getMethod());
                 }
 
                 if (foundMatchedSubResourceMethods
-                    && (!foundMatchedSubResourceLocators || compareSubResources(matchedSubResourceMethods.get(0), matchedSubResourceLocators.get(0)) < 0)) {
+                    && (!foundMatchedSubResourceLocators || compareSubResources(decision.getCandidates().get(0), matchedSubResourceLocator) < 0)) {
 
                     if (Tracer.isTracingEnabled()) {
-                        Tracer.trace("Sub-resource method (%s) selected", matchedSubResourceMethods.get(0).getMethod());
+                        Tracer.trace("Sub-resource method (%s) selected", decision.getCandidates().get(0).getMethod());
+                    }
+                    if (foundMatchedSubResourceLocators) {
+                        // Template values were overwritten when sub-resource locator was matched.
+                        decision.getCandidates().get(0).getUriPattern().match(requestPath, parameterValues);
                     }
 
                     context.setProcessingPhase(MATCHED);
-                    invokeSubResourceMethod(requestPath, matchedSubResourceMethods.get(0), resource, context, request, response);
+                    invokeSubResourceMethod(requestPath, decision.getCandidates().get(0), decision, resource, context, request, response);
                 } else {
                     if (Tracer.isTracingEnabled()) {
-                        Tracer.trace("Sub-resource locator (%s) selected", matchedSubResourceLocators.get(0).getMethod());
+                        Tracer.trace("Sub-resource locator (%s) selected", matchedSubResourceLocator.getMethod());
                     }
 
-                    invokeSubResourceLocator(requestPath, matchedSubResourceLocators.get(0), resource, context, request, response);
+                    invokeSubResourceLocator(requestPath, matchedSubResourceLocator, resource, context, request, response);
                 }
             } else {
                 LOG.debug("Not found sub-resource methods nor sub-resource locators for path {} and method {}", requestPath, request.getMethod());
@@ -251,6 +273,7 @@ public class RequestDispatcher {
      * Invoke resource methods.
      *
      * @param resourceMethod See {@link org.everrest.core.resource.ResourceMethodDescriptor}
+     * @param decision       result of content negotiation
      * @param resource       instance of resource class
      * @param context        See {@link ApplicationContext}
      * @param request        See {@link org.everrest.core.GenericContainerRequest}
@@ -258,12 +281,13 @@ public class RequestDispatcher {
      * @see org.everrest.core.resource.ResourceMethodDescriptor
      */
     private void invokeResourceMethod(ResourceMethodDescriptor resourceMethod,
+                                      Decision<?> decision,
                                       Object resource,
                                       ApplicationContext context,
                                       GenericContainerRequest request,
                                       GenericContainerResponse response) throws IOException {
         context.addMatchedResource(resource);
-        doInvokeResource(resourceMethod, resource, context, request, response);
+        doInvokeResource(resourceMethod, decision, resource, context, request, response);
     }
 
     /**
@@ -271,6 +295,7 @@ public class RequestDispatcher {
      *
      * @param requestPath       request path
      * @param subResourceMethod See {@link org.everrest.core.resource.SubResourceMethodDescriptor}
+     * @param decision          result of content negotiation
      * @param resource          instance of resource class
      * @param context           See {@link ApplicationContext}
      * @param request           See {@link org.everrest.core.GenericContainerRequest}
@@ -279,6 +304,7 @@ public class RequestDispatcher {
      */
     private void invokeSubResourceMethod(String requestPath,
                                          SubResourceMethodDescriptor subResourceMethod,
+                                         Decision<?> decision,
                                          Object resource,
                                          ApplicationContext context,
                                          GenericContainerRequest request,
@@ -286,29 +312,65 @@ public class RequestDispatcher {
         context.addMatchedResource(resource);
         context.addMatchedURI(requestPath);
         context.setParameterNames(subResourceMethod.getUriPattern().getParameterNames());
-        doInvokeResource(subResourceMethod, resource, context, request, response);
+        doInvokeResource(subResourceMethod, decision, resource, context, request, response);
     }
 
     private void doInvokeResource(ResourceMethodDescriptor method,
+                                  Decision<?> decision,
                                   Object resource,
                                   ApplicationContext context,
                                   GenericContainerRequest request,
                                   GenericContainerResponse response) throws IOException {
+        RequestTimer timer = context.getRequestTimer();
+        if (timer != null) {
+            timer.matched(method);
+        }
         MethodInvoker invoker = context.getMethodInvoker(method);
         ConfigurationProperties configuration = context.getConfigurationProperties();
         ProviderBinder providers = context.getProviders();
-        providers.getDynamicFeatures()
-                .forEach(df -> df.configure(method.getResourceInfo(), new DefaultFeatureContext(providers, configuration)));
+        ResourceMethodInvocationPlan plan = providers instanceof InvocationPlanSource ? ((InvocationPlanSource)providers).getInvocationPlan(method) : null;
+        List<ContainerRequestFilter> requestFilters;
+        if (plan == null) {
+            providers.getDynamicFeatures()
+                    .forEach(df -> df.configure(method.getResourceInfo(), new DefaultFeatureContext(providers, configuration)));
+            requestFilters = providers.getContainerRequestFilters(method.getNameBindingAnnotations(), false);
+        } else {
+            if (plan.hasDynamicFeatureContributions()) {
+                context.setProviders(new RuntimeProviderBinder(plan.getProviders(), configuration));
+            }
+            requestFilters = plan.getContainerRequestFilters(context);
+        }
 
-        for (ContainerRequestFilter filter : context.getProviders().getContainerRequestFilters(method.getNameBindingAnnotations(), false)) {
+        for (ContainerRequestFilter filter : requestFilters) {
             filter.filter(request);
         }
 
         Object result = invoker.invokeMethod(resource, method, context);
+        AsyncResponseImpl asyncResponse = context.getAsyncResponse();
+        if (asyncResponse != null) {
+            // Response is processed when resource method resumes it.
+            asyncResponse.setResumeAction(
+                    () -> processResult(asyncResponse.getResult(), method, plan, providers, decision, context, request, response));
+            return;
+        }
+        processResult(result, method, plan, providers, decision, context, request, response);
+    }
+
+    private void processResult(Object result,
+                               ResourceMethodDescriptor method,
+                               ResourceMethodInvocationPlan plan,
+                               ProviderBinder providers,
+                               Decision<?> decision,
+                               ApplicationContext context,
+                               GenericContainerRequest request,
+                               GenericContainerResponse response) throws IOException {
         context.setProcessingPhase(SENDING_RESPONSE);
-        processResponse(result, request, response, method.produces(), context);
+        processResponse(result, request, response, method.produces(), decision, context);
 
-        for (ContainerResponseFilter filter : providers.getContainerResponseFilters(method.getNameBindingAnnotations())) {
+        List<ContainerResponseFilter> responseFilters = plan == null
+                                                        ? providers.getContainerResponseFilters(method.getNameBindingAnnotations())
+                                                        : plan.getContainerResponseFilters(context);
+        for (ContainerResponseFilter filter : responseFilters) {
             filter.filter(request, response);
         }
     }
@@ -384,6 +446,7 @@ public class RequestDispatcher {
      * @param request                See {@link org.everrest.core.GenericContainerRequest}
      * @param response               See {@link org.everrest.core.GenericContainerResponse}
      * @param produces               list of method produces media types
+     * @param decision               result of content negotiation
      * @param context
      * @see org.everrest.core.resource.ResourceMethodDescriptor
      * @see org.everrest.core.resource.SubResourceMethodDescriptor
@@ -393,6 +456,7 @@ public class RequestDispatcher {
                                  GenericContainerRequest request,
                                  GenericContainerResponse response,
                                  List<MediaType> produces,
+                                 Decision<?> decision,
                                  ApplicationContext context) {
         if (response.getResponse() != null) {
             // Response may be set for asynchronous jobs.
@@ -408,7 +472,10 @@ public class RequestDispatcher {
                                          .entity(externalJobUri)
                                          .type(TEXT_PLAIN).build());
         } else {
-            MediaType contentType = request.getAcceptableMediaType(produces);
+            MediaType contentType = decision.getResponseMediaType(getAcceptHeader(request));
+            if (contentType == null) {
+                contentType = request.getAcceptableMediaType(produces);
+            }
             if (Response.class.isAssignableFrom(methodInvocationResult.getClass())) {
                 Response resultResponse = (Response)methodInvocationResult;
                 if (resultResponse.getMetadata().getFirst(CONTENT_TYPE) == null && resultResponse.getEntity() != null) {
@@ -422,19 +489,18 @@ public class RequestDispatcher {
     }
 
     /**
-     * Process resource methods.
+     * Process resource methods. Result of content negotiation is taken from {@link ContentNegotiationCache} if
+     * the same set of resource methods was already negotiated for the same Content-Type and Accept headers.
      *
      * @param <T>             ResourceMethodDescriptor extension
      * @param resourceMethods resource methods
      * @param request         See {@link org.everrest.core.GenericContainerRequest}
      * @param response        See {@link org.everrest.core.GenericContainerResponse}
-     * @param matchedMethods  list for matched method resources
-     * @return true if at least one resource method found false otherwise
+     * @return result of content negotiation if at least one resource method found or {@code null} otherwise
      */
-    private <T extends ResourceMethodDescriptor> boolean processResourceMethod(Map<String, List<T>> resourceMethods,
-                                                                               GenericContainerRequest request,
-                                                                               GenericContainerResponse response,
-                                                                               List<T> matchedMethods) {
+    private <T extends ResourceMethodDescriptor> Decision<T> processResourceMethod(Map<String, List<T>> resourceMethods,
+                                                                                   GenericContainerRequest request,
+                                                                                   GenericContainerResponse response) {
         final String httpMethod = request.getMethod();
         List<T> resourceMethodsByHttpMethod = resourceMethods.get(httpMethod);
         if (resourceMethodsByHttpMethod == null || resourceMethodsByHttpMethod.size() == 0) {
@@ -443,24 +509,40 @@ public class RequestDispatcher {
                                          .entity(String.format("%s method is not allowed", httpMethod))
                                          .type(TEXT_PLAIN)
                                          .build());
-            return false;
+            return null;
         }
 
-        List<T> resourceMethodCandidates = new ArrayList<>();
+        String accept = getAcceptHeader(request);
+        Decision<T> decision = contentNegotiationCache.get(resourceMethodsByHttpMethod, getContentTypeHeader(request), accept,
+                                                           () -> negotiate(resourceMethodsByHttpMethod, request, accept));
+        if (decision.getStatus() == UNSUPPORTED_MEDIA_TYPE) {
+            response.setResponse(Response.status(UNSUPPORTED_MEDIA_TYPE)
+                                         .entity(String.format("Media type %s is not supported", request.getMediaType()))
+                                         .type(TEXT_PLAIN)
+                                         .build());
+            return null;
+        }
+        if (decision.getStatus() == NOT_ACCEPTABLE) {
+            response.setResponse(Response.status(NOT_ACCEPTABLE).entity("Not Acceptable").type(TEXT_PLAIN).build());
+            return null;
+        }
+        return decision;
+    }
+
+    private <T extends ResourceMethodDescriptor> Decision<T> negotiate(List<T> resourceMethodsByHttpMethod,
+                                                                       GenericContainerRequest request,
+                                                                       String accept) {
+        List<T> resourceMethodCandidates;
         MediaType contentType = request.getMediaType();
         if (contentType == null) {
-            resourceMethodCandidates.addAll(resourceMethodsByHttpMethod);
+            resourceMethodCandidates = resourceMethodsByHttpMethod;
         } else {
-            resourceMethodCandidates.addAll(resourceMethodsByHttpMethod.stream()
-                                                                       .filter(resourceMethod -> MediaTypeHelper.isConsume(resourceMethod.consumes(), contentType))
-                                                                       .collect(toList()));
+            resourceMethodCandidates = resourceMethodsByHttpMethod.stream()
+                                                                  .filter(resourceMethod -> MediaTypeHelper.isConsume(resourceMethod.consumes(), contentType))
+                                                                  .collect(toList());
         }
         if (resourceMethodCandidates.isEmpty()) {
-            response.setResponse(Response.status(UNSUPPORTED_MEDIA_TYPE)
-                                         .entity(String.format("Media type %s is not supported", contentType))
-                                         .type(TEXT_PLAIN)
-                                         .build());
-            return false;
+            return Decision.failed(UNSUPPORTED_MEDIA_TYPE);
         }
 
         List<AcceptMediaType> acceptMediaTypes = request.getAcceptMediaTypeList();
@@ -469,12 +551,35 @@ public class RequestDispatcher {
                                                            .sorted(byAcceptMediaTypeComparator(acceptMediaTypes))
                                                            .collect(toList());
         if (resourceMethodCandidates.isEmpty()) {
-            response.setResponse(Response.status(NOT_ACCEPTABLE).entity("Not Acceptable").type(TEXT_PLAIN).build());
-            return false;
+            return Decision.failed(NOT_ACCEPTABLE);
         }
 
-        matchedMethods.addAll(resourceMethodCandidates);
-        return true;
+        return Decision.matched(resourceMethodCandidates, request.getAcceptableMediaType(resourceMethodCandidates.get(0).produces()), accept);
+    }
+
+    private String getContentTypeHeader(GenericContainerRequest request) {
+        return getRawHeader(request, CONTENT_TYPE);
+    }
+
+    private String getAcceptHeader(GenericContainerRequest request) {
+        return getRawHeader(request, ACCEPT);
+    }
+
+    private String getRawHeader(GenericContainerRequest request, String name) {
+        List<String> values = request.getRequestHeader(name);
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        return values.size() == 1 ? values.get(0) : convertToString(values);
+    }
+
+    /**
+     * Get cache of content negotiation results.
+     *
+     * @return cache of content negotiation results
+     */
+    public ContentNegotiationCache getContentNegotiationCache() {
+        return contentNegotiationCache;
     }
 
     private <T extends ResourceMethodDescriptor> Comparator<T> byAcceptMediaTypeComparator(List<AcceptMediaType> acceptMediaTypes) {
@@ -502,63 +607,49 @@ public class RequestDispatcher {
     /**
      * Process sub-resource methods.
      *
-     * @param subResourceMethods sub-resource methods
-     * @param requestedPath      part of requested path
-     * @param request            See {@link org.everrest.core.GenericContainerRequest}
-     * @param response           See {@link org.everrest.core.GenericContainerResponse}
-     * @param capturedValues     the list for keeping template values. See
-     *                           {@link javax.ws.rs.core.UriInfo#getPathParameters()}
-     * @param matchedMethods     list for method resources
-     * @return true if at least one sub-resource method found false otherwise
+     * @param dispatchTable  compiled sub-resource methods and locators of resource
+     * @param requestedPath  part of requested path
+     * @param request        See {@link org.everrest.core.GenericContainerRequest}
+     * @param response       See {@link org.everrest.core.GenericContainerResponse}
+     * @param capturedValues the list for keeping template values. See
+     *                       {@link javax.ws.rs.core.UriInfo#getPathParameters()}
+     * @return result of content negotiation if at least one sub-resource method found or {@code null} otherwise
      */
-    private boolean processSubResourceMethod(Map<UriPattern, Map<String, List<SubResourceMethodDescriptor>>> subResourceMethods,
-                                             String requestedPath,
-                                             GenericContainerRequest request,
-                                             GenericContainerResponse response,
-                                             List<String> capturedValues,
-                                             List<SubResourceMethodDescriptor> matchedMethods) {
-        Map<String, List<SubResourceMethodDescriptor>> resourceMethods = null;
-        for (Entry<UriPattern, Map<String, List<SubResourceMethodDescriptor>>> entry : subResourceMethods.entrySet()) {
-            if (entry.getKey().match(requestedPath, capturedValues)) {
-                String lastCapturedValue = Iterables.getLast(capturedValues);
-                if (lastCapturedValue == null || "/".equals(lastCapturedValue)) {
-                    resourceMethods = entry.getValue();
-                    if (resourceMethods.containsKey(request.getMethod())) {
-                        break;
-                    }
-                }
-            }
-        }
+    private Decision<SubResourceMethodDescriptor> processSubResourceMethod(SubResourceDispatchTable dispatchTable,
+                                                                           String requestedPath,
+                                                                           GenericContainerRequest request,
+                                                                           GenericContainerResponse response,
+                                                                           List<String> capturedValues) {
+        Map<String, List<SubResourceMethodDescriptor>> resourceMethods =
+                dispatchTable.findSubResourceMethods(request.getMethod(), requestedPath, capturedValues);
 
         if (resourceMethods == null) {
             response.setResponse(Response.status(NOT_FOUND)
                                          .entity(String.format("There is no any resources matched to request path %s", requestedPath))
                                          .type(TEXT_PLAIN)
                                          .build());
-            return false;
+            return null;
         }
 
-        return processResourceMethod(resourceMethods, request, response, matchedMethods);
+        return processResourceMethod(resourceMethods, request, response);
     }
 
     /**
-     * Process sub-resource locators.
+     * Get compiled sub-resource methods and locators of resource. Descriptors created by EverRest have it compiled at
+     * the time of their creation, table for any other implementation of ResourceDescriptor is created once and cached.
      *
-     * @param subResourceLocators sub-resource locators
-     * @param requestedPath       part of requested path
-     * @param capturingValues     the list for keeping template values
-     * @param locators            list for sub-resource locators
-     * @return true if at least one SubResourceLocatorDescriptor found false otherwise
+     * @param resourceDescriptor resource descriptor
+     * @return compiled sub-resource methods and locators
      */
-    private boolean processSubResourceLocator(Map<UriPattern, SubResourceLocatorDescriptor> subResourceLocators,
-                                              String requestedPath,
-                                              List<String> capturingValues,
-                                              List<SubResourceLocatorDescriptor> locators) {
-        locators.addAll(subResourceLocators.entrySet().stream()
-                                           .filter(e -> e.getKey().match(requestedPath, capturingValues))
-                                           .map(e -> e.getValue())
-                                           .collect(toList()));
-        return !locators.isEmpty();
+    private SubResourceDispatchTable getSubResourceDispatchTable(ResourceDescriptor resourceDescriptor) {
+        if (resourceDescriptor instanceof AbstractResourceDescriptor) {
+            return ((AbstractResourceDescriptor)resourceDescriptor).getSubResourceDispatchTable();
+        }
+        try {
+            return dispatchTableCache.get(resourceDescriptor);
+        } catch (ExecutionException e) {
+            throw propagate(e.getCause());
+        }
     }
 
     /**
@@ -15,6 +15,7 @@ import org.everrest.core.GenericContainerResponse;
 import org.everrest.core.ProviderBinder;
 import org.everrest.core.RequestHandler;
 import org.everrest.core.UnhandledException;
+import org.everrest.core.impl.metrics.RequestTimer;
 import org.everrest.core.tools.ErrorPages;
 import org.everrest.core.util.Tracer;
 import org.slf4j.Logger;
@@ -29,6 +30,7 @@ import java.io.IOException;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static java.util.Objects.requireNonNull;
+import static org.everrest.core.impl.metrics.RequestPhase.ENTITY_WRITE;
 
 /**
  * @author andrew00x
@@ -51,16 +53,43 @@ public class RequestHandlerImpl implements RequestHandler {
         try {
             dispatcher.dispatch(request, response);
         } catch (Exception e) {
-            if (e instanceof WebApplicationException) {
-                handleWebApplicationException((WebApplicationException)e, response, context.getEnvironmentContext().get(ErrorPages.class));
-            } else if (e instanceof InternalException) {
-                handleInternalException((InternalException)e, response, context.getEnvironmentContext().get(ErrorPages.class));
-            } else {
-                throw new UnhandledException(e);
-            }
+            handleException(e, response, context);
+        }
+
+        AsyncResponseImpl asyncResponse = context == null ? null : context.getAsyncResponse();
+        if (asyncResponse != null && asyncResponse.getResumeAction() != null) {
+            AsyncResponseImpl.ResumeAction dispatchAction = asyncResponse.getResumeAction();
+            asyncResponse.setResumeAction(() -> {
+                try {
+                    dispatchAction.run();
+                } catch (Exception e) {
+                    handleException(e, response, context);
+                }
+                writeResponse(response, context);
+            });
+            return;
         }
 
+        writeResponse(response, context);
+    }
+
+    private void handleException(Exception e, GenericContainerResponse response, ApplicationContext context) {
+        if (e instanceof WebApplicationException) {
+            handleWebApplicationException((WebApplicationException)e, response, context.getEnvironmentContext().get(ErrorPages.class));
+        } else if (e instanceof InternalException) {
+            handleInternalException((InternalException)e, response, context.getEnvironmentContext().get(ErrorPages.class));
+        } else {
+            throw new UnhandledException(e);
+        }
+    }
+
+    private void writeResponse(GenericContainerResponse response, ApplicationContext context) throws IOException {
+        RequestTimer timer = context == null ? null : context.getRequestTimer();
+        long writeStartTime = timer == null ? 0 : System.nanoTime();
         response.writeResponse();
+        if (timer != null) {
+            timer.record(ENTITY_WRITE, writeStartTime);
+        }
     }
 
     @SuppressWarnings({"unchecked"})
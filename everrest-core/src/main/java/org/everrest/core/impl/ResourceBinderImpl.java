@@ -10,14 +10,15 @@
  *******************************************************************************/
 package org.everrest.core.impl;
 
-import com.google.common.collect.Iterables;
 import org.everrest.core.ObjectFactory;
 import org.everrest.core.ObjectFactoryProducer;
 import org.everrest.core.ResourceBinder;
 import org.everrest.core.ResourcePublicationException;
 import org.everrest.core.impl.resource.AbstractResourceDescriptor;
 import org.everrest.core.resource.ResourceDescriptor;
+import org.everrest.core.uri.UriMatch;
 import org.everrest.core.uri.UriPattern;
+import org.everrest.core.uri.UriPatternIndex;
 import org.everrest.core.util.UriPatternComparator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,6 +48,8 @@ public class ResourceBinderImpl implements ResourceBinder {
 
     /** Root resource descriptors. */
     private volatile List<ObjectFactory<ResourceDescriptor>> resources = new ArrayList<>();
+    /** Routing index of root resources. Re-created each time when set of root resources is changed. */
+    private volatile UriPatternIndex<ObjectFactory<ResourceDescriptor>> resourceIndex = createResourceIndex(resources);
 
     /** Update resources (add, remove, clear) lock. */
     private final ReentrantLock lock = new ReentrantLock();
@@ -130,12 +133,22 @@ public class ResourceBinderImpl implements ResourceBinder {
             snapshot.add(newResourceFactory);
             Collections.sort(snapshot, resourceComparator);
             LOG.debug("Add resource: {}", newResourceFactory.getObjectModel());
-            resources = snapshot;
+            setResources(snapshot);
         } finally {
             lock.unlock();
         }
     }
 
+    /** Must be called under lock. */
+    private void setResources(List<ObjectFactory<ResourceDescriptor>> snapshot) {
+        resourceIndex = createResourceIndex(snapshot);
+        resources = snapshot;
+    }
+
+    private UriPatternIndex<ObjectFactory<ResourceDescriptor>> createResourceIndex(List<ObjectFactory<ResourceDescriptor>> resources) {
+        return new UriPatternIndex<>(resources, resource -> resource.getObjectModel().getUriPattern());
+    }
+
     private CodeSource getCodeSource(Class<?> aClass) {
         return aClass.getProtectionDomain().getCodeSource();
     }
@@ -144,14 +157,15 @@ public class ResourceBinderImpl implements ResourceBinder {
     public void clear() {
         lock.lock();
         try {
-            resources = new ArrayList<>();
+            setResources(new ArrayList<>());
         } finally {
             lock.unlock();
         }
     }
 
     /**
-     * Get root resource matched to <code>requestPath</code>.
+     * Get root resource matched to <code>requestPath</code>. Only resources which literal part of URI pattern matches to
+     * <code>requestPath</code> are checked, see {@link UriPatternIndex}.
      *
      * @param requestPath
      *         request path
@@ -163,16 +177,16 @@ public class ResourceBinderImpl implements ResourceBinder {
     @Override
     public ObjectFactory<ResourceDescriptor> getMatchedResource(String requestPath, List<String> parameterValues) {
         ObjectFactory<ResourceDescriptor> resourceFactory = null;
-        List<ObjectFactory<ResourceDescriptor>> myResources = resources;
+        List<ObjectFactory<ResourceDescriptor>> myResources = resourceIndex.getCandidates(requestPath);
 
+        UriMatch match = new UriMatch();
         for (ObjectFactory<ResourceDescriptor> resource : myResources) {
-            if (resource.getObjectModel().getUriPattern().match(requestPath, parameterValues)) {
-                // all times will at least 1
-                String lastParameterValue = Iterables.getLast(parameterValues);
+            if (resource.getObjectModel().getUriPattern().match(requestPath, 0, requestPath.length(), match)) {
                 // If capturing group contains last element and this element is
                 // neither null nor '/' then ResourceClass must contains at least one
                 // sub-resource method or sub-resource locator.
-                if (lastParameterValue == null || lastParameterValue.equals("/") || hasSubResourceMethodsOrSubResourceLocators(resource)) {
+                if (match.hasEmptyTail() || hasSubResourceMethodsOrSubResourceLocators(resource)) {
+                    match.copyGroupsTo(parameterValues);
                     resourceFactory = resource;
                     break;
                 }
@@ -215,7 +229,7 @@ public class ResourceBinderImpl implements ResourceBinder {
             }
             if (resource != null) {
                 LOG.debug("Remove resource: {}", resource.getObjectModel());
-                resources = snapshot;
+                setResources(snapshot);
             }
             return resource;
         } finally {
@@ -242,7 +256,7 @@ public class ResourceBinderImpl implements ResourceBinder {
             }
             if (resource != null) {
                 LOG.debug("Remove resource: {}", resource.getObjectModel());
-                resources = snapshot;
+                setResources(snapshot);
             }
             return resource;
         } finally {
@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl;
+
+import com.google.common.collect.ImmutableList;
+import org.everrest.core.ObjectFactory;
+import org.everrest.core.ProviderBinder;
+import org.everrest.core.provider.ProviderDescriptor;
+
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseFilter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Filters that are applied to invocation of particular resource method. Plan is created once for resource method by
+ * {@link DefaultProviderBinder} and reused while set of registered providers is not changed. Plan keeps factories of
+ * filters, instances of filters are got from factories for each invocation, so lifecycle of filters is not changed.
+ * <p>
+ * If any {@link javax.ws.rs.container.DynamicFeature} registers providers for resource method then plan contains
+ * {@link ProviderBinder} that includes all providers registered with {@link DefaultProviderBinder} and providers
+ * registered by dynamic features, such providers must be used for invocation of resource method.
+ */
+public final class ResourceMethodInvocationPlan {
+    private final long                                    version;
+    private final ProviderBinder                          providers;
+    private final List<ObjectFactory<ProviderDescriptor>> containerRequestFilters;
+    private final List<ObjectFactory<ProviderDescriptor>> containerResponseFilters;
+
+    ResourceMethodInvocationPlan(long version,
+                                 ProviderBinder providers,
+                                 List<ObjectFactory<ProviderDescriptor>> containerRequestFilters,
+                                 List<ObjectFactory<ProviderDescriptor>> containerResponseFilters) {
+        this.version = version;
+        this.providers = providers;
+        this.containerRequestFilters = ImmutableList.copyOf(containerRequestFilters);
+        this.containerResponseFilters = ImmutableList.copyOf(containerResponseFilters);
+    }
+
+    /** @return version of {@link DefaultProviderBinder} at the moment when this plan was created */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return providers with contributions of dynamic features or {@code null} if dynamic features do not register any
+     * providers for resource method
+     */
+    public ProviderBinder getProviders() {
+        return providers;
+    }
+
+    /** @return {@code true} if dynamic features register any providers for resource method */
+    public boolean hasDynamicFeatureContributions() {
+        return providers != null;
+    }
+
+    /**
+     * @param context current application context
+     * @return request filters, that are not pre-matching, in order of their priorities
+     */
+    public List<ContainerRequestFilter> getContainerRequestFilters(ApplicationContext context) {
+        List<ContainerRequestFilter> filters = new ArrayList<>(containerRequestFilters.size());
+        for (ObjectFactory<ProviderDescriptor> factory : containerRequestFilters) {
+            filters.add((ContainerRequestFilter)factory.getInstance(context));
+        }
+        return filters;
+    }
+
+    /**
+     * @param context current application context
+     * @return response filters in order of their priorities
+     */
+    public List<ContainerResponseFilter> getContainerResponseFilters(ApplicationContext context) {
+        List<ContainerResponseFilter> filters = new ArrayList<>(containerResponseFilters.size());
+        for (ObjectFactory<ProviderDescriptor> factory : containerResponseFilters) {
+            filters.add((ContainerResponseFilter)factory.getInstance(context));
+        }
+        return filters;
+    }
+}
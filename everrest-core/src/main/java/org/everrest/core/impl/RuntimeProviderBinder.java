@@ -13,6 +13,7 @@ package org.everrest.core.impl;
 import org.everrest.core.ConfigurationProperties;
 import org.everrest.core.ObjectFactoryProducer;
 import org.everrest.core.ProviderBinder;
+import org.everrest.core.resource.ResourceMethodDescriptor;
 
 import javax.ws.rs.RuntimeType;
 import javax.ws.rs.client.ClientRequestFilter;
@@ -43,7 +44,7 @@ import static java.util.Objects.requireNonNull;
  * but once we need register any new provider copy of wrapped ProviderBinder is created. Copy is created only once at
  * first attempt to register provider. Once copy is created wrapped ProviderBinder is replaced with this newly created copy.
  */
-public class RuntimeProviderBinder implements ProviderBinder {
+public class RuntimeProviderBinder implements ProviderBinder, InvocationPlanSource {
     private final ConfigurationProperties properties;
     private ProviderBinder providers;
     private volatile boolean copied;
@@ -178,6 +179,12 @@ public class RuntimeProviderBinder implements ProviderBinder {
         return get(false).getDynamicFeatures();
     }
 
+    @Override
+    public ResourceMethodInvocationPlan getInvocationPlan(ResourceMethodDescriptor method) {
+        ProviderBinder providers = get(false);
+        return providers instanceof InvocationPlanSource ? ((InvocationPlanSource)providers).getInvocationPlan(method) : null;
+    }
+
     @Override
     public void clear() {
         get(true).clear();
@@ -27,6 +27,18 @@ public class ServerConfigurationProperties extends SimpleConfigurationProperties
     public static final String EVERREST_ASYNCHRONOUS_QUEUE_SIZE   = "org.everrest.asynchronous.queue.size";
     public static final String EVERREST_ASYNCHRONOUS_CACHE_SIZE   = "org.everrest.asynchronous.cache.size";
     public static final String EVERREST_ASYNCHRONOUS_JOB_TIMEOUT  = "org.everrest.asynchronous.job.timeout";
+    /** Max number of asynchronous jobs of one user, jobs of anonymous users are not limited. Zero means no limit. */
+    public static final String EVERREST_ASYNCHRONOUS_USER_QUOTA   = "org.everrest.asynchronous.user.quota";
+    /** Executor of asynchronous jobs: 'fixed' (default), 'work-stealing' or 'virtual'. */
+    public static final String EVERREST_ASYNCHRONOUS_EXECUTOR     = "org.everrest.asynchronous.executor";
+    public static final String EVERREST_METRICS                   = "org.everrest.metrics";
+    public static final String EVERREST_METRICS_SERVICE_PATH      = "org.everrest.metrics.service.path";
+    /**
+     * Enables non-blocking writing of response entities in servlet container. Entities are buffered and then sent to
+     * client with {@link javax.servlet.WriteListener}, requires asynchronous processing to be enabled for servlet. Entities
+     * that are larger than {@link #EVERREST_MAX_BUFFER_SIZE} are sent by parts while they are still written.
+     */
+    public static final String EVERREST_NON_BLOCKING_WRITE        = "org.everrest.non.blocking.write";
     public static final String METHOD_INVOKER_DECORATOR_FACTORY   = "org.everrest.core.impl.method.MethodInvokerDecoratorFactory";
     /**
      * Max buffer size configuration parameter. Entities that has size greater then specified will be stored in temporary directory on file
@@ -44,7 +56,12 @@ public class ServerConfigurationProperties extends SimpleConfigurationProperties
     public static final int     defaultAsynchronousQueueSize   = 100;
     public static final int     defaultAsynchronousCacheSize   = 512;
     public static final int     defaultAsynchronousJobTimeout  = 60;
+    public static final int     defaultAsynchronousUserQuota   = 0;
+    public static final String  defaultAsynchronousExecutor    = "fixed";
     public static final int     DEFAULT_MAX_BUFFER_SIZE = 204800;
+    public static final boolean DEFAULT_METRICS              = false;
+    public static final String  DEFAULT_METRICS_SERVICE_PATH = "/metrics";
+    public static final boolean DEFAULT_NON_BLOCKING_WRITE   = false;
 
     public ServerConfigurationProperties() {
     }
@@ -129,6 +146,22 @@ public class ServerConfigurationProperties extends SimpleConfigurationProperties
         setProperty(EVERREST_ASYNCHRONOUS_JOB_TIMEOUT, Integer.toString(asynchronousJobTimeout));
     }
 
+    public int getAsynchronousUserQuota() {
+        return getIntegerProperty(EVERREST_ASYNCHRONOUS_USER_QUOTA, defaultAsynchronousUserQuota);
+    }
+
+    public void setAsynchronousUserQuota(int asynchronousUserQuota) {
+        setProperty(EVERREST_ASYNCHRONOUS_USER_QUOTA, Integer.toString(asynchronousUserQuota));
+    }
+
+    public String getAsynchronousExecutor() {
+        return getStringProperty(EVERREST_ASYNCHRONOUS_EXECUTOR, defaultAsynchronousExecutor);
+    }
+
+    public void setAsynchronousExecutor(String asynchronousExecutor) {
+        setProperty(EVERREST_ASYNCHRONOUS_EXECUTOR, asynchronousExecutor);
+    }
+
     public int getMaxBufferSize() {
         return getIntegerProperty(EVERREST_MAX_BUFFER_SIZE, DEFAULT_MAX_BUFFER_SIZE);
     }
@@ -136,4 +169,28 @@ public class ServerConfigurationProperties extends SimpleConfigurationProperties
     public void setMaxBufferSize(int maxBufferSize) {
         setProperty(EVERREST_MAX_BUFFER_SIZE, Integer.toString(maxBufferSize));
     }
+
+    public boolean isMetricsEnabled() {
+        return getBooleanProperty(EVERREST_METRICS, DEFAULT_METRICS);
+    }
+
+    public void setMetrics(boolean metrics) {
+        setProperty(EVERREST_METRICS, Boolean.toString(metrics));
+    }
+
+    public String getMetricsServicePath() {
+        return getStringProperty(EVERREST_METRICS_SERVICE_PATH, DEFAULT_METRICS_SERVICE_PATH);
+    }
+
+    public void setMetricsServicePath(String servicePath) {
+        setProperty(EVERREST_METRICS_SERVICE_PATH, servicePath);
+    }
+
+    public boolean isNonBlockingWriteEnabled() {
+        return getBooleanProperty(EVERREST_NON_BLOCKING_WRITE, DEFAULT_NON_BLOCKING_WRITE);
+    }
+
+    public void setNonBlockingWrite(boolean nonBlockingWrite) {
+        setProperty(EVERREST_NON_BLOCKING_WRITE, Boolean.toString(nonBlockingWrite));
+    }
 }
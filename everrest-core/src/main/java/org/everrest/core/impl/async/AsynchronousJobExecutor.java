@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl.async;
+
+import org.everrest.core.impl.metrics.LatencyHistogram;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs asynchronous jobs with {@link ExecutorService} and collects metrics of jobs: number of jobs that wait in queue
+ * and that are running, time that jobs spend in queue and time of running of jobs. If {@code maxJobsInProgress} is
+ * positive, jobs are rejected when number of queued and running jobs reaches this limit. It is used for executors that
+ * do not limit number of jobs themselves.
+ */
+public final class AsynchronousJobExecutor implements Executor {
+    /** Strategies of running of asynchronous jobs. */
+    public enum Mode {
+        /** Fixed number of threads with bounded queue. */
+        FIXED("fixed"),
+        /** {@link java.util.concurrent.ForkJoinPool} with work-stealing between threads. */
+        WORK_STEALING("work-stealing"),
+        /** New virtual thread for each job, requires JDK with support of virtual threads. */
+        VIRTUAL("virtual");
+
+        private final String value;
+
+        Mode(String value) {
+            this.value = value;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        /**
+         * @param value name of mode, e.g. 'work-stealing'
+         * @return mode
+         * @throws IllegalArgumentException if there is no mode with specified name
+         */
+        public static Mode fromValue(String value) {
+            for (Mode mode : values()) {
+                if (mode.value.equalsIgnoreCase(value)) {
+                    return mode;
+                }
+            }
+            throw new IllegalArgumentException(String.format("Unknown asynchronous executor %s", value));
+        }
+    }
+
+    private final ExecutorService  delegate;
+    private final Mode             mode;
+    private final int              maxJobsInProgress;
+    private final AtomicInteger    queued;
+    private final AtomicInteger    running;
+    private final LongAdder        completed;
+    private final LongAdder        rejected;
+    private final LatencyHistogram queueTime;
+    private final LatencyHistogram runTime;
+
+    /**
+     * @param delegate          executor service that runs jobs
+     * @param mode              mode of {@code delegate}
+     * @param maxJobsInProgress max number of queued and running jobs, zero or negative number means that {@code delegate}
+     *                          limits number of jobs itself
+     */
+    public AsynchronousJobExecutor(ExecutorService delegate, Mode mode, int maxJobsInProgress) {
+        this.delegate = delegate;
+        this.mode = mode;
+        this.maxJobsInProgress = maxJobsInProgress;
+        queued = new AtomicInteger();
+        running = new AtomicInteger();
+        completed = new LongAdder();
+        rejected = new LongAdder();
+        queueTime = new LatencyHistogram();
+        runTime = new LatencyHistogram();
+    }
+
+    @Override
+    public void execute(Runnable job) {
+        if (maxJobsInProgress > 0) {
+            int current;
+            do {
+                current = queued.get();
+                if (current + running.get() >= maxJobsInProgress) {
+                    rejected.increment();
+                    throw new RejectedExecutionException("Can't accept new asynchronous request. Too many asynchronous jobs in progress");
+                }
+            } while (!queued.compareAndSet(current, current + 1));
+        } else {
+            queued.incrementAndGet();
+        }
+        try {
+            delegate.execute(new MeasuredJob(job));
+        } catch (RejectedExecutionException e) {
+            queued.decrementAndGet();
+            rejected.increment();
+            throw e;
+        }
+    }
+
+    /** @return mode of executor */
+    public Mode getMode() {
+        return mode;
+    }
+
+    /** @return number of jobs that wait in queue */
+    public int getQueuedJobs() {
+        return queued.get();
+    }
+
+    /** @return number of running jobs */
+    public int getRunningJobs() {
+        return running.get();
+    }
+
+    /** @return number of completed jobs, including failed */
+    public long getCompletedJobs() {
+        return completed.sum();
+    }
+
+    /** @return number of rejected jobs */
+    public long getRejectedJobs() {
+        return rejected.sum();
+    }
+
+    /** @return time that jobs spent in queue before they are started */
+    public LatencyHistogram getQueueTime() {
+        return queueTime;
+    }
+
+    /** @return time of running of jobs */
+    public LatencyHistogram getRunTime() {
+        return runTime;
+    }
+
+    void shutdown() {
+        delegate.shutdown();
+    }
+
+    boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+
+    void shutdownNow() {
+        delegate.shutdownNow();
+    }
+
+    private class MeasuredJob implements Runnable {
+        final Runnable job;
+        final long     queuedAt;
+
+        MeasuredJob(Runnable job) {
+            this.job = job;
+            queuedAt = System.nanoTime();
+        }
+
+        @Override
+        public void run() {
+            long startedAt = System.nanoTime();
+            // Job becomes running before it leaves queue, so the sum never drops below the number of jobs in progress
+            running.incrementAndGet();
+            queued.decrementAndGet();
+            queueTime.record(startedAt - queuedAt);
+            try {
+                job.run();
+            } finally {
+                runTime.record(System.nanoTime() - startedAt);
+                completed.increment();
+                running.decrementAndGet();
+            }
+        }
+    }
+}
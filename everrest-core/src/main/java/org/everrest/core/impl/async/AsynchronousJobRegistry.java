@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl.async;
+
+import org.everrest.core.async.AsynchronousJob;
+import org.everrest.core.async.AsynchronousJobRejectedException;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps asynchronous jobs ordered by ID, that is in order of creation, without global lock. When number of jobs exceeds
+ * {@code maxSize} the eldest jobs are cancelled and removed. Expired jobs are removed with {@link #removeExpired(long)}.
+ * Number of jobs of one owner may be limited with {@code maxJobsPerOwner}, jobs without owner are not limited.
+ */
+class AsynchronousJobRegistry {
+    private static final class Entry {
+        final AsynchronousJob job;
+        final String          owner;
+
+        Entry(AsynchronousJob job, String owner) {
+            this.job = job;
+            this.owner = owner;
+        }
+    }
+
+    private final int                                  maxSize;
+    private final int                                  maxJobsPerOwner;
+    private final ConcurrentNavigableMap<Long, Entry>  jobs;
+    /** Number of jobs of each owner, counter of owner is removed when owner has no jobs. */
+    private final ConcurrentMap<String, Integer>       jobsPerOwner;
+    private final AtomicInteger                        size;
+    private final Collection<AsynchronousJob>          jobsView;
+
+    /**
+     * @param maxSize         max number of jobs
+     * @param maxJobsPerOwner max number of jobs of one owner, zero or negative number means no limit
+     */
+    AsynchronousJobRegistry(int maxSize, int maxJobsPerOwner) {
+        this.maxSize = maxSize;
+        this.maxJobsPerOwner = maxJobsPerOwner;
+        jobs = new ConcurrentSkipListMap<>();
+        jobsPerOwner = new ConcurrentHashMap<>();
+        size = new AtomicInteger();
+        jobsView = Collections.unmodifiableCollection(new JobsView());
+    }
+
+    /**
+     * Adds job.
+     *
+     * @param job   job
+     * @param owner name of user that owns the job, may be {@code null}
+     * @throws AsynchronousJobRejectedException if owner already has {@code maxJobsPerOwner} jobs
+     */
+    void add(AsynchronousJob job, String owner) throws AsynchronousJobRejectedException {
+        if (owner != null && maxJobsPerOwner > 0) {
+            boolean[] accepted = new boolean[1];
+            // Counter is updated only inside of compute so it is never updated after it is removed by releaseOwner
+            jobsPerOwner.compute(owner, (o, current) -> {
+                int ownerJobs = current == null ? 0 : current;
+                accepted[0] = ownerJobs < maxJobsPerOwner;
+                return accepted[0] ? ownerJobs + 1 : current;
+            });
+            if (!accepted[0]) {
+                throw new AsynchronousJobRejectedException(
+                        String.format("Can't accept new asynchronous request. Too many asynchronous jobs of user %s", owner));
+            }
+        }
+        Entry previous = jobs.put(job.getJobId(), new Entry(job, owner));
+        if (previous == null) {
+            size.incrementAndGet();
+        } else {
+            releaseOwner(previous);
+        }
+        evictEldest();
+    }
+
+    private void evictEldest() {
+        Map.Entry<Long, Entry> eldest;
+        while ((eldest = jobs.firstEntry()) != null
+               && (size.get() > maxSize || eldest.getValue().job.getExpirationDate() < System.currentTimeMillis())) {
+            if (jobs.remove(eldest.getKey(), eldest.getValue())) {
+                removed(eldest.getValue());
+                eldest.getValue().job.cancel();
+            }
+        }
+    }
+
+    AsynchronousJob get(Long jobId) {
+        Entry entry = jobs.get(jobId);
+        return entry == null ? null : entry.job;
+    }
+
+    /** @return removed job or {@code null} if there is no job with specified ID */
+    AsynchronousJob remove(Long jobId) {
+        Entry entry = jobs.remove(jobId);
+        if (entry == null) {
+            return null;
+        }
+        removed(entry);
+        return entry.job;
+    }
+
+    /**
+     * Cancels and removes jobs that expired before {@code now}.
+     *
+     * @param now current time in milliseconds
+     * @return number of removed jobs
+     */
+    int removeExpired(long now) {
+        int removed = 0;
+        for (Map.Entry<Long, Entry> entry : jobs.entrySet()) {
+            if (entry.getValue().job.getExpirationDate() < now && jobs.remove(entry.getKey(), entry.getValue())) {
+                removed(entry.getValue());
+                entry.getValue().job.cancel();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    private void removed(Entry entry) {
+        size.decrementAndGet();
+        releaseOwner(entry);
+    }
+
+    private void releaseOwner(Entry entry) {
+        if (entry.owner != null && maxJobsPerOwner > 0) {
+            jobsPerOwner.computeIfPresent(entry.owner, (o, current) -> current > 1 ? current - 1 : null);
+        }
+    }
+
+    /**
+     * Gets unmodifiable view of all jobs. Iterator of view is weakly consistent, it does not lock registry, never throws
+     * {@link java.util.ConcurrentModificationException} and may or may not reflect jobs that are added or removed after
+     * iterator is created.
+     */
+    Collection<AsynchronousJob> values() {
+        return jobsView;
+    }
+
+    int size() {
+        return size.get();
+    }
+
+    /** @return number of jobs of specified owner, always zero if number of jobs per owner is not limited */
+    int size(String owner) {
+        Integer ownerJobs = jobsPerOwner.get(owner);
+        return ownerJobs == null ? 0 : ownerJobs;
+    }
+
+    /** @return number of owners that have at least one job, always zero if number of jobs per owner is not limited */
+    int owners() {
+        return jobsPerOwner.size();
+    }
+
+    private class JobsView extends AbstractCollection<AsynchronousJob> {
+        @Override
+        public Iterator<AsynchronousJob> iterator() {
+            Iterator<Entry> entries = jobs.values().iterator();
+            return new Iterator<AsynchronousJob>() {
+                @Override
+                public boolean hasNext() {
+                    return entries.hasNext();
+                }
+
+                @Override
+                public AsynchronousJob next() {
+                    return entries.next().job;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size.get();
+        }
+    }
+}
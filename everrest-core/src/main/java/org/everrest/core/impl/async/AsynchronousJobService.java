@@ -117,9 +117,8 @@ public class AsynchronousJobService {
     @Produces({APPLICATION_JSON, TEXT_PLAIN})
     public GenericEntity<List<AsynchronousProcess>> list() {
         AsynchronousJobPool pool = getJobPool();
-        List<AsynchronousJob> jobs = pool.getAll();
-        List<AsynchronousProcess> processes = new ArrayList<>(jobs.size());
-        for (AsynchronousJob job : jobs) {
+        List<AsynchronousProcess> processes = new ArrayList<>();
+        for (AsynchronousJob job : pool.getJobs()) {
             GenericContainerRequest request = (GenericContainerRequest)job.getContext().get("org.everrest.async.request");
             Principal principal = request.getUserPrincipal();
             processes.add(new AsynchronousProcess(
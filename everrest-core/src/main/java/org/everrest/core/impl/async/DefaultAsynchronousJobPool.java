@@ -31,17 +31,19 @@ import javax.ws.rs.core.UriBuilder;
 import javax.ws.rs.ext.ContextResolver;
 import javax.ws.rs.ext.Provider;
 import java.lang.reflect.Method;
+import java.security.Principal;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
 
 import static java.util.concurrent.ThreadPoolExecutor.AbortPolicy;
@@ -58,6 +60,18 @@ import static java.util.concurrent.TimeUnit.SECONDS;
 public class DefaultAsynchronousJobPool implements AsynchronousJobPool, ContextResolver<AsynchronousJobPool> {
     /** Logger. */
     private static final Logger LOG = LoggerFactory.getLogger(DefaultAsynchronousJobPool.class);
+    /** Period (in seconds) of removing of expired jobs. */
+    private static final long EXPIRATION_SWEEP_PERIOD = 30;
+    /** Executors.newVirtualThreadPerTaskExecutor() if JVM supports virtual threads, project is built for Java 8. */
+    private static final Method NEW_VIRTUAL_THREAD_EXECUTOR = findNewVirtualThreadExecutor();
+
+    private static Method findNewVirtualThreadExecutor() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
 
     protected final String asynchronousServicePath;
     /** When timeout (in minutes) reached then an asynchronous job may be removed from the pool. */
@@ -68,9 +82,14 @@ public class DefaultAsynchronousJobPool implements AsynchronousJobPool, ContextR
     protected final int maxQueueSize;
     /** Number of threads to serve asynchronous jobs. */
     protected final int threadPoolSize;
-
-    private final ExecutorService pool;
-    private final Map<Long, AsynchronousJob> jobs;
+    /** Max number of jobs of one user. */
+    protected final int userQuota;
+    /** Strategy of running of asynchronous jobs. */
+    protected final AsynchronousJobExecutor.Mode executorMode;
+
+    private final AsynchronousJobExecutor pool;
+    private final ScheduledExecutorService expirationSweeper;
+    private final AsynchronousJobRegistry jobs;
     private final CopyOnWriteArrayList<AsynchronousJobListener> jobListeners;
 
     private AsynchronousFutureFactory asynchronousFutureFactory;
@@ -85,20 +104,19 @@ public class DefaultAsynchronousJobPool implements AsynchronousJobPool, ContextR
         this.jobTimeout = config.getAsynchronousJobTimeout();
         this.maxQueueSize = config.getAsynchronousQueueSize();
         this.threadPoolSize = config.getAsynchronousPoolSize();
+        this.userQuota = config.getAsynchronousUserQuota();
+        this.executorMode = resolveExecutorMode(config.getAsynchronousExecutor());
 
-        this.pool = makeExecutorService();
+        // Fixed pool rejects jobs itself when its queue is full, other executors are not bounded
+        this.pool = new AsynchronousJobExecutor(makeExecutorService(), executorMode,
+                                                executorMode == AsynchronousJobExecutor.Mode.FIXED ? 0 : threadPoolSize + maxQueueSize);
 
-        this.jobs = Collections.synchronizedMap(new LinkedHashMap<Long, AsynchronousJob>() {
-            @Override
-            protected boolean removeEldestEntry(Map.Entry<Long, AsynchronousJob> eldest) {
-                AsynchronousJob job = eldest.getValue();
-                if (size() > maxCacheSize || job.getExpirationDate() < System.currentTimeMillis()) {
-                    job.cancel();
-                    return true;
-                }
-                return false;
-            }
-        });
+        this.jobs = new AsynchronousJobRegistry(maxCacheSize, userQuota);
+        // Expired jobs are removed even if no new jobs are added
+        this.expirationSweeper = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("everrest.AsynchronousJobPool-expiration-%d").setDaemon(true).build());
+        this.expirationSweeper.scheduleWithFixedDelay(() -> jobs.removeExpired(System.currentTimeMillis()),
+                                                      EXPIRATION_SWEEP_PERIOD, EXPIRATION_SWEEP_PERIOD, SECONDS);
 
         this.jobListeners = new CopyOnWriteArrayList<>();
 
@@ -134,7 +152,50 @@ public class DefaultAsynchronousJobPool implements AsynchronousJobPool, ContextR
         this.asynchronousFutureFactory = asynchronousFutureFactory;
     }
 
+    /** Gets executor of asynchronous jobs. Executor provides metrics of jobs in queue and running jobs. */
+    public AsynchronousJobExecutor getExecutor() {
+        return pool;
+    }
+
+    AsynchronousJobRegistry getJobRegistry() {
+        return jobs;
+    }
+
+    private static AsynchronousJobExecutor.Mode resolveExecutorMode(String executor) {
+        final AsynchronousJobExecutor.Mode mode;
+        try {
+            mode = AsynchronousJobExecutor.Mode.fromValue(executor);
+        } catch (IllegalArgumentException e) {
+            LOG.warn("{}, fixed thread pool is used", e.getMessage());
+            return AsynchronousJobExecutor.Mode.FIXED;
+        }
+        if (mode == AsynchronousJobExecutor.Mode.VIRTUAL && NEW_VIRTUAL_THREAD_EXECUTOR == null) {
+            LOG.warn("Virtual threads are not supported by current JVM, fixed thread pool is used");
+            return AsynchronousJobExecutor.Mode.FIXED;
+        }
+        return mode;
+    }
+
     protected ExecutorService makeExecutorService() {
+        switch (executorMode) {
+            case WORK_STEALING:
+                return new ForkJoinPool(threadPoolSize, pool -> {
+                    final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                    thread.setName("everrest.AsynchronousJobPool-" + thread.getPoolIndex());
+                    return thread;
+                }, null, true);
+            case VIRTUAL:
+                try {
+                    return (ExecutorService)NEW_VIRTUAL_THREAD_EXECUTOR.invoke(null);
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException(e.getMessage(), e);
+                }
+            default:
+                return makeFixedThreadPool();
+        }
+    }
+
+    private ExecutorService makeFixedThreadPool() {
         return new ThreadPoolExecutor(threadPoolSize, threadPoolSize, 0L, MILLISECONDS,
                                       new LinkedBlockingQueue<>(maxQueueSize),
                                       new ThreadFactoryBuilder().setNameFormat("everrest.AsynchronousJobPool-%d").setDaemon(true).build(),
@@ -164,7 +225,8 @@ public class DefaultAsynchronousJobPool implements AsynchronousJobPool, ContextR
         initAsynchronousJobContext(job);
 
         final Long jobId = job.getJobId();
-        jobs.put(jobId, job);
+        final Principal principal = context.getSecurityContext() == null ? null : context.getSecurityContext().getUserPrincipal();
+        jobs.add(job, principal == null ? null : principal.getName());
 
         try {
             pool.execute(job);
@@ -227,6 +289,11 @@ public class DefaultAsynchronousJobPool implements AsynchronousJobPool, ContextR
         return new ArrayList<>(jobs.values());
     }
 
+    @Override
+    public Iterable<AsynchronousJob> getJobs() {
+        return jobs.values();
+    }
+
     /**
      * Registers new listener if it is not registered yet.
      *
@@ -256,6 +323,7 @@ public class DefaultAsynchronousJobPool implements AsynchronousJobPool, ContextR
     @Override
     @PreDestroy
     public void stop() {
+        expirationSweeper.shutdownNow();
         pool.shutdown();
         try {
             if (!pool.awaitTermination(5, SECONDS)) {
@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl.client;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Transport that sends requests of {@link EverrestClient} to server. Client request and response filters, writer and
+ * reader interceptors are applied by client itself, connector is responsible only for exchange of messages over
+ * network. Each client gets own instance of connector, so connector may keep pool of connections that is released in
+ * {@link #close()} when client is closed. Implementation must be thread-safe.
+ *
+ * @see HttpURLConnectionConnector
+ * @see EverrestClientBuilder#connector(java.util.function.Supplier)
+ */
+public interface ClientConnector extends AutoCloseable {
+    /**
+     * Sends request to server.
+     *
+     * @param request
+     *         client request, headers of request must be read after {@code entityWriter} notifies that entity is about to
+     *         be written since writer interceptors may update headers
+     * @param entityWriter
+     *         writes entity of request, it is {@code null} if request has not entity
+     * @return response of server, entity stream of response is read by client
+     * @throws IOException
+     *         if any i/o error occurs
+     */
+    ConnectorResponse send(ClientRequest request, RequestEntityWriter entityWriter) throws IOException;
+
+    /**
+     * Sends request to server without blocking of caller. Non-blocking connector should override this method and
+     * complete returned stage once response, including its entity, is received, so client decodes entity without waiting
+     * for network. This implementation invokes blocking {@link #send(ClientRequest, RequestEntityWriter)} with {@code
+     * executor}, so thread of executor is parked until server responds.
+     *
+     * @param request
+     *         client request
+     * @param entityWriter
+     *         writes entity of request, it is {@code null} if request has not entity
+     * @param executor
+     *         executor of client for blocking tasks and callbacks
+     * @return stage that is completed with response of server or exceptionally with {@code IOException}
+     */
+    default CompletionStage<ConnectorResponse> sendAsync(ClientRequest request, RequestEntityWriter entityWriter, Executor executor) {
+        CompletableFuture<ConnectorResponse> response = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    response.complete(send(request, entityWriter));
+                } catch (Throwable e) {
+                    response.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            response.completeExceptionally(e);
+        }
+        return response;
+    }
+
+    /** Releases resources of connector. This implementation does nothing. */
+    @Override
+    default void close() {
+    }
+}
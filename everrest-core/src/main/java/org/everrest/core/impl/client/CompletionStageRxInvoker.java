@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl.client;
+
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.Response;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Reactive invoker of requests that returns {@link CompletionStage}, see {@link InvocationBuilder#rx()}. Methods do not
+ * block caller. Entity of response is read in executor of client once response is received. Stages returned by methods
+ * that read entity of response are completed exceptionally with {@code WebApplicationException} if status of response
+ * is not successful and with {@code ProcessingException} if request failed.
+ * <p>
+ * Interface follows {@code javax.ws.rs.client.CompletionStageRxInvoker} of JAX-RS 2.1.
+ */
+public interface CompletionStageRxInvoker {
+    CompletionStage<Response> get();
+
+    <T> CompletionStage<T> get(Class<T> responseType);
+
+    <T> CompletionStage<T> get(GenericType<T> responseType);
+
+    CompletionStage<Response> put(Entity<?> entity);
+
+    <T> CompletionStage<T> put(Entity<?> entity, Class<T> responseType);
+
+    <T> CompletionStage<T> put(Entity<?> entity, GenericType<T> responseType);
+
+    CompletionStage<Response> post(Entity<?> entity);
+
+    <T> CompletionStage<T> post(Entity<?> entity, Class<T> responseType);
+
+    <T> CompletionStage<T> post(Entity<?> entity, GenericType<T> responseType);
+
+    CompletionStage<Response> delete();
+
+    <T> CompletionStage<T> delete(Class<T> responseType);
+
+    <T> CompletionStage<T> delete(GenericType<T> responseType);
+
+    CompletionStage<Response> head();
+
+    CompletionStage<Response> options();
+
+    <T> CompletionStage<T> options(Class<T> responseType);
+
+    <T> CompletionStage<T> options(GenericType<T> responseType);
+
+    CompletionStage<Response> trace();
+
+    <T> CompletionStage<T> trace(Class<T> responseType);
+
+    <T> CompletionStage<T> trace(GenericType<T> responseType);
+
+    CompletionStage<Response> method(String name);
+
+    <T> CompletionStage<T> method(String name, Class<T> responseType);
+
+    <T> CompletionStage<T> method(String name, GenericType<T> responseType);
+
+    CompletionStage<Response> method(String name, Entity<?> entity);
+
+    <T> CompletionStage<T> method(String name, Entity<?> entity, Class<T> responseType);
+
+    <T> CompletionStage<T> method(String name, Entity<?> entity, GenericType<T> responseType);
+}
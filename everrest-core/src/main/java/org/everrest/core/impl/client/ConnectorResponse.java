@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl.client;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Response received by {@link ClientConnector}.
+ */
+public final class ConnectorResponse {
+    private final int                       status;
+    private final Map<String, List<String>> headers;
+    private final Supplier<InputStream>     entityStream;
+
+    /**
+     * @param status
+     *         HTTP status of response
+     * @param headers
+     *         headers of response
+     * @param entityStream
+     *         supplies entity stream of response, it is requested only if client reads entity
+     */
+    public ConnectorResponse(int status, Map<String, List<String>> headers, Supplier<InputStream> entityStream) {
+        this.status = status;
+        this.headers = headers;
+        this.entityStream = entityStream;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public Map<String, List<String>> getHeaders() {
+        return headers;
+    }
+
+    public Supplier<InputStream> getEntityStream() {
+        return entityStream;
+    }
+}
@@ -39,16 +39,36 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.function.Supplier;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.requireNonNull;
-import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static javax.ws.rs.RuntimeType.CLIENT;
 
 public class EverrestClientBuilder extends ClientBuilder {
+    /**
+     * Name of property that sets {@link ClientConnector} of client. Value of property is class of connector or its fully
+     * qualified name. Connector must have public no-args constructor. Property overrides connector that is set with
+     * {@link #connector(Supplier)}.
+     */
+    public static final String CLIENT_CONNECTOR = "org.everrest.client.connector";
+    /**
+     * Name of property that sets max number of threads of executor of client. Executor runs requests that are submitted
+     * with {@link InvocationBuilder#async()} and reads responses of requests that are submitted with {@link
+     * InvocationBuilder#rx()}. Requests are queued when all threads are busy. Property is ignored if executor is set with
+     * {@link #executorService(ExecutorService)}.
+     */
+    public static final String CLIENT_EXECUTOR_POOL_SIZE = "org.everrest.client.executor.pool.size";
+    public static final int    DEFAULT_EXECUTOR_POOL_SIZE = Math.max(8, Runtime.getRuntime().availableProcessors() * 2);
+
     private final ProviderBinder providers;
     private final InvocationPipeline requestInvocationPipeline;
+    private Supplier<? extends ClientConnector> connectorSupplier;
+    private ExecutorService executorService;
     private SSLContext sslContext;
     private KeyStore keyStore;
     private char[] keyStorePassword;
@@ -61,7 +81,8 @@ public class EverrestClientBuilder extends ClientBuilder {
         this.properties = new SimpleConfigurationProperties();
         this.providers = new DefaultProviderBinder(CLIENT, properties);
         this.providers.register(new ClientEmbeddedProvidersFeature());
-        this.requestInvocationPipeline = new InvocationPipeline();
+        this.requestInvocationPipeline = null;
+        this.connectorSupplier = HttpURLConnectionConnector::new;
         this.configuration = new EverrestConfiguration(providers, properties);
     }
 
@@ -123,6 +144,25 @@ public class EverrestClientBuilder extends ClientBuilder {
         return this;
     }
 
+    /**
+     * Sets supplier of {@link ClientConnector}. Each client built with this builder gets own connector that is closed
+     * when client is closed. By default {@link HttpURLConnectionConnector} is used.
+     */
+    public EverrestClientBuilder connector(Supplier<? extends ClientConnector> connectorSupplier) {
+        this.connectorSupplier = requireNonNull(connectorSupplier);
+        return this;
+    }
+
+    /**
+     * Sets executor of clients that are built with this builder. Executor is not shut down when client is closed. By
+     * default each client creates own executor with number of threads limited by property {@link
+     * #CLIENT_EXECUTOR_POOL_SIZE}.
+     */
+    public EverrestClientBuilder executorService(ExecutorService executorService) {
+        this.executorService = requireNonNull(executorService);
+        return this;
+    }
+
     @Override
     public Client build() {
         SSLContext sslContext;
@@ -131,24 +171,62 @@ public class EverrestClientBuilder extends ClientBuilder {
         } catch (NoSuchAlgorithmException | UnrecoverableKeyException | KeyManagementException | KeyStoreException e) {
             throw Throwables.propagate(e);
         }
-        ExecutorServiceSupplier executorSupplier = new ExecutorServiceSupplier();
         ConfigurationProperties clientProperties = new SimpleConfigurationProperties(properties);
+        Supplier<ExecutorService> executorSupplier;
+        if (executorService == null) {
+            executorSupplier = new ExecutorServiceSupplier(clientProperties.getIntegerProperty(CLIENT_EXECUTOR_POOL_SIZE, DEFAULT_EXECUTOR_POOL_SIZE));
+        } else {
+            executorSupplier = () -> executorService;
+        }
         ProviderBinder clientProviders = new DefaultProviderBinder(this.providers.getRuntimeType(), clientProperties);
         clientProviders.copyComponentsFrom(this.providers);
+        InvocationPipeline clientInvocationPipeline = requestInvocationPipeline;
+        if (clientInvocationPipeline == null) {
+            clientInvocationPipeline = new InvocationPipeline(createConnector(clientProperties));
+        }
         EverrestClient client = new EverrestClient(sslContext,
                                                    hostNameVerifier,
                                                    executorSupplier,
                                                    clientProviders,
-                                                   requestInvocationPipeline,
+                                                   clientInvocationPipeline,
                                                    clientProperties);
-        client.addOnCloseTask(executorSupplier.get()::shutdown);
+        if (executorSupplier instanceof ExecutorServiceSupplier) {
+            client.addOnCloseTask(((ExecutorServiceSupplier)executorSupplier)::shutdown);
+        }
+        if (requestInvocationPipeline == null) {
+            client.addOnCloseTask(clientInvocationPipeline.getConnector()::close);
+        }
         return client;
     }
 
+    private ClientConnector createConnector(ConfigurationProperties clientProperties) {
+        Object connector = clientProperties.getProperty(CLIENT_CONNECTOR);
+        if (connector == null) {
+            return connectorSupplier.get();
+        }
+        try {
+            Class<?> connectorClass;
+            if (connector instanceof Class) {
+                connectorClass = (Class<?>)connector;
+            } else {
+                connectorClass = Thread.currentThread().getContextClassLoader().loadClass(String.valueOf(connector));
+            }
+            return connectorClass.asSubclass(ClientConnector.class).newInstance();
+        } catch (ClassNotFoundException | ClassCastException | InstantiationException | IllegalAccessException e) {
+            throw new IllegalStateException(String.format("Unable create client connector %s. %s", connector, e.getMessage()), e);
+        }
+    }
+
     private static class ExecutorServiceSupplier implements Supplier<ExecutorService> {
         static ThreadFactory threadFactory = new ThreadFactoryBuilder().setNameFormat("everrest.EverrestClient-%d").setDaemon(true).build();
+        final int poolSize;
         volatile ExecutorService executor;
 
+        ExecutorServiceSupplier(int poolSize) {
+            checkArgument(poolSize > 0, "Pool size of executor must be greater than zero");
+            this.poolSize = poolSize;
+        }
+
         @Override
         public ExecutorService get() {
             ExecutorService theExecutor = executor;
@@ -156,12 +234,20 @@ public class EverrestClientBuilder extends ClientBuilder {
                 synchronized(this) {
                     theExecutor = executor;
                     if (theExecutor == null) {
-                        executor = theExecutor = newCachedThreadPool(threadFactory);
+                        ThreadPoolExecutor threadPool = new ThreadPoolExecutor(poolSize, poolSize, 60L, SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+                        threadPool.allowCoreThreadTimeOut(true);
+                        executor = theExecutor = threadPool;
                     }
                 }
             }
             return theExecutor;
         }
+
+        synchronized void shutdown() {
+            if (executor != null) {
+                executor.shutdown();
+            }
+        }
     }
 
     private SSLContext buildSslContextIfNeed() throws NoSuchAlgorithmException, UnrecoverableKeyException, KeyStoreException, KeyManagementException {
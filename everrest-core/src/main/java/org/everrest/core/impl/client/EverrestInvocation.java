@@ -17,6 +17,7 @@ import javax.ws.rs.core.GenericType;
 import javax.ws.rs.core.Response;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
@@ -53,10 +54,13 @@ public class EverrestInvocation implements Invocation {
         return invoke(new GenericType<T>(responseType));
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public <T> T invoke(GenericType<T> responseType) {
-        Response response = invoke();
+        return toResponseOrEntity(invoke(), responseType);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T toResponseOrEntity(Response response, GenericType<T> responseType) {
         if (responseType.getRawType() == Response.class) {
             return (T) response;
         } else if ((response.getStatus() / 100) == 2) {
@@ -67,6 +71,24 @@ public class EverrestInvocation implements Invocation {
         }
     }
 
+    /**
+     * Invokes request without blocking of caller. Entity of response is read in executor of client once response is
+     * received.
+     */
+    public CompletionStage<Response> rx() {
+        return rx(new GenericType<>(Response.class));
+    }
+
+    /**
+     * Invokes request without blocking of caller. Entity of response is read in executor of client once response is
+     * received. Returned stage is completed exceptionally with {@code WebApplicationException} if status of response is
+     * not successful and {@code responseType} is not {@code Response}.
+     */
+    public <T> CompletionStage<T> rx(GenericType<T> responseType) {
+        return requestInvocationPipeline.executeAsync(request, executorProvider.get())
+                                        .thenApply(clientResponse -> toResponseOrEntity(clientResponse.getResponse(), responseType));
+    }
+
     @Override
     public Future<Response> submit() {
         return executorProvider.get().submit(() -> invoke());
@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl.client;
+
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.Invocation;
+import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.Response;
+import java.util.concurrent.CompletionStage;
+
+import static javax.ws.rs.HttpMethod.HEAD;
+import static javax.ws.rs.HttpMethod.OPTIONS;
+
+class EverrestRxInvoker implements CompletionStageRxInvoker {
+    private final InvocationBuilder builder;
+
+    EverrestRxInvoker(InvocationBuilder builder) {
+        this.builder = builder;
+    }
+
+    @Override
+    public CompletionStage<Response> get() {
+        return invocation(builder.buildGet()).rx();
+    }
+
+    @Override
+    public <T> CompletionStage<T> get(Class<T> responseType) {
+        return invocation(builder.buildGet()).rx(new GenericType<>(responseType));
+    }
+
+    @Override
+    public <T> CompletionStage<T> get(GenericType<T> responseType) {
+        return invocation(builder.buildGet()).rx(responseType);
+    }
+
+    @Override
+    public CompletionStage<Response> put(Entity<?> entity) {
+        return invocation(builder.buildPut(entity)).rx();
+    }
+
+    @Override
+    public <T> CompletionStage<T> put(Entity<?> entity, Class<T> responseType) {
+        return invocation(builder.buildPut(entity)).rx(new GenericType<>(responseType));
+    }
+
+    @Override
+    public <T> CompletionStage<T> put(Entity<?> entity, GenericType<T> responseType) {
+        return invocation(builder.buildPut(entity)).rx(responseType);
+    }
+
+    @Override
+    public CompletionStage<Response> post(Entity<?> entity) {
+        return invocation(builder.buildPost(entity)).rx();
+    }
+
+    @Override
+    public <T> CompletionStage<T> post(Entity<?> entity, Class<T> responseType) {
+        return invocation(builder.buildPost(entity)).rx(new GenericType<>(responseType));
+    }
+
+    @Override
+    public <T> CompletionStage<T> post(Entity<?> entity, GenericType<T> responseType) {
+        return invocation(builder.buildPost(entity)).rx(responseType);
+    }
+
+    @Override
+    public CompletionStage<Response> delete() {
+        return invocation(builder.buildDelete()).rx();
+    }
+
+    @Override
+    public <T> CompletionStage<T> delete(Class<T> responseType) {
+        return invocation(builder.buildDelete()).rx(new GenericType<>(responseType));
+    }
+
+    @Override
+    public <T> CompletionStage<T> delete(GenericType<T> responseType) {
+        return invocation(builder.buildDelete()).rx(responseType);
+    }
+
+    @Override
+    public CompletionStage<Response> head() {
+        return invocation(builder.build(HEAD)).rx();
+    }
+
+    @Override
+    public CompletionStage<Response> options() {
+        return invocation(builder.build(OPTIONS)).rx();
+    }
+
+    @Override
+    public <T> CompletionStage<T> options(Class<T> responseType) {
+        return invocation(builder.build(OPTIONS)).rx(new GenericType<>(responseType));
+    }
+
+    @Override
+    public <T> CompletionStage<T> options(GenericType<T> responseType) {
+        return invocation(builder.build(OPTIONS)).rx(responseType);
+    }
+
+    @Override
+    public CompletionStage<Response> trace() {
+        return invocation(builder.build("TRACE")).rx();
+    }
+
+    @Override
+    public <T> CompletionStage<T> trace(Class<T> responseType) {
+        return invocation(builder.build("TRACE")).rx(new GenericType<>(responseType));
+    }
+
+    @Override
+    public <T> CompletionStage<T> trace(GenericType<T> responseType) {
+        return invocation(builder.build("TRACE")).rx(responseType);
+    }
+
+    @Override
+    public CompletionStage<Response> method(String name) {
+        return invocation(builder.build(name)).rx();
+    }
+
+    @Override
+    public <T> CompletionStage<T> method(String name, Class<T> responseType) {
+        return invocation(builder.build(name)).rx(new GenericType<>(responseType));
+    }
+
+    @Override
+    public <T> CompletionStage<T> method(String name, GenericType<T> responseType) {
+        return invocation(builder.build(name)).rx(responseType);
+    }
+
+    @Override
+    public CompletionStage<Response> method(String name, Entity<?> entity) {
+        return invocation(builder.build(name, entity)).rx();
+    }
+
+    @Override
+    public <T> CompletionStage<T> method(String name, Entity<?> entity, Class<T> responseType) {
+        return invocation(builder.build(name, entity)).rx(new GenericType<>(responseType));
+    }
+
+    @Override
+    public <T> CompletionStage<T> method(String name, Entity<?> entity, GenericType<T> responseType) {
+        return invocation(builder.build(name, entity)).rx(responseType);
+    }
+
+    private EverrestInvocation invocation(Invocation invocation) {
+        return (EverrestInvocation) invocation;
+    }
+}
@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl.client;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Joiner;
+import org.everrest.core.util.NotifierOutputStream;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocketFactory;
+import javax.ws.rs.core.MultivaluedMap;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
+import java.util.EventObject;
+import java.util.function.Supplier;
+
+import static javax.ws.rs.core.Response.Status.BAD_REQUEST;
+
+/**
+ * Connector based on {@link HttpURLConnection}. Connections are kept alive and reused by JDK, see system properties
+ * {@code http.keepAlive} and {@code http.maxConnections}. Connection is returned to JDK's keep-alive cache when entity
+ * stream of response is read and closed.
+ */
+public class HttpURLConnectionConnector implements ClientConnector {
+    private final HttpURLConnectionFactory urlConnectionFactory;
+
+    /**
+     * SSLContext creates new SSLSocketFactory each time, but JDK reuses HTTPS connection only if it was created with the
+     * same factory.
+     */
+    private volatile SslSocketFactory sslSocketFactory;
+
+    public HttpURLConnectionConnector() {
+        this(new HttpURLConnectionFactory());
+    }
+
+    @VisibleForTesting
+    HttpURLConnectionConnector(HttpURLConnectionFactory urlConnectionFactory) {
+        this.urlConnectionFactory = urlConnectionFactory;
+    }
+
+    @Override
+    public ConnectorResponse send(ClientRequest request, RequestEntityWriter entityWriter) throws IOException {
+        HttpURLConnection connection = urlConnectionFactory.openConnectionTo(request.getUri().toURL());
+        if (connection instanceof HttpsURLConnection) {
+            ((HttpsURLConnection)connection).setSSLSocketFactory(getSslSocketFactory(request.getClient().getSslContext()));
+            HostnameVerifier hostnameVerifier = request.getClient().getHostnameVerifier();
+            if (hostnameVerifier != null) {
+                ((HttpsURLConnection)connection).setHostnameVerifier(hostnameVerifier);
+            }
+        }
+        HeadersWriter headersWriter = new HeadersWriter(connection, request);
+        if (entityWriter == null) {
+            headersWriter.writeHeaders();
+        } else {
+            connection.setDoOutput(true);
+            entityWriter.writeEntity(new HttpURLConnectionOutputStreamSupplier(connection), headersWriter);
+        }
+        int status = connection.getResponseCode();
+        return new ConnectorResponse(status, connection.getHeaderFields(), new HttpURLConnectionInputStreamSupplier(connection));
+    }
+
+    private SSLSocketFactory getSslSocketFactory(SSLContext sslContext) {
+        SslSocketFactory theSslSocketFactory = sslSocketFactory;
+        if (theSslSocketFactory == null || theSslSocketFactory.sslContext != sslContext) {
+            sslSocketFactory = theSslSocketFactory = new SslSocketFactory(sslContext);
+        }
+        return theSslSocketFactory.socketFactory;
+    }
+
+    private static class SslSocketFactory {
+        final SSLContext       sslContext;
+        final SSLSocketFactory socketFactory;
+
+        SslSocketFactory(SSLContext sslContext) {
+            this.sslContext = sslContext;
+            this.socketFactory = sslContext.getSocketFactory();
+        }
+    }
+
+    private static class HttpURLConnectionOutputStreamSupplier implements Supplier<OutputStream> {
+        final HttpURLConnection connection;
+        OutputStream output;
+
+        HttpURLConnectionOutputStreamSupplier(HttpURLConnection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public OutputStream get() {
+            if (output == null) {
+                try {
+                    output = connection.getOutputStream();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return output;
+        }
+    }
+
+    private static class HeadersWriter implements NotifierOutputStream.EntityStreamListener {
+        final HttpURLConnection connection;
+        final ClientRequest     request;
+
+        HeadersWriter(HttpURLConnection connection, ClientRequest request) {
+            this.connection = connection;
+            this.request = request;
+        }
+
+        @Override
+        public void onChange(EventObject event) throws IOException {
+            writeHeaders();
+        }
+
+        void writeHeaders() throws IOException {
+            connection.setRequestMethod(request.getMethod());
+            MultivaluedMap<String, String> requestHeaders = request.getStringHeaders();
+            requestHeaders.entrySet().forEach(e -> {
+                if (e.getValue().size() > 1) {
+                    connection.setRequestProperty(e.getKey(), Joiner.on(',').join(e.getValue()));
+                } else if (!e.getValue().isEmpty()) {
+                    connection.setRequestProperty(e.getKey(), e.getValue().get(0));
+                }
+            });
+        }
+    }
+
+    private static class HttpURLConnectionInputStreamSupplier implements Supplier<InputStream> {
+        final HttpURLConnection connection;
+        InputStream input;
+
+        HttpURLConnectionInputStreamSupplier(HttpURLConnection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public InputStream get() {
+            if (this.input == null) {
+                try {
+                    InputStream input;
+                    if (connection.getResponseCode() >= BAD_REQUEST.getStatusCode()) {
+                        input = connection.getErrorStream();
+                        if (input == null) {
+                            input = new ByteArrayInputStream(new byte[0]);
+                        }
+                    } else {
+                        input = connection.getInputStream();
+                    }
+                    // Do not disconnect, closed stream returns connection to keep-alive cache
+                    this.input = input;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return this.input;
+        }
+    }
+}
@@ -113,6 +113,16 @@ public class InvocationBuilder implements Invocation.Builder {
         return new EverrestAsyncInvoker(this);
     }
 
+    /**
+     * Returns invoker that does not block caller and does not hold thread of executor of client while waiting for
+     * response if {@link ClientConnector} of client is non-blocking.
+     *
+     * @see EverrestClientBuilder#connector(Supplier)
+     */
+    public CompletionStageRxInvoker rx() {
+        return new EverrestRxInvoker(this);
+    }
+
     @Override
     public Invocation.Builder accept(String... mediaTypes) {
         request.getHeaders().addAll(ACCEPT, mediaTypes);
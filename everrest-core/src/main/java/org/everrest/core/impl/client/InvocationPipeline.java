@@ -10,15 +10,12 @@
  *******************************************************************************/
 package org.everrest.core.impl.client;
 
-import com.google.common.annotations.VisibleForTesting;
-import com.google.common.base.Joiner;
 import org.everrest.core.impl.provider.DefaultWriterInterceptorContext;
 import org.everrest.core.util.CaselessMultivaluedMap;
 import org.everrest.core.util.InputStreamWrapper;
 import org.everrest.core.util.NotifierOutputStream;
+import org.everrest.core.util.NotifierOutputStream.EntityStreamListener;
 
-import javax.net.ssl.HttpsURLConnection;
-import javax.net.ssl.SSLSocketFactory;
 import javax.ws.rs.ProcessingException;
 import javax.ws.rs.client.ClientRequestFilter;
 import javax.ws.rs.client.ClientResponseFilter;
@@ -29,32 +26,34 @@ import javax.ws.rs.core.Response;
 import javax.ws.rs.ext.MessageBodyWriter;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
-import java.io.FilterInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.UncheckedIOException;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.util.EventObject;
 import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
-import static javax.ws.rs.core.Response.Status.BAD_REQUEST;
 import static org.everrest.core.impl.provider.DefaultWriterInterceptorContext.aWriterInterceptorContext;
 
 class InvocationPipeline {
-    private final HttpURLConnectionFactory urlConnectionFactory;
+    private final ClientConnector connector;
 
     InvocationPipeline() {
-        this(new HttpURLConnectionFactory());
+        this(new HttpURLConnectionConnector());
     }
 
-    @VisibleForTesting
-    InvocationPipeline(HttpURLConnectionFactory urlConnectionFactory) {
-        this.urlConnectionFactory = urlConnectionFactory;
+    InvocationPipeline(ClientConnector connector) {
+        this.connector = connector;
+    }
+
+    ClientConnector getConnector() {
+        return connector;
     }
 
     ClientResponse execute(ClientRequest request) {
@@ -76,6 +75,49 @@ class InvocationPipeline {
         }
     }
 
+    /**
+     * Executes request without blocking of caller. Request filters are invoked by caller, response is processed by
+     * response filters in {@code executor}. Returned stage is completed exceptionally with {@code ProcessingException} if
+     * any i/o error occurs.
+     */
+    CompletionStage<ClientResponse> executeAsync(ClientRequest request, Executor executor) {
+        CompletableFuture<ClientResponse> result = new CompletableFuture<>();
+        CompletionStage<ClientResponse> response;
+        try {
+            invokeRequestFiltersChain(request);
+            if (request.getAbortResponse() == null) {
+                response = connector.sendAsync(request, request.hasEntity() ? new InterceptedEntityWriter(request) : null, executor)
+                                    .thenApplyAsync(connectorResponse -> toClientResponse(request, connectorResponse), executor);
+            } else {
+                response = CompletableFuture.completedFuture(processAbortResponse(request));
+            }
+        } catch (IOException | RuntimeException e) {
+            completeExceptionally(result, e);
+            return result;
+        }
+        response.whenComplete((clientResponse, error) -> {
+            if (error == null) {
+                try {
+                    invokeResponseFiltersChain(request, clientResponse);
+                    result.complete(clientResponse);
+                } catch (IOException | RuntimeException e) {
+                    completeExceptionally(result, e);
+                }
+            } else {
+                completeExceptionally(result, error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+            }
+        });
+        return result;
+    }
+
+    private void completeExceptionally(CompletableFuture<ClientResponse> result, Throwable error) {
+        if (error instanceof IOException) {
+            result.completeExceptionally(new ProcessingException(error.getMessage(), error));
+        } else {
+            result.completeExceptionally(error);
+        }
+    }
+
     private void invokeRequestFiltersChain(ClientRequest request) throws IOException {
         Iterator<ClientRequestFilter> requestFilters = request.getProviders().getClientRequestFilters().iterator();
 
@@ -123,17 +165,30 @@ class InvocationPipeline {
     }
 
     private ClientResponse sendRequest(ClientRequest request) throws IOException {
-        URL url = request.getUri().toURL();
-        HttpURLConnection connection = urlConnectionFactory.openConnectionTo(url);
-        if (connection instanceof HttpsURLConnection) {
-            SSLSocketFactory sslSocketFactory = request.getClient().getSslContext().getSocketFactory();
-            ((HttpsURLConnection) connection).setSSLSocketFactory(sslSocketFactory);
+        ConnectorResponse connectorResponse = connector.send(request, request.hasEntity() ? new InterceptedEntityWriter(request) : null);
+        return toClientResponse(request, connectorResponse);
+    }
+
+    private ClientResponse toClientResponse(ClientRequest request, ConnectorResponse connectorResponse) {
+        MultivaluedMap<String, String> responseHeaders = new CaselessMultivaluedMap<>(connectorResponse.getHeaders());
+        ClientResponse response = new ClientResponse(connectorResponse.getStatus(), responseHeaders, request.getProviders(), request.getProperties());
+        response.setEntityStream(new InputStreamWrapper(connectorResponse.getEntityStream()));
+        return response;
+    }
+
+    /** Writes entity of request through writer interceptors and notifies connector once headers of request are final. */
+    private static class InterceptedEntityWriter implements RequestEntityWriter {
+        final ClientRequest request;
+
+        InterceptedEntityWriter(ClientRequest request) {
+            this.request = request;
         }
-        if (request.hasEntity()) {
-            connection.setDoOutput(true);
-            HttpURLConnectionOutputStreamSupplier outputStreamSupplier = new HttpURLConnectionOutputStreamSupplier(connection);
+
+        @Override
+        public void writeEntity(Supplier<OutputStream> output, EntityStreamListener onCommit) throws IOException {
+            OnceListener commitListener = new OnceListener(onCommit);
             DefaultWriterInterceptorContext writerInterceptorContext = aWriterInterceptorContext(request.getProviders(), request.getProperties())
-                    .withEntityStream(new NotifierOutputStream(outputStreamSupplier, new HeadersWriter(connection, request)))
+                    .withEntityStream(new NotifierOutputStream(output, commitListener))
                     .withEntity(request.getEntity())
                     .withType(request.getEntityClass())
                     .withGenericType(request.getEntityType())
@@ -146,44 +201,16 @@ class InvocationPipeline {
             } catch (UncheckedIOException e) {
                 throw e.getCause();
             }
+            commitListener.onChange(new EventObject(request));
         }
-        int status = connection.getResponseCode();
-        MultivaluedMap<String, String> responseHeaders = new CaselessMultivaluedMap<>(connection.getHeaderFields());
-        ClientResponse response = new ClientResponse(status, responseHeaders, request.getProviders(), request.getProperties());
-        HttpURLConnectionInputStreamSupplier inputStreamSupplier = new HttpURLConnectionInputStreamSupplier(connection);
-        response.setEntityStream(new InputStreamWrapper(inputStreamSupplier));
-        return response;
     }
 
-    private static class HttpURLConnectionOutputStreamSupplier implements Supplier<OutputStream> {
-        final HttpURLConnection connection;
-        OutputStream output;
-
-        HttpURLConnectionOutputStreamSupplier(HttpURLConnection connection) {
-            this.connection = connection;
-        }
-
-        @Override
-        public OutputStream get() {
-            if (output == null) {
-                try {
-                    output = connection.getOutputStream();
-                } catch (IOException e) {
-                    throw new UncheckedIOException(e);
-                }
-            }
-            return output;
-        }
-    }
-
-    private static class HeadersWriter implements NotifierOutputStream.EntityStreamListener {
-        final HttpURLConnection connection;
-        final ClientRequest request;
+    private static class OnceListener implements EntityStreamListener {
+        final EntityStreamListener delegate;
         boolean done;
 
-        HeadersWriter(HttpURLConnection connection, ClientRequest request) {
-            this.connection = connection;
-            this.request = request;
+        OnceListener(EntityStreamListener delegate) {
+            this.delegate = delegate;
         }
 
         @Override
@@ -191,56 +218,8 @@ class InvocationPipeline {
             if (done) {
                 return;
             }
-            writeHeaders();
             done = true;
-        }
-
-        private void writeHeaders() throws IOException {
-            connection.setRequestMethod(request.getMethod());
-            MultivaluedMap<String, String> requestHeaders = request.getStringHeaders();
-            requestHeaders.entrySet().forEach(e -> {
-                if (e.getValue().size() > 1) {
-                    connection.setRequestProperty(e.getKey(), Joiner.on(',').join(e.getValue()));
-                } else if(!e.getValue().isEmpty()) {
-                    connection.setRequestProperty(e.getKey(), e.getValue().get(0));
-                }
-            });
-        }
-    }
-
-    private static class HttpURLConnectionInputStreamSupplier implements Supplier<InputStream> {
-        final HttpURLConnection connection;
-        InputStream input;
-
-        HttpURLConnectionInputStreamSupplier(HttpURLConnection connection) {
-            this.connection = connection;
-        }
-
-        @Override
-        public InputStream get() {
-            if (this.input == null) {
-                try {
-                    InputStream input;
-                    if (connection.getResponseCode() >= BAD_REQUEST.getStatusCode()) {
-                        input = connection.getErrorStream();
-                        if (input == null) {
-                            input = new ByteArrayInputStream(new byte[0]);
-                        }
-                    } else {
-                        input = connection.getInputStream();
-                    }
-                    this.input = new FilterInputStream(input) {
-                        @Override
-                        public void close() throws IOException {
-                            super.close();
-                            connection.disconnect();
-                        }
-                    };
-                } catch (IOException e) {
-                    throw new UncheckedIOException(e);
-                }
-            }
-            return this.input;
+            delegate.onChange(event);
         }
     }
 }
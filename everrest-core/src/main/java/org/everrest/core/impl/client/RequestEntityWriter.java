@@ -0,0 +1,37 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl.client;
+
+import org.everrest.core.util.NotifierOutputStream.EntityStreamListener;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.function.Supplier;
+
+/**
+ * Writes entity of client request through writer interceptors and message body writer.
+ *
+ * @see ClientConnector
+ */
+public interface RequestEntityWriter {
+    /**
+     * Writes entity of request to {@code output}.
+     *
+     * @param output
+     *         supplies stream to write entity, it is not requested until first byte of entity is written
+     * @param onCommit
+     *         notified once, before first byte of entity is written or after writing of empty entity. Headers of request
+     *         are final at this moment and should be sent to server.
+     * @throws IOException
+     *         if any i/o error occurs
+     */
+    void writeEntity(Supplier<OutputStream> output, EntityStreamListener onCommit) throws IOException;
+}
@@ -0,0 +1,220 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl.client.cache;
+
+import com.google.common.base.Joiner;
+
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static java.lang.String.CASE_INSENSITIVE_ORDER;
+import static javax.ws.rs.core.HttpHeaders.ETAG;
+import static javax.ws.rs.core.HttpHeaders.LAST_MODIFIED;
+
+/** Immutable response stored in {@link ResponseCache}. */
+final class CachedResponse {
+    static final String AGE = "Age";
+
+    private final String                    key;
+    private final int                       status;
+    private final Map<String, List<String>> headers;
+    private final byte[]                    entity;
+    private final Map<String, String>       varyingRequestHeaders;
+    private final long                      storedAt;
+    private final long                      freshnessLifetime;
+
+    /**
+     * @param key
+     *         key of response in cache
+     * @param status
+     *         status of response
+     * @param headers
+     *         headers of response
+     * @param entity
+     *         entity of response
+     * @param varyingRequestHeaders
+     *         values of request headers that are listed in 'Vary' header of response
+     * @param storedAt
+     *         time in milliseconds when response was generated by server
+     * @param freshnessLifetime
+     *         time in milliseconds while response may be served from cache without revalidation
+     */
+    CachedResponse(String key,
+                   int status,
+                   Map<String, List<String>> headers,
+                   byte[] entity,
+                   Map<String, String> varyingRequestHeaders,
+                   long storedAt,
+                   long freshnessLifetime) {
+        this.key = key;
+        this.status = status;
+        this.headers = copyOf(headers);
+        this.entity = entity;
+        Map<String, String> varyingRequestHeadersCopy = new TreeMap<>(CASE_INSENSITIVE_ORDER);
+        varyingRequestHeadersCopy.putAll(varyingRequestHeaders);
+        this.varyingRequestHeaders = Collections.unmodifiableMap(varyingRequestHeadersCopy);
+        this.storedAt = storedAt;
+        this.freshnessLifetime = freshnessLifetime;
+    }
+
+    private static Map<String, List<String>> copyOf(Map<String, List<String>> headers) {
+        Map<String, List<String>> copy = new TreeMap<>(CASE_INSENSITIVE_ORDER);
+        headers.forEach((name, values) -> {
+            if (name != null) {
+                copy.put(name, Collections.unmodifiableList(new ArrayList<>(values)));
+            }
+        });
+        return Collections.unmodifiableMap(copy);
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    int getStatus() {
+        return status;
+    }
+
+    Map<String, List<String>> getHeaders() {
+        return headers;
+    }
+
+    byte[] getEntity() {
+        return entity;
+    }
+
+    Map<String, String> getVaryingRequestHeaders() {
+        return varyingRequestHeaders;
+    }
+
+    long getStoredAt() {
+        return storedAt;
+    }
+
+    long getFreshnessLifetime() {
+        return freshnessLifetime;
+    }
+
+    String getETag() {
+        return getFirstHeader(ETAG);
+    }
+
+    String getLastModified() {
+        return getFirstHeader(LAST_MODIFIED);
+    }
+
+    String getFirstHeader(String name) {
+        List<String> values = headers.get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    /** Age of response in seconds. */
+    long getAge(long now) {
+        return Math.max(0, now - storedAt) / 1000;
+    }
+
+    boolean isFresh(long now) {
+        return now - storedAt < freshnessLifetime;
+    }
+
+    /** Checks whether request has the same values of headers that are listed in 'Vary' header of response. */
+    boolean matches(MultivaluedMap<String, String> requestHeaders) {
+        for (Map.Entry<String, String> e : varyingRequestHeaders.entrySet()) {
+            if (!e.getValue().equals(joinHeader(requestHeaders.get(e.getKey())))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static String joinHeader(List<String> values) {
+        return values == null ? "" : Joiner.on(',').join(values);
+    }
+
+    /** Approximate size of response in memory. */
+    int getWeight() {
+        int weight = 128 + key.length() * 2 + entity.length;
+        for (Map.Entry<String, List<String>> e : headers.entrySet()) {
+            weight += e.getKey().length() * 2;
+            for (String value : e.getValue()) {
+                weight += value.length() * 2;
+            }
+        }
+        return weight;
+    }
+
+    Response toResponse(long now) {
+        Response.ResponseBuilder response = Response.status(status);
+        headers.forEach((name, values) -> {
+            if (!AGE.equalsIgnoreCase(name)) {
+                values.forEach(value -> response.header(name, value));
+            }
+        });
+        response.header(AGE, Long.toString(getAge(now)));
+        if (entity.length > 0) {
+            response.entity(entity);
+        }
+        return response.build();
+    }
+
+    void writeTo(DataOutputStream output) throws IOException {
+        output.writeUTF(key);
+        output.writeInt(status);
+        output.writeLong(storedAt);
+        output.writeLong(freshnessLifetime);
+        output.writeInt(headers.size());
+        for (Map.Entry<String, List<String>> e : headers.entrySet()) {
+            output.writeUTF(e.getKey());
+            output.writeInt(e.getValue().size());
+            for (String value : e.getValue()) {
+                output.writeUTF(value);
+            }
+        }
+        output.writeInt(varyingRequestHeaders.size());
+        for (Map.Entry<String, String> e : varyingRequestHeaders.entrySet()) {
+            output.writeUTF(e.getKey());
+            output.writeUTF(e.getValue());
+        }
+        output.writeInt(entity.length);
+        output.write(entity);
+    }
+
+    static CachedResponse readFrom(DataInputStream input) throws IOException {
+        String key = input.readUTF();
+        int status = input.readInt();
+        long storedAt = input.readLong();
+        long freshnessLifetime = input.readLong();
+        Map<String, List<String>> headers = new TreeMap<>(CASE_INSENSITIVE_ORDER);
+        for (int i = 0, size = input.readInt(); i < size; i++) {
+            String name = input.readUTF();
+            List<String> values = new ArrayList<>();
+            for (int j = 0, valuesSize = input.readInt(); j < valuesSize; j++) {
+                values.add(input.readUTF());
+            }
+            headers.put(name, values);
+        }
+        Map<String, String> varyingRequestHeaders = new TreeMap<>(CASE_INSENSITIVE_ORDER);
+        for (int i = 0, size = input.readInt(); i < size; i++) {
+            varyingRequestHeaders.put(input.readUTF(), input.readUTF());
+        }
+        byte[] entity = new byte[input.readInt()];
+        input.readFully(entity);
+        return new CachedResponse(key, status, headers, entity, varyingRequestHeaders, storedAt, freshnessLifetime);
+    }
+}
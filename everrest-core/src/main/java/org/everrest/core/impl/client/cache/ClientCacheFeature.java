@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl.client.cache;
+
+import javax.ws.rs.core.Feature;
+import javax.ws.rs.core.FeatureContext;
+import java.io.File;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Opt-in HTTP cache of responses for EverRest client. Responses of GET requests are cached according to
+ * 'Cache-Control' and 'Expires' headers and stale responses are revalidated with 'If-None-Match' and
+ * 'If-Modified-Since' headers. Cache keeps responses in memory and, if directory is set, moves responses evicted
+ * from memory to disk.
+ * <pre>
+ * ClientCacheFeature cache = new ClientCacheFeature();
+ * Client client = ClientBuilder.newBuilder().register(cache).build();
+ * ...
+ * ClientCacheStatistics statistics = cache.getStatistics();
+ * </pre>
+ * Instance of feature should not be shared between clients unless they should share cached responses.
+ */
+public class ClientCacheFeature implements Feature {
+    public static final long DEFAULT_MAX_MEMORY_SIZE = 16 * 1024 * 1024;
+
+    private final ClientCacheFilter filter;
+
+    public ClientCacheFeature() {
+        this(DEFAULT_MAX_MEMORY_SIZE);
+    }
+
+    /**
+     * @param maxMemorySize
+     *         max size in bytes of responses kept in memory
+     */
+    public ClientCacheFeature(long maxMemorySize) {
+        this(maxMemorySize, null, 0);
+    }
+
+    /**
+     * @param maxMemorySize
+     *         max size in bytes of responses kept in memory
+     * @param diskDirectory
+     *         directory to store responses evicted from memory, content of directory is removed when cache is created
+     * @param maxDiskSize
+     *         max size in bytes of responses stored on disk
+     */
+    public ClientCacheFeature(long maxMemorySize, File diskDirectory, long maxDiskSize) {
+        checkArgument(maxMemorySize > 0, "Max memory size must be greater than 0");
+        checkArgument(diskDirectory == null || maxDiskSize > 0, "Max disk size must be greater than 0");
+        filter = new ClientCacheFilter(new ResponseCache(maxMemorySize, diskDirectory == null ? null : new DiskResponseStore(diskDirectory, maxDiskSize)));
+    }
+
+    @Override
+    public boolean configure(FeatureContext context) {
+        context.register(filter);
+        return true;
+    }
+
+    public ClientCacheStatistics getStatistics() {
+        return filter.getStatistics();
+    }
+
+    /** Removes all cached responses. */
+    public void clear() {
+        filter.clear();
+    }
+}
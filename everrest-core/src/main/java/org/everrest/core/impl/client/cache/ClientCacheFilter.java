@@ -0,0 +1,333 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl.client.cache;
+
+import com.google.common.io.ByteStreams;
+import org.everrest.core.impl.header.HttpDates;
+
+import javax.annotation.Priority;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.client.ClientResponseContext;
+import javax.ws.rs.client.ClientResponseFilter;
+import javax.ws.rs.core.MultivaluedMap;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import static javax.ws.rs.HttpMethod.GET;
+import static javax.ws.rs.HttpMethod.HEAD;
+import static javax.ws.rs.HttpMethod.OPTIONS;
+import static javax.ws.rs.core.HttpHeaders.CACHE_CONTROL;
+import static javax.ws.rs.core.HttpHeaders.DATE;
+import static javax.ws.rs.core.HttpHeaders.ETAG;
+import static javax.ws.rs.core.HttpHeaders.EXPIRES;
+import static javax.ws.rs.core.HttpHeaders.IF_MATCH;
+import static javax.ws.rs.core.HttpHeaders.IF_MODIFIED_SINCE;
+import static javax.ws.rs.core.HttpHeaders.IF_NONE_MATCH;
+import static javax.ws.rs.core.HttpHeaders.IF_UNMODIFIED_SINCE;
+import static javax.ws.rs.core.HttpHeaders.LAST_MODIFIED;
+import static javax.ws.rs.core.HttpHeaders.VARY;
+import static org.everrest.core.impl.header.HttpDates.INVALID_DATE;
+
+/**
+ * Serves responses of GET requests from {@link ResponseCache} while they are fresh and revalidates stale responses with
+ * 'If-None-Match' and 'If-Modified-Since' headers. Filter is applied after other request filters, so they may change
+ * headers of request, e.g. add credentials, before cache is checked.
+ */
+@Priority(Priorities.USER + 1000)
+class ClientCacheFilter implements ClientRequestFilter, ClientResponseFilter {
+    static final String CACHE_STATE_PROPERTY     = "org.everrest.client.cache.state";
+    static final String CACHED_RESPONSE_PROPERTY = "org.everrest.client.cache.response";
+
+    private static final String NO_STORE = "no-store";
+    private static final String NO_CACHE = "no-cache";
+    private static final String MAX_AGE  = "max-age";
+
+    enum CacheState {
+        MISS, HIT, REVALIDATE
+    }
+
+    private final ResponseCache cache;
+    private final LongAdder     hits;
+    private final LongAdder     misses;
+    private final LongAdder     revalidations;
+    private final LongAdder     notModified;
+
+    ClientCacheFilter(ResponseCache cache) {
+        this.cache = cache;
+        hits = new LongAdder();
+        misses = new LongAdder();
+        revalidations = new LongAdder();
+        notModified = new LongAdder();
+    }
+
+    @Override
+    public void filter(ClientRequestContext request) throws IOException {
+        if (!GET.equals(request.getMethod())) {
+            return;
+        }
+        MultivaluedMap<String, String> requestHeaders = request.getStringHeaders();
+        Map<String, String> cacheControl = parseCacheControl(requestHeaders.get(CACHE_CONTROL));
+        if (cacheControl.containsKey(NO_STORE) || hasConditionalHeaders(requestHeaders)) {
+            // Caller handles conditional request itself
+            return;
+        }
+        CachedResponse cached = cache.get(keyOf(request.getUri()));
+        if (cached == null || !cached.matches(requestHeaders)) {
+            misses.increment();
+            request.setProperty(CACHE_STATE_PROPERTY, CacheState.MISS);
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long maxAge = parseSeconds(cacheControl.get(MAX_AGE));
+        boolean mustRevalidate = cacheControl.containsKey(NO_CACHE) || (maxAge >= 0 && cached.getAge(now) >= maxAge) || !cached.isFresh(now);
+        if (!mustRevalidate) {
+            hits.increment();
+            request.setProperty(CACHE_STATE_PROPERTY, CacheState.HIT);
+            request.abortWith(cached.toResponse(now));
+        } else if (cached.getETag() != null || cached.getLastModified() != null) {
+            revalidations.increment();
+            request.setProperty(CACHE_STATE_PROPERTY, CacheState.REVALIDATE);
+            request.setProperty(CACHED_RESPONSE_PROPERTY, cached);
+            MultivaluedMap<String, Object> headers = request.getHeaders();
+            if (cached.getETag() != null) {
+                headers.putSingle(IF_NONE_MATCH, cached.getETag());
+            }
+            if (cached.getLastModified() != null) {
+                headers.putSingle(IF_MODIFIED_SINCE, cached.getLastModified());
+            }
+        } else {
+            misses.increment();
+            request.setProperty(CACHE_STATE_PROPERTY, CacheState.MISS);
+        }
+    }
+
+    @Override
+    public void filter(ClientRequestContext request, ClientResponseContext response) throws IOException {
+        CacheState state = (CacheState)request.getProperty(CACHE_STATE_PROPERTY);
+        if (state == null) {
+            if (isUnsafe(request.getMethod()) && response.getStatus() < 400) {
+                // Unsafe method may change resource, don't serve its stale representation
+                cache.remove(keyOf(request.getUri()));
+            }
+        } else if (state == CacheState.REVALIDATE && response.getStatus() == 304) {
+            notModified.increment();
+            updateFromNotModified(request, response);
+        } else if (state != CacheState.HIT) {
+            store(request, response);
+        }
+    }
+
+    private void updateFromNotModified(ClientRequestContext request, ClientResponseContext response) {
+        CachedResponse cached = (CachedResponse)request.getProperty(CACHED_RESPONSE_PROPERTY);
+        long now = System.currentTimeMillis();
+        Map<String, List<String>> headers = new HashMap<>(cached.getHeaders());
+        // Headers of 304 response update stored headers
+        response.getHeaders().forEach((name, values) -> {
+            if (name != null) {
+                headers.keySet().removeIf(name::equalsIgnoreCase);
+                headers.put(name, values);
+            }
+        });
+        CachedResponse updated = new CachedResponse(cached.getKey(),
+                                                    cached.getStatus(),
+                                                    headers,
+                                                    cached.getEntity(),
+                                                    cached.getVaryingRequestHeaders(),
+                                                    storedAt(headers, now),
+                                                    Math.max(0, freshnessLifetime(headers, now)));
+        if (parseCacheControl(headers.get(CACHE_CONTROL)).containsKey(NO_STORE)) {
+            cache.remove(updated.getKey());
+        } else {
+            cache.put(updated);
+        }
+        response.setStatus(updated.getStatus());
+        response.getHeaders().clear();
+        updated.getHeaders().forEach((name, values) -> response.getHeaders().addAll(name, values));
+        response.setEntityStream(new ByteArrayInputStream(updated.getEntity()));
+    }
+
+    private void store(ClientRequestContext request, ClientResponseContext response) throws IOException {
+        MultivaluedMap<String, String> headers = response.getHeaders();
+        if (response.getStatus() != 200 || parseCacheControl(headers.get(CACHE_CONTROL)).containsKey(NO_STORE)) {
+            return;
+        }
+        Map<String, String> varyingRequestHeaders = new HashMap<>();
+        List<String> vary = headers.get(VARY);
+        if (vary != null) {
+            for (String value : vary) {
+                for (String name : value.split(",")) {
+                    name = name.trim();
+                    if ("*".equals(name)) {
+                        return;
+                    }
+                    if (!name.isEmpty()) {
+                        varyingRequestHeaders.put(name, CachedResponse.joinHeader(request.getStringHeaders().get(name)));
+                    }
+                }
+            }
+        }
+        long now = System.currentTimeMillis();
+        long freshnessLifetime = freshnessLifetime(headers, now);
+        boolean hasValidators = headers.getFirst(ETAG) != null || headers.getFirst(LAST_MODIFIED) != null;
+        if (freshnessLifetime <= 0 && !hasValidators) {
+            return;
+        }
+        byte[] entity = readEntity(response, cache.getMaxEntrySize());
+        if (entity == null) {
+            return;
+        }
+        cache.put(new CachedResponse(keyOf(request.getUri()),
+                                     response.getStatus(),
+                                     headers,
+                                     entity,
+                                     varyingRequestHeaders,
+                                     storedAt(headers, now),
+                                     Math.max(0, freshnessLifetime)));
+    }
+
+    /**
+     * Reads entity of response if it is not larger than {@code maxEntrySize} and leaves response able to read the same
+     * entity. Returns {@code null} if entity is too large to cache or its size may not be checked without consuming it.
+     */
+    private static byte[] readEntity(ClientResponseContext response, long maxEntrySize) throws IOException {
+        InputStream entityStream = response.getEntityStream();
+        if (entityStream == null) {
+            return new byte[0];
+        }
+        if (entityStream.markSupported()) {
+            int readLimit = (int)Math.min(Integer.MAX_VALUE - 1, maxEntrySize) + 1;
+            entityStream.mark(readLimit);
+            byte[] entity = ByteStreams.toByteArray(ByteStreams.limit(entityStream, readLimit));
+            entityStream.reset();
+            return entity.length > maxEntrySize ? null : entity;
+        }
+        // Replacing of entity stream closes original stream, so do not read entity until its length is known
+        int length = response.getLength();
+        if (length < 0 || length > maxEntrySize) {
+            return null;
+        }
+        byte[] entity = ByteStreams.toByteArray(ByteStreams.limit(entityStream, length));
+        response.setEntityStream(new ByteArrayInputStream(entity));
+        return entity;
+    }
+
+    /** Time when response was generated by server, takes into account 'Age' header of response. */
+    private static long storedAt(Map<String, List<String>> headers, long now) {
+        long age = parseSeconds(firstHeader(headers, CachedResponse.AGE));
+        return age > 0 ? now - age * 1000 : now;
+    }
+
+    /**
+     * Time in milliseconds while response is fresh, by 'max-age' directive of 'Cache-Control' or by 'Expires' header.
+     * Returns {@code -1} if response does not set freshness lifetime.
+     */
+    private static long freshnessLifetime(Map<String, List<String>> headers, long now) {
+        Map<String, String> cacheControl = parseCacheControl(firstHeaders(headers, CACHE_CONTROL));
+        if (cacheControl.containsKey(NO_CACHE)) {
+            return 0;
+        }
+        if (cacheControl.containsKey(MAX_AGE)) {
+            return Math.max(0, parseSeconds(cacheControl.get(MAX_AGE))) * 1000;
+        }
+        String expiresHeader = firstHeader(headers, EXPIRES);
+        if (expiresHeader != null) {
+            long expires = HttpDates.parse(expiresHeader);
+            if (expires == INVALID_DATE) {
+                return 0;
+            }
+            String dateHeader = firstHeader(headers, DATE);
+            long date = dateHeader == null ? INVALID_DATE : HttpDates.parse(dateHeader);
+            return Math.max(0, expires - (date == INVALID_DATE ? now : date));
+        }
+        return -1;
+    }
+
+    private static String firstHeader(Map<String, List<String>> headers, String name) {
+        List<String> values = firstHeaders(headers, name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    private static List<String> firstHeaders(Map<String, List<String>> headers, String name) {
+        List<String> values = headers.get(name);
+        if (values == null) {
+            for (Map.Entry<String, List<String>> e : headers.entrySet()) {
+                if (name.equalsIgnoreCase(e.getKey())) {
+                    return e.getValue();
+                }
+            }
+        }
+        return values;
+    }
+
+    static Map<String, String> parseCacheControl(List<String> headers) {
+        Map<String, String> directives = new HashMap<>();
+        if (headers != null) {
+            for (String header : headers) {
+                for (String directive : header.split(",")) {
+                    int eq = directive.indexOf('=');
+                    String name = (eq < 0 ? directive : directive.substring(0, eq)).trim().toLowerCase(Locale.ENGLISH);
+                    if (!name.isEmpty()) {
+                        String value = eq < 0 ? null : directive.substring(eq + 1).trim().replace("\"", "");
+                        directives.put(name, value);
+                    }
+                }
+            }
+        }
+        return directives;
+    }
+
+    /** Parses number of seconds, returns {@code -1} if value is not set or is not valid. */
+    private static long parseSeconds(String value) {
+        if (value != null) {
+            try {
+                return Long.parseLong(value.trim());
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        return -1;
+    }
+
+    private static boolean hasConditionalHeaders(MultivaluedMap<String, String> requestHeaders) {
+        return requestHeaders.containsKey(IF_NONE_MATCH) || requestHeaders.containsKey(IF_MODIFIED_SINCE)
+               || requestHeaders.containsKey(IF_MATCH) || requestHeaders.containsKey(IF_UNMODIFIED_SINCE);
+    }
+
+    private static boolean isUnsafe(String method) {
+        return !(GET.equals(method) || HEAD.equals(method) || OPTIONS.equals(method) || "TRACE".equals(method));
+    }
+
+    private static String keyOf(URI uri) {
+        return uri.toString();
+    }
+
+    ClientCacheStatistics getStatistics() {
+        return new ClientCacheStatistics(hits.sum(),
+                                         misses.sum(),
+                                         revalidations.sum(),
+                                         notModified.sum(),
+                                         cache.getMemoryEntryCount(),
+                                         cache.getDiskEntryCount(),
+                                         cache.getDiskSize());
+    }
+
+    void clear() {
+        cache.clear();
+    }
+}
@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl.client.cache;
+
+import com.google.common.base.MoreObjects;
+
+/** Snapshot of statistics of {@link ClientCacheFeature}. */
+public final class ClientCacheStatistics {
+    private final long hitCount;
+    private final long missCount;
+    private final long revalidationCount;
+    private final long notModifiedCount;
+    private final long memoryEntryCount;
+    private final long diskEntryCount;
+    private final long diskSize;
+
+    ClientCacheStatistics(long hitCount,
+                          long missCount,
+                          long revalidationCount,
+                          long notModifiedCount,
+                          long memoryEntryCount,
+                          long diskEntryCount,
+                          long diskSize) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.revalidationCount = revalidationCount;
+        this.notModifiedCount = notModifiedCount;
+        this.memoryEntryCount = memoryEntryCount;
+        this.diskEntryCount = diskEntryCount;
+        this.diskSize = diskSize;
+    }
+
+    /** Number of requests served from cache without contacting server. */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /** Number of requests that were not found in cache. */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /** Number of conditional requests sent to server to revalidate stale cached responses. */
+    public long getRevalidationCount() {
+        return revalidationCount;
+    }
+
+    /** Number of revalidations confirmed by server with status 304 'Not Modified'. */
+    public long getNotModifiedCount() {
+        return notModifiedCount;
+    }
+
+    public long getMemoryEntryCount() {
+        return memoryEntryCount;
+    }
+
+    public long getDiskEntryCount() {
+        return diskEntryCount;
+    }
+
+    /** Size in bytes of responses stored on disk. */
+    public long getDiskSize() {
+        return diskSize;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .add("hitCount", hitCount)
+                          .add("missCount", missCount)
+                          .add("revalidationCount", revalidationCount)
+                          .add("notModifiedCount", notModifiedCount)
+                          .add("memoryEntryCount", memoryEntryCount)
+                          .add("diskEntryCount", diskEntryCount)
+                          .add("diskSize", diskSize)
+                          .toString();
+    }
+}
@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl.client.cache;
+
+import com.google.common.hash.Hashing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Stores responses that are evicted from memory in files. Total size of files is limited, the least recently used
+ * responses are removed first. Files are not reused after restart, directory is cleaned up when store is created.
+ */
+final class DiskResponseStore {
+    private static final Logger LOG = LoggerFactory.getLogger(DiskResponseStore.class);
+    private static final String FILE_SUFFIX = ".response";
+
+    private final File                    directory;
+    private final long                    maxSize;
+    /** Key of response to size of its file in access order. */
+    private final LinkedHashMap<String, Long> index;
+    private long size;
+
+    DiskResponseStore(File directory, long maxSize) {
+        this.directory = directory;
+        this.maxSize = maxSize;
+        this.index = new LinkedHashMap<>(16, 0.75f, true);
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IllegalArgumentException(String.format("Unable create directory %s", directory));
+        }
+        deleteFiles();
+    }
+
+    synchronized void put(CachedResponse response) {
+        File file = fileOf(response.getKey());
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            response.writeTo(output);
+        } catch (IOException e) {
+            LOG.warn("Unable save response of {} in {}. {}", response.getKey(), file, e.getMessage());
+            delete(response.getKey());
+            deleteFile(file);
+            return;
+        }
+        Long previousSize = index.put(response.getKey(), file.length());
+        size += file.length() - (previousSize == null ? 0 : previousSize);
+        for (Iterator<Map.Entry<String, Long>> iterator = index.entrySet().iterator(); size > maxSize && iterator.hasNext(); ) {
+            Map.Entry<String, Long> eldest = iterator.next();
+            iterator.remove();
+            size -= eldest.getValue();
+            deleteFile(fileOf(eldest.getKey()));
+        }
+    }
+
+    /** Removes response from store and returns it or {@code null} if there is no response with such key in store. */
+    synchronized CachedResponse remove(String key) {
+        Long fileSize = index.remove(key);
+        if (fileSize == null) {
+            return null;
+        }
+        size -= fileSize;
+        File file = fileOf(key);
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            return CachedResponse.readFrom(input);
+        } catch (IOException e) {
+            LOG.warn("Unable read response of {} from {}. {}", key, file, e.getMessage());
+            return null;
+        } finally {
+            deleteFile(file);
+        }
+    }
+
+    /** Removes response from store without reading it. */
+    synchronized void delete(String key) {
+        Long fileSize = index.remove(key);
+        if (fileSize != null) {
+            size -= fileSize;
+            deleteFile(fileOf(key));
+        }
+    }
+
+    synchronized int getEntryCount() {
+        return index.size();
+    }
+
+    synchronized long getSize() {
+        return size;
+    }
+
+    synchronized void clear() {
+        index.clear();
+        size = 0;
+        deleteFiles();
+    }
+
+    private File fileOf(String key) {
+        return new File(directory, Hashing.sha256().hashString(key, UTF_8).toString() + FILE_SUFFIX);
+    }
+
+    private void deleteFiles() {
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(FILE_SUFFIX));
+        if (files != null) {
+            for (File file : files) {
+                deleteFile(file);
+            }
+        }
+    }
+
+    private void deleteFile(File file) {
+        if (file.exists() && !file.delete()) {
+            LOG.warn("Unable delete file {}", file);
+        }
+    }
+}
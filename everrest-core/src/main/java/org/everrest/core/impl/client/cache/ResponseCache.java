@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl.client.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader.InvalidCacheLoadException;
+import com.google.common.cache.RemovalCause;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+
+/**
+ * Responses stored in memory. Total size of responses in memory is limited, the least recently used responses are
+ * evicted first and, if {@link DiskResponseStore} is set, are moved to disk. Responses are written to disk by
+ * background thread, so request that evicts response doesn't wait for disk. Until response is written it stays in
+ * map of pending responses and is still found by {@link #get(String)}.
+ */
+final class ResponseCache {
+    private static final ExecutorService SPILL_EXECUTOR =
+            newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("everrest.ClientCacheSpill-%d").setDaemon(true).build());
+
+    private final Cache<String, CachedResponse>         memory;
+    private final DiskResponseStore                     disk;
+    /** Responses that are evicted from memory but not written to disk yet. */
+    private final ConcurrentMap<String, CachedResponse> spilling;
+    private final Executor                              spillExecutor;
+    private final long                                  maxEntrySize;
+
+    /**
+     * @param maxMemorySize
+     *         max size of responses in memory in bytes
+     * @param disk
+     *         store for responses that are evicted from memory, may be {@code null}
+     */
+    ResponseCache(long maxMemorySize, DiskResponseStore disk) {
+        this(maxMemorySize, disk, SPILL_EXECUTOR);
+    }
+
+    ResponseCache(long maxMemorySize, DiskResponseStore disk, Executor spillExecutor) {
+        this.disk = disk;
+        this.spilling = new ConcurrentHashMap<>();
+        this.spillExecutor = spillExecutor;
+        // Cache is split on segments and each segment gets part of max size, large response must fit in segment
+        this.maxEntrySize = maxMemorySize / 16;
+        this.memory = CacheBuilder.newBuilder()
+                                  .maximumWeight(maxMemorySize)
+                                  .weigher((String key, CachedResponse response) -> response.getWeight())
+                                  .removalListener(notification -> {
+                                      if (disk != null && notification.getCause() == RemovalCause.SIZE) {
+                                          CachedResponse response = notification.getValue();
+                                          spilling.put(response.getKey(), response);
+                                          spillExecutor.execute(() -> spill(response));
+                                      }
+                                  })
+                                  .build();
+    }
+
+    /**
+     * Writes response to disk unless it is taken back to memory, replaced or removed while it waits for spill. Check and
+     * write are done under lock of disk store, so response removed from {@code spilling} before it is looked up, deleted
+     * or replaced in disk store never gets to disk after that.
+     */
+    private void spill(CachedResponse response) {
+        synchronized (disk) {
+            if (spilling.remove(response.getKey(), response)) {
+                disk.put(response);
+            }
+        }
+    }
+
+    /** Max size of entity of response that may be cached. */
+    long getMaxEntrySize() {
+        return maxEntrySize;
+    }
+
+    CachedResponse get(String key) {
+        CachedResponse response = memory.getIfPresent(key);
+        if (response == null && disk != null) {
+            // Concurrent lookups of the same key wait for single loading, so none of them misses response that is
+            // moved from disk to memory at the moment
+            try {
+                response = memory.get(key, () -> {
+                    CachedResponse restored = spilling.remove(key);
+                    return restored == null ? disk.remove(key) : restored;
+                });
+            } catch (InvalidCacheLoadException e) {
+                // there is no such response or read from disk failed
+                response = null;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        return response;
+    }
+
+    void put(CachedResponse response) {
+        if (disk != null) {
+            spilling.remove(response.getKey());
+            disk.delete(response.getKey());
+        }
+        memory.put(response.getKey(), response);
+    }
+
+    void remove(String key) {
+        memory.invalidate(key);
+        if (disk != null) {
+            spilling.remove(key);
+            disk.delete(key);
+        }
+    }
+
+    long getMemoryEntryCount() {
+        return memory.size();
+    }
+
+    int getDiskEntryCount() {
+        return disk == null ? 0 : disk.getEntryCount();
+    }
+
+    long getDiskSize() {
+        return disk == null ? 0 : disk.getSize();
+    }
+
+    void clear() {
+        memory.invalidateAll();
+        if (disk != null) {
+            spilling.clear();
+            disk.clear();
+        }
+    }
+}
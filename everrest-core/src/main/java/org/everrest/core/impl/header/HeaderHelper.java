@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.everrest.core.impl.header;
 
+import com.google.common.cache.CacheStats;
 import org.everrest.core.header.QualityValue;
 import org.everrest.core.impl.header.ListHeaderProducer.ListItemFactory;
 
@@ -20,9 +21,6 @@ import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.NewCookie;
 import javax.ws.rs.ext.RuntimeDelegate;
 import javax.ws.rs.ext.RuntimeDelegate.HeaderDelegate;
-import java.text.DateFormat;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -30,11 +28,9 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.TimeZone;
 import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -43,6 +39,7 @@ import static com.google.common.base.Strings.isNullOrEmpty;
 import static com.google.common.collect.Lists.newArrayList;
 import static java.lang.Integer.parseInt;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
@@ -113,6 +110,9 @@ public class HeaderHelper {
      */
     private static final ListHeaderProducer<AcceptMediaType> LIST_MEDIA_TYPE_PRODUCER = new ListHeaderProducer<>(new AcceptMediaTypeFactory());
 
+    /** Parsed 'accept' headers. */
+    private static final HeaderValueCache<List<AcceptMediaType>> ACCEPT_MEDIA_TYPE_CACHE = new HeaderValueCache<>();
+
     /**
      * Creates sorted by quality value accepted media type list.
      *
@@ -124,7 +124,12 @@ public class HeaderHelper {
         if (isNullOrEmpty(header) || WILDCARD.equals(header.trim())) {
             return ACCEPT_ALL_MEDIA_TYPE;
         }
-        return LIST_MEDIA_TYPE_PRODUCER.createQualitySortedList(header);
+        return ACCEPT_MEDIA_TYPE_CACHE.get(header, h -> unmodifiableList(LIST_MEDIA_TYPE_PRODUCER.createQualitySortedList(h)));
+    }
+
+    /** Gets statistic of cache of parsed 'accept' headers. */
+    public static CacheStats getAcceptMediaTypeCacheStats() {
+        return ACCEPT_MEDIA_TYPE_CACHE.getStats();
     }
 
     /**
@@ -134,6 +139,9 @@ public class HeaderHelper {
      */
     private static final ListHeaderProducer<AcceptLanguage> LIST_LANGUAGE_PRODUCER = new ListHeaderProducer<>(new AcceptLanguageFactory());
 
+    /** Parsed 'accept-language' headers. */
+    private static final HeaderValueCache<List<AcceptLanguage>> ACCEPT_LANGUAGE_CACHE = new HeaderValueCache<>();
+
     /**
      * Creates sorted by quality value accepted language list.
      *
@@ -145,7 +153,12 @@ public class HeaderHelper {
         if (isNullOrEmpty(header) || "*".equals(header)) {
             return ACCEPT_ALL_LANGUAGE;
         }
-        return LIST_LANGUAGE_PRODUCER.createQualitySortedList(header);
+        return ACCEPT_LANGUAGE_CACHE.get(header, h -> unmodifiableList(LIST_LANGUAGE_PRODUCER.createQualitySortedList(h)));
+    }
+
+    /** Gets statistic of cache of parsed 'accept-language' headers. */
+    public static CacheStats getAcceptLanguageCacheStats() {
+        return ACCEPT_LANGUAGE_CACHE.getStats();
     }
 
     /**
@@ -295,10 +308,9 @@ public class HeaderHelper {
                 } else if (name.equalsIgnoreCase("Max-Age")) {
                     newCookieBuilder.withMaxAge(Integer.parseInt(value));
                 } else if (name.equalsIgnoreCase("expires")) {
-                    try {
-                        newCookieBuilder.withExpiry(parseDateHeader(value));
-                    } catch (IllegalArgumentException ignored) {
-                        ignored.printStackTrace();
+                    final long expiry = HttpDates.parse(value);
+                    if (expiry != HttpDates.INVALID_DATE) {
+                        newCookieBuilder.withExpiry(new Date(expiry));
                     }
                 } else if (name.equalsIgnoreCase("comment")) {
                     newCookieBuilder.withComment(value);
@@ -319,38 +331,6 @@ public class HeaderHelper {
 
     // Date
 
-    // HTTP applications have historically allowed three different formats
-    // for the representation of date/time stamps
-    // For example :
-    // Sun, 06 Nov 1994 08:49:37 GMT  ; RFC 822, updated by RFC 1123
-    // Sunday, 06-Nov-94 08:49:37 GMT ; RFC 850, obsoleted by RFC 1036
-    // Sun Nov 6 08:49:37 1994        ; ANSI C's asctime() format
-
-    private static class DateFormats {
-        /** RFC 822, updated by RFC 1123. */
-        static final String RFC_1123_DATE_FORMAT = "EEE, dd MMM yyyy HH:mm:ss zzz";
-
-        /** RFC 850, obsoleted by RFC 1036. */
-        static final String RFC_1036_DATE_FORMAT = "EEEE, dd-MMM-yy HH:mm:ss zzz";
-
-        /** ANSI C's asctime() format. */
-        static final String ANSI_C_DATE_FORMAT = "EEE MMM d HH:mm:ss yyyy";
-
-        static final SimpleDateFormat[] formats = createFormats();
-
-        private static SimpleDateFormat[] createFormats() {
-            SimpleDateFormat[] formats = new SimpleDateFormat[3];
-            formats[0] = new SimpleDateFormat(RFC_1123_DATE_FORMAT, Locale.US);
-            formats[1] = new SimpleDateFormat(RFC_1036_DATE_FORMAT, Locale.US);
-            formats[2] = new SimpleDateFormat(ANSI_C_DATE_FORMAT, Locale.US);
-            TimeZone tz = TimeZone.getTimeZone("GMT");
-            formats[0].setTimeZone(tz);
-            formats[1].setTimeZone(tz);
-            formats[2].setTimeZone(tz);
-            return formats;
-        }
-    }
-
     /**
      * Parses date header. Will try to found appropriated format for given date header. Format can be one of described in
      * <a href="http://www.w3.org/Protocols/rfc2616/rfc2616-sec3.html#sec3.3.1" >HTTP/1.1 documentation</a> .
@@ -360,13 +340,11 @@ public class HeaderHelper {
      * @return parsed Date
      */
     public static Date parseDateHeader(String header) {
-        for (SimpleDateFormat format : DateFormats.formats) {
-            try {
-                return ((SimpleDateFormat)format.clone()).parse(header);
-            } catch (ParseException ignored) {
-            }
+        final long date = HttpDates.parse(header);
+        if (date == HttpDates.INVALID_DATE) {
+            throw new IllegalArgumentException(String.format("Not found appropriated date format for %s", header));
         }
-        throw new IllegalArgumentException(String.format("Not found appropriated date format for %s", header));
+        return new Date(date);
     }
 
     /**
@@ -377,7 +355,7 @@ public class HeaderHelper {
      * @return string in RFC 1123 format
      */
     public static String formatDate(Date date) {
-        return ((DateFormat)DateFormats.formats[0].clone()).format(date);
+        return HttpDates.format(date.getTime());
     }
 
     //
@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl.header;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+import java.util.function.Function;
+
+/**
+ * Bounded concurrent cache of parsed header values keyed by raw header string. Services usually see only a few dozen of
+ * distinct values of headers like 'Accept' or 'Content-Type', so the same string does not need to be parsed for each
+ * request. Cached values must be immutable since they are shared between requests.
+ *
+ * @param <T>
+ *         type of parsed header value
+ */
+public final class HeaderValueCache<T> {
+    /** Default max number of cached values. */
+    public static final int DEFAULT_MAX_SIZE = 256;
+    /** Longer headers are parsed every time, they are unlikely to be repeated and should not occupy cache. */
+    public static final int MAX_CACHED_HEADER_LENGTH = 512;
+
+    private final Cache<String, T> cache;
+
+    public HeaderValueCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public HeaderValueCache(int maxSize) {
+        cache = CacheBuilder.newBuilder().maximumSize(maxSize).recordStats().build();
+    }
+
+    /**
+     * Gets parsed value of header from cache or parses header with {@code parser} and caches result. Exceptions thrown by
+     * {@code parser} are propagated as is and nothing is cached.
+     *
+     * @param header
+     *         raw header string
+     * @param parser
+     *         parses header string
+     * @return parsed value of header
+     */
+    public T get(String header, Function<String, T> parser) {
+        if (header.length() > MAX_CACHED_HEADER_LENGTH) {
+            return parser.apply(header);
+        }
+        T value = cache.getIfPresent(header);
+        if (value == null) {
+            value = parser.apply(header);
+            cache.put(header, value);
+        }
+        return value;
+    }
+
+    /**
+     * Adds parsed value of header in cache.
+     *
+     * @param header
+     *         raw header string
+     * @param value
+     *         parsed value of header
+     */
+    public void put(String header, T value) {
+        cache.put(header, value);
+    }
+
+    /** Gets number of hits and misses of cache. */
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    /** Removes all cached values. Statistic is not reset. */
+    public void clear() {
+        cache.invalidateAll();
+    }
+}
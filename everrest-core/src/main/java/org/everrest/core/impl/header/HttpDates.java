@@ -0,0 +1,432 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl.header;
+
+import java.text.DateFormatSymbols;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+
+import static java.lang.Math.floorDiv;
+import static java.lang.Math.floorMod;
+
+/**
+ * Parses and formats HTTP dates. HTTP applications have historically allowed three different formats for the
+ * representation of date/time stamps:
+ * <pre>
+ * Sun, 06 Nov 1994 08:49:37 GMT  ; RFC 822, updated by RFC 1123
+ * Sunday, 06-Nov-94 08:49:37 GMT ; RFC 850, obsoleted by RFC 1036
+ * Sun Nov  6 08:49:37 1994       ; ANSI C's asctime() format
+ * </pre>
+ * All of them are accepted by {@link #parse(String)}, dates are always formatted in RFC 1123 format. Unlike
+ * {@link java.text.SimpleDateFormat} parser and formatter are thread-safe and do not throw exceptions on malformed
+ * dates. Current time and last formatted date are cached separately, so formatting of 'Date' header of response costs
+ * nothing in most cases even if other dates, e.g. 'Last-Modified', are formatted between requests.
+ */
+public final class HttpDates {
+    /** Returned by {@link #parse(String)} if date can't be parsed. */
+    public static final long INVALID_DATE = Long.MIN_VALUE;
+
+    private static final String[] DAYS   = {"Mon", "Tue", "Wed", "Thu", "Fri", "Sat", "Sun"};
+    private static final String[] MONTHS = {"Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
+
+    private static final int SECONDS_PER_DAY = 86400;
+
+    /** RFC 1123 string of one second, it is replaced by every format of date of other second. */
+    private static final class FormattedDate {
+        final long   epochSecond;
+        final String value;
+
+        FormattedDate(long epochSecond, String value) {
+            this.epochSecond = epochSecond;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Names of time zones other than GMT and North American zones of RFC 822. They are rare in HTTP headers but are
+     * accepted by {@link java.text.SimpleDateFormat}, so they are loaded only when needed.
+     */
+    private static final class ZoneNames {
+        /** Offsets (in seconds) of zones by upper case abbreviation, e.g. EET or CEST. */
+        static final Map<String, Integer> ABBREVIATIONS = loadAbbreviations();
+        /** Region based IDs of zones, e.g. Europe/Kiev. */
+        static final Set<String>          IDS           = ZoneId.getAvailableZoneIds();
+
+        private static Map<String, Integer> loadAbbreviations() {
+            final Map<String, Integer> abbreviations = new HashMap<>();
+            for (String[] names : DateFormatSymbols.getInstance(Locale.US).getZoneStrings()) {
+                final TimeZone timeZone = TimeZone.getTimeZone(names[0]);
+                abbreviations.putIfAbsent(names[2].toUpperCase(Locale.US), timeZone.getRawOffset() / 1000);
+                abbreviations.putIfAbsent(names[4].toUpperCase(Locale.US), (timeZone.getRawOffset() + timeZone.getDSTSavings()) / 1000);
+            }
+            return abbreviations;
+        }
+    }
+
+    private static volatile FormattedDate lastFormatted = new FormattedDate(INVALID_DATE, null);
+    /** Current time, it is used only by {@link #formatNow()}. */
+    private static volatile FormattedDate now           = new FormattedDate(INVALID_DATE, null);
+
+    /**
+     * Formats date in RFC 1123 format, e.g. {@code Sun, 06 Nov 1994 08:49:37 GMT}.
+     *
+     * @param epochMillis
+     *         milliseconds from the epoch
+     * @return date in RFC 1123 format
+     */
+    public static String format(long epochMillis) {
+        final long epochSecond = floorDiv(epochMillis, 1000);
+        FormattedDate formatted = lastFormatted;
+        if (formatted.epochSecond != epochSecond) {
+            formatted = new FormattedDate(epochSecond, formatEpochSecond(epochSecond));
+            lastFormatted = formatted;
+        }
+        return formatted.value;
+    }
+
+    /** Formats current time in RFC 1123 format. It is good for 'Date' header of response. */
+    public static String formatNow() {
+        final long epochSecond = floorDiv(System.currentTimeMillis(), 1000);
+        FormattedDate formatted = now;
+        if (formatted.epochSecond != epochSecond) {
+            formatted = new FormattedDate(epochSecond, formatEpochSecond(epochSecond));
+            now = formatted;
+        }
+        return formatted.value;
+    }
+
+    private static String formatEpochSecond(long epochSecond) {
+        final LocalDate date = LocalDate.ofEpochDay(floorDiv(epochSecond, SECONDS_PER_DAY));
+        final int secondOfDay = (int)floorMod(epochSecond, SECONDS_PER_DAY);
+        final StringBuilder sb = new StringBuilder(29);
+        sb.append(DAYS[date.getDayOfWeek().ordinal()]).append(',').append(' ');
+        appendTwoDigits(sb, date.getDayOfMonth());
+        sb.append(' ').append(MONTHS[date.getMonthValue() - 1]).append(' ');
+        final int year = date.getYear();
+        if (year >= 0 && year < 1000) {
+            sb.append(year < 10 ? "000" : year < 100 ? "00" : "0");
+        }
+        sb.append(year).append(' ');
+        appendTwoDigits(sb, secondOfDay / 3600);
+        sb.append(':');
+        appendTwoDigits(sb, secondOfDay / 60 % 60);
+        sb.append(':');
+        appendTwoDigits(sb, secondOfDay % 60);
+        return sb.append(" GMT").toString();
+    }
+
+    private static void appendTwoDigits(StringBuilder sb, int value) {
+        sb.append((char)('0' + value / 10)).append((char)('0' + value % 10));
+    }
+
+    /**
+     * Parses date in any of formats that are allowed in HTTP. Names of days and months are case-insensitive. Two digits
+     * year that appears to be more than 50 years in the future is considered to be in the past century.
+     *
+     * @param header
+     *         date string
+     * @return milliseconds from the epoch or {@link #INVALID_DATE} if date can't be parsed
+     */
+    public static long parse(String header) {
+        return new Parser(header).parse();
+    }
+
+    private static final class Parser {
+        final String header;
+        final int    length;
+        int pos;
+
+        Parser(String header) {
+            this.header = header;
+            this.length = header.length();
+        }
+
+        long parse() {
+            skipSpaces();
+            if (dayOfWeek() == null) {
+                return INVALID_DATE;
+            }
+            if (pos < length && header.charAt(pos) == ',') {
+                pos++;
+                return parseRfc1123OrRfc1036();
+            }
+            return parseAsctime();
+        }
+
+        // Sun, 06 Nov 1994 08:49:37 GMT or Sunday, 06-Nov-94 08:49:37 GMT
+        long parseRfc1123OrRfc1036() {
+            skipSpaces();
+            final int day = number(1, 2);
+            if (day < 0 || !dateSeparator()) {
+                return INVALID_DATE;
+            }
+            final int month = month();
+            if (month < 0 || !dateSeparator()) {
+                return INVALID_DATE;
+            }
+            final int yearStart = pos;
+            int year = number(2, 4);
+            final int yearDigits = pos - yearStart;
+            if (year < 0 || !spaces()) {
+                return INVALID_DATE;
+            }
+            if (yearDigits == 2) {
+                year = fullYear(year);
+            }
+            final int secondOfDay = time();
+            if (secondOfDay < 0 || !spaces() || !isValidDate(year, month, day)) {
+                return INVALID_DATE;
+            }
+            final int offset = zoneOffset(year, month, day, secondOfDay);
+            if (offset == Integer.MIN_VALUE) {
+                return INVALID_DATE;
+            }
+            return toEpochMillis(year, month, day, secondOfDay, offset);
+        }
+
+        // Sun Nov  6 08:49:37 1994
+        long parseAsctime() {
+            if (!spaces()) {
+                return INVALID_DATE;
+            }
+            final int month = month();
+            if (month < 0 || !spaces()) {
+                return INVALID_DATE;
+            }
+            final int day = number(1, 2);
+            if (day < 0 || !spaces()) {
+                return INVALID_DATE;
+            }
+            final int secondOfDay = time();
+            if (secondOfDay < 0 || !spaces()) {
+                return INVALID_DATE;
+            }
+            final int year = number(4, 4);
+            skipSpaces();
+            if (year < 0 || pos != length || !isValidDate(year, month, day)) {
+                return INVALID_DATE;
+            }
+            return toEpochMillis(year, month, day, secondOfDay, 0);
+        }
+
+        DayOfWeek dayOfWeek() {
+            final int start = pos;
+            while (pos < length && Character.isLetter(header.charAt(pos))) {
+                pos++;
+            }
+            final int wordLength = pos - start;
+            for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+                final String name = dayOfWeek.name();
+                // 'Sun' or 'Sunday'
+                if ((wordLength == 3 || wordLength == name.length()) && header.regionMatches(true, start, name, 0, wordLength)) {
+                    return dayOfWeek;
+                }
+            }
+            return null;
+        }
+
+        /** @return month 1-12 or -1 */
+        int month() {
+            if (pos + 3 > length) {
+                return -1;
+            }
+            for (int i = 0; i < MONTHS.length; i++) {
+                if (header.regionMatches(true, pos, MONTHS[i], 0, 3)) {
+                    pos += 3;
+                    return i + 1;
+                }
+            }
+            return -1;
+        }
+
+        /** @return seconds of day or -1 */
+        int time() {
+            final int hours = number(2, 2);
+            if (hours < 0 || hours > 23 || !expect(':')) {
+                return -1;
+            }
+            final int minutes = number(2, 2);
+            if (minutes < 0 || minutes > 59 || !expect(':')) {
+                return -1;
+            }
+            final int seconds = number(2, 2);
+            // Leap second is accepted and moves date to the next second
+            if (seconds < 0 || seconds > 60) {
+                return -1;
+            }
+            return hours * 3600 + minutes * 60 + seconds;
+        }
+
+        /** @return offset of time zone in seconds or {@code Integer.MIN_VALUE} */
+        int zoneOffset(int year, int month, int day, int secondOfDay) {
+            int end = length;
+            while (end > pos && header.charAt(end - 1) == ' ') {
+                end--;
+            }
+            final String zone = header.substring(pos, end);
+            if (zone.isEmpty()) {
+                return Integer.MIN_VALUE;
+            }
+            final char first = zone.charAt(0);
+            if (first == '+' || first == '-') {
+                return numericOffset(zone, 0);
+            }
+            switch (zone.toUpperCase(Locale.US)) {
+                case "GMT":
+                case "UT":
+                case "UTC":
+                case "Z":
+                    return 0;
+                case "EST":
+                    return -5 * 3600;
+                case "EDT":
+                    return -4 * 3600;
+                case "CST":
+                    return -6 * 3600;
+                case "CDT":
+                    return -5 * 3600;
+                case "MST":
+                    return -7 * 3600;
+                case "MDT":
+                    return -6 * 3600;
+                case "PST":
+                    return -8 * 3600;
+                case "PDT":
+                    return -7 * 3600;
+            }
+            if ((zone.startsWith("GMT") || zone.startsWith("UTC")) && zone.length() > 3) {
+                return numericOffset(zone, 3);
+            }
+            final Integer abbreviationOffset = ZoneNames.ABBREVIATIONS.get(zone.toUpperCase(Locale.US));
+            if (abbreviationOffset != null) {
+                return abbreviationOffset;
+            }
+            if (ZoneNames.IDS.contains(zone)) {
+                final LocalDateTime localDateTime = LocalDateTime.of(year, month, day, 0, 0).plusSeconds(secondOfDay);
+                return ZoneId.of(zone).getRules().getOffset(localDateTime).getTotalSeconds();
+            }
+            return Integer.MIN_VALUE;
+        }
+
+        // +hhmm, -hh:mm, +h
+        int numericOffset(String zone, int start) {
+            final char sign = zone.charAt(start);
+            if (sign != '+' && sign != '-') {
+                return Integer.MIN_VALUE;
+            }
+            int hours;
+            int minutes = 0;
+            int digits = 0;
+            for (int i = start + 1; i < zone.length(); i++) {
+                final char c = zone.charAt(i);
+                if (c == ':' && digits > 0 && digits <= 2) {
+                    continue;
+                }
+                if (c < '0' || c > '9' || digits == 4) {
+                    return Integer.MIN_VALUE;
+                }
+                minutes = minutes * 10 + (c - '0');
+                digits++;
+            }
+            if (digits == 0) {
+                return Integer.MIN_VALUE;
+            }
+            if (digits > 2) {
+                hours = minutes / 100;
+                minutes = minutes % 100;
+            } else {
+                hours = minutes;
+                minutes = 0;
+            }
+            if (hours > 18 || minutes > 59) {
+                return Integer.MIN_VALUE;
+            }
+            final int offset = hours * 3600 + minutes * 60;
+            return sign == '-' ? -offset : offset;
+        }
+
+        /** @return number of {@code minDigits} to {@code maxDigits} digits or -1 */
+        int number(int minDigits, int maxDigits) {
+            final int start = pos;
+            int value = 0;
+            while (pos < length && pos - start < maxDigits) {
+                final char c = header.charAt(pos);
+                if (c < '0' || c > '9') {
+                    break;
+                }
+                value = value * 10 + (c - '0');
+                pos++;
+            }
+            return pos - start < minDigits ? -1 : value;
+        }
+
+        boolean dateSeparator() {
+            if (pos < length && header.charAt(pos) == '-') {
+                pos++;
+                return true;
+            }
+            return spaces();
+        }
+
+        boolean expect(char c) {
+            if (pos < length && header.charAt(pos) == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        boolean spaces() {
+            final int start = pos;
+            skipSpaces();
+            return pos > start;
+        }
+
+        void skipSpaces() {
+            while (pos < length && header.charAt(pos) == ' ') {
+                pos++;
+            }
+        }
+    }
+
+    /** Year that appears to be more than 50 years in the future is in the past century, see RFC 7231 section 7.1.1.1. */
+    private static int fullYear(int twoDigitsYear) {
+        final int currentYear = Year.now().getValue();
+        int year = currentYear / 100 * 100 + twoDigitsYear;
+        if (year > currentYear + 50) {
+            year -= 100;
+        } else if (year <= currentYear - 50) {
+            year += 100;
+        }
+        return year;
+    }
+
+    private static boolean isValidDate(int year, int month, int day) {
+        return day >= 1 && day <= Month.of(month).length(Year.isLeap(year));
+    }
+
+    private static long toEpochMillis(int year, int month, int day, int secondOfDay, int offset) {
+        final long epochDay = LocalDate.of(year, month, day).toEpochDay();
+        return (epochDay * SECONDS_PER_DAY + secondOfDay - offset) * 1000;
+    }
+
+    private HttpDates() {
+    }
+}
@@ -10,9 +10,12 @@
  *******************************************************************************/
 package org.everrest.core.impl.header;
 
+import com.google.common.cache.CacheStats;
+
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.ext.RuntimeDelegate;
 import java.text.ParseException;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -29,12 +32,62 @@ public class MediaTypeHeaderDelegate implements RuntimeDelegate.HeaderDelegate<M
     private static final char SUB_TYPE_SEPARATOR = '/';
     private static final char PARAMS_SEPARATOR = ';';
 
+    /** Parsed media types. Same instances of MediaType are returned for the same header, that makes comparison of them cheap. */
+    private final HeaderValueCache<MediaType> cache = new HeaderValueCache<>();
+    /** Constants of MediaType, they are kept apart from {@link #cache} so they are never evicted by other media types. */
+    private final Map<String, MediaType>      knownMediaTypes = new HashMap<>();
+
+    public MediaTypeHeaderDelegate() {
+        for (MediaType mediaType : new MediaType[]{MediaType.APPLICATION_ATOM_XML_TYPE,
+                                                   MediaType.APPLICATION_FORM_URLENCODED_TYPE,
+                                                   MediaType.APPLICATION_JSON_TYPE,
+                                                   MediaType.APPLICATION_OCTET_STREAM_TYPE,
+                                                   MediaType.APPLICATION_SVG_XML_TYPE,
+                                                   MediaType.APPLICATION_XHTML_XML_TYPE,
+                                                   MediaType.APPLICATION_XML_TYPE,
+                                                   MediaType.MULTIPART_FORM_DATA_TYPE,
+                                                   MediaType.TEXT_HTML_TYPE,
+                                                   MediaType.TEXT_PLAIN_TYPE,
+                                                   MediaType.TEXT_XML_TYPE,
+                                                   MediaType.WILDCARD_TYPE}) {
+            knownMediaTypes.put(mediaType.getType() + SUB_TYPE_SEPARATOR + mediaType.getSubtype(), mediaType);
+        }
+    }
+
     @Override
     public MediaType fromString(String header) {
         if (header == null) {
             throw new IllegalArgumentException();
         }
+        MediaType mediaType = knownMediaTypes.get(header);
+        if (mediaType != null) {
+            return mediaType;
+        }
+        return isCacheable(header) ? cache.get(header, this::parse) : parse(header);
+    }
+
+    /**
+     * Media types without parameters or with 'charset' parameter only are cached. Other parameters, e.g. 'boundary' of
+     * multipart content, may be different for each request and would evict useful media types from cache.
+     */
+    private boolean isCacheable(String header) {
+        int paramsSeparatorIndex = header.indexOf(PARAMS_SEPARATOR);
+        if (paramsSeparatorIndex < 0) {
+            return true;
+        }
+        int paramStart = paramsSeparatorIndex + 1;
+        while (paramStart < header.length() && header.charAt(paramStart) == ' ') {
+            paramStart++;
+        }
+        return header.indexOf(PARAMS_SEPARATOR, paramStart) < 0 && header.regionMatches(true, paramStart, "charset=", 0, 8);
+    }
+
+    /** Gets statistic of cache of parsed media types. */
+    public CacheStats getCacheStats() {
+        return cache.getStats();
+    }
 
+    private MediaType parse(String header) {
         try {
             int subTypeSeparatorIndex = scan(header, SUB_TYPE_SEPARATOR);
             int paramsSeparatorIndex = scan(header, PARAMS_SEPARATOR);
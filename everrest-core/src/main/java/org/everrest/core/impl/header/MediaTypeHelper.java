@@ -226,6 +226,11 @@ public final class MediaTypeHelper {
             throw new IllegalArgumentException("Null arguments are not allowed");
         }
 
+        // Parsed media types are shared, see MediaTypeHeaderDelegate
+        if (mediaTypeOne == mediaTypeTwo) {
+            return true;
+        }
+
         if (mediaTypeOne.isWildcardType() || mediaTypeTwo.isWildcardType()) {
             return true;
         }
@@ -306,6 +311,11 @@ public final class MediaTypeHelper {
             throw new IllegalArgumentException("Null arguments are not allowed");
         }
 
+        // Parsed media types are shared, see MediaTypeHeaderDelegate
+        if (pattern == checkMe) {
+            return true;
+        }
+
         if (pattern.isWildcardType()) {
             return true;
         }
@@ -10,11 +10,14 @@
  *******************************************************************************/
 package org.everrest.core.impl.method;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.everrest.core.ConfigurationProperties;
 import org.everrest.core.Parameter;
 import org.everrest.core.ProviderBinder;
 import org.everrest.core.impl.ApplicationContext;
 import org.everrest.core.impl.InternalException;
+import org.everrest.core.impl.metrics.RequestTimer;
 import org.everrest.core.impl.provider.DefaultReaderInterceptorContext;
 import org.everrest.core.impl.provider.MessageBodyReaderNotFoundException;
 import org.everrest.core.method.MethodInvoker;
@@ -33,12 +36,15 @@ import javax.ws.rs.core.Response;
 import java.io.InputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationTargetException;
+import java.util.List;
 
 import static javax.ws.rs.core.MediaType.TEXT_PLAIN;
 import static javax.ws.rs.core.Response.Status.BAD_REQUEST;
 import static javax.ws.rs.core.Response.Status.NOT_FOUND;
 import static javax.ws.rs.core.Response.Status.UNSUPPORTED_MEDIA_TYPE;
 import static org.everrest.core.impl.header.HeaderHelper.getContentLengthLong;
+import static org.everrest.core.impl.metrics.RequestPhase.INVOCATION;
+import static org.everrest.core.impl.metrics.RequestPhase.PARAMETER_RESOLUTION;
 import static org.everrest.core.impl.provider.DefaultReaderInterceptorContext.aReaderInterceptorContext;
 
 /**
@@ -50,40 +56,72 @@ public class DefaultMethodInvoker implements MethodInvoker {
     private static final Logger LOG = LoggerFactory.getLogger(DefaultMethodInvoker.class);
 
     private final ParameterResolverFactory parameterResolverFactory;
+    /**
+     * Resolvers for parameters of resource methods. Resolvers are created once for each resource method and reused for
+     * all further invocations of the same method. Element of array is {@code null} if parameter is entity parameter.
+     */
+    private final Cache<GenericResourceMethod, ParameterResolver<?>[]> parameterResolvers;
 
     public DefaultMethodInvoker(ParameterResolverFactory parameterResolverFactory) {
         this.parameterResolverFactory = parameterResolverFactory;
+        this.parameterResolvers = CacheBuilder.newBuilder().concurrencyLevel(16).weakKeys().build();
     }
 
     @Override
     public final Object invokeMethod(Object resource, GenericResourceMethod methodResource, ApplicationContext context) {
+        RequestTimer timer = context.getRequestTimer();
+        if (timer == null || timer.getResourceMethod() != methodResource) {
+            Object[] params = makeMethodParameters(methodResource, context);
+            beforeInvokeMethod(resource, methodResource, params, context);
+            return invokeMethod(resource, methodResource, params, context);
+        }
+        long startTime = System.nanoTime();
         Object[] params = makeMethodParameters(methodResource, context);
-        beforeInvokeMethod(resource, methodResource, params, context);
-        return invokeMethod(resource, methodResource, params, context);
+        startTime = timer.record(PARAMETER_RESOLUTION, startTime);
+        try {
+            beforeInvokeMethod(resource, methodResource, params, context);
+            return invokeMethod(resource, methodResource, params, context);
+        } finally {
+            timer.record(INVOCATION, startTime);
+        }
     }
 
-    @SuppressWarnings({"unchecked"})
     private Object[] makeMethodParameters(GenericResourceMethod resourceMethod, ApplicationContext context) {
-        Object[] params = new Object[resourceMethod.getMethodParameters().size()];
-        int i = 0;
-        for (Parameter methodParameter : resourceMethod.getMethodParameters()) {
-            Annotation methodParameterAnnotation = methodParameter.getAnnotation();
-            if (methodParameterAnnotation != null) {
-                params[i++] = createAnnotatedParameter(context, methodParameter, methodParameterAnnotation);
+        List<Parameter> methodParameters = resourceMethod.getMethodParameters();
+        ParameterResolver<?>[] resolvers = getParameterResolvers(resourceMethod, methodParameters);
+        Object[] params = new Object[methodParameters.size()];
+        for (int i = 0; i < params.length; i++) {
+            Parameter methodParameter = methodParameters.get(i);
+            if (resolvers[i] != null) {
+                params[i] = createAnnotatedParameter(context, methodParameter, resolvers[i]);
             } else {
-                params[i++] = createEntityParameter(context, methodParameter);
+                params[i] = createEntityParameter(context, methodParameter);
             }
         }
         return params;
     }
 
-    private Object createAnnotatedParameter(ApplicationContext context, Parameter methodParameter, Annotation methodParameterAnnotation) {
-        ParameterResolver<?> parameterResolver = parameterResolverFactory.createParameterResolver(methodParameterAnnotation);
+    private ParameterResolver<?>[] getParameterResolvers(GenericResourceMethod resourceMethod, List<Parameter> methodParameters) {
+        ParameterResolver<?>[] resolvers = parameterResolvers.getIfPresent(resourceMethod);
+        if (resolvers == null) {
+            resolvers = new ParameterResolver<?>[methodParameters.size()];
+            for (int i = 0; i < resolvers.length; i++) {
+                Annotation methodParameterAnnotation = methodParameters.get(i).getAnnotation();
+                if (methodParameterAnnotation != null) {
+                    resolvers[i] = parameterResolverFactory.createParameterResolver(methodParameterAnnotation);
+                }
+            }
+            parameterResolvers.put(resourceMethod, resolvers);
+        }
+        return resolvers;
+    }
+
+    private Object createAnnotatedParameter(ApplicationContext context, Parameter methodParameter, ParameterResolver<?> parameterResolver) {
         try {
             return parameterResolver.resolve(methodParameter, context);
         } catch (Exception e) {
             String errorMsg = String.format("Not able resolve method parameter %s", methodParameter);
-            Class<?> annotationType = methodParameterAnnotation.annotationType();
+            Class<?> annotationType = methodParameter.getAnnotation().annotationType();
             if (annotationType == MatrixParam.class || annotationType == QueryParam.class || annotationType == PathParam.class) {
                 throw new WebApplicationException(e, Response.status(NOT_FOUND).entity(errorMsg).type(TEXT_PLAIN).build());
             }
@@ -20,6 +20,7 @@ import javax.ws.rs.HeaderParam;
 import javax.ws.rs.MatrixParam;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.Context;
 import java.lang.annotation.Annotation;
 
@@ -56,6 +57,8 @@ public class DefaultParameterResolverFactory implements ParameterResolverFactory
             return new PathParameterResolver((PathParam) annotation, typeProducerFactory);
         } else if (annotationType == QueryParam.class) {
             return new QueryParameterResolver((QueryParam) annotation, typeProducerFactory);
+        } else if (annotationType == Suspended.class) {
+            return new SuspendedParameterResolver();
         } else {
             throw new IllegalArgumentException(String.format("Unsupported annotation %s", annotationType));
         }
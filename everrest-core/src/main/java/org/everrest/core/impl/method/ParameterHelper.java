@@ -18,6 +18,7 @@ import javax.ws.rs.HeaderParam;
 import javax.ws.rs.MatrixParam;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.Context;
 import java.util.List;
 
@@ -66,5 +67,6 @@ public class ParameterHelper {
                                                                                               MatrixParam.class.getName(),
                                                                                               PathParam.class.getName(),
                                                                                               QueryParam.class.getName(),
-                                                                                              FormParam.class.getName());
+                                                                                              FormParam.class.getName(),
+                                                                                              Suspended.class.getName());
 }
@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl.method;
+
+import org.everrest.core.Parameter;
+import org.everrest.core.impl.ApplicationContext;
+import org.everrest.core.impl.AsyncResponseImpl;
+import org.everrest.core.method.ParameterResolver;
+
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
+
+/**
+ * Creates {@link AsyncResponse} for parameter annotated with {@link Suspended}. Processing of request is suspended when
+ * resource method returns, see {@link AsyncResponseImpl}.
+ */
+public class SuspendedParameterResolver implements ParameterResolver<Suspended> {
+
+    @Override
+    public Object resolve(Parameter parameter, ApplicationContext context) throws Exception {
+        if (parameter.getParameterClass() != AsyncResponse.class) {
+            throw new IllegalArgumentException(String.format("Parameter annotated with @Suspended must be %s but %s found",
+                                                             AsyncResponse.class.getName(), parameter.getParameterClass().getName()));
+        }
+        if (context.getAsyncResponse() != null) {
+            throw new IllegalStateException("Request is already suspended");
+        }
+        AsyncResponseImpl asyncResponse = new AsyncResponseImpl(context);
+        context.setAsyncResponse(asyncResponse);
+        return asyncResponse;
+    }
+}
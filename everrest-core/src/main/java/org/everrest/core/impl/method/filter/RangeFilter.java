@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl.method.filter;
+
+import org.everrest.core.impl.header.Ranges;
+import org.everrest.core.impl.header.Ranges.Range;
+import org.everrest.core.impl.provider.PartialFile;
+import org.everrest.core.impl.provider.PartialFileEntityProvider;
+
+import javax.activation.FileDataSource;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.EntityTag;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.google.common.base.Strings.isNullOrEmpty;
+import static javax.ws.rs.HttpMethod.GET;
+import static javax.ws.rs.core.HttpHeaders.CONTENT_LENGTH;
+import static javax.ws.rs.core.HttpHeaders.CONTENT_TYPE;
+import static javax.ws.rs.core.Response.Status.OK;
+import static javax.ws.rs.core.Response.Status.PARTIAL_CONTENT;
+import static javax.ws.rs.core.Response.Status.REQUESTED_RANGE_NOT_SATISFIABLE;
+import static org.everrest.core.ExtHttpHeaders.ACCEPT_RANGES;
+import static org.everrest.core.ExtHttpHeaders.CONTENT_RANGE;
+import static org.everrest.core.ExtHttpHeaders.IF_RANGE;
+import static org.everrest.core.ExtHttpHeaders.MULTIPART_BYTERANGES;
+import static org.everrest.core.ExtHttpHeaders.RANGE;
+import static org.everrest.core.impl.header.HeaderHelper.parseDateHeader;
+
+/**
+ * Serves requests with 'Range' header for responses with {@link File} or {@link FileDataSource} entity. 'Accept-Ranges'
+ * header is added to every such response with status 200 (OK). If request contains satisfiable ranges, status is replaced
+ * with 206 (Partial Content) and entity with {@link PartialFile}, if none of requested ranges is satisfiable, status
+ * 416 (Requested Range Not Satisfiable) is sent. 'Range' header is ignored and whole file is sent if header is invalid,
+ * contains too many ranges or if 'If-Range' header does not match 'ETag' or 'Last-Modified' of response.
+ */
+public class RangeFilter implements ContainerResponseFilter {
+    /** Max number of ranges in single request, requests with more ranges get whole file. */
+    private static final int MAX_RANGES = 64;
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        if (response.getStatus() != OK.getStatusCode()) {
+            return;
+        }
+        Object entity = response.getEntity();
+        File file;
+        if (entity instanceof File) {
+            file = (File)entity;
+        } else if (entity instanceof FileDataSource) {
+            file = ((FileDataSource)entity).getFile();
+        } else {
+            return;
+        }
+        response.getHeaders().putSingle(ACCEPT_RANGES, "bytes");
+
+        String rangeHeader = request.getHeaderString(RANGE);
+        if (isNullOrEmpty(rangeHeader) || !GET.equals(request.getMethod()) || !ifRangeMatches(request.getHeaderString(IF_RANGE), response)) {
+            return;
+        }
+        Ranges ranges;
+        try {
+            ranges = Ranges.valueOf(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+        if (ranges.getRanges().size() > MAX_RANGES) {
+            return;
+        }
+
+        long length = file.length();
+        List<Range> satisfiable = new ArrayList<>(ranges.getRanges().size());
+        for (Range range : ranges.getRanges()) {
+            if (range.validate(length)) {
+                satisfiable.add(range);
+            }
+        }
+        response.getHeaders().remove(CONTENT_LENGTH);
+        if (satisfiable.isEmpty()) {
+            response.setStatus(REQUESTED_RANGE_NOT_SATISFIABLE.getStatusCode());
+            response.getHeaders().putSingle(CONTENT_RANGE, "bytes */" + length);
+            response.setEntity(null);
+            return;
+        }
+
+        String contentType = response.getHeaderString(CONTENT_TYPE);
+        if (contentType == null && entity instanceof FileDataSource) {
+            contentType = ((FileDataSource)entity).getContentType();
+            response.getHeaders().putSingle(CONTENT_TYPE, contentType);
+        }
+        response.setStatus(PARTIAL_CONTENT.getStatusCode());
+        if (satisfiable.size() == 1) {
+            response.getHeaders().putSingle(CONTENT_RANGE, PartialFileEntityProvider.contentRange(satisfiable.get(0), length));
+            response.setEntity(new PartialFile(file, length, satisfiable, contentType, null));
+        } else {
+            String boundary = Long.toHexString(ThreadLocalRandom.current().nextLong());
+            response.getHeaders().putSingle(CONTENT_TYPE, MULTIPART_BYTERANGES + boundary);
+            response.setEntity(new PartialFile(file, length, satisfiable, contentType, boundary));
+        }
+    }
+
+    private boolean ifRangeMatches(String ifRange, ContainerResponseContext response) {
+        if (ifRange == null) {
+            return true;
+        }
+        try {
+            if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+                EntityTag entityTag = EntityTag.valueOf(ifRange);
+                EntityTag responseEntityTag = response.getEntityTag();
+                // Only strong validators may be used with 'If-Range'
+                return !entityTag.isWeak() && responseEntityTag != null && !responseEntityTag.isWeak()
+                       && entityTag.getValue().equals(responseEntityTag.getValue());
+            }
+            Date lastModified = response.getLastModified();
+            return lastModified != null && parseDateHeader(ifRange).getTime() / 1000 == lastModified.getTime() / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Histogram of latencies in microseconds with fixed memory footprint. Values are counted in log-linear buckets: each
+ * power of two range is split in 16 buckets, so relative error of percentiles does not exceed 1/16. Values greater than
+ * {@link #MAX_VALUE} are counted as {@link #MAX_VALUE}.
+ * <p>
+ * Recording of value is lock-free and updates only few atomic counters, so histogram may be updated concurrently from
+ * many threads. Values that are read while histogram is updated may be slightly inconsistent with each other.
+ */
+public final class LatencyHistogram {
+    /** Max value that may be recorded in histogram, about 35 minutes in microseconds. */
+    public static final long MAX_VALUE = (1L << 31) - 1;
+
+    private static final int SUB_BUCKET_BITS       = 5;
+    private static final int SUB_BUCKET_COUNT      = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT >> 1;
+    private static final int BUCKET_COUNT          = getBucketIndex(MAX_VALUE) + 1;
+
+    static int getBucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int)value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF_COUNT + (int)(value >>> shift) - SUB_BUCKET_HALF_COUNT;
+    }
+
+    static long getHighestValueInBucket(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF_COUNT + 1;
+        long subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder       count   = new LongAdder();
+    private final LongAdder       sum     = new LongAdder();
+    private final AtomicLong      max     = new AtomicLong();
+
+    /**
+     * Records latency.
+     *
+     * @param nanos latency in nanoseconds
+     */
+    public void record(long nanos) {
+        long value = Math.min(Math.max(NANOSECONDS.toMicros(nanos), 0), MAX_VALUE);
+        buckets.incrementAndGet(getBucketIndex(value));
+        count.increment();
+        sum.add(value);
+        long currentMax = max.get();
+        while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+            currentMax = max.get();
+        }
+    }
+
+    /** @return number of recorded values */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /** @return max recorded value in microseconds or {@code 0} if there is no recorded values */
+    public long getMax() {
+        return max.get();
+    }
+
+    /** @return mean of recorded values in microseconds or {@code 0} if there is no recorded values */
+    public double getMean() {
+        long count = getCount();
+        return count == 0 ? 0 : (double)sum.sum() / count;
+    }
+
+    /**
+     * Get value at percentile. Result is the highest value that is counted in the same bucket as value at percentile
+     * but not greater than max recorded value.
+     *
+     * @param percentile percentile, e.g. 99.9
+     * @return value at percentile in microseconds or {@code 0} if there is no recorded values
+     */
+    public long getValueAtPercentile(double percentile) {
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long countAtPercentile = Math.max(1, (long)Math.ceil(Math.min(percentile, 100) / 100 * total));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulative += counts[i];
+            if (cumulative >= countAtPercentile) {
+                return Math.min(getHighestValueInBucket(i), getMax());
+            }
+        }
+        return getMax();
+    }
+}
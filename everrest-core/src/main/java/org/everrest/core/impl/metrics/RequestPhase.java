@@ -0,0 +1,23 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl.metrics;
+
+/** Phases of request processing that are measured separately by {@link RequestTimer}. */
+public enum RequestPhase {
+    /** From start of request processing until resource method is selected, includes invocation of sub-resource locators. */
+    MATCHING,
+    /** Resolving of parameters of resource method, includes reading of request entity. */
+    PARAMETER_RESOLUTION,
+    /** Invocation of resource method. */
+    INVOCATION,
+    /** Writing of response, includes serialization of response entity. */
+    ENTITY_WRITE
+}
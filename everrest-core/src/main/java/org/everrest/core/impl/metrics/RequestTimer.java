@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl.metrics;
+
+import org.everrest.core.resource.ResourceMethodDescriptor;
+
+/**
+ * Measures duration of phases of processing of single request. Instance of this class is bound to request with
+ * {@link org.everrest.core.impl.ApplicationContext#setRequestTimer(RequestTimer)} and is not thread-safe.
+ */
+public final class RequestTimer {
+    private static final int PHASE_COUNT = RequestPhase.values().length;
+
+    private final long                     startTime;
+    private final long[]                   durations;
+    private       ResourceMethodDescriptor resourceMethod;
+
+    public RequestTimer() {
+        startTime = System.nanoTime();
+        durations = new long[PHASE_COUNT];
+    }
+
+    /**
+     * Completes {@link RequestPhase#MATCHING} phase.
+     *
+     * @param resourceMethod resource method that is selected for processing of request
+     */
+    public void matched(ResourceMethodDescriptor resourceMethod) {
+        this.resourceMethod = resourceMethod;
+        durations[RequestPhase.MATCHING.ordinal()] = System.nanoTime() - startTime;
+    }
+
+    /**
+     * Adds time since {@code startTime} to duration of phase.
+     *
+     * @param phase     phase of request processing
+     * @param startTime start time of phase, see {@link System#nanoTime()}
+     * @return current time that may be used as start time of the next phase
+     */
+    public long record(RequestPhase phase, long startTime) {
+        long now = System.nanoTime();
+        durations[phase.ordinal()] += now - startTime;
+        return now;
+    }
+
+    /** @return resource method that is selected for processing of request or {@code null} if there is no matched method */
+    public ResourceMethodDescriptor getResourceMethod() {
+        return resourceMethod;
+    }
+
+    /**
+     * @param phase phase of request processing
+     * @return duration of phase in nanoseconds or {@code 0} if phase is not passed
+     */
+    public long getDuration(RequestPhase phase) {
+        return durations[phase.ordinal()];
+    }
+
+    /** @return time since start of request processing in nanoseconds */
+    public long getElapsedTime() {
+        return System.nanoTime() - startTime;
+    }
+}
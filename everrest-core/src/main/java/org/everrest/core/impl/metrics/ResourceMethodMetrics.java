@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/** Counters and latency histograms of requests that are processed by one resource method. */
+public final class ResourceMethodMetrics {
+    private static final RequestPhase[] PHASES = RequestPhase.values();
+
+    private final LongAdder          requests;
+    private final LongAdder[]        statusClasses;
+    private final LatencyHistogram   latency;
+    private final LatencyHistogram[] phaseLatencies;
+
+    ResourceMethodMetrics() {
+        requests = new LongAdder();
+        statusClasses = new LongAdder[5];
+        for (int i = 0; i < statusClasses.length; i++) {
+            statusClasses[i] = new LongAdder();
+        }
+        latency = new LatencyHistogram();
+        phaseLatencies = new LatencyHistogram[PHASES.length];
+        for (int i = 0; i < phaseLatencies.length; i++) {
+            phaseLatencies[i] = new LatencyHistogram();
+        }
+    }
+
+    void record(RequestTimer timer, int status) {
+        long elapsedTime = timer.getElapsedTime();
+        requests.increment();
+        int statusClass = status / 100;
+        if (statusClass >= 1 && statusClass <= 5) {
+            statusClasses[statusClass - 1].increment();
+        }
+        latency.record(elapsedTime);
+        for (RequestPhase phase : PHASES) {
+            long duration = timer.getDuration(phase);
+            if (duration > 0) {
+                phaseLatencies[phase.ordinal()].record(duration);
+            }
+        }
+    }
+
+    /** @return number of processed requests */
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    /**
+     * @param statusClass class of HTTP status, e.g. {@code 2} for statuses 2xx
+     * @return number of responses with status of specified class
+     */
+    public long getStatusClassCount(int statusClass) {
+        if (statusClass < 1 || statusClass > 5) {
+            throw new IllegalArgumentException(String.format("Invalid class of HTTP status %d", statusClass));
+        }
+        return statusClasses[statusClass - 1].sum();
+    }
+
+    /** @return latency of processing of requests from start until response is written */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * @param phase phase of request processing
+     * @return latency of phase of request processing
+     */
+    public LatencyHistogram getLatency(RequestPhase phase) {
+        return phaseLatencies[phase.ordinal()];
+    }
+}
@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl.metrics;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import org.everrest.core.resource.ResourceMethodDescriptor;
+
+import javax.ws.rs.ext.ContextResolver;
+import javax.ws.rs.ext.Provider;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps {@link ResourceMethodMetrics} of all resource methods. Resource method descriptors are weakly referenced, so
+ * metrics of removed resources are dropped together with their descriptors. Requests that are not matched to any
+ * resource method are counted separately, see {@link #getUnmatchedRequestMetrics()}.
+ * <p>
+ * Registry is created by {@link org.everrest.core.impl.EverrestProcessor} if metrics are enabled with
+ * {@link org.everrest.core.impl.ServerConfigurationProperties#EVERREST_METRICS} and is available for resources as
+ * {@link ContextResolver}.
+ */
+@Provider
+public class ResourceMetricsRegistry implements ContextResolver<ResourceMetricsRegistry> {
+    private final LoadingCache<ResourceMethodDescriptor, ResourceMethodMetrics> metrics;
+    private final ResourceMethodMetrics                                         unmatchedRequestMetrics;
+
+    public ResourceMetricsRegistry() {
+        metrics = CacheBuilder.newBuilder()
+                              .concurrencyLevel(16)
+                              .weakKeys()
+                              .build(new CacheLoader<ResourceMethodDescriptor, ResourceMethodMetrics>() {
+                                  @Override
+                                  public ResourceMethodMetrics load(ResourceMethodDescriptor resourceMethod) {
+                                      return new ResourceMethodMetrics();
+                                  }
+                              });
+        unmatchedRequestMetrics = new ResourceMethodMetrics();
+    }
+
+    /**
+     * Records metrics of processed request.
+     *
+     * @param timer  timer of request
+     * @param status HTTP status of response
+     */
+    public void record(RequestTimer timer, int status) {
+        ResourceMethodDescriptor resourceMethod = timer.getResourceMethod();
+        ResourceMethodMetrics methodMetrics = resourceMethod == null ? unmatchedRequestMetrics : metrics.getUnchecked(resourceMethod);
+        methodMetrics.record(timer, status);
+    }
+
+    /**
+     * @param resourceMethod resource method
+     * @return metrics of resource method or {@code null} if resource method did not process any requests
+     */
+    public ResourceMethodMetrics getMetrics(ResourceMethodDescriptor resourceMethod) {
+        return metrics.getIfPresent(resourceMethod);
+    }
+
+    /** @return unmodifiable snapshot of metrics of all resource methods that processed at least one request */
+    public Map<ResourceMethodDescriptor, ResourceMethodMetrics> getAllMetrics() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(metrics.asMap()));
+    }
+
+    /** @return metrics of requests that were not matched to any resource method */
+    public ResourceMethodMetrics getUnmatchedRequestMetrics() {
+        return unmatchedRequestMetrics;
+    }
+
+    @Override
+    public ResourceMetricsRegistry getContext(Class<?> type) {
+        return this;
+    }
+}
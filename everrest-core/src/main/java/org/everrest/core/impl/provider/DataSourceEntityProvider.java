@@ -80,6 +80,11 @@ public class DataSourceEntityProvider implements EntityProvider<DataSource> {
         if (httpHeaders.getFirst(CONTENT_TYPE) == null && !isNullOrEmpty(dataSource.getContentType())) {
             httpHeaders.putSingle(CONTENT_TYPE, dataSource.getContentType());
         }
+        if (dataSource instanceof FileDataSource) {
+            File file = ((FileDataSource)dataSource).getFile();
+            FileTransfer.write(file, 0, file.length(), httpHeaders, entityStream);
+            return;
+        }
         try (InputStream in = dataSource.getInputStream()) {
             ByteStreams.copy(in, entityStream);
         }
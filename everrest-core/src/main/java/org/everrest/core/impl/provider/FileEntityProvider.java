@@ -19,7 +19,6 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.ext.Provider;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -70,8 +69,6 @@ public class FileEntityProvider implements EntityProvider<File> {
                         MediaType mediaType,
                         MultivaluedMap<String, Object> httpHeaders,
                         OutputStream entityStream) throws IOException {
-        try (InputStream in = new FileInputStream(file)) {
-            ByteStreams.copy(in, entityStream);
-        }
+        FileTransfer.write(file, 0, file.length(), httpHeaders, entityStream);
     }
 }
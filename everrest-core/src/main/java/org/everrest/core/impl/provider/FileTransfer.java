@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl.provider;
+
+import org.everrest.core.impl.ApplicationContext;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.ws.rs.core.MultivaluedMap;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+
+import static java.nio.file.StandardOpenOption.READ;
+import static javax.ws.rs.core.HttpHeaders.CONTENT_LENGTH;
+
+/**
+ * Writes regions of files to entity stream with {@link FileChannel#transferTo(long, long, WritableByteChannel)}. If
+ * servlet container supports sendfile (Tomcat sets request attribute {@value #SENDFILE_SUPPORT}) and entity stream is
+ * not wrapped by any {@link javax.ws.rs.ext.WriterInterceptor} or filter, sending of file is delegated to container.
+ */
+final class FileTransfer {
+    static final String SENDFILE_SUPPORT  = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START    = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END      = "org.apache.tomcat.sendfile.end";
+
+    private FileTransfer() {
+    }
+
+    /**
+     * Writes {@code count} bytes of file starting from {@code position} to entity stream.
+     *
+     * @param file         file
+     * @param position     position of first byte
+     * @param count        number of bytes
+     * @param httpHeaders  response headers
+     * @param entityStream entity stream
+     * @throws IOException if any i/o error occurs
+     */
+    static void write(File file, long position, long count, MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream)
+            throws IOException {
+        if (trySendFile(file, position, count, httpHeaders, entityStream)) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), READ)) {
+            transfer(channel, position, count, entityStream);
+        }
+    }
+
+    /**
+     * Writes {@code count} bytes of channel starting from {@code position} to entity stream. Bytes are not copied to java
+     * heap if entity stream is {@link java.io.FileOutputStream}.
+     *
+     * @throws EOFException if file ends before {@code count} bytes are written
+     */
+    static void transfer(FileChannel channel, long position, long count, OutputStream entityStream) throws IOException {
+        WritableByteChannel target = Channels.newChannel(entityStream);
+        long end = position + count;
+        while (position < end) {
+            long transferred = channel.transferTo(position, end - position, target);
+            if (transferred <= 0) {
+                throw new EOFException(String.format("Unexpected end of file at position %d, expected %d bytes", position, end));
+            }
+            position += transferred;
+        }
+    }
+
+    private static boolean trySendFile(File file, long position, long count, MultivaluedMap<String, Object> httpHeaders,
+                                       OutputStream entityStream) throws IOException {
+        ApplicationContext context = ApplicationContext.getCurrent();
+        // Headers of server response are passed to entity writer as is, otherwise file is written by client or by other component
+        if (context == null || context.getEnvironmentContext() == null || context.getContainerResponse() == null
+            || context.getContainerResponse().getHeaders() != httpHeaders) {
+            return false;
+        }
+        HttpServletRequest servletRequest = context.getEnvironmentContext().get(HttpServletRequest.class);
+        if (servletRequest == null || !Boolean.TRUE.equals(servletRequest.getAttribute(SENDFILE_SUPPORT))) {
+            return false;
+        }
+        if (!context.getProviders().getWriterInterceptors().isEmpty() || context.getContainerResponse().getEntityStream() != null) {
+            return false;
+        }
+        servletRequest.setAttribute(SENDFILE_FILENAME, file.getCanonicalPath());
+        servletRequest.setAttribute(SENDFILE_START, position);
+        servletRequest.setAttribute(SENDFILE_END, position + count);
+        httpHeaders.putSingle(CONTENT_LENGTH, count);
+        // Headers are written on the first event of entity stream, container sends file after response is committed
+        entityStream.flush();
+        return true;
+    }
+}
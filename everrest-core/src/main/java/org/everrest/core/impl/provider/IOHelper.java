@@ -10,25 +10,51 @@
  *******************************************************************************/
 package org.everrest.core.impl.provider;
 
+import com.google.common.base.FinalizablePhantomReference;
+import com.google.common.base.FinalizableReferenceQueue;
 import com.google.common.base.Throwables;
 import org.everrest.core.impl.FileCollector;
+import org.everrest.core.util.BufferPool;
+import org.everrest.core.util.MemoryBudget;
+import org.everrest.core.util.PooledBufferOutputStream;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
 
 public final class IOHelper {
+    /**
+     * Name of system property that sets max number of bytes that may be buffered in memory by all requests at the same time,
+     * see {@link #bufferStream(InputStream, int)}. Default value is 64 MB.
+     */
+    public static final String MAX_BUFFERED_BYTES_PROPERTY = "org.everrest.max.buffered.bytes";
+
+    private static final long DEFAULT_MAX_BUFFERED_BYTES = 64 * 1024 * 1024;
+    private static final int  BUFFER_CHUNK_SIZE          = 8192;
+    private static final int  MAX_POOLED_CHUNKS          = 256;
+
+    private static final BufferPool   BUFFER_POOL   = new BufferPool(BUFFER_CHUNK_SIZE, MAX_POOLED_CHUNKS);
+    private static final MemoryBudget MEMORY_BUDGET = new MemoryBudget(Long.getLong(MAX_BUFFERED_BYTES_PROPERTY, DEFAULT_MAX_BUFFERED_BYTES));
+
+    private static final FinalizableReferenceQueue        REFERENCE_QUEUE  = new FinalizableReferenceQueue();
+    private static final Set<ChunkedInputStreamReference> PENDING_RELEASES = ConcurrentHashMap.newKeySet();
+
     private IOHelper() {
     }
 
     /**
      * Buffer input stream in memory of in file. If size of stream is less then {@code maxMemSize} all data stored
-     * in memory otherwise stored in file.
+     * in memory otherwise stored in file. Data is stored in file also when memory that is shared by all buffered streams
+     * is exhausted, see {@link #MAX_BUFFERED_BYTES_PROPERTY}. Memory is returned back when returned stream is closed or
+     * becomes unreachable.
      *
      * @param in
      *         source stream
@@ -39,26 +65,85 @@ public final class IOHelper {
      *         if any i/o error occurs
      */
     public static InputStream bufferStream(InputStream in, int maxMemSize) throws IOException {
-        ByteArrayOutputStream bos = new ByteArrayOutputStream();
-        byte[] buffer = new byte[8192];
-        int bytesNum;
-        boolean overflow = false;
-        while ((!overflow) && (bytesNum = in.read(buffer)) != -1) {
-            bos.write(buffer, 0, bytesNum);
-            overflow = bos.size() > maxMemSize;
-        }
-
-        if (overflow) {
-            File file = FileCollector.getInstance().createFile();
-            try (FileOutputStream fos = new FileOutputStream(file)) {
-                bos.writeTo(fos);
-                while ((bytesNum = in.read(buffer)) != -1) {
-                    fos.write(buffer, 0, bytesNum);
+        return bufferStream(in, maxMemSize, MEMORY_BUDGET);
+    }
+
+    /**
+     * Buffer input stream in memory of in file. If size of stream is less then {@code maxMemSize} and {@code memoryBudget}
+     * is not exhausted all data stored in memory otherwise stored in file.
+     *
+     * @param in
+     *         source stream
+     * @param maxMemSize
+     *         max size of data to keep in memory
+     * @param memoryBudget
+     *         memory that is shared with other buffered streams
+     * @return stream buffered in memory or in file
+     * @throws IOException
+     *         if any i/o error occurs
+     */
+    public static InputStream bufferStream(InputStream in, int maxMemSize, MemoryBudget memoryBudget) throws IOException {
+        PooledBufferOutputStream buffer = new PooledBufferOutputStream(BUFFER_POOL);
+        long reserved = 0;
+        try {
+            boolean overflow = false;
+            int bytesNum;
+            do {
+                if (buffer.getChunkRemaining() == 0) {
+                    if (!memoryBudget.tryReserve(BUFFER_CHUNK_SIZE)) {
+                        overflow = true;
+                        break;
+                    }
+                    reserved += BUFFER_CHUNK_SIZE;
                 }
+                bytesNum = buffer.readFrom(in);
+                overflow = buffer.size() > maxMemSize;
+            } while (!overflow && bytesNum != -1);
+
+            if (overflow) {
+                File file = FileCollector.getInstance().createFile();
+                try (FileChannel channel = FileChannel.open(file.toPath(), WRITE)) {
+                    for (int i = 0; i < buffer.getChunkCount(); i++) {
+                        writeFully(channel, ByteBuffer.wrap(buffer.getChunk(i), 0, buffer.getChunkLength(i)));
+                    }
+                    buffer.release();
+                    memoryBudget.release(reserved);
+                    reserved = 0;
+                    copy(in, channel);
+                } catch (IOException | RuntimeException e) {
+                    file.delete();
+                    throw e;
+                }
+                return new FileChannelInputStream(file);
+            }
+            ChunkedInputStream bufferedStream = new ChunkedInputStream(buffer, memoryBudget, reserved);
+            reserved = 0;
+            PENDING_RELEASES.add(new ChunkedInputStreamReference(bufferedStream));
+            return bufferedStream;
+        } finally {
+            if (reserved > 0) {
+                buffer.release();
+                memoryBudget.release(reserved);
+            }
+        }
+    }
+
+    private static void copy(InputStream in, FileChannel channel) throws IOException {
+        byte[] chunk = BUFFER_POOL.acquire();
+        try {
+            int bytesNum;
+            while ((bytesNum = in.read(chunk)) != -1) {
+                writeFully(channel, ByteBuffer.wrap(chunk, 0, bytesNum));
             }
-            return new DeleteOnCloseFileInputStream(file);
+        } finally {
+            BUFFER_POOL.release(chunk);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
         }
-        return new ByteArrayInputStream(bos.toByteArray());
     }
 
     public static boolean isEmpty(InputStream in) {
@@ -78,18 +163,209 @@ public final class IOHelper {
         return true;
     }
 
-    private static final class DeleteOnCloseFileInputStream extends FileInputStream {
-        private final File file;
+    /** Owns chunks of buffered stream and memory reserved for them, releases both once. */
+    private static final class Chunks {
+        private final PooledBufferOutputStream buffer;
+        private final MemoryBudget             memoryBudget;
+        private final long                     reserved;
+        private final AtomicBoolean            released;
+
+        Chunks(PooledBufferOutputStream buffer, MemoryBudget memoryBudget, long reserved) {
+            this.buffer = buffer;
+            this.memoryBudget = memoryBudget;
+            this.reserved = reserved;
+            released = new AtomicBoolean();
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                buffer.release();
+                memoryBudget.release(reserved);
+            }
+        }
+    }
+
+    /**
+     * Reads bytes directly from pooled chunks. Chunks are kept until stream is closed, so {@link #reset()} rewinds stream
+     * to the mark or to the beginning of stream if it is not marked, even after end of stream is reached.
+     */
+    private static final class ChunkedInputStream extends InputStream {
+        private final Chunks                   chunks;
+        private final PooledBufferOutputStream buffer;
+        private final long                     size;
+        private       long                     position;
+        private       long                     mark = -1;
+        private       boolean                  closed;
+
+        ChunkedInputStream(PooledBufferOutputStream buffer, MemoryBudget memoryBudget, long reserved) {
+            this.buffer = buffer;
+            chunks = new Chunks(buffer, memoryBudget, reserved);
+            size = buffer.size();
+        }
+
+        @Override
+        public int read() throws IOException {
+            ensureOpen();
+            if (position >= size) {
+                return -1;
+            }
+            int chunkIndex = (int)(position / BUFFER_CHUNK_SIZE);
+            int b = buffer.getChunk(chunkIndex)[(int)(position % BUFFER_CHUNK_SIZE)] & 0xFF;
+            position++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (off < 0 || len < 0 || off + len > b.length) {
+                throw new IndexOutOfBoundsException();
+            }
+            ensureOpen();
+            if (len == 0) {
+                return 0;
+            }
+            if (position >= size) {
+                return -1;
+            }
+            int read = 0;
+            while (read < len && position < size) {
+                int chunkIndex = (int)(position / BUFFER_CHUNK_SIZE);
+                int chunkOffset = (int)(position % BUFFER_CHUNK_SIZE);
+                int n = Math.min(len - read, buffer.getChunkLength(chunkIndex) - chunkOffset);
+                System.arraycopy(buffer.getChunk(chunkIndex), chunkOffset, b, off + read, n);
+                read += n;
+                position += n;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            ensureOpen();
+            long skipped = Math.max(0, Math.min(n, size - position));
+            position += skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            ensureOpen();
+            return (int)Math.min(Integer.MAX_VALUE, size - position);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return true;
+        }
+
+        @Override
+        public synchronized void mark(int readLimit) {
+            mark = position;
+        }
+
+        @Override
+        public synchronized void reset() throws IOException {
+            ensureOpen();
+            position = Math.max(mark, 0);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            chunks.release();
+        }
+
+        private void ensureOpen() throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+        }
+    }
+
+    /**
+     * Returns chunks of {@link ChunkedInputStream} back to pool and budget if stream becomes unreachable before it is read
+     * to the end or closed.
+     */
+    private static final class ChunkedInputStreamReference extends FinalizablePhantomReference<ChunkedInputStream> {
+        private final Chunks chunks;
+
+        ChunkedInputStreamReference(ChunkedInputStream stream) {
+            super(stream, REFERENCE_QUEUE);
+            chunks = stream.chunks;
+        }
+
+        @Override
+        public void finalizeReferent() {
+            PENDING_RELEASES.remove(this);
+            chunks.release();
+        }
+    }
+
+    /** Reads spilled bytes with positional reads from file channel, file is deleted when stream is closed. */
+    private static final class FileChannelInputStream extends InputStream {
+        private final File        file;
+        private final FileChannel channel;
+        private final byte[]      single;
+        private       long        position;
+        private       long        mark;
 
-        DeleteOnCloseFileInputStream(File file) throws FileNotFoundException {
-            super(file);
+        FileChannelInputStream(File file) throws IOException {
             this.file = file;
+            channel = FileChannel.open(file.toPath(), READ);
+            single = new byte[1];
+        }
+
+        @Override
+        public int read() throws IOException {
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (off < 0 || len < 0 || off + len > b.length) {
+                throw new IndexOutOfBoundsException();
+            }
+            if (len == 0) {
+                return 0;
+            }
+            int n = channel.read(ByteBuffer.wrap(b, off, len), position);
+            if (n > 0) {
+                position += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = Math.max(0, Math.min(n, channel.size() - position));
+            position += skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int)Math.min(Integer.MAX_VALUE, Math.max(0, channel.size() - position));
+        }
+
+        @Override
+        public boolean markSupported() {
+            return true;
+        }
+
+        @Override
+        public synchronized void mark(int readLimit) {
+            mark = position;
+        }
+
+        @Override
+        public synchronized void reset() {
+            position = mark;
         }
 
         @Override
         public void close() throws IOException {
             try {
-                super.close();
+                channel.close();
             } finally {
                 if (file.exists()) {
                     file.delete();
@@ -13,6 +13,9 @@ package org.everrest.core.impl.provider;
 import org.everrest.core.impl.provider.json.JsonException;
 import org.everrest.core.impl.provider.json.JsonGenerator;
 import org.everrest.core.impl.provider.json.JsonParser;
+import org.everrest.core.impl.provider.json.JsonSequenceWriter;
+import org.everrest.core.impl.provider.json.JsonSequenceWriter.Framing;
+import org.everrest.core.impl.provider.json.JsonStreamingOutput;
 import org.everrest.core.impl.provider.json.JsonTransient;
 import org.everrest.core.impl.provider.json.JsonUtils;
 import org.everrest.core.impl.provider.json.JsonUtils.Types;
@@ -43,19 +46,33 @@ import java.io.Reader;
 import java.io.Writer;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
-import java.util.Collection;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.stream.BaseStream;
 
 import static org.everrest.core.provider.EntityProvider.EMBEDDED_ENTITY_PROVIDER_PRIORITY;
 
 /**
+ * Reads and writes Java objects in JSON format. Java objects are bound directly to JSON stream without building
+ * {@link JsonValue} for whole document, {@link JsonValue} is built only if entity type is {@link JsonValue}.
+ * <p>
+ * {@link Iterable}, {@link Iterator}, {@link java.util.stream.Stream} and {@link JsonStreamingOutput} are written element
+ * by element with periodic flushes, see {@link JsonSequenceWriter}. Such entities are written as JSON array for
+ * {@code application/json} and as newline delimited JSON for {@code application/x-ndjson}. Stream is closed after all
+ * its elements are written.
+ *
  * @author andrew00x
  */
 @Priority(EMBEDDED_ENTITY_PROVIDER_PRIORITY)
 @Provider
 @Consumes({MediaType.APPLICATION_JSON})
-@Produces({MediaType.APPLICATION_JSON})
+@Produces({MediaType.APPLICATION_JSON, JsonEntityProvider.APPLICATION_NDJSON})
 public class JsonEntityProvider<T> implements EntityProvider<T> {
+    /** Newline delimited JSON, each line of entity is separate JSON document. */
+    public static final String    APPLICATION_NDJSON      = "application/x-ndjson";
+    public static final MediaType APPLICATION_NDJSON_TYPE = new MediaType("application", "x-ndjson");
+
     private static final Logger LOG = LoggerFactory.getLogger(JsonEntityProvider.class);
 
     /** Do not process via JSON "known" JAX-RS types and some other. */
@@ -91,28 +108,12 @@ public class JsonEntityProvider<T> implements EntityProvider<T> {
                       MultivaluedMap<String, String> httpHeaders,
                       InputStream entityStream) throws IOException {
         try {
-            JsonParser jsonParser = new JsonParser();
-            jsonParser.parse(entityStream);
-            JsonValue jsonValue = jsonParser.getJsonObject();
-
             if (JsonValue.class.isAssignableFrom(type)) {
-                return (T)jsonValue;
-            }
-
-            Types jsonType = JsonUtils.getType(type);
-            if (jsonType == Types.ARRAY_BOOLEAN || jsonType == Types.ARRAY_BYTE || jsonType == Types.ARRAY_SHORT
-                || jsonType == Types.ARRAY_INT || jsonType == Types.ARRAY_LONG || jsonType == Types.ARRAY_FLOAT
-                || jsonType == Types.ARRAY_DOUBLE || jsonType == Types.ARRAY_CHAR || jsonType == Types.ARRAY_STRING
-                || jsonType == Types.ARRAY_OBJECT) {
-                return (T)ObjectBuilder.createArray(type, jsonValue);
-            }
-            if (jsonType == Types.COLLECTION) {
-                return (T)ObjectBuilder.createCollection((Class)type, genericType, jsonValue);
+                JsonParser jsonParser = new JsonParser();
+                jsonParser.parse(entityStream);
+                return (T)jsonParser.getJsonObject();
             }
-            if (jsonType == Types.MAP) {
-                return (T)ObjectBuilder.createObject((Class)type, genericType, jsonValue);
-            }
-            return ObjectBuilder.createObject(type, jsonValue);
+            return (T)ObjectBuilder.readObject(type, genericType, entityStream);
         } catch (JsonException e) {
             LOG.debug(e.getMessage(), e);
             throw new IOException(String.format("Can't read from input stream %s", e), e);
@@ -139,30 +140,63 @@ public class JsonEntityProvider<T> implements EntityProvider<T> {
                         MultivaluedMap<String, Object> httpHeaders,
                         OutputStream entityStream) throws IOException {
         try {
-            JsonValue jsonValue;
-            if (t instanceof JsonValue) {
-                jsonValue = (JsonValue)t;
+            Framing framing = isNdJson(mediaType) ? Framing.NDJSON : Framing.ARRAY;
+            if (t instanceof JsonStreamingOutput) {
+                JsonSequenceWriter sequenceWriter = new JsonSequenceWriter(entityStream, framing);
+                ((JsonStreamingOutput)t).write(sequenceWriter);
+                sequenceWriter.finish();
+            } else if (t instanceof BaseStream) {
+                try (BaseStream<?, ?> stream = (BaseStream<?, ?>)t) {
+                    writeSequence(stream.iterator(), framing, entityStream);
+                }
+            } else if (t instanceof Iterator) {
+                writeSequence((Iterator<?>)t, framing, entityStream);
+            } else if (t instanceof Iterable) {
+                writeSequence(((Iterable<?>)t).iterator(), framing, entityStream);
+            } else if (framing == Framing.NDJSON) {
+                if (t instanceof Object[]) {
+                    writeSequence(Arrays.asList((Object[])t).iterator(), framing, entityStream);
+                } else {
+                    JsonSequenceWriter sequenceWriter = new JsonSequenceWriter(entityStream, framing);
+                    sequenceWriter.write(t);
+                    sequenceWriter.finish();
+                }
             } else {
-                Types jType = JsonUtils.getType(type);
-                if (jType == Types.ARRAY_BOOLEAN || jType == Types.ARRAY_BYTE || jType == Types.ARRAY_SHORT
-                    || jType == Types.ARRAY_INT || jType == Types.ARRAY_LONG || jType == Types.ARRAY_FLOAT
-                    || jType == Types.ARRAY_DOUBLE || jType == Types.ARRAY_CHAR || jType == Types.ARRAY_STRING
-                    || jType == Types.ARRAY_OBJECT) {
-                    jsonValue = JsonGenerator.createJsonArray(t);
-                } else if (jType == Types.COLLECTION) {
-                    jsonValue = JsonGenerator.createJsonArray((Collection<?>)t);
-                } else if (jType == Types.MAP) {
-                    jsonValue = JsonGenerator.createJsonObjectFromMap((Map<String, ?>)t);
+                JsonWriter jsonWriter = new JsonWriter(entityStream);
+                if (t instanceof JsonValue) {
+                    ((JsonValue)t).writeTo(jsonWriter);
                 } else {
-                    jsonValue = JsonGenerator.createJsonObject(t);
+                    Types jType = JsonUtils.getType(type);
+                    if (jType == Types.ARRAY_BOOLEAN || jType == Types.ARRAY_BYTE || jType == Types.ARRAY_SHORT
+                        || jType == Types.ARRAY_INT || jType == Types.ARRAY_LONG || jType == Types.ARRAY_FLOAT
+                        || jType == Types.ARRAY_DOUBLE || jType == Types.ARRAY_CHAR || jType == Types.ARRAY_STRING
+                        || jType == Types.ARRAY_OBJECT) {
+                        JsonGenerator.writeJsonArray(t, jsonWriter);
+                    } else if (jType == Types.MAP) {
+                        JsonGenerator.writeJsonObjectFromMap((Map<String, ?>)t, jsonWriter);
+                    } else {
+                        JsonGenerator.writeJsonObject(t, jsonWriter);
+                    }
                 }
+                jsonWriter.flush();
             }
-            JsonWriter jsonWriter = new JsonWriter(entityStream);
-            jsonValue.writeTo(jsonWriter);
-            jsonWriter.flush();
         } catch (JsonException e) {
             LOG.debug(e.getMessage(), e);
             throw new IOException(String.format("Can't write to output stream. %s", e.getMessage()), e);
         }
     }
+
+    private static boolean isNdJson(MediaType mediaType) {
+        return mediaType != null
+               && APPLICATION_NDJSON_TYPE.getType().equalsIgnoreCase(mediaType.getType())
+               && APPLICATION_NDJSON_TYPE.getSubtype().equalsIgnoreCase(mediaType.getSubtype());
+    }
+
+    private void writeSequence(Iterator<?> elements, Framing framing, OutputStream entityStream) throws IOException {
+        JsonSequenceWriter sequenceWriter = new JsonSequenceWriter(entityStream, framing);
+        while (elements.hasNext()) {
+            sequenceWriter.write(elements.next());
+        }
+        sequenceWriter.finish();
+    }
 }
@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl.provider;
+
+import org.everrest.core.impl.header.Ranges.Range;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Ranges of file that are sent in response with status 206 (Partial Content). Single range is sent as is, multiple
+ * ranges are sent as multipart/byteranges content with specified boundary.
+ *
+ * @see PartialFileEntityProvider
+ */
+public final class PartialFile {
+    private final File        file;
+    private final long        length;
+    private final List<Range> ranges;
+    private final String      contentType;
+    private final String      boundary;
+
+    /**
+     * @param file        file
+     * @param length      length of file, all ranges must be validated against this length, see {@link Range#validate(long)}
+     * @param ranges      ranges of file
+     * @param contentType content type of file that is sent in each part of multipart content, may be {@code null}
+     * @param boundary    boundary of multipart content, may be {@code null} if there is single range
+     */
+    public PartialFile(File file, long length, List<Range> ranges, String contentType, String boundary) {
+        if (ranges.isEmpty()) {
+            throw new IllegalArgumentException("At least one range is required");
+        }
+        if (ranges.size() > 1 && boundary == null) {
+            throw new IllegalArgumentException("Boundary is required for multiple ranges");
+        }
+        this.file = file;
+        this.length = length;
+        this.ranges = Collections.unmodifiableList(ranges);
+        this.contentType = contentType;
+        this.boundary = boundary;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    public List<Range> getRanges() {
+        return ranges;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getBoundary() {
+        return boundary;
+    }
+
+    /** @return {@code true} if file contains more than one range and is sent as multipart/byteranges content */
+    public boolean isMultipart() {
+        return ranges.size() > 1;
+    }
+}
@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl.provider;
+
+import org.everrest.core.impl.header.Ranges.Range;
+
+import javax.annotation.Priority;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.channels.FileChannel;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.file.StandardOpenOption.READ;
+import static org.everrest.core.provider.EntityProvider.EMBEDDED_ENTITY_PROVIDER_PRIORITY;
+
+/**
+ * Writes {@link PartialFile}. Single range is written as is, multiple ranges are written as multipart/byteranges content
+ * where each part has headers 'Content-Type' and 'Content-Range'. Content of file is written with
+ * {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}.
+ */
+@Priority(EMBEDDED_ENTITY_PROVIDER_PRIORITY)
+@Provider
+public class PartialFileEntityProvider implements MessageBodyWriter<PartialFile> {
+    private static final byte[] CRLF = {'\r', '\n'};
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return type == PartialFile.class;
+    }
+
+    @Override
+    public long getSize(PartialFile partialFile, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        if (!partialFile.isMultipart()) {
+            return length(partialFile.getRanges().get(0));
+        }
+        long size = 0;
+        for (Range range : partialFile.getRanges()) {
+            size += partHeader(partialFile, range).length + length(range) + CRLF.length;
+        }
+        return size + closeDelimiter(partialFile).length;
+    }
+
+    @Override
+    public void writeTo(PartialFile partialFile,
+                        Class<?> type,
+                        Type genericType,
+                        Annotation[] annotations,
+                        MediaType mediaType,
+                        MultivaluedMap<String, Object> httpHeaders,
+                        OutputStream entityStream) throws IOException {
+        if (!partialFile.isMultipart()) {
+            Range range = partialFile.getRanges().get(0);
+            FileTransfer.write(partialFile.getFile(), range.getStart(), length(range), httpHeaders, entityStream);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(partialFile.getFile().toPath(), READ)) {
+            for (Range range : partialFile.getRanges()) {
+                entityStream.write(partHeader(partialFile, range));
+                FileTransfer.transfer(channel, range.getStart(), length(range), entityStream);
+                entityStream.write(CRLF);
+            }
+        }
+        entityStream.write(closeDelimiter(partialFile));
+    }
+
+    private long length(Range range) {
+        return range.getEnd() - range.getStart() + 1;
+    }
+
+    private byte[] partHeader(PartialFile partialFile, Range range) {
+        StringBuilder header = new StringBuilder();
+        header.append("--").append(partialFile.getBoundary()).append("\r\n");
+        if (partialFile.getContentType() != null) {
+            header.append("Content-Type: ").append(partialFile.getContentType()).append("\r\n");
+        }
+        header.append("Content-Range: ").append(contentRange(range, partialFile.getLength())).append("\r\n\r\n");
+        return header.toString().getBytes(US_ASCII);
+    }
+
+    private byte[] closeDelimiter(PartialFile partialFile) {
+        return String.format("--%s--\r\n", partialFile.getBoundary()).getBytes(US_ASCII);
+    }
+
+    /**
+     * Formats value of 'Content-Range' header for range of content.
+     *
+     * @param range  range, must be validated against {@code length}
+     * @param length total length of content
+     * @return value of 'Content-Range' header, e.g. 'bytes 0-99/1000'
+     */
+    public static String contentRange(Range range, long length) {
+        return String.format("bytes %d-%d/%d", range.getStart(), range.getEnd(), length);
+    }
+}
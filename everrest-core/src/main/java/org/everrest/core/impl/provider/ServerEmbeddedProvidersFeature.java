@@ -14,6 +14,7 @@ import org.everrest.core.impl.EverrestConfiguration;
 import org.everrest.core.impl.ServerConfigurationProperties;
 import org.everrest.core.impl.async.AsynchronousProcessListWriter;
 import org.everrest.core.impl.async.DefaultAsynchronousJobPool;
+import org.everrest.core.impl.method.filter.RangeFilter;
 import org.everrest.core.impl.method.filter.SecurityConstraintDynamicFeature;
 import org.everrest.core.impl.method.filter.UriNormalizeFilter;
 import org.everrest.core.impl.method.filter.XHTTPMethodOverrideFilter;
@@ -32,6 +33,7 @@ public class ServerEmbeddedProvidersFeature implements Feature {
         context.register(new DataSourceEntityProvider());
         context.register(new DOMSourceEntityProvider());
         context.register(new FileEntityProvider());
+        context.register(new PartialFileEntityProvider());
         context.register(MultivaluedMapEntityProvider.class);
         context.register(new InputStreamEntityProvider());
         context.register(new ReaderEntityProvider());
@@ -48,6 +50,7 @@ public class ServerEmbeddedProvidersFeature implements Feature {
         context.register(CollectionMultipartFormDataMessageBodyWriter.class);
         context.register(new JAXBContextResolver());
         context.register(new DefaultExceptionMapper());
+        context.register(new RangeFilter());
         if (configuration.isHttpMethodOverrideEnabled()) {
             context.register(new XHTTPMethodOverrideFilter());
         }
@@ -0,0 +1,478 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl.provider.json;
+
+import org.everrest.core.impl.provider.json.JsonUtils.Types;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.everrest.core.impl.provider.json.JsonUtils.getType;
+
+/**
+ * Reads and writes properties of particular Java Bean class. Codec is created once per class, getters, setters and
+ * constructor of class are converted to {@link MethodHandle}s, properties of primitive types are read and written
+ * without boxing. If method handle may not be created, e.g. class is not public, then reflection is used.
+ * <p>
+ * Codecs are kept with {@link ClassValue}, so codec does not prevent unloading of class, e.g. Groovy class that is
+ * reloaded.
+ */
+final class BeanCodec {
+    private static final ClassValue<BeanCodec> CODECS = new ClassValue<BeanCodec>() {
+        @Override
+        protected BeanCodec computeValue(Class<?> type) {
+            return new BeanCodec(type);
+        }
+    };
+
+    private static final MethodType GETTER_TYPE      = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE      = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
+    /**
+     * @param aClass
+     *         Java Bean class
+     * @return codec for class
+     */
+    static BeanCodec of(Class<?> aClass) {
+        return CODECS.get(aClass);
+    }
+
+    private final Class<?>            beanClass;
+    private final MethodHandle        constructor;
+    private final Getter[]            getters;
+    private final Setter[]            setters;
+    private final Map<String, Setter> settersByField;
+
+    private BeanCodec(Class<?> beanClass) {
+        this.beanClass = beanClass;
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        constructor = createConstructor(lookup, beanClass);
+        JsonMethod[] getterMethods = JsonGenerator.getGetters(beanClass);
+        getters = new Getter[getterMethods.length];
+        for (int i = 0; i < getterMethods.length; i++) {
+            getters[i] = createGetter(lookup, getterMethods[i]);
+        }
+        JsonMethod[] setterMethods = ObjectBuilder.getJsonMethods(beanClass);
+        setters = new Setter[setterMethods.length];
+        settersByField = new HashMap<>();
+        for (int i = 0; i < setterMethods.length; i++) {
+            setters[i] = createSetter(lookup, beanClass, setterMethods[i]);
+            settersByField.putIfAbsent(setters[i].field, setters[i]);
+        }
+    }
+
+    private static MethodHandle createConstructor(MethodHandles.Lookup lookup, Class<?> aClass) {
+        if (aClass.isInterface()) {
+            return null;
+        }
+        try {
+            return lookup.unreflectConstructor(aClass.getConstructor()).asType(CONSTRUCTOR_TYPE);
+        } catch (ReflectiveOperationException | SecurityException e) {
+            return null;
+        }
+    }
+
+    private static Getter createGetter(MethodHandles.Lookup lookup, JsonMethod getter) {
+        MethodHandle handle;
+        try {
+            handle = lookup.unreflect(getter.method);
+        } catch (IllegalAccessException e) {
+            return new ReflectionGetter(getter);
+        }
+        Class<?> returnType = getter.method.getReturnType();
+        if (returnType == boolean.class) {
+            return new BooleanGetter(getter, handle.asType(MethodType.methodType(boolean.class, Object.class)));
+        } else if (returnType == byte.class || returnType == short.class || returnType == int.class || returnType == long.class) {
+            return new LongGetter(getter, handle.asType(MethodType.methodType(long.class, Object.class)));
+        } else if (returnType == float.class || returnType == double.class) {
+            return new DoubleGetter(getter, handle.asType(MethodType.methodType(double.class, Object.class)));
+        }
+        return new ObjectGetter(getter, handle.asType(GETTER_TYPE));
+    }
+
+    private static Setter createSetter(MethodHandles.Lookup lookup, Class<?> beanClass, JsonMethod setter) {
+        MethodHandle handle;
+        try {
+            handle = lookup.unreflect(setter.method);
+        } catch (IllegalAccessException e) {
+            return new ReflectionSetter(beanClass, setter);
+        }
+        Class<?> parameterType = setter.method.getParameterTypes()[0];
+        if (parameterType.isPrimitive()) {
+            return new PrimitiveSetter(beanClass, setter, handle.asType(MethodType.methodType(void.class, Object.class, parameterType)),
+                                       handle.asType(SETTER_TYPE));
+        }
+        return new ObjectSetter(beanClass, setter, handle.asType(SETTER_TYPE));
+    }
+
+    /** @return getters of Java Bean, there is only one getter for each property */
+    Getter[] getGetters() {
+        return getters;
+    }
+
+    /** @return setters of Java Bean, there may be few setters for the same property */
+    Setter[] getSetters() {
+        return setters;
+    }
+
+    /**
+     * @param field
+     *         name of property
+     * @return setter of property or {@code null} if Java Bean does not have setter for property
+     */
+    Setter getSetter(String field) {
+        return settersByField.get(field);
+    }
+
+    /**
+     * Creates new instance of Java Bean. Proxy is created for interface, see {@link JsonUtils#createProxy(Class)}.
+     *
+     * @return new instance of Java Bean
+     * @throws JsonException
+     *         if instance may not be created
+     */
+    Object newInstance() throws JsonException {
+        if (constructor == null) {
+            return ObjectBuilder.newInstance(beanClass);
+        }
+        try {
+            return (Object)constructor.invokeExact();
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new JsonException(String.format("Unable instantiate object. %s", e.getMessage()), e);
+        }
+    }
+
+    /** Reads property of Java Bean. */
+    static abstract class Getter {
+        final String field;
+
+        Getter(JsonMethod getter) {
+            this.field = getter.field;
+        }
+
+        /**
+         * @param bean
+         *         Java Bean
+         * @return value of property, primitives are boxed
+         * @throws JsonException
+         *         if getter throws exception
+         */
+        abstract Object get(Object bean) throws JsonException;
+
+        /** Creates JSON representation of property in the same way as {@link JsonGenerator#createJsonObject(Object)} does. */
+        JsonValue createJsonValue(Object bean) throws JsonException {
+            return JsonGenerator.createJsonObjectOrValue(get(bean));
+        }
+
+        /** Writes JSON representation of property in the same way as {@link JsonGenerator#writeJsonObject(Object, JsonWriter)} does. */
+        void writeJsonValue(Object bean, JsonWriter writer) throws JsonException {
+            JsonGenerator.writeJsonObjectOrValue(get(bean), writer);
+        }
+
+        JsonException createException(Throwable e) {
+            if (e instanceof Error) {
+                throw (Error)e;
+            }
+            return new JsonException(e.getMessage(), e);
+        }
+    }
+
+    private static class ObjectGetter extends Getter {
+        final MethodHandle handle;
+
+        ObjectGetter(JsonMethod getter, MethodHandle handle) {
+            super(getter);
+            this.handle = handle;
+        }
+
+        @Override
+        Object get(Object bean) throws JsonException {
+            try {
+                return (Object)handle.invokeExact(bean);
+            } catch (Throwable e) {
+                throw createException(e);
+            }
+        }
+    }
+
+    private static class BooleanGetter extends Getter {
+        final MethodHandle handle;
+
+        BooleanGetter(JsonMethod getter, MethodHandle handle) {
+            super(getter);
+            this.handle = handle;
+        }
+
+        boolean getBoolean(Object bean) throws JsonException {
+            try {
+                return (boolean)handle.invokeExact(bean);
+            } catch (Throwable e) {
+                throw createException(e);
+            }
+        }
+
+        @Override
+        Object get(Object bean) throws JsonException {
+            return getBoolean(bean);
+        }
+
+        @Override
+        JsonValue createJsonValue(Object bean) throws JsonException {
+            return new BooleanValue(getBoolean(bean));
+        }
+
+        @Override
+        void writeJsonValue(Object bean, JsonWriter writer) throws JsonException {
+            writer.writeValue(getBoolean(bean));
+        }
+    }
+
+    /** Getter of byte, short, int or long property. */
+    private static class LongGetter extends Getter {
+        final MethodHandle handle;
+
+        LongGetter(JsonMethod getter, MethodHandle handle) {
+            super(getter);
+            this.handle = handle;
+        }
+
+        long getLong(Object bean) throws JsonException {
+            try {
+                return (long)handle.invokeExact(bean);
+            } catch (Throwable e) {
+                throw createException(e);
+            }
+        }
+
+        @Override
+        Object get(Object bean) throws JsonException {
+            return getLong(bean);
+        }
+
+        @Override
+        JsonValue createJsonValue(Object bean) throws JsonException {
+            return new LongValue(getLong(bean));
+        }
+
+        @Override
+        void writeJsonValue(Object bean, JsonWriter writer) throws JsonException {
+            writer.writeValue(getLong(bean));
+        }
+    }
+
+    /** Getter of float or double property. */
+    private static class DoubleGetter extends Getter {
+        final MethodHandle handle;
+
+        DoubleGetter(JsonMethod getter, MethodHandle handle) {
+            super(getter);
+            this.handle = handle;
+        }
+
+        double getDouble(Object bean) throws JsonException {
+            try {
+                return (double)handle.invokeExact(bean);
+            } catch (Throwable e) {
+                throw createException(e);
+            }
+        }
+
+        @Override
+        Object get(Object bean) throws JsonException {
+            return getDouble(bean);
+        }
+
+        @Override
+        JsonValue createJsonValue(Object bean) throws JsonException {
+            return new DoubleValue(getDouble(bean));
+        }
+
+        @Override
+        void writeJsonValue(Object bean, JsonWriter writer) throws JsonException {
+            writer.writeValue(getDouble(bean));
+        }
+    }
+
+    private static class ReflectionGetter extends Getter {
+        final Method method;
+
+        ReflectionGetter(JsonMethod getter) {
+            super(getter);
+            this.method = getter.method;
+        }
+
+        @Override
+        Object get(Object bean) throws JsonException {
+            try {
+                return method.invoke(bean);
+            } catch (InvocationTargetException | IllegalAccessException e) {
+                throw new JsonException(e.getMessage(), e);
+            }
+        }
+    }
+
+    /** Sets property of Java Bean. */
+    static abstract class Setter {
+        final Class<?> beanClass;
+        final String   field;
+        final Method   method;
+        final Class<?> type;
+        final Type     genericType;
+
+        Setter(Class<?> beanClass, JsonMethod setter) {
+            this.beanClass = beanClass;
+            this.field = setter.field;
+            this.method = setter.method;
+            this.type = method.getParameterTypes()[0];
+            this.genericType = method.getGenericParameterTypes()[0];
+        }
+
+        /**
+         * Sets property from its JSON representation, value of property is created in the same way as
+         * {@link ObjectBuilder#createObject(Class, JsonValue)} does.
+         *
+         * @param bean
+         *         Java Bean
+         * @param jsonValue
+         *         JSON representation of property
+         * @throws JsonException
+         *         if value of property may not be created or setter throws exception
+         */
+        void set(Object bean, JsonValue jsonValue) throws JsonException {
+            Object value;
+            try {
+                value = ObjectBuilder.createValue(type, genericType, jsonValue);
+            } catch (Exception e) {
+                throw createException(e);
+            }
+            setValue(bean, value);
+        }
+
+        /**
+         * @param bean
+         *         Java Bean
+         * @param value
+         *         value of property
+         * @throws JsonException
+         *         if setter throws exception
+         */
+        abstract void setValue(Object bean, Object value) throws JsonException;
+
+        JsonException createException(Throwable e) {
+            if (e instanceof Error) {
+                throw (Error)e;
+            }
+            return ObjectBuilder.createSetterException(beanClass, method, e);
+        }
+    }
+
+    private static class ObjectSetter extends Setter {
+        final MethodHandle handle;
+
+        ObjectSetter(Class<?> beanClass, JsonMethod setter, MethodHandle handle) {
+            super(beanClass, setter);
+            this.handle = handle;
+        }
+
+        @Override
+        void setValue(Object bean, Object value) throws JsonException {
+            try {
+                handle.invokeExact(bean, value);
+            } catch (Throwable e) {
+                throw createException(e);
+            }
+        }
+    }
+
+    /** Setter of property of primitive type, value of property is got from JSON representation without boxing. */
+    private static class PrimitiveSetter extends Setter {
+        final Types        primitiveType;
+        final MethodHandle handle;
+        final MethodHandle boxedHandle;
+
+        PrimitiveSetter(Class<?> beanClass, JsonMethod setter, MethodHandle handle, MethodHandle boxedHandle) {
+            super(beanClass, setter);
+            this.primitiveType = getType(type);
+            this.handle = handle;
+            this.boxedHandle = boxedHandle;
+        }
+
+        @Override
+        void set(Object bean, JsonValue jsonValue) throws JsonException {
+            try {
+                switch (primitiveType) {
+                    case BOOLEAN:
+                        handle.invokeExact(bean, jsonValue.getBooleanValue());
+                        break;
+                    case BYTE:
+                        handle.invokeExact(bean, jsonValue.getByteValue());
+                        break;
+                    case SHORT:
+                        handle.invokeExact(bean, jsonValue.getShortValue());
+                        break;
+                    case INT:
+                        handle.invokeExact(bean, jsonValue.getIntValue());
+                        break;
+                    case LONG:
+                        handle.invokeExact(bean, jsonValue.getLongValue());
+                        break;
+                    case FLOAT:
+                        handle.invokeExact(bean, jsonValue.getFloatValue());
+                        break;
+                    case DOUBLE:
+                        handle.invokeExact(bean, jsonValue.getDoubleValue());
+                        break;
+                    case CHAR:
+                        handle.invokeExact(bean, jsonValue.getStringValue().charAt(0));
+                        break;
+                    default:
+                        boxedHandle.invokeExact(bean, ObjectBuilder.createValue(type, genericType, jsonValue));
+                        break;
+                }
+            } catch (Throwable e) {
+                throw createException(e);
+            }
+        }
+
+        @Override
+        void setValue(Object bean, Object value) throws JsonException {
+            try {
+                boxedHandle.invokeExact(bean, value);
+            } catch (Throwable e) {
+                throw createException(e);
+            }
+        }
+    }
+
+    private static class ReflectionSetter extends Setter {
+        ReflectionSetter(Class<?> beanClass, JsonMethod setter) {
+            super(beanClass, setter);
+        }
+
+        @Override
+        void setValue(Object bean, Object value) throws JsonException {
+            try {
+                method.invoke(bean, value);
+            } catch (Exception e) {
+                throw createException(e);
+            }
+        }
+    }
+}
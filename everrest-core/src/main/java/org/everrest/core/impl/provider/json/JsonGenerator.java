@@ -10,23 +10,17 @@
  *******************************************************************************/
 package org.everrest.core.impl.provider.json;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
-
 import org.everrest.core.impl.provider.json.JsonUtils.Types;
 
 import java.lang.reflect.Array;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ExecutionException;
 
-import static com.google.common.base.Throwables.propagateIfPossible;
 import static com.google.common.collect.Sets.newHashSet;
 import static org.everrest.core.impl.provider.json.JsonUtils.Types.ARRAY_BOOLEAN;
 import static org.everrest.core.impl.provider.json.JsonUtils.Types.ARRAY_BYTE;
@@ -46,29 +40,19 @@ import static org.everrest.core.impl.provider.json.JsonUtils.getTransientFields;
 public class JsonGenerator {
     private static final Collection<String> SKIP_METHODS = newHashSet("getClass", "getMetaClass");
 
-    private static LoadingCache<Class<?>, JsonMethod[]> methodsCache = CacheBuilder.newBuilder()
-                                                                                   .concurrencyLevel(8)
-                                                                                   .weakKeys()
-                                                                                   .build(new CacheLoader<Class<?>, JsonMethod[]>() {
-                                                                                       @Override
-                                                                                       public JsonMethod[] load(Class<?> aClass)
-                                                                                               throws Exception {
-                                                                                           return getGetters(aClass);
-                                                                                       }
-                                                                                   });
-
-    private static JsonMethod[] getGetters(Class<?> aClass) {
+    static JsonMethod[] getGetters(Class<?> aClass) {
         Set<String> transientFieldNames = getTransientFields(aClass);
-        List<JsonMethod> result = new ArrayList<>();
+        // If few getters are mapped to the same field, e.g. getX and isX, then the last one is used
+        Map<String, JsonMethod> result = new LinkedHashMap<>();
         for (Method method : aClass.getMethods()) {
             if (shouldBeProcessed(method)) {
                 String field = getFieldName(method);
                 if (!transientFieldNames.contains(field)) {
-                    result.add(new JsonMethod(method, field));
+                    result.put(field, new JsonMethod(method, field));
                 }
             }
         }
-        return result.toArray(new JsonMethod[result.size()]);
+        return result.values().toArray(new JsonMethod[result.size()]);
     }
 
     private static boolean shouldBeProcessed(Method method) {
@@ -168,31 +152,21 @@ public class JsonGenerator {
         if (object == null) {
             return new NullValue();
         }
-        Class<?> aClass = object.getClass();
         JsonValue jsonRootValue = new ObjectValue();
-        JsonMethod[] getters;
-        try {
-            getters = methodsCache.get(aClass);
-        } catch (ExecutionException e) {
-            propagateIfPossible(e.getCause());
-            throw new JsonException(e.getCause());
-        }
-        for (JsonMethod getter : getters) {
-            try {
-                Object getterResult = getter.method.invoke(object);
-                Types getterResultType = JsonUtils.getType(getterResult);
-                if (getterResultType == null) {
-                    jsonRootValue.addElement(getter.field, createJsonObject(getterResult));
-                } else {
-                    jsonRootValue.addElement(getter.field, createJsonValue(getterResult, getterResultType));
-                }
-            } catch (InvocationTargetException | IllegalAccessException e) {
-                throw new JsonException(e.getMessage(), e);
-            }
+        for (BeanCodec.Getter getter : BeanCodec.of(object.getClass()).getGetters()) {
+            jsonRootValue.addElement(getter.field, getter.createJsonValue(object));
         }
         return jsonRootValue;
     }
 
+    static JsonValue createJsonObjectOrValue(Object object) throws JsonException {
+        Types type = JsonUtils.getType(object);
+        if (type == null) {
+            return createJsonObject(object);
+        }
+        return createJsonValue(object, type);
+    }
+
     @SuppressWarnings({"unchecked"})
     private static JsonValue createJsonValue(Object object, Types type) throws JsonException {
         switch (type) {
@@ -338,4 +312,253 @@ public class JsonGenerator {
         }
     }
 
+    /* ------------------------------------------------------------------------------ */
+
+    /**
+     * Write specified collection as JSON array. Unlike to {@link #createJsonArray(Collection)} this method does not
+     * build {@link JsonValue}, collection is written directly to {@code writer}.
+     *
+     * @param collection
+     *         source collection
+     * @param writer
+     *         writer
+     * @throws JsonException
+     *         if collection can't be transformed in JSON representation or i/o error occurs
+     */
+    public static void writeJsonArray(Collection<?> collection, JsonWriter writer) throws JsonException {
+        if (collection == null) {
+            writer.writeNull();
+        } else {
+            writeJsonValue(collection, COLLECTION, writer);
+        }
+    }
+
+    /**
+     * Write specified array as JSON array. Unlike to {@link #createJsonArray(Object)} this method does not build
+     * {@link JsonValue}, array is written directly to {@code writer}.
+     *
+     * @param array
+     *         source array
+     * @param writer
+     *         writer
+     * @throws JsonException
+     *         if array can't be transformed in JSON representation or i/o error occurs
+     */
+    public static void writeJsonArray(Object array, JsonWriter writer) throws JsonException {
+        if (array == null) {
+            writer.writeNull();
+            return;
+        }
+        Types type = JsonUtils.getType(array);
+        if (type == ARRAY_BOOLEAN
+            || type == ARRAY_BYTE
+            || type == ARRAY_SHORT
+            || type == ARRAY_INT
+            || type == ARRAY_LONG
+            || type == ARRAY_FLOAT
+            || type == ARRAY_DOUBLE
+            || type == ARRAY_CHAR
+            || type == ARRAY_STRING
+            || type == ARRAY_OBJECT) {
+
+            writeJsonValue(array, type, writer);
+        } else {
+            throw new JsonException("Invalid argument, must be array.");
+        }
+    }
+
+    /**
+     * Write specified map as JSON object. Unlike to {@link #createJsonObjectFromMap(Map)} this method does not build
+     * {@link JsonValue}, map is written directly to {@code writer}.
+     *
+     * @param map
+     *         source map
+     * @param writer
+     *         writer
+     * @throws JsonException
+     *         if map can't be transformed in JSON representation or i/o error occurs
+     */
+    public static void writeJsonObjectFromMap(Map<String, ?> map, JsonWriter writer) throws JsonException {
+        if (map == null) {
+            writer.writeNull();
+        } else {
+            writeJsonValue(map, MAP, writer);
+        }
+    }
+
+    /**
+     * Write specified object as JSON object. Object must be conform with java bean structure. Unlike to
+     * {@link #createJsonObject(Object)} this method does not build {@link JsonValue}, result of each getter is written
+     * directly to {@code writer}.
+     *
+     * @param object
+     *         source object
+     * @param writer
+     *         writer
+     * @throws JsonException
+     *         if object can't be transformed in JSON representation or i/o error occurs
+     */
+    public static void writeJsonObject(Object object, JsonWriter writer) throws JsonException {
+        if (object == null) {
+            writer.writeNull();
+            return;
+        }
+        writer.writeStartObject();
+        for (BeanCodec.Getter getter : BeanCodec.of(object.getClass()).getGetters()) {
+            writer.writeKey(getter.field);
+            getter.writeJsonValue(object, writer);
+        }
+        writer.writeEndObject();
+    }
+
+    static void writeJsonObjectOrValue(Object object, JsonWriter writer) throws JsonException {
+        Types type = JsonUtils.getType(object);
+        if (type == null) {
+            writeJsonObject(object, writer);
+        } else {
+            writeJsonValue(object, type, writer);
+        }
+    }
+
+    @SuppressWarnings({"unchecked"})
+    private static void writeJsonValue(Object object, Types type, JsonWriter writer) throws JsonException {
+        switch (type) {
+            case NULL:
+                writer.writeNull();
+                break;
+            case BOOLEAN:
+                writer.writeValue((Boolean)object);
+                break;
+            case BYTE:
+                writer.writeValue((Byte)object);
+                break;
+            case SHORT:
+                writer.writeValue((Short)object);
+                break;
+            case INT:
+                writer.writeValue((Integer)object);
+                break;
+            case LONG:
+                writer.writeValue((Long)object);
+                break;
+            case FLOAT:
+                writer.writeValue((double)(Float)object);
+                break;
+            case DOUBLE:
+                writer.writeValue((Double)object);
+                break;
+            case CHAR:
+                writer.writeValue(Character.toString((Character)object));
+                break;
+            case STRING:
+                writer.writeValue((String)object);
+                break;
+            case ENUM:
+                writer.writeValue(((Enum)object).name());
+                break;
+            case CLASS:
+                writer.writeValue(((Class)object).getName());
+                break;
+            case ARRAY_BOOLEAN: {
+                writer.writeStartArray();
+                for (boolean item : (boolean[])object) {
+                    writer.writeValue(item);
+                }
+                writer.writeEndArray();
+                break;
+            }
+            case ARRAY_BYTE: {
+                writer.writeStartArray();
+                for (byte item : (byte[])object) {
+                    writer.writeValue(item);
+                }
+                writer.writeEndArray();
+                break;
+            }
+            case ARRAY_SHORT: {
+                writer.writeStartArray();
+                for (short item : (short[])object) {
+                    writer.writeValue(item);
+                }
+                writer.writeEndArray();
+                break;
+            }
+            case ARRAY_INT: {
+                writer.writeStartArray();
+                for (int item : (int[])object) {
+                    writer.writeValue(item);
+                }
+                writer.writeEndArray();
+                break;
+            }
+            case ARRAY_LONG: {
+                writer.writeStartArray();
+                for (long item : (long[])object) {
+                    writer.writeValue(item);
+                }
+                writer.writeEndArray();
+                break;
+            }
+            case ARRAY_FLOAT: {
+                writer.writeStartArray();
+                for (float item : (float[])object) {
+                    writer.writeValue((double)item);
+                }
+                writer.writeEndArray();
+                break;
+            }
+            case ARRAY_DOUBLE: {
+                writer.writeStartArray();
+                for (double item : (double[])object) {
+                    writer.writeValue(item);
+                }
+                writer.writeEndArray();
+                break;
+            }
+            case ARRAY_CHAR: {
+                writer.writeStartArray();
+                for (char item : (char[])object) {
+                    writer.writeValue(Character.toString(item));
+                }
+                writer.writeEndArray();
+                break;
+            }
+            case ARRAY_STRING: {
+                writer.writeStartArray();
+                for (String item : (String[])object) {
+                    writer.writeValue(item);
+                }
+                writer.writeEndArray();
+                break;
+            }
+            case ARRAY_OBJECT: {
+                writer.writeStartArray();
+                for (Object item : (Object[])object) {
+                    writeJsonObjectOrValue(item, writer);
+                }
+                writer.writeEndArray();
+                break;
+            }
+            case COLLECTION: {
+                writer.writeStartArray();
+                for (Object item : (Collection<?>)object) {
+                    writeJsonObjectOrValue(item, writer);
+                }
+                writer.writeEndArray();
+                break;
+            }
+            case MAP: {
+                writer.writeStartObject();
+                Map<String, Object> map = (Map<String, Object>)object;
+                for (String key : map.keySet()) {
+                    writer.writeKey(key);
+                    writeJsonObjectOrValue(map.get(key), writer);
+                }
+                writer.writeEndObject();
+                break;
+            }
+            default:
+                throw new IllegalStateException(String.format("Unsupported type %s", type));
+        }
+    }
 }
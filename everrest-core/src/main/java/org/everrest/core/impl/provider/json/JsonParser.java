@@ -12,27 +12,59 @@ package org.everrest.core.impl.provider.json;
 
 import org.everrest.core.impl.provider.json.JsonUtils.JsonToken;
 
-import java.io.CharArrayWriter;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.PushbackReader;
 import java.io.Reader;
-import java.nio.charset.Charset;
+import java.util.Arrays;
 
 import static org.everrest.core.util.StringUtils.contains;
 
+/**
+ * Parses JSON document and sends events to {@link JsonHandler}. Input is read in blocks into internal buffer that is
+ * reused for whole document. Bytes from {@link InputStream} are decoded as UTF-8 directly into this buffer, without
+ * {@link java.io.InputStreamReader}. Strings, keys and numbers that do not cross the boundary of buffer are copied from
+ * the buffer at once, and strings that are used as keys of objects are shared between parsed documents.
+ * <p>
+ * Instance of this class is not thread-safe.
+ */
 public class JsonParser {
     private static final int END_OF_STREAM = 0;
 
+    private static final int  BUFFER_SIZE         = 4096;
+    private static final char REPLACEMENT_CHAR    = '\uFFFD';
+    private static final int  KEY_CACHE_SIZE      = 512;
+    private static final int  MAX_CACHED_KEY_SIZE = 32;
+
+    /**
+     * Recently parsed keys of JSON objects. Cache is not synchronized, threads may overwrite entries of each other, that
+     * is harmless because String is immutable and entry is just read again or replaced.
+     */
+    private static final String[] KEY_CACHE = new String[KEY_CACHE_SIZE];
+
     /** JsonHandler will serve events from parser. */
     private final JsonHandler eventHandler;
 
     /** Stack of JSON tokens. */
     private final JsonStack<JsonToken> stack;
 
-    /** @see java.io.PushbackReader */
-    private PushbackReader pushbackReader;
+    private Reader      reader;
+    private InputStream stream;
+
+    /** Decoded characters, characters from {@code position} until {@code limit} are not read yet. */
+    private char[]  chars;
+    private int     position;
+    private int     limit;
+    /** {@code true} if the last read reached the end of input. */
+    private boolean endOfInput;
+
+    /** Bytes of UTF-8 input, bytes from {@code bytePosition} until {@code byteLimit} are not decoded yet. */
+    private byte[] bytes;
+    private int    bytePosition;
+    private int    byteLimit;
+
+    /** Collects strings and values that may not be copied from {@code chars} at once. */
+    private char[] text;
+    private int    textLength;
 
     public JsonParser() {
         this(new JsonHandler());
@@ -45,7 +77,36 @@ public class JsonParser {
 
 
     public void parse(Reader reader) throws JsonException {
-        pushbackReader = new PushbackReader(reader);
+        this.reader = reader;
+        try {
+            parse();
+        } finally {
+            this.reader = null;
+        }
+    }
+
+
+    public void parse(InputStream stream) throws JsonException {
+        if (bytes == null) {
+            bytes = new byte[BUFFER_SIZE];
+        }
+        bytePosition = 0;
+        byteLimit = 0;
+        this.stream = stream;
+        try {
+            parse();
+        } finally {
+            this.stream = null;
+        }
+    }
+
+    private void parse() throws JsonException {
+        if (chars == null) {
+            chars = new char[BUFFER_SIZE];
+        }
+        position = 0;
+        limit = 0;
+        endOfInput = false;
         eventHandler.reset();
         stack.clear();
         char c;
@@ -59,7 +120,7 @@ public class JsonParser {
             }
             c = assertNextIs(",]}");
             if (c != END_OF_STREAM) {
-                pushBack(c);
+                pushBack();
             }
         }
         if (!stack.isEmpty()) {
@@ -67,11 +128,6 @@ public class JsonParser {
         }
     }
 
-
-    public void parse(InputStream stream) throws JsonException {
-        parse(new InputStreamReader(stream, Charset.forName("UTF-8")));
-    }
-
     /**
      * Get result of parsing.
      *
@@ -109,11 +165,13 @@ public class JsonParser {
                 case ',':
                     break;
                 default:
-                    pushBack(c);
+                    pushBack();
                     readKey();
                     assertNextIs(':');
                     c = next();
-                    pushBack(c);
+                    if (c != END_OF_STREAM) {
+                        pushBack();
+                    }
                     if (c != '{' && c != '[') {
                         readValue();
                     }
@@ -163,7 +221,7 @@ public class JsonParser {
                 case ',':
                     break;
                 default:
-                    pushBack(c);
+                    pushBack();
                     readValue();
                     break;
             }
@@ -194,12 +252,19 @@ public class JsonParser {
         if (c != '"') {
             throw new JsonException(String.format("Syntax error. Key must start from quote, but found '%s'.", c));
         }
-        pushBack(c);
-        String key = new String(nextString());
-        if (key.length() == 2) {
+        String key;
+        int end = findEndOfSimpleString();
+        if (end > 0) {
+            key = getKey(chars, position, end - position);
+            position = end + 1;
+        } else {
+            char[] quoted = nextString();
+            key = getKey(quoted, 1, quoted.length - 2);
+        }
+        if (key.isEmpty()) {
             throw new JsonException("Missing key.");
         }
-        eventHandler.key(key.substring(1, key.length() - 1));
+        eventHandler.key(key);
     }
 
     /**
@@ -210,25 +275,111 @@ public class JsonParser {
      */
     private void readValue() throws JsonException {
         char c = next();
-        pushBack(c);
         if (c == '"') {
-            eventHandler.characters(nextString());
+            int end = findEndOfSimpleString();
+            if (end > 0) {
+                char[] quoted = Arrays.copyOfRange(chars, position - 1, end + 1);
+                position = end + 1;
+                eventHandler.characters(quoted);
+            } else {
+                eventHandler.characters(nextString());
+            }
         } else {
-            CharArrayWriter charArrayWriter = new CharArrayWriter();
-            while (true) {
-                c = next();
-                if (c == END_OF_STREAM) {
-                    throw new JsonException("Unexpected end of stream.");
-                } else if (contains("{[,]}\"", c)) {
-                    break;
+            if (c != END_OF_STREAM) {
+                pushBack();
+            }
+            int start = position;
+            int end = start;
+            while (end < limit && chars[end] > ' ' && chars[end] != '/' && !isEndOfValue(chars[end])) {
+                end++;
+            }
+            if (end < limit && isEndOfValue(chars[end])) {
+                position = end;
+                eventHandler.characters(Arrays.copyOfRange(chars, start, end));
+            } else {
+                textLength = 0;
+                while (true) {
+                    c = next();
+                    if (c == END_OF_STREAM) {
+                        throw new JsonException("Unexpected end of stream.");
+                    } else if (isEndOfValue(c)) {
+                        break;
+                    }
+                    appendText(c);
                 }
-                charArrayWriter.append(c);
+                pushBack();
+                eventHandler.characters(Arrays.copyOf(text, textLength));
             }
-            pushBack(c);
-            eventHandler.characters(charArrayWriter.toCharArray());
         }
         c = assertNextIs(",]}");
-        pushBack(c);
+        if (c != END_OF_STREAM) {
+            pushBack();
+        }
+    }
+
+    private static boolean isEndOfValue(char c) {
+        switch (c) {
+            case '{':
+            case '[':
+            case ',':
+            case ']':
+            case '}':
+            case '"':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Get key from cache or create new one and add it in cache.
+     *
+     * @return key
+     */
+    private static String getKey(char[] source, int offset, int length) {
+        if (length > MAX_CACHED_KEY_SIZE) {
+            return new String(source, offset, length);
+        }
+        int hash = 0;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            hash = 31 * hash + source[i];
+        }
+        int index = (hash ^ (hash >>> 16)) & (KEY_CACHE_SIZE - 1);
+        String key = KEY_CACHE[index];
+        if (key != null && key.length() == length && key.hashCode() == hash) {
+            int i = 0;
+            while (i < length && key.charAt(i) == source[offset + i]) {
+                i++;
+            }
+            if (i == length) {
+                return key;
+            }
+        }
+        key = new String(source, offset, length);
+        KEY_CACHE[index] = key;
+        return key;
+    }
+
+    /**
+     * Find closing quote of string that starts at current position of buffer and does not contain any escaped
+     * characters.
+     *
+     * @return index of closing quote in buffer or {@code -1} if string contains escaped characters, is not terminated or
+     * does not end in buffer
+     */
+    private int findEndOfSimpleString() {
+        for (int i = position; i < limit; i++) {
+            switch (chars[i]) {
+                case '"':
+                    return i;
+                case '\\':
+                case '\n':
+                case '\r':
+                case END_OF_STREAM:
+                    return -1;
+            }
+        }
+        return -1;
     }
 
     /**
@@ -240,39 +391,35 @@ public class JsonParser {
      *         if JSON document has wrong format or i/o error occurs.
      */
     private char next() throws JsonException {
-        try {
-            int c;
-            while ((c = pushbackReader.read()) != -1) {
+        int c;
+        while ((c = read()) != -1) {
+            if (c == '/') {
+                c = read();
                 if (c == '/') {
-                    c = pushbackReader.read();
-                    if (c == '/') {
-                        skipLine();
-                    } else if (c == '*') {
-                        skipComment();
-                    }
-                } else if (c > ' ') {
-                    break;
+                    skipLine();
+                } else if (c == '*') {
+                    skipComment();
                 }
+            } else if (c > ' ') {
+                break;
             }
-            return (c == -1) ? END_OF_STREAM : (char)c;
-        } catch (IOException e) {
-            throw new JsonException(e.getMessage(), e);
         }
+        return (c == -1) ? END_OF_STREAM : (char)c;
     }
 
-    private void skipLine() throws IOException {
+    private void skipLine() throws JsonException {
         int c;
         do {
-            c = pushbackReader.read();
+            c = read();
         } while (c != -1 && c != '\n' && c != '\r');
     }
 
-    private void skipComment() throws IOException, JsonException {
+    private void skipComment() throws JsonException {
         int c;
         while (true) {
-            c = pushbackReader.read();
+            c = read();
             if (c == '*') {
-                c = pushbackReader.read();
+                c = read();
                 if (c == '/') {
                     break;
                 }
@@ -291,12 +438,8 @@ public class JsonParser {
      *         if JSON document has wrong format or i/o error occurs.
      */
     private char nextAny() throws JsonException {
-        try {
-            int c = pushbackReader.read();
-            return (c == -1) ? END_OF_STREAM : (char)c;
-        } catch (IOException e) {
-            throw new JsonException(e.getMessage(), e);
-        }
+        int c = read();
+        return (c == -1) ? END_OF_STREAM : (char)c;
     }
 
     /**
@@ -330,29 +473,28 @@ public class JsonParser {
         if (c == END_OF_STREAM || contains(expectedCharacters, c)) {
             return c;
         }
-        char[] chars = expectedCharacters.toCharArray();
         StringBuilder errorMessage = new StringBuilder("Expected ");
-        for (int i = 0; i < chars.length; i++) {
+        for (int i = 0; i < expectedCharacters.length(); i++) {
             if (i > 0) {
                 errorMessage.append(" or ");
             }
-            errorMessage.append('\'').append(chars[i]).append('\'');
+            errorMessage.append('\'').append(expectedCharacters.charAt(i)).append('\'');
         }
         errorMessage.append(" but found '").append(c).append('\'');
         throw new JsonException(errorMessage.toString());
     }
 
     /**
-     * Get array chars up to given and include it.
+     * Get array chars of string up to closing quote and include it. Opening quote must be already read.
      *
-     * @return the char array.
+     * @return the char array, it starts and ends with quote.
      * @throws JsonException
      *         if JSON document has wrong format or i/o error occurs.
      */
     private char[] nextString() throws JsonException {
-        CharArrayWriter charArrayWriter = new CharArrayWriter();
-        char c = nextAny(); // read '"'
-        charArrayWriter.append(c);
+        textLength = 0;
+        appendText('"');
+        char c;
         while (true) {
             switch (c = nextAny()) {
                 case END_OF_STREAM:
@@ -366,32 +508,32 @@ public class JsonParser {
                         case '\r':
                             throw new JsonException("Syntax error. Unterminated string");
                         case 'n':
-                            charArrayWriter.append('\n');
+                            appendText('\n');
                             break;
                         case 'r':
-                            charArrayWriter.append('\r');
+                            appendText('\r');
                             break;
                         case 'b':
-                            charArrayWriter.append('\b');
+                            appendText('\b');
                             break;
                         case 't':
-                            charArrayWriter.append('\t');
+                            appendText('\t');
                             break;
                         case 'f':
-                            charArrayWriter.append('\f');
+                            appendText('\f');
                             break;
                         case 'u': // unicode
-                            charArrayWriter.append(readUnicodeCharacter());
+                            appendText(readUnicodeCharacter());
                             break;
                         default:
-                            charArrayWriter.append(c);
+                            appendText(c);
                             break;
                     }
                     break;
                 default:
-                    charArrayWriter.append(c);
+                    appendText(c);
                     if (c == '"') {
-                        return charArrayWriter.toCharArray();
+                        return Arrays.copyOf(text, textLength);
                     }
                     break;
             }
@@ -400,13 +542,12 @@ public class JsonParser {
 
     private char readUnicodeCharacter() throws JsonException {
         char[] buff = new char[4];
-        try {
-            int i = pushbackReader.read(buff);
-            if (i != 4) {
+        for (int i = 0; i < buff.length; i++) {
+            int c = read();
+            if (c == -1) {
                 throw new JsonException("Unexpected end of stream.");
             }
-        } catch (IOException e) {
-            throw new JsonException(e.getMessage(), e);
+            buff[i] = (char)c;
         }
 
         String unicodeString = new String(buff);
@@ -419,19 +560,136 @@ public class JsonParser {
         return (char)c;
     }
 
+    private void appendText(char c) {
+        if (text == null) {
+            text = new char[64];
+        } else if (textLength == text.length) {
+            text = Arrays.copyOf(text, textLength * 2);
+        }
+        text[textLength++] = c;
+    }
+
     /**
-     * Push back given char to stream.
+     * Push back the last read char. Does nothing if the last read reached the end of input.
+     */
+    private void pushBack() {
+        if (!endOfInput) {
+            position--;
+        }
+    }
+
+    /**
+     * Get next char from buffer, fills buffer when all chars are read.
      *
-     * @param c
-     *         the char for pushing back.
+     * @return the next char or {@code -1} if end of input reached
      * @throws JsonException
-     *         if JSON document has wrong format or i/o error occurs.
+     *         if i/o error occurs.
      */
-    private void pushBack(char c) throws JsonException {
+    private int read() throws JsonException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return chars[position++];
+    }
+
+    private boolean fill() throws JsonException {
+        if (endOfInput) {
+            return false;
+        }
+        int count;
         try {
-            pushbackReader.unread(c);
+            count = stream == null ? reader.read(chars, 0, chars.length) : decode();
         } catch (IOException e) {
             throw new JsonException(e.getMessage(), e);
         }
+        if (count < 0) {
+            endOfInput = true;
+            return false;
+        }
+        position = 0;
+        limit = count;
+        return true;
+    }
+
+    /**
+     * Read bytes from stream and decode them as UTF-8 into buffer of chars. Malformed input is replaced with
+     * replacement character U+FFFD the same as {@link java.io.InputStreamReader} does.
+     *
+     * @return number of decoded chars or {@code -1} if end of stream reached
+     */
+    private int decode() throws IOException {
+        while (true) {
+            int count = decodeBytes();
+            if (count > 0) {
+                return count;
+            }
+            int remaining = byteLimit - bytePosition;
+            System.arraycopy(bytes, bytePosition, bytes, 0, remaining);
+            bytePosition = 0;
+            byteLimit = remaining;
+            int read = stream.read(bytes, remaining, bytes.length - remaining);
+            if (read < 0) {
+                if (remaining == 0) {
+                    return -1;
+                }
+                // incomplete sequence at the end of stream
+                byteLimit = 0;
+                chars[0] = REPLACEMENT_CHAR;
+                return 1;
+            }
+            byteLimit += read;
+        }
+    }
+
+    private int decodeBytes() {
+        int count = 0;
+        int maxCount = chars.length - 1; // reserve place for surrogate pair
+        while (bytePosition < byteLimit && count < maxCount) {
+            int b = bytes[bytePosition];
+            if (b >= 0) {
+                chars[count++] = (char)b;
+                bytePosition++;
+                continue;
+            }
+            int sequenceLength;
+            int minCodePoint;
+            if ((b & 0xE0) == 0xC0) {
+                sequenceLength = 2;
+                minCodePoint = 0x80;
+            } else if ((b & 0xF0) == 0xE0) {
+                sequenceLength = 3;
+                minCodePoint = 0x800;
+            } else if ((b & 0xF8) == 0xF0) {
+                sequenceLength = 4;
+                minCodePoint = 0x10000;
+            } else {
+                chars[count++] = REPLACEMENT_CHAR;
+                bytePosition++;
+                continue;
+            }
+            if (bytePosition + sequenceLength > byteLimit) {
+                break;
+            }
+            int codePoint = b & (0x7F >> sequenceLength);
+            int i = 1;
+            for (; i < sequenceLength; i++) {
+                int next = bytes[bytePosition + i];
+                if ((next & 0xC0) != 0x80) {
+                    break;
+                }
+                codePoint = (codePoint << 6) | (next & 0x3F);
+            }
+            bytePosition += i;
+            if (i < sequenceLength || codePoint < minCodePoint || codePoint > Character.MAX_CODE_POINT
+                || (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE)) {
+                chars[count++] = REPLACEMENT_CHAR;
+            } else if (codePoint >= Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                chars[count++] = Character.highSurrogate(codePoint);
+                chars[count++] = Character.lowSurrogate(codePoint);
+            } else {
+                chars[count++] = (char)codePoint;
+            }
+        }
+        return count;
     }
 }
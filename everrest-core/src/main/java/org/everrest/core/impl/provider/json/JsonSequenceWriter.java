@@ -0,0 +1,190 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl.provider.json;
+
+import org.everrest.core.impl.provider.json.JsonUtils.Types;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Writes sequence of Java objects in JSON format element by element, e.g. from {@link java.util.Iterator} or
+ * {@link java.util.stream.Stream}. Each element is serialized as soon as it is written, in the same way as
+ * {@link JsonGenerator} does it, and output is flushed after each {@code flushInterval} elements, so receiver gets data
+ * while elements are produced.
+ * <p>
+ * Elements are framed as JSON array ({@link Framing#ARRAY}) or as newline delimited JSON, one document per line
+ * ({@link Framing#NDJSON}).
+ */
+public final class JsonSequenceWriter {
+    /** Framing of written elements. */
+    public enum Framing {
+        /** Elements of JSON array: {@code [{...},{...}]}. */
+        ARRAY,
+        /** Newline delimited JSON, each element is written on own line. */
+        NDJSON
+    }
+
+    /** Default number of elements written between flushes of output. */
+    public static final int DEFAULT_FLUSH_INTERVAL = 100;
+
+    private final Writer  writer;
+    private final Framing framing;
+    private final int     flushInterval;
+
+    private JsonWriter arrayWriter;
+    private int        count;
+    private boolean    finished;
+
+    public JsonSequenceWriter(OutputStream output, Framing framing) {
+        this(output, framing, DEFAULT_FLUSH_INTERVAL);
+    }
+
+    /**
+     * @param output
+     *         output stream, it is not closed by this writer
+     * @param framing
+     *         framing of elements
+     * @param flushInterval
+     *         number of elements written between flushes of output
+     */
+    public JsonSequenceWriter(OutputStream output, Framing framing, int flushInterval) {
+        if (flushInterval < 1) {
+            throw new IllegalArgumentException(String.format("Invalid flush interval %d", flushInterval));
+        }
+        this.writer = new OutputStreamWriter(output, UTF_8);
+        this.framing = framing;
+        this.flushInterval = flushInterval;
+    }
+
+    /** @return number of elements written */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Writes next element.
+     *
+     * @param element
+     *         Java object, it may be bean, collection, map, array, {@link JsonValue} or value of simple type
+     * @throws IOException
+     *         if element can't be transformed in JSON representation or i/o error occurs
+     */
+    public void write(Object element) throws IOException {
+        if (finished) {
+            throw new IllegalStateException("Sequence is already finished");
+        }
+        try {
+            if (framing == Framing.ARRAY) {
+                writeStartArrayIfNeeded();
+                writeElement(element, arrayWriter);
+            } else {
+                writeLine(element);
+            }
+        } catch (JsonException e) {
+            throw new IOException(String.format("Can't write element of sequence. %s", e.getMessage()), e);
+        }
+        if (++count % flushInterval == 0) {
+            flush();
+        }
+    }
+
+    /**
+     * Flushes elements written so far.
+     *
+     * @throws IOException
+     *         if i/o error occurs
+     */
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    /**
+     * Ends sequence, e.g. writes closing bracket of JSON array, and flushes output. Output stream is not closed.
+     *
+     * @throws IOException
+     *         if i/o error occurs
+     */
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        if (framing == Framing.ARRAY) {
+            try {
+                writeStartArrayIfNeeded();
+                arrayWriter.writeEndArray();
+            } catch (JsonException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        }
+        flush();
+    }
+
+    private void writeStartArrayIfNeeded() throws JsonException {
+        if (arrayWriter == null) {
+            arrayWriter = new JsonWriter(writer);
+            arrayWriter.writeStartArray();
+        }
+    }
+
+    private void writeLine(Object element) throws JsonException, IOException {
+        if (element instanceof JsonValue) {
+            JsonValue jsonValue = (JsonValue)element;
+            if (jsonValue.isObject() || jsonValue.isArray()) {
+                jsonValue.writeTo(new JsonWriter(writer));
+            } else {
+                writer.write(jsonValue.toString());
+            }
+        } else if (isSimpleType(JsonUtils.getType(element))) {
+            writer.write(JsonGenerator.createJsonObjectOrValue(element).toString());
+        } else {
+            JsonGenerator.writeJsonObjectOrValue(element, new JsonWriter(writer));
+        }
+        writer.write('\n');
+    }
+
+    private static void writeElement(Object element, JsonWriter jsonWriter) throws JsonException {
+        if (element instanceof JsonValue) {
+            ((JsonValue)element).writeTo(jsonWriter);
+        } else {
+            JsonGenerator.writeJsonObjectOrValue(element, jsonWriter);
+        }
+    }
+
+    /** @return {@code true} if value of type is written as single JSON token, that may not be written by JsonWriter outside of object or array */
+    private static boolean isSimpleType(Types type) {
+        if (type == null) {
+            return false;
+        }
+        switch (type) {
+            case NULL:
+            case BOOLEAN:
+            case BYTE:
+            case SHORT:
+            case INT:
+            case LONG:
+            case FLOAT:
+            case DOUBLE:
+            case CHAR:
+            case STRING:
+            case ENUM:
+            case CLASS:
+                return true;
+            default:
+                return false;
+        }
+    }
+}
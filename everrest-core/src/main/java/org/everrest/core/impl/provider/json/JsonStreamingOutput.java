@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl.provider.json;
+
+import java.io.IOException;
+
+/**
+ * Entity that produces elements of JSON array one by one, e.g. rows of large result set, so whole result never resides
+ * in memory. Resource method may return implementation of this interface instead of {@link java.util.Collection}. Framing
+ * of elements depends on media type of response: elements are written as JSON array for {@code application/json} and
+ * each element is written on own line for {@code application/x-ndjson}.
+ * <pre>
+ * &#064;GET
+ * &#064;Produces("application/x-ndjson")
+ * public JsonStreamingOutput rows() {
+ *     return writer -&gt; {
+ *         for (Row row : dao.rows()) {
+ *             writer.write(row);
+ *         }
+ *     };
+ * }
+ * </pre>
+ */
+@FunctionalInterface
+public interface JsonStreamingOutput {
+    /**
+     * Writes elements to the response.
+     *
+     * @param writer
+     *         writer of elements, it must not be used after this method returns
+     * @throws IOException
+     *         if i/o error occurs or element can't be transformed in JSON representation
+     */
+    void write(JsonSequenceWriter writer) throws IOException;
+}
@@ -12,10 +12,9 @@ package org.everrest.core.impl.provider.json;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import org.everrest.core.impl.provider.json.JsonUtils.Types;
 
+import java.io.InputStream;
 import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
@@ -37,10 +36,7 @@ import java.util.concurrent.ExecutionException;
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static com.google.common.base.Throwables.propagateIfPossible;
 import static com.google.common.collect.Sets.newHashSet;
-import static org.everrest.core.impl.provider.json.JsonUtils.Types.ARRAY_OBJECT;
-import static org.everrest.core.impl.provider.json.JsonUtils.Types.COLLECTION;
 import static org.everrest.core.impl.provider.json.JsonUtils.Types.ENUM;
-import static org.everrest.core.impl.provider.json.JsonUtils.Types.MAP;
 import static org.everrest.core.impl.provider.json.JsonUtils.createProxy;
 import static org.everrest.core.impl.provider.json.JsonUtils.getFieldName;
 import static org.everrest.core.impl.provider.json.JsonUtils.getTransientFields;
@@ -52,23 +48,12 @@ import static org.everrest.core.util.ReflectionUtils.findAcceptableCollectionImp
 public class ObjectBuilder {
     private static final Collection<String> SKIP_METHODS = newHashSet("setMetaClass");
 
-    private static LoadingCache<Class<?>, JsonMethod[]> methodsCache = CacheBuilder.newBuilder()
-                                                                                   .concurrencyLevel(8)
-                                                                                   .weakKeys()
-                                                                                   .build(new CacheLoader<Class<?>, JsonMethod[]>() {
-                                                                                       @Override
-                                                                                       public JsonMethod[] load(Class<?> aClass)
-                                                                                               throws Exception {
-                                                                                           return getJsonMethods(aClass);
-                                                                                       }
-                                                                                   });
-
     private static Cache<Class<?>, Constructor<?>> constructorsCache = CacheBuilder.newBuilder()
                                                                                    .concurrencyLevel(8)
                                                                                    .weakKeys()
                                                                                    .build();
 
-    private static JsonMethod[] getJsonMethods(Class<?> clazz) {
+    static JsonMethod[] getJsonMethods(Class<?> clazz) {
         Set<String> transientFieldNames = getTransientFields(clazz);
         List<JsonMethod> result = new ArrayList<>();
         for (Method method : clazz.getMethods()) {
@@ -93,6 +78,34 @@ public class ObjectBuilder {
 
     /* ------------------------------------------------------------------------------ */
 
+    /**
+     * Read Java Object from JSON source. Unlike to methods that create Java Objects from {@link JsonValue} this method
+     * does not build {@link JsonValue} for whole JSON source, properties of Java Beans, elements of collections and arrays
+     * are created as soon as they are read from stream. Result is the same as {@link JsonValue} would be read with
+     * {@link JsonParser} and then transformed with {@link #createArray(Class, JsonValue)} for arrays,
+     * {@link #createCollection(Class, Type, JsonValue)} for collections, {@link #createObject(Class, Type, JsonValue)} for
+     * maps and {@link #createObject(Class, JsonValue)} for any other types.
+     *
+     * @param aClass
+     *         the Class of target Object
+     * @param genericType
+     *         generic type of target Object
+     * @param stream
+     *         JSON source
+     * @return result object or {@code null} if stream is empty
+     * @throws JsonException
+     *         if JSON document has wrong format, i/o error occurs or object can't be restored from JSON source
+     */
+    public static Object readObject(Class<?> aClass, Type genericType, InputStream stream) throws JsonException {
+        ObjectBuilderHandler handler = new ObjectBuilderHandler(aClass, genericType);
+        try {
+            new JsonParser(handler).parse(stream);
+        } catch (ObjectBuilderHandler.BindingException e) {
+            throw e.getCause();
+        }
+        return handler.getObject();
+    }
+
     /**
      * Create array of Java Object from JSON source include multi-dimension
      * array.
@@ -159,30 +172,9 @@ public class ObjectBuilder {
         if (jsonArray == null || jsonArray.isNull()) {
             return null;
         }
-        Class elementClass;
-        Type elementType;
-        if (genericType instanceof ParameterizedType) {
-            ParameterizedType parameterizedType = (ParameterizedType)genericType;
-            elementType = parameterizedType.getActualTypeArguments()[0];
-            if (elementType instanceof Class) {
-                elementClass = (Class)elementType;
-            } else if (elementType instanceof ParameterizedType) {
-                elementClass = (Class)((ParameterizedType)elementType).getRawType();
-            } else {
-                throw new JsonException(String.format(
-                        "This type of Collection can't be restored from JSON source.\nCollection is parametrized by wrong Type: %s",
-                        parameterizedType));
-            }
-        } else {
-            throw new JsonException("Collection is not parametrized. Collection<?> is not supported");
-        }
-
-        Constructor<? extends T> constructor;
-        if (collectionClass.isInterface() || Modifier.isAbstract(collectionClass.getModifiers())) {
-            constructor = getConstructor(findAcceptableCollectionImplementation(collectionClass), Collection.class);
-        } else {
-            constructor = getConstructor(collectionClass, Collection.class);
-        }
+        Type elementType = getCollectionElementType(genericType);
+        Class elementClass = getRawClass(elementType);
+        Constructor<? extends T> constructor = getCollectionConstructor(collectionClass);
 
         List<Object> sourceCollection = new ArrayList<>(jsonArray.size());
         Iterator<JsonValue> values = jsonArray.getElements();
@@ -258,32 +250,9 @@ public class ObjectBuilder {
         if (jsonObject == null || jsonObject.isNull()) {
             return null;
         }
-        Class mapValueClass;
-        Type mapValueType;
-        if (genericType instanceof ParameterizedType) {
-            ParameterizedType parameterizedType = (ParameterizedType)genericType;
-            if (!String.class.isAssignableFrom((Class)parameterizedType.getActualTypeArguments()[0])) {
-                throw new JsonException("Key of Map must be String. ");
-            }
-            mapValueType = parameterizedType.getActualTypeArguments()[1];
-            if (mapValueType instanceof Class) {
-                mapValueClass = (Class)mapValueType;
-            } else if (mapValueType instanceof ParameterizedType) {
-                mapValueClass = (Class)((ParameterizedType)mapValueType).getRawType();
-            } else {
-                throw new JsonException(
-                        String.format("This type of Map can't be restored from JSON source.\nMap is parametrized by wrong Type: %s",
-                                      parameterizedType));
-            }
-        } else {
-            throw new JsonException("Map is not parametrized. Map<Sting, ?> is not supported.");
-        }
-        Constructor<? extends T> constructor;
-        if (mapClass.isInterface() || Modifier.isAbstract(mapClass.getModifiers())) {
-            constructor = getConstructor(findAcceptableMapImplementation(mapClass), Map.class);
-        } else {
-            constructor = getConstructor(mapClass, Map.class);
-        }
+        Type mapValueType = getMapValueType(genericType);
+        Class mapValueClass = getRawClass(mapValueType);
+        Constructor<? extends T> constructor = getMapConstructor(mapClass);
 
         Types jsonMapValueType = getType(mapValueClass);
         HashMap<String, Object> sourceMap = new HashMap<>(jsonObject.size());
@@ -339,6 +308,75 @@ public class ObjectBuilder {
         }
     }
 
+    /**
+     * Gets type of elements of collection.
+     *
+     * @param genericType
+     *         generic type of collection
+     * @return type of elements, it is either {@code Class} or {@code ParameterizedType}
+     * @throws JsonException
+     *         if collection is not parameterized or is parameterized with unsupported type
+     */
+    static Type getCollectionElementType(Type genericType) throws JsonException {
+        if (genericType instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType)genericType;
+            Type elementType = parameterizedType.getActualTypeArguments()[0];
+            if (elementType instanceof Class || elementType instanceof ParameterizedType) {
+                return elementType;
+            }
+            throw new JsonException(String.format(
+                    "This type of Collection can't be restored from JSON source.\nCollection is parametrized by wrong Type: %s",
+                    parameterizedType));
+        }
+        throw new JsonException("Collection is not parametrized. Collection<?> is not supported");
+    }
+
+    /**
+     * Gets type of values of map.
+     *
+     * @param genericType
+     *         generic type of map
+     * @return type of values, it is either {@code Class} or {@code ParameterizedType}
+     * @throws JsonException
+     *         if map is not parameterized, key of map is not String or map is parameterized with unsupported type
+     */
+    static Type getMapValueType(Type genericType) throws JsonException {
+        if (genericType instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType)genericType;
+            if (!String.class.isAssignableFrom((Class)parameterizedType.getActualTypeArguments()[0])) {
+                throw new JsonException("Key of Map must be String. ");
+            }
+            Type mapValueType = parameterizedType.getActualTypeArguments()[1];
+            if (mapValueType instanceof Class || mapValueType instanceof ParameterizedType) {
+                return mapValueType;
+            }
+            throw new JsonException(
+                    String.format("This type of Map can't be restored from JSON source.\nMap is parametrized by wrong Type: %s",
+                                  parameterizedType));
+        }
+        throw new JsonException("Map is not parametrized. Map<Sting, ?> is not supported.");
+    }
+
+    static Class getRawClass(Type type) {
+        return type instanceof Class ? (Class)type : (Class)((ParameterizedType)type).getRawType();
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T extends Collection<?>> Constructor<? extends T> getCollectionConstructor(Class<T> collectionClass) throws JsonException {
+        if (collectionClass.isInterface() || Modifier.isAbstract(collectionClass.getModifiers())) {
+            return getConstructor(findAcceptableCollectionImplementation(collectionClass), Collection.class);
+        }
+        return getConstructor(collectionClass, Collection.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T extends Map<String, ?>> Constructor<? extends T> getMapConstructor(Class<T> mapClass) throws JsonException {
+        if (mapClass.isInterface() || Modifier.isAbstract(mapClass.getModifiers())) {
+            return getConstructor(findAcceptableMapImplementation(mapClass), Map.class);
+        }
+        return getConstructor(mapClass, Map.class);
+    }
+
     private static <T extends Map<String, ?>> Class findAcceptableMapImplementation(Class<T> mapClass) throws JsonException {
         Class impl = null;
         if (mapClass.isAssignableFrom(HashMap.class)) {
@@ -379,66 +417,73 @@ public class ObjectBuilder {
             throw new JsonException("Unsupported type of jsonValue. ");
         }
 
-        T object;
-        if (aClass.isInterface()) {
-            object = createProxy(aClass);
-        } else {
-            try {
-                object = getConstructor(aClass).newInstance();
-            } catch (JsonException e) {
-                throw e;
-            } catch (Exception e) {
-                throw new JsonException(String.format("Unable instantiate object. %s", e.getMessage()), e);
+        BeanCodec codec = BeanCodec.of(aClass);
+        T object = (T)codec.newInstance();
+        for (BeanCodec.Setter setter : codec.getSetters()) {
+            JsonValue childJsonValue = jsonValue.getElement(setter.field);
+            if (childJsonValue != null) {
+                setter.set(object, childJsonValue);
             }
         }
+        return object;
+    }
+
+    /**
+     * Creates value of property of Java Bean.
+     *
+     * @param aClass
+     *         class of property
+     * @param genericType
+     *         generic type of property
+     * @param jsonValue
+     *         the JSON representation of property
+     * @return value of property
+     * @throws JsonException
+     *         if any errors occurs
+     */
+    static Object createValue(Class aClass, Type genericType, JsonValue jsonValue) throws JsonException {
+        if (isKnownType(aClass)) {
+            return createObjectKnownTypes(aClass, jsonValue);
+        }
+        Types type = getType(aClass);
+        if (type == null) {
+            return createObject(aClass, jsonValue);
+        }
+        switch (type) {
+            case ENUM:
+                return createEnum(aClass, jsonValue);
+            case ARRAY_OBJECT:
+                return createArray(aClass, jsonValue);
+            case COLLECTION:
+                return createCollection(aClass, genericType, jsonValue);
+            case MAP:
+                return createObject(aClass, genericType, jsonValue);
+            default:
+                throw new JsonException(String.format("Can't restore %s from JSON source.", aClass.getName()));
+        }
+    }
 
-        JsonMethod[] setters;
+    static <T> T newInstance(Class<T> aClass) throws JsonException {
+        if (aClass.isInterface()) {
+            return createProxy(aClass);
+        }
         try {
-            setters = methodsCache.get(aClass);
-        } catch (ExecutionException e) {
-            propagateIfPossible(e.getCause());
-            throw new JsonException(e.getCause());
+            return getConstructor(aClass).newInstance();
+        } catch (JsonException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new JsonException(String.format("Unable instantiate object. %s", e.getMessage()), e);
         }
+    }
 
-        for (JsonMethod setter : setters) {
-            JsonValue childJsonValue = jsonValue.getElement(setter.field);
-            if (childJsonValue != null) {
-                try {
-                    final Class paramClass = setter.method.getParameterTypes()[0];
-                    if (isKnownType(paramClass)) {
-                        setter.method.invoke(object, createObjectKnownTypes(paramClass, childJsonValue));
-                    } else {
-                        Types parameterType = getType(paramClass);
-                        if (parameterType != null) {
-                            if (parameterType == ENUM) {
-                                setter.method.invoke(object, createEnum(paramClass, childJsonValue));
-                            } else if (parameterType == ARRAY_OBJECT) {
-                                setter.method.invoke(object, createArray(paramClass, childJsonValue));
-                            } else if (parameterType == COLLECTION) {
-                                setter.method.invoke(object, createCollection(paramClass, setter.method.getGenericParameterTypes()[0], childJsonValue));
-                            } else if (parameterType == MAP) {
-                                setter.method.invoke(object, createObject(paramClass, setter.method.getGenericParameterTypes()[0], childJsonValue));
-                            } else {
-                                throw new JsonException(String.format("Can't restore parameter of method : %s#%s from JSON source.",
-                                                                      aClass.getName(), setter.method.getName()));
-                            }
-                        } else {
-                            setter.method.invoke(object, createObject(paramClass, childJsonValue));
-                        }
-                    }
-                } catch (Exception e) {
-                    String msg = String.format("Unable restore parameter via method %s#%s", aClass.getName(), setter.method.getName());
-                    if (e instanceof JsonException) {
-                        StringBuilder msgBuilder = new StringBuilder(msg);
-                        mergeMessagesFromCausalJsonExceptions(e, msgBuilder);
-                        throw new JsonException(msgBuilder.toString(), e);
-                    } else {
-                        throw new JsonException(msg + e.toString(), e);
-                    }
-                }
-            }
+    static JsonException createSetterException(Class<?> aClass, Method setter, Throwable e) {
+        String msg = String.format("Unable restore parameter via method %s#%s", aClass.getName(), setter.getName());
+        if (e instanceof JsonException) {
+            StringBuilder msgBuilder = new StringBuilder(msg);
+            mergeMessagesFromCausalJsonExceptions(e, msgBuilder);
+            return new JsonException(msgBuilder.toString(), e);
         }
-        return object;
+        return new JsonException(msg + e.toString(), e);
     }
 
     private static void mergeMessagesFromCausalJsonExceptions(Throwable error, StringBuilder msg) {
@@ -455,7 +500,7 @@ public class ObjectBuilder {
     }
 
     @SuppressWarnings("unchecked")
-    private static <T> Constructor<T> getConstructor(Class<T> aClass, Class<?>... parameters) throws JsonException {
+    static <T> Constructor<T> getConstructor(Class<T> aClass, Class<?>... parameters) throws JsonException {
         try {
             return (Constructor<T>)constructorsCache.get(aClass, (Callable<Constructor<T>>)() -> {
                 try {
@@ -471,7 +516,7 @@ public class ObjectBuilder {
     }
 
     @SuppressWarnings("unchecked")
-    private static Enum<?> createEnum(Class enumClass, JsonValue jsonValue) {
+    static Enum<?> createEnum(Class enumClass, JsonValue jsonValue) {
         String name = jsonValue.getStringValue();
         if (isNullOrEmpty(name)) {
             return null;
@@ -490,7 +535,7 @@ public class ObjectBuilder {
      * @throws JsonException
      *         if type is unknown.
      */
-    private static Object createObjectKnownTypes(Class<?> aClass, JsonValue jsonValue) throws JsonException {
+    static Object createObjectKnownTypes(Class<?> aClass, JsonValue jsonValue) throws JsonException {
         switch (getType(aClass)) {
             case NULL:
                 return null;
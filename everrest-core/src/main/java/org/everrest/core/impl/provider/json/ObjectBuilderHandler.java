@@ -0,0 +1,557 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl.provider.json;
+
+import org.everrest.core.impl.provider.json.JsonUtils.Types;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.everrest.core.impl.provider.json.JsonUtils.Types.ARRAY_OBJECT;
+import static org.everrest.core.impl.provider.json.JsonUtils.Types.COLLECTION;
+import static org.everrest.core.impl.provider.json.JsonUtils.Types.MAP;
+import static org.everrest.core.impl.provider.json.JsonUtils.getType;
+import static org.everrest.core.impl.provider.json.JsonUtils.isKnownType;
+
+/**
+ * Builds Java object directly from events of {@link JsonParser}. Properties of Java Beans, elements of collections and
+ * arrays and values of maps are created as soon as parser reaches them, so {@link JsonValue} for whole JSON document is
+ * never built. {@link JsonValue} is built only for parts of document that are restored by {@link ObjectBuilder}, e.g.
+ * arrays of primitive types, then such parts are converted in the same way as {@link ObjectBuilder} does it.
+ */
+class ObjectBuilderHandler extends JsonHandler {
+    /** Targets of properties of Java Bean class by name of property, one target for each setter of {@link BeanCodec}. */
+    private static final ClassValue<Map<String, SetterTarget>> SETTER_TARGETS = new ClassValue<Map<String, SetterTarget>>() {
+        @Override
+        protected Map<String, SetterTarget> computeValue(Class<?> type) {
+            BeanCodec codec = BeanCodec.of(type);
+            Map<String, SetterTarget> targets = new HashMap<>();
+            for (BeanCodec.Setter setter : codec.getSetters()) {
+                targets.computeIfAbsent(setter.field, field -> new SetterTarget(codec.getSetter(field)));
+            }
+            return targets;
+        }
+    };
+
+    private final Target           root;
+    private final Deque<Frame>     frames;
+    private final JsonValueFactory jsonValueFactory;
+    private       Object           result;
+
+    /**
+     * @param aClass
+     *         class of result object
+     * @param genericType
+     *         generic type of result object
+     */
+    ObjectBuilderHandler(Class<?> aClass, Type genericType) {
+        Types type = getType(aClass);
+        if (aClass.isArray()) {
+            root = new ArrayTarget(aClass);
+        } else if (type == COLLECTION || type == MAP) {
+            root = new ValueTarget(aClass, genericType);
+        } else {
+            root = new BeanTarget(aClass);
+        }
+        frames = new ArrayDeque<>();
+        jsonValueFactory = new JsonValueFactory();
+    }
+
+    /** @return result of parsing */
+    Object getObject() {
+        return result;
+    }
+
+    @Override
+    public void reset() {
+        frames.clear();
+        result = null;
+    }
+
+    /**
+     * This handler builds Java object instead of {@link JsonValue}, result is available with {@link #getObject()}.
+     *
+     * @return always {@code null}, the same as {@link JsonHandler} returns when JSON document contains no values
+     */
+    @Override
+    public JsonValue getJsonObject() {
+        return null;
+    }
+
+    @Override
+    public void startObject() {
+        start(true);
+    }
+
+    @Override
+    public void startArray() {
+        start(false);
+    }
+
+    private void start(boolean object) {
+        Frame top = frames.peek();
+        if (top instanceof DocumentFrame) {
+            ((DocumentFrame)top).start(object);
+            return;
+        }
+        Target target = top == null ? root : top.target();
+        Frame frame;
+        try {
+            frame = object ? target.createObjectFrame() : target.createArrayFrame();
+        } catch (JsonException e) {
+            throw new BindingException(e);
+        }
+        if (frame == null) {
+            DocumentFrame documentFrame = new DocumentFrame(target);
+            documentFrame.start(object);
+            frame = documentFrame;
+        }
+        frames.push(frame);
+    }
+
+    @Override
+    public void endObject() {
+        end(true);
+    }
+
+    @Override
+    public void endArray() {
+        end(false);
+    }
+
+    private void end(boolean object) {
+        Frame top = frames.peek();
+        if (top instanceof DocumentFrame && !((DocumentFrame)top).end(object)) {
+            return;
+        }
+        frames.pop();
+        try {
+            Object value = top.getResult();
+            Frame parent = frames.peek();
+            if (parent == null) {
+                result = value;
+            } else {
+                parent.setValue(value);
+            }
+        } catch (JsonException e) {
+            throw new BindingException(e);
+        }
+    }
+
+    @Override
+    public void key(String key) {
+        frames.peek().key(key);
+    }
+
+    @Override
+    public void characters(char[] characters) {
+        Frame top = frames.peek();
+        if (top instanceof DocumentFrame) {
+            ((DocumentFrame)top).characters(characters);
+            return;
+        }
+        try {
+            top.setJsonValue(jsonValueFactory.createJsonValue(new String(characters)));
+        } catch (JsonException e) {
+            throw new BindingException(e);
+        }
+    }
+
+    /**
+     * Wraps JsonException that occurs while object is built, since methods of {@link JsonHandler} do not throw checked
+     * exceptions.
+     */
+    @SuppressWarnings("serial")
+    static class BindingException extends RuntimeException {
+        BindingException(JsonException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized JsonException getCause() {
+            return (JsonException)super.getCause();
+        }
+    }
+
+    /** Describes how to create value of the next element of JSON document. */
+    private static abstract class Target {
+        /**
+         * Creates value from JSON representation in the same way as {@link ObjectBuilder} does it.
+         */
+        abstract Object convert(JsonValue jsonValue) throws JsonException;
+
+        /** @return frame that builds value from JSON object or {@code null} to build value with {@link #convert(JsonValue)} */
+        Frame createObjectFrame() throws JsonException {
+            return null;
+        }
+
+        /** @return frame that builds value from JSON array or {@code null} to build value with {@link #convert(JsonValue)} */
+        Frame createArrayFrame() throws JsonException {
+            return null;
+        }
+    }
+
+    /** Value that is created with {@link ObjectBuilder#createObject(Class, JsonValue)}. */
+    private static class BeanTarget extends Target {
+        final Class<?> aClass;
+
+        BeanTarget(Class<?> aClass) {
+            this.aClass = aClass;
+        }
+
+        @Override
+        Object convert(JsonValue jsonValue) throws JsonException {
+            return ObjectBuilder.createObject(aClass, jsonValue);
+        }
+
+        @Override
+        Frame createObjectFrame() throws JsonException {
+            return getType(aClass) == null ? new BeanFrame(aClass) : null;
+        }
+    }
+
+    /** Value that is created with {@link ObjectBuilder#createArray(Class, JsonValue)}. */
+    private static class ArrayTarget extends Target {
+        final Class<?> arrayClass;
+
+        ArrayTarget(Class<?> arrayClass) {
+            this.arrayClass = arrayClass;
+        }
+
+        @Override
+        Object convert(JsonValue jsonValue) throws JsonException {
+            return ObjectBuilder.createArray(arrayClass, jsonValue);
+        }
+
+        @Override
+        Frame createArrayFrame() {
+            return new ArrayFrame(arrayClass.getComponentType());
+        }
+    }
+
+    /** Value of property of Java Bean, element of collection or value of map. */
+    private static class ValueTarget extends Target {
+        final Class<?> aClass;
+        final Type     genericType;
+
+        ValueTarget(Class<?> aClass, Type genericType) {
+            this.aClass = aClass;
+            this.genericType = genericType;
+        }
+
+        @Override
+        Object convert(JsonValue jsonValue) throws JsonException {
+            return ObjectBuilder.createValue(aClass, genericType, jsonValue);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        Frame createObjectFrame() throws JsonException {
+            if (isKnownType(aClass)) {
+                return null;
+            }
+            Types type = getType(aClass);
+            if (type == null) {
+                return new BeanFrame(aClass);
+            } else if (type == MAP) {
+                return new MapFrame((Class)aClass, genericType);
+            }
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        Frame createArrayFrame() throws JsonException {
+            if (isKnownType(aClass)) {
+                return null;
+            }
+            Types type = getType(aClass);
+            if (type == ARRAY_OBJECT) {
+                return new ArrayFrame(aClass.getComponentType());
+            } else if (type == COLLECTION) {
+                return new CollectionFrame((Class)aClass, genericType);
+            }
+            return null;
+        }
+    }
+
+    /** Value of property that does not have setter. */
+    private static class SkipTarget extends Target {
+        static final SkipTarget INSTANCE = new SkipTarget();
+
+        @Override
+        Object convert(JsonValue jsonValue) {
+            return null;
+        }
+    }
+
+    /** JSON object or array that is currently processed. */
+    private static abstract class Frame {
+        /** @return target for the next value in this frame */
+        abstract Target target();
+
+        void key(String key) {
+        }
+
+        abstract void setValue(Object value) throws JsonException;
+
+        /** Sets value that is represented by single JSON token, e.g. string or number. */
+        void setJsonValue(JsonValue jsonValue) throws JsonException {
+            setValue(target().convert(jsonValue));
+        }
+
+        abstract Object getResult() throws JsonException;
+    }
+
+    private static class BeanFrame extends Frame {
+        final Object                    object;
+        final Map<String, SetterTarget> setterTargets;
+        BeanCodec.Setter setter;
+        Target           target;
+
+        BeanFrame(Class<?> aClass) throws JsonException {
+            object = BeanCodec.of(aClass).newInstance();
+            setterTargets = SETTER_TARGETS.get(aClass);
+        }
+
+        @Override
+        void key(String key) {
+            SetterTarget setterTarget = setterTargets.get(key);
+            setter = setterTarget == null ? null : setterTarget.setter;
+            target = setterTarget == null ? SkipTarget.INSTANCE : setterTarget;
+        }
+
+        @Override
+        Target target() {
+            return target;
+        }
+
+        @Override
+        void setJsonValue(JsonValue jsonValue) throws JsonException {
+            if (setter != null) {
+                setter.set(object, jsonValue);
+            }
+        }
+
+        @Override
+        void setValue(Object value) throws JsonException {
+            if (setter != null) {
+                setter.setValue(object, value);
+            }
+        }
+
+        @Override
+        Object getResult() {
+            return object;
+        }
+    }
+
+    /** Property of Java Bean, errors of conversion of property are reported in the same way as {@link ObjectBuilder} does. */
+    private static class SetterTarget extends ValueTarget {
+        final BeanCodec.Setter setter;
+
+        SetterTarget(BeanCodec.Setter setter) {
+            super(setter.type, setter.genericType);
+            this.setter = setter;
+        }
+
+        @Override
+        Object convert(JsonValue jsonValue) throws JsonException {
+            try {
+                return super.convert(jsonValue);
+            } catch (Exception e) {
+                throw setter.createException(e);
+            }
+        }
+    }
+
+    private static class CollectionFrame extends Frame {
+        final Constructor<? extends Collection<?>> constructor;
+        final Target                               elementTarget;
+        final List<Object>                         elements;
+
+        CollectionFrame(Class<? extends Collection<?>> collectionClass, Type genericType) throws JsonException {
+            Type elementType = ObjectBuilder.getCollectionElementType(genericType);
+            constructor = ObjectBuilder.getCollectionConstructor(collectionClass);
+            elementTarget = new ValueTarget(ObjectBuilder.getRawClass(elementType), elementType);
+            elements = new ArrayList<>();
+        }
+
+        @Override
+        Target target() {
+            return elementTarget;
+        }
+
+        @Override
+        void setValue(Object value) {
+            elements.add(value);
+        }
+
+        @Override
+        Object getResult() throws JsonException {
+            try {
+                return constructor.newInstance(elements);
+            } catch (Exception e) {
+                throw new JsonException(e.getMessage(), e);
+            }
+        }
+    }
+
+    private static class MapFrame extends Frame {
+        final Constructor<? extends Map<String, ?>> constructor;
+        final Target                                valueTarget;
+        final Map<String, Object>                   values;
+        String key;
+
+        MapFrame(Class<? extends Map<String, ?>> mapClass, Type genericType) throws JsonException {
+            Type valueType = ObjectBuilder.getMapValueType(genericType);
+            constructor = ObjectBuilder.getMapConstructor(mapClass);
+            valueTarget = new ValueTarget(ObjectBuilder.getRawClass(valueType), valueType);
+            values = new HashMap<>();
+        }
+
+        @Override
+        void key(String key) {
+            this.key = key;
+        }
+
+        @Override
+        Target target() {
+            return valueTarget;
+        }
+
+        @Override
+        void setValue(Object value) {
+            values.put(key, value);
+        }
+
+        @Override
+        Object getResult() throws JsonException {
+            try {
+                return constructor.newInstance(values);
+            } catch (Exception e) {
+                throw new JsonException(e.getMessage(), e);
+            }
+        }
+    }
+
+    /** Array, elements are restored in the same way as {@link ObjectBuilder#createArray(Class, JsonValue)} does it. */
+    private static class ArrayFrame extends Frame {
+        final Class<?>     componentType;
+        final Target       elementTarget;
+        final List<Object> elements;
+
+        ArrayFrame(Class<?> componentType) {
+            this.componentType = componentType;
+            if (isKnownType(componentType)) {
+                elementTarget = new ValueTarget(componentType, componentType);
+            } else if (componentType.isArray()) {
+                elementTarget = new ArrayTarget(componentType);
+            } else {
+                elementTarget = new BeanTarget(componentType);
+            }
+            elements = new ArrayList<>();
+        }
+
+        @Override
+        Target target() {
+            return elementTarget;
+        }
+
+        @Override
+        void setValue(Object value) {
+            elements.add(value);
+        }
+
+        @Override
+        Object getResult() {
+            Object array = Array.newInstance(componentType, elements.size());
+            for (int i = 0; i < elements.size(); i++) {
+                Array.set(array, i, elements.get(i));
+            }
+            return array;
+        }
+    }
+
+    /**
+     * Part of JSON document that is restored from {@link JsonValue}. If target of frame is {@link SkipTarget} then
+     * {@link JsonValue} is not built at all.
+     */
+    private static class DocumentFrame extends Frame {
+        final Target      target;
+        final JsonHandler handler;
+        int depth;
+
+        DocumentFrame(Target target) {
+            this.target = target;
+            handler = target == SkipTarget.INSTANCE ? null : new JsonHandler();
+        }
+
+        void start(boolean object) {
+            depth++;
+            if (handler != null) {
+                if (object) {
+                    handler.startObject();
+                } else {
+                    handler.startArray();
+                }
+            }
+        }
+
+        /** @return {@code true} if end of the whole part of document is reached */
+        boolean end(boolean object) {
+            if (handler != null) {
+                if (object) {
+                    handler.endObject();
+                } else {
+                    handler.endArray();
+                }
+            }
+            return --depth == 0;
+        }
+
+        @Override
+        void key(String key) {
+            if (handler != null) {
+                handler.key(key);
+            }
+        }
+
+        void characters(char[] characters) {
+            if (handler != null) {
+                handler.characters(characters);
+            }
+        }
+
+        @Override
+        Target target() {
+            return target;
+        }
+
+        @Override
+        void setValue(Object value) {
+            throw new IllegalStateException();
+        }
+
+        @Override
+        Object getResult() throws JsonException {
+            return handler == null ? null : target.convert(handler.getJsonObject());
+        }
+    }
+}
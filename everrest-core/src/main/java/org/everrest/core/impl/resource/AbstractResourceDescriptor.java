@@ -81,6 +81,8 @@ public class AbstractResourceDescriptor extends BaseObjectModel implements Resou
     /** Resource methods. Resource method has not own path annotation. */
     private final MultivaluedMap<String, ResourceMethodDescriptor> resourceMethods;
     private final ResourceMethodComparator resourceMethodComparator = new ResourceMethodComparator();
+    /** Compiled lookup structure for sub-resource methods and sub-resource locators. */
+    private final SubResourceDispatchTable subResourceDispatchTable;
 
     /**
      * Constructs new instance of AbstractResourceDescriptor.
@@ -122,6 +124,7 @@ public class AbstractResourceDescriptor extends BaseObjectModel implements Resou
         this.subResourceMethods = new TreeMap<>(uriPatternComparator);
         this.subResourceLocators = new TreeMap<>(uriPatternComparator);
         processMethods();
+        this.subResourceDispatchTable = new SubResourceDispatchTable(this);
     }
 
     /**
@@ -175,6 +178,16 @@ public class AbstractResourceDescriptor extends BaseObjectModel implements Resou
         return subResourceMethods;
     }
 
+    /**
+     * Get compiled lookup structure for sub-resource methods and sub-resource locators. It is created once when this
+     * descriptor is created.
+     *
+     * @return lookup structure for sub-resource methods and sub-resource locators
+     */
+    public SubResourceDispatchTable getSubResourceDispatchTable() {
+        return subResourceDispatchTable;
+    }
+
     @Override
     public UriPattern getUriPattern() {
         return uriPattern;
@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl.resource;
+
+import org.everrest.core.resource.ResourceDescriptor;
+import org.everrest.core.resource.SubResourceLocatorDescriptor;
+import org.everrest.core.resource.SubResourceMethodDescriptor;
+import org.everrest.core.uri.UriMatch;
+import org.everrest.core.uri.UriPattern;
+import org.everrest.core.uri.UriPatternIndex;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled lookup structure for sub-resource methods and sub-resource locators of {@link ResourceDescriptor}. Sub-resource
+ * methods are indexed separately for each HTTP method, so lookup of sub-resource method checks only paths that have
+ * methods for requested HTTP method. Table must be created after all sub-resource methods and locators are added to
+ * the resource descriptor, it does not reflect any further changes.
+ */
+public final class SubResourceDispatchTable {
+    private final UriPatternIndex<Map.Entry<UriPattern, Map<String, List<SubResourceMethodDescriptor>>>>              subResourceMethods;
+    private final Map<String, UriPatternIndex<Map.Entry<UriPattern, Map<String, List<SubResourceMethodDescriptor>>>>> subResourceMethodsByHttpMethod;
+    private final UriPatternIndex<SubResourceLocatorDescriptor>                                                       subResourceLocators;
+
+    /**
+     * @param resourceDescriptor resource descriptor, sub-resource methods and locators of this descriptor must be sorted
+     *                           by {@link org.everrest.core.util.UriPatternComparator}
+     */
+    public SubResourceDispatchTable(ResourceDescriptor resourceDescriptor) {
+        List<Map.Entry<UriPattern, Map<String, List<SubResourceMethodDescriptor>>>> allMethods =
+                new ArrayList<>(resourceDescriptor.getSubResourceMethods().entrySet());
+        Map<String, List<Map.Entry<UriPattern, Map<String, List<SubResourceMethodDescriptor>>>>> methodsByHttpMethod = new HashMap<>();
+        for (Map.Entry<UriPattern, Map<String, List<SubResourceMethodDescriptor>>> entry : allMethods) {
+            for (Map.Entry<String, List<SubResourceMethodDescriptor>> httpMethodEntry : entry.getValue().entrySet()) {
+                if (httpMethodEntry.getValue() != null && !httpMethodEntry.getValue().isEmpty()) {
+                    methodsByHttpMethod.computeIfAbsent(httpMethodEntry.getKey(), httpMethod -> new ArrayList<>()).add(entry);
+                }
+            }
+        }
+        this.subResourceMethods = new UriPatternIndex<>(allMethods, Map.Entry::getKey);
+        this.subResourceMethodsByHttpMethod = new HashMap<>(methodsByHttpMethod.size() * 2);
+        for (Map.Entry<String, List<Map.Entry<UriPattern, Map<String, List<SubResourceMethodDescriptor>>>>> entry : methodsByHttpMethod.entrySet()) {
+            subResourceMethodsByHttpMethod.put(entry.getKey(), new UriPatternIndex<>(entry.getValue(), Map.Entry::getKey));
+        }
+        this.subResourceLocators = new UriPatternIndex<>(new ArrayList<>(resourceDescriptor.getSubResourceLocators().values()),
+                                                         SubResourceLocatorDescriptor::getUriPattern);
+    }
+
+    /**
+     * Find sub-resource methods with the path that is matched to {@code requestPath}. Path that has methods for
+     * requested HTTP method takes precedence. If there is no any path that has methods for requested HTTP method then
+     * sub-resource methods of the last matched path are returned, the same as when all paths are checked one by one, so
+     * the 'Allow' header of 405 response lists methods of this path.
+     *
+     * @param httpMethod     HTTP method
+     * @param requestPath    request path
+     * @param capturedValues the list for keeping template values
+     * @return sub-resource methods of the matched path mapped by HTTP method or {@code null} if there is no matched path
+     */
+    public Map<String, List<SubResourceMethodDescriptor>> findSubResourceMethods(String httpMethod, String requestPath, List<String> capturedValues) {
+        UriPatternIndex<Map.Entry<UriPattern, Map<String, List<SubResourceMethodDescriptor>>>> index = subResourceMethodsByHttpMethod.get(httpMethod);
+        if (index != null) {
+            Map<String, List<SubResourceMethodDescriptor>> methods = findSubResourceMethods(index, requestPath, capturedValues);
+            if (methods != null) {
+                return methods;
+            }
+        }
+        return findLastSubResourceMethods(requestPath, capturedValues);
+    }
+
+    private Map<String, List<SubResourceMethodDescriptor>> findSubResourceMethods(
+            UriPatternIndex<Map.Entry<UriPattern, Map<String, List<SubResourceMethodDescriptor>>>> index,
+            String requestPath,
+            List<String> capturedValues) {
+        UriMatch match = new UriMatch();
+        for (Map.Entry<UriPattern, Map<String, List<SubResourceMethodDescriptor>>> entry : index.getCandidates(requestPath)) {
+            if (entry.getKey().match(requestPath, 0, requestPath.length(), match) && match.hasEmptyTail()) {
+                match.copyGroupsTo(capturedValues);
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private Map<String, List<SubResourceMethodDescriptor>> findLastSubResourceMethods(String requestPath, List<String> capturedValues) {
+        UriMatch match = new UriMatch();
+        Map<String, List<SubResourceMethodDescriptor>> resourceMethods = null;
+        for (Map.Entry<UriPattern, Map<String, List<SubResourceMethodDescriptor>>> entry : subResourceMethods.getCandidates(requestPath)) {
+            if (entry.getKey().match(requestPath, 0, requestPath.length(), match) && match.hasEmptyTail()) {
+                match.copyGroupsTo(capturedValues);
+                resourceMethods = entry.getValue();
+            }
+        }
+        return resourceMethods;
+    }
+
+    /**
+     * Find the first sub-resource locator with the path that is matched to {@code requestPath}.
+     *
+     * @param requestPath    request path
+     * @param capturedValues the list for keeping template values
+     * @return matched sub-resource locator or {@code null}
+     */
+    public SubResourceLocatorDescriptor findSubResourceLocator(String requestPath, List<String> capturedValues) {
+        UriMatch match = new UriMatch();
+        for (SubResourceLocatorDescriptor subResourceLocator : subResourceLocators.getCandidates(requestPath)) {
+            if (subResourceLocator.getUriPattern().match(requestPath, 0, requestPath.length(), match)) {
+                match.copyGroupsTo(capturedValues);
+                return subResourceLocator;
+            }
+        }
+        return null;
+    }
+
+    /** @return {@code true} if there is no any sub-resource methods and sub-resource locators */
+    public boolean isEmpty() {
+        return subResourceMethods.size() == 0 && subResourceLocators.size() == 0;
+    }
+}
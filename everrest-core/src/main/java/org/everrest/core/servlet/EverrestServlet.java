@@ -14,8 +14,10 @@ import org.everrest.core.UnhandledException;
 import org.everrest.core.impl.ContainerResponse;
 import org.everrest.core.impl.EnvironmentContext;
 import org.everrest.core.impl.EverrestProcessor;
+import org.everrest.core.impl.ServerConfigurationProperties;
 import org.everrest.core.tools.ErrorPages;
 import org.everrest.core.tools.WebApplicationDeclaredRoles;
+import org.everrest.core.util.BufferPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -28,14 +30,24 @@ import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 
 /**
+ * Requests that are suspended by resource methods with {@link javax.ws.rs.container.Suspended} release container thread
+ * only if asynchronous processing is enabled for this servlet, e.g. with {@code <async-supported>true</async-supported>}
+ * in web.xml. Otherwise container thread waits until response is resumed. Asynchronous processing is required for
+ * non-blocking writing of entities as well, see {@link ServerConfigurationProperties#EVERREST_NON_BLOCKING_WRITE}.
+ *
  * @author andrew00x
  */
 @SuppressWarnings("serial")
 public class EverrestServlet extends HttpServlet {
     private static final Logger LOG = LoggerFactory.getLogger(EverrestServlet.class);
 
+    private static final int ENTITY_BUFFER_SIZE        = 8192;
+    private static final int MAX_POOLED_ENTITY_BUFFERS = 1024;
+
     private WebApplicationDeclaredRoles webApplicationRoles;
     private ErrorPages                  errorPages;
+    private BufferPool                  entityBufferPool;
+    private int                         maxEntityBufferSize;
 
     protected EverrestProcessor processor;
 
@@ -44,6 +56,11 @@ public class EverrestServlet extends HttpServlet {
         processor = (EverrestProcessor)getServletContext().getAttribute(EverrestProcessor.class.getName());
         webApplicationRoles = new WebApplicationDeclaredRoles(getServletContext());
         errorPages = new ErrorPages(getServletContext());
+        ServerConfigurationProperties configuration = processor.getConfiguration();
+        if (configuration != null && configuration.isNonBlockingWriteEnabled()) {
+            entityBufferPool = new BufferPool(ENTITY_BUFFER_SIZE, MAX_POOLED_ENTITY_BUFFERS);
+            maxEntityBufferSize = configuration.getMaxBufferSize();
+        }
     }
 
     @Override
@@ -57,7 +74,7 @@ public class EverrestServlet extends HttpServlet {
         env.put(ErrorPages.class, errorPages);
         try {
             ServletContainerRequest request = ServletContainerRequest.create(httpRequest);
-            ContainerResponse response = new ContainerResponse(new ServletContainerResponseWriter(httpResponse));
+            ContainerResponse response = new ContainerResponse(new ServletContainerResponseWriter(httpRequest, httpResponse, entityBufferPool, maxEntityBufferSize));
             processor.process(request, response, env);
         } catch (IOException ioe) {
             // Met problem with Acrobat Reader HTTP client when use EverRest for WebDav.
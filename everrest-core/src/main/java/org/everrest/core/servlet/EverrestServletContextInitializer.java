@@ -24,6 +24,7 @@ import org.everrest.core.impl.ResourceBinderImpl;
 import org.everrest.core.impl.ServerConfigurationProperties;
 import org.everrest.core.impl.async.AsynchronousJobService;
 import org.everrest.core.impl.provider.ServerEmbeddedProvidersFeature;
+import org.everrest.services.RestServicesMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -150,6 +151,9 @@ public class EverrestServletContextInitializer {
             if (configuration.isAsynchronousEnabled()) {
                 everrest.addResource(configuration.getAsynchronousServicePath(), AsynchronousJobService.class);
             }
+            if (configuration.isMetricsEnabled()) {
+                everrest.addResource(configuration.getMetricsServicePath(), RestServicesMetrics.class);
+            }
             everrest.addApplication(getApplication());
         }
         return everrest;
@@ -12,19 +12,81 @@ package org.everrest.core.servlet;
 
 import org.everrest.core.ContainerResponseWriter;
 import org.everrest.core.GenericContainerResponse;
+import org.everrest.core.UnhandledException;
+import org.everrest.core.util.BufferPool;
+import org.everrest.core.util.PooledBufferOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import javax.servlet.AsyncContext;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
+import static javax.ws.rs.core.HttpHeaders.CONTENT_LENGTH;
+import static javax.ws.rs.core.HttpHeaders.DATE;
+
+/**
+ * Writes response to {@link HttpServletResponse}. By default entity is written directly to servlet output stream, so
+ * thread that processes request is blocked until client reads whole entity. In non-blocking mode entity is written in
+ * buffers acquired from {@link BufferPool} and then is sent to client with {@link WriteListener}, thread that processes
+ * request is released as soon as entity is handed off to container. Non-blocking mode requires asynchronous processing
+ * to be enabled for servlet. Entities that fit into buffer of servlet response are written directly. Entities that are
+ * larger than {@code maxBufferSize} are handed off to {@link WriteListener} in parts while they are still written by
+ * {@link javax.ws.rs.ext.MessageBodyWriter}, thread that processes request waits only while more than {@code maxBufferSize}
+ * bytes of entity are not sent to client yet.
+ */
 public class ServletContainerResponseWriter implements ContainerResponseWriter {
+    private static final Logger LOG = LoggerFactory.getLogger(ServletContainerResponseWriter.class);
+
+    /** Number of chunks of entity that are handed off to {@link WriteListener} at once when entity exceeds max buffer size. */
+    private static final int SEGMENT_CHUNKS = 8;
+
+    private final HttpServletRequest  servletRequest;
     private final HttpServletResponse servletResponse;
+    private final BufferPool          bufferPool;
+    private final int                 maxBufferSize;
+    private       AsyncContext        asyncContext;
+    private       EntityOutputStream  entityStream;
+    private       boolean             suspended;
+    /** {@code true} if buffered entity is written with {@link WriteListener} and writing is not finished yet. */
+    private       boolean             writing;
+    /** {@code true} if {@link #complete(Throwable)} is called while entity is still written by {@link WriteListener}. */
+    private       boolean             completeRequested;
 
     public ServletContainerResponseWriter(HttpServletResponse response) {
+        this(null, response);
+    }
+
+    /**
+     * Creates writer that supports suspending of requests if {@code request} is not {@code null} and asynchronous
+     * processing is enabled for servlet, see {@link HttpServletRequest#isAsyncSupported()}.
+     */
+    public ServletContainerResponseWriter(HttpServletRequest request, HttpServletResponse response) {
+        this(request, response, null, 0);
+    }
+
+    /**
+     * Creates writer that writes entities in non-blocking mode if {@code bufferPool} is not {@code null}, {@code request}
+     * is not {@code null} and asynchronous processing is enabled for servlet.
+     *
+     * @param bufferPool    pool of buffers for entities, if {@code null} entities are written in blocking mode
+     * @param maxBufferSize max number of bytes of entity that may be buffered
+     */
+    public ServletContainerResponseWriter(HttpServletRequest request, HttpServletResponse response, BufferPool bufferPool, int maxBufferSize) {
+        this.servletRequest = request;
         this.servletResponse = response;
+        this.bufferPool = bufferPool;
+        this.maxBufferSize = maxBufferSize;
     }
 
     @Override
@@ -35,6 +97,14 @@ public class ServletContainerResponseWriter implements ContainerResponseWriter {
         servletResponse.setStatus(response.getStatus());
         for (Map.Entry<String, List<String>> entry : response.getStringHeaders().entrySet()) {
             String name = entry.getKey();
+            if (DATE.equalsIgnoreCase(name)) {
+                // Replaces 'Date' header that may be already set by servlet container
+                entry.getValue().stream()
+                                .filter(Objects::nonNull)
+                                .findFirst()
+                                .ifPresent(value -> servletResponse.setHeader(name, value));
+                continue;
+            }
             entry.getValue().stream()
                             .filter(Objects::nonNull)
                             .forEach(value -> servletResponse.addHeader(name, value));
@@ -43,6 +113,272 @@ public class ServletContainerResponseWriter implements ContainerResponseWriter {
 
     @Override
     public OutputStream getOutputStream() throws IOException {
-        return servletResponse.getOutputStream();
+        if (bufferPool == null || !isAsyncSupported()) {
+            return servletResponse.getOutputStream();
+        }
+        if (entityStream == null) {
+            entityStream = new EntityOutputStream();
+        }
+        return entityStream;
+    }
+
+    private boolean isAsyncSupported() {
+        return asyncContext != null || (servletRequest != null && servletRequest.isAsyncSupported());
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (entityStream == null) {
+            return;
+        }
+        EntityOutputStream stream = entityStream;
+        PooledBufferOutputStream buffer = stream.buffer;
+        if (stream.writeListener == null) {
+            if (buffer.size() <= servletResponse.getBufferSize()) {
+                entityStream = null;
+                try {
+                    buffer.writeTo(servletResponse.getOutputStream());
+                } finally {
+                    buffer.release();
+                }
+                return;
+            }
+            if (!servletResponse.containsHeader(CONTENT_LENGTH)) {
+                servletResponse.setContentLengthLong(buffer.size());
+            }
+            stream.writeListener = startWriting();
+        }
+        entityStream = null;
+        stream.writeListener.add(buffer, true);
+    }
+
+    /** Releases buffered entity and, if entity is already written with {@link WriteListener}, stops writing of it. */
+    @Override
+    public void abort() {
+        if (entityStream == null) {
+            return;
+        }
+        EntityOutputStream stream = entityStream;
+        entityStream = null;
+        stream.buffer.release();
+        if (stream.writeListener != null) {
+            stream.writeListener.abort();
+        }
+    }
+
+    private EntityWriteListener startWriting() throws IOException {
+        if (asyncContext == null) {
+            asyncContext = servletRequest.startAsync();
+            asyncContext.setTimeout(0);
+        }
+        synchronized (this) {
+            writing = true;
+        }
+        EntityWriteListener writeListener = new EntityWriteListener();
+        try {
+            servletResponse.getOutputStream().setWriteListener(writeListener);
+        } catch (IOException | RuntimeException e) {
+            onEntityWritten();
+            throw e;
+        }
+        return writeListener;
+    }
+
+    @Override
+    public boolean suspend() {
+        if (servletRequest == null || !servletRequest.isAsyncSupported()) {
+            return false;
+        }
+        asyncContext = servletRequest.startAsync();
+        // Timeout of suspended response is controlled by javax.ws.rs.container.AsyncResponse
+        asyncContext.setTimeout(0);
+        suspended = true;
+        return true;
+    }
+
+    /** Runs task with thread of servlet container, see {@link AsyncContext#start(Runnable)}. */
+    @Override
+    public void runAsync(Runnable task) {
+        if (asyncContext == null) {
+            ContainerResponseWriter.super.runAsync(task);
+        } else {
+            asyncContext.start(task);
+        }
+    }
+
+    @Override
+    public void complete(Throwable failure) throws IOException {
+        try {
+            if (failure != null) {
+                LOG.error(failure.getMessage(), failure);
+                if (!servletResponse.isCommitted()) {
+                    int status = failure instanceof UnhandledException ? ((UnhandledException)failure).getResponseStatus() : 0;
+                    servletResponse.sendError(status == 0 ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : status);
+                }
+            }
+        } finally {
+            synchronized (this) {
+                completeRequested = writing;
+            }
+            if (!completeRequested) {
+                asyncContext.complete();
+            }
+        }
+    }
+
+    private void onEntityWritten() {
+        boolean complete;
+        synchronized (this) {
+            writing = false;
+            // Suspended request is completed by complete(Throwable), wait for it if it is not called yet
+            complete = !suspended || completeRequested;
+        }
+        if (complete) {
+            asyncContext.complete();
+        }
+    }
+
+    /**
+     * Keeps entity in buffer until size of buffered content does not exceed {@code maxBufferSize}, then starts writing of
+     * entity with {@link EntityWriteListener} and hands off buffered content to it by segments of {@link #SEGMENT_CHUNKS}
+     * chunks.
+     */
+    private class EntityOutputStream extends OutputStream {
+        PooledBufferOutputStream buffer = new PooledBufferOutputStream(bufferPool);
+        /** Not {@code null} if entity exceeds {@code maxBufferSize} and is written while it is still produced. */
+        EntityWriteListener      writeListener;
+
+        @Override
+        public void write(int b) throws IOException {
+            if (writeListener == null && buffer.size() + 1 > maxBufferSize) {
+                writeListener = startWriting();
+            }
+            buffer.write(b);
+            handOffSegment();
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (writeListener == null && buffer.size() + len > maxBufferSize) {
+                writeListener = startWriting();
+            }
+            if (writeListener == null) {
+                buffer.write(b, off, len);
+                return;
+            }
+            int segmentSize = SEGMENT_CHUNKS * bufferPool.getBufferSize();
+            while (len > 0) {
+                int n = (int)Math.min(len, segmentSize - buffer.size());
+                buffer.write(b, off, n);
+                off += n;
+                len -= n;
+                handOffSegment();
+            }
+        }
+
+        private void handOffSegment() throws IOException {
+            if (writeListener != null && buffer.size() >= SEGMENT_CHUNKS * bufferPool.getBufferSize()) {
+                PooledBufferOutputStream segment = buffer;
+                buffer = new PooledBufferOutputStream(bufferPool);
+                writeListener.add(segment, false);
+            }
+        }
+    }
+
+    /**
+     * Writes segments of entity when servlet output stream is ready. Segments are written by container thread, see
+     * {@link #onWritePossible()}, or by thread that adds segment if all previously added segments are already written and
+     * output stream is still ready.
+     */
+    private class EntityWriteListener implements WriteListener {
+        private final Deque<PooledBufferOutputStream> segments = new ArrayDeque<>();
+        /** Number of bytes of added segments that are not written yet. */
+        private       long                            pending;
+        private       int                             chunk;
+        private       boolean                         last;
+        /** {@code true} if all added segments are written and output stream is ready. */
+        private       boolean                         idle;
+        private       boolean                         done;
+
+        /**
+         * Adds segment of entity. Waits while more than {@code maxBufferSize} bytes of entity are not written unless
+         * segment is the last one.
+         *
+         * @throws IOException if entity may not be written to client
+         */
+        synchronized void add(PooledBufferOutputStream segment, boolean last) throws IOException {
+            if (done) {
+                segment.release();
+                if (last) {
+                    return;
+                }
+                throw new IOException("Unable to write response entity, writing is aborted");
+            }
+            segments.add(segment);
+            pending += segment.size();
+            this.last = last;
+            if (idle) {
+                writeSegments();
+            }
+            while (!last && !done && pending > maxBufferSize) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+            }
+        }
+
+        @Override
+        public synchronized void onWritePossible() throws IOException {
+            writeSegments();
+        }
+
+        private void writeSegments() throws IOException {
+            idle = false;
+            ServletOutputStream out = servletResponse.getOutputStream();
+            while (!done && out.isReady()) {
+                PooledBufferOutputStream segment = segments.peek();
+                if (segment == null) {
+                    if (last) {
+                        done = true;
+                        onEntityWritten();
+                    } else {
+                        idle = true;
+                    }
+                    return;
+                }
+                if (chunk == segment.getChunkCount()) {
+                    segments.remove();
+                    pending -= segment.size();
+                    segment.release();
+                    chunk = 0;
+                    notifyAll();
+                } else {
+                    out.write(segment.getChunk(chunk), 0, segment.getChunkLength(chunk));
+                    chunk++;
+                }
+            }
+        }
+
+        @Override
+        public synchronized void onError(Throwable error) {
+            LOG.warn("Unable to write response entity: {}", error.getMessage());
+            LOG.debug(error.getMessage(), error);
+            abort();
+        }
+
+        /** Releases segments that are not written yet and completes writing, no more segments are accepted. */
+        synchronized void abort() {
+            if (done) {
+                return;
+            }
+            segments.forEach(PooledBufferOutputStream::release);
+            segments.clear();
+            done = true;
+            notifyAll();
+            onEntityWritten();
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.uri;
+
+import java.util.List;
+
+/**
+ * Result of the last successful {@link UriPattern#match(CharSequence, int, int, UriMatch)}. Captured values of URI
+ * template variables are kept as offsets in the matched character sequence and strings are created only when
+ * {@link #group(int)} or {@link #copyGroupsTo(List)} is called. The last group is the tail of the matched path, it is
+ * either not captured or starts with '/'.
+ * <p>
+ * Instance of this class is mutable and is not thread-safe. It is meant to be created for one lookup, e.g. one
+ * request path checked against list of patterns, and reused for all patterns in this lookup.
+ */
+public final class UriMatch {
+    private CharSequence input;
+    private int[]        offsets = new int[8];
+    private int          groupCount;
+
+    void reset(CharSequence input, int groupCount) {
+        if (offsets.length < groupCount * 2) {
+            offsets = new int[groupCount * 2];
+        }
+        this.input = input;
+        this.groupCount = groupCount;
+    }
+
+    void setGroup(int group, int start, int end) {
+        offsets[group * 2] = start;
+        offsets[group * 2 + 1] = end;
+    }
+
+    /** @return number of captured groups including the tail of path */
+    public int groupCount() {
+        return groupCount;
+    }
+
+    /**
+     * @param group index of group
+     * @return start offset of group in the matched character sequence or {@code -1} if group is not captured
+     */
+    public int start(int group) {
+        checkGroup(group);
+        return offsets[group * 2];
+    }
+
+    /**
+     * @param group index of group
+     * @return end offset of group in the matched character sequence or {@code -1} if group is not captured
+     */
+    public int end(int group) {
+        checkGroup(group);
+        return offsets[group * 2 + 1];
+    }
+
+    /**
+     * @param group index of group
+     * @return value of group or {@code null} if group is not captured
+     */
+    public String group(int group) {
+        int start = start(group);
+        return start < 0 ? null : input.subSequence(start, end(group)).toString();
+    }
+
+    /** @return {@code true} if tail of the matched path is not captured or is '/' */
+    public boolean hasEmptyTail() {
+        int tail = groupCount - 1;
+        int start = offsets[tail * 2];
+        return start < 0 || offsets[tail * 2 + 1] - start == 1;
+    }
+
+    /**
+     * Clears {@code values} and copies values of all groups in it.
+     *
+     * @param values target list
+     */
+    public void copyGroupsTo(List<String> values) {
+        values.clear();
+        for (int i = 0; i < groupCount; i++) {
+            values.add(group(i));
+        }
+    }
+
+    private void checkGroup(int group) {
+        if (group < 0 || group >= groupCount) {
+            throw new IndexOutOfBoundsException(String.format("Group %d, number of groups %d", group, groupCount));
+        }
+    }
+}
@@ -19,6 +19,9 @@ public class UriPattern {
     /** Should be added in URI pattern regular expression. */
     private static final String URI_PATTERN_TAIL = "(/.*)?";
 
+    /** Characters that have special meaning in regular expression if they are not escaped by {@link UriTemplateParser}. */
+    private static final String UNESCAPED_REGEX_CHARACTERS = "\\^$|*+[]{}";
+
     //
 
     /** List of names for URI template variables. */
@@ -39,6 +42,9 @@ public class UriPattern {
     /** Regex capturing group indexes. */
     private final int[] groupIndexes;
 
+    /** Template without trailing '/' if template does not contain any variables and regular expressions, otherwise {@code null}. */
+    private final String literal;
+
     //
 
     public UriPattern(String template) {
@@ -67,6 +73,16 @@ public class UriPattern {
         }
         this.regex = regex + URI_PATTERN_TAIL;
         this.pattern = Pattern.compile(this.regex);
+        this.literal = parameterNames.isEmpty() ? getLiteral(this.template) : null;
+    }
+
+    private static String getLiteral(String template) {
+        for (int i = 0; i < template.length(); i++) {
+            if (UNESCAPED_REGEX_CHARACTERS.indexOf(template.charAt(i)) >= 0) {
+                return null;
+            }
+        }
+        return template.endsWith("/") ? template.substring(0, template.length() - 1) : template;
     }
 
 
@@ -138,31 +154,96 @@ public class UriPattern {
             throw new IllegalArgumentException("list is null");
         }
 
-        if (uri == null || uri.isEmpty()) {
-            return pattern == null;
+        if (uri == null) {
+            return false;
         }
-        if (pattern == null) {
+        UriMatch match = new UriMatch();
+        if (!match(uri, 0, uri.length(), match)) {
             return false;
         }
+        match.copyGroupsTo(parameters);
+        return true;
+    }
 
-        Matcher m = pattern.matcher(uri);
+    /**
+     * Check is part of character sequence between {@code start} and {@code end} match to pattern. If it is then
+     * {@code match} is updated with offsets of values of template variables and offsets of the tail of path, otherwise
+     * {@code match} is left unchanged. Templates that do not contain any variables and regular expressions are matched
+     * without regular expression.
+     *
+     * @param input
+     *         character sequence that contains URI string
+     * @param start
+     *         start offset of URI string, inclusive
+     * @param end
+     *         end offset of URI string, exclusive
+     * @param match
+     *         keeps result of successful matching
+     * @return true if URI string is match to pattern, false otherwise
+     */
+    public boolean match(CharSequence input, int start, int end, UriMatch match) {
+        if (start >= end) {
+            return false;
+        }
+        if (literal != null) {
+            return matchLiteral(input, start, end, match);
+        }
+
+        Matcher m = pattern.matcher(input);
+        m.region(start, end);
         if (!m.matches()) {
             return false;
         }
 
-        parameters.clear();
         if (groupIndexes == null) {
+            match.reset(input, m.groupCount());
             for (int i = 1; i <= m.groupCount(); i++) {
-                parameters.add(m.group(i));
+                match.setGroup(i - 1, m.start(i), m.end(i));
             }
         } else {
+            match.reset(input, groupIndexes.length - 1);
             for (int i = 0; i < groupIndexes.length - 1; i++) {
-                parameters.add(m.group(groupIndexes[i]));
+                match.setGroup(i, m.start(groupIndexes[i]), m.end(groupIndexes[i]));
             }
         }
         return true;
     }
 
+    private boolean matchLiteral(CharSequence input, int start, int end, UriMatch match) {
+        int length = literal.length();
+        if (end - start < length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (input.charAt(start + i) != literal.charAt(i)) {
+                return false;
+            }
+        }
+        int tail = start + length;
+        if (tail < end) {
+            if (input.charAt(tail) != '/') {
+                return false;
+            }
+            // Tail of path is matched with '.*' that does not match line terminators.
+            for (int i = tail + 1; i < end; i++) {
+                if (isLineTerminator(input.charAt(i))) {
+                    return false;
+                }
+            }
+        }
+        match.reset(input, 1);
+        if (tail < end) {
+            match.setGroup(0, tail, end);
+        } else {
+            match.setGroup(0, -1, -1);
+        }
+        return true;
+    }
+
+    private static boolean isLineTerminator(char ch) {
+        return ch == '\n' || ch == '\r' || ch == '\u0085' || ch == '\u2028' || ch == '\u2029';
+    }
+
 
     public String toString() {
         return regex;
@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.uri;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Immutable routing index over set of items that have {@link UriPattern}. Index is a tree of literal path segments, each
+ * item is placed in node that corresponds to the literal prefix of its URI pattern, e.g. item with pattern
+ * {@code /a/b/{x}} is placed in node {@code a -> b}. To find candidates for request path index walks down the tree by
+ * segments of path and returns all items that are placed in the visited nodes. Items whose literal prefix does not match
+ * to the request path are never returned, all other items must be checked with {@link UriPattern#match(String, List)}
+ * since index does not take care about regular expressions of URI template variables.
+ * <p>
+ * Candidates are returned in the same order as items were passed to constructor of index. Index must be re-created
+ * after any changes in set of items.
+ *
+ * @param <T> type of indexed items
+ */
+public final class UriPatternIndex<T> {
+    /** Tail of regular expression that is added by {@link UriPattern} to each pattern. */
+    private static final String URI_PATTERN_TAIL = "(/.*)?";
+    /** Characters that have special meaning in regular expression if they are not escaped. */
+    private static final String REGEX_META_CHARACTERS = "\\^$.|?*+()[]{}";
+    /** Characters that make previous character optional or repeatable. */
+    private static final String REGEX_QUANTIFIERS = "?*+{";
+
+    private final Node<T> root;
+    private final int size;
+
+    /**
+     * @param items            items sorted in order of precedence
+     * @param patternExtractor extracts {@link UriPattern} from item
+     */
+    public UriPatternIndex(List<T> items, Function<T, UriPattern> patternExtractor) {
+        BuildNode buildRoot = new BuildNode();
+        for (int i = 0; i < items.size(); i++) {
+            BuildNode node = buildRoot;
+            for (String segment : getLiteralSegments(patternExtractor.apply(items.get(i)))) {
+                node = node.children.computeIfAbsent(segment, s -> new BuildNode());
+            }
+            node.items.add(i);
+        }
+        this.root = buildRoot.toNode(new int[0], items);
+        this.size = items.size();
+    }
+
+    /**
+     * Get items that may match to the specified path. Returned list is unmodifiable and contains items in order of
+     * precedence.
+     *
+     * @param path request path
+     * @return items that may match to the specified path
+     */
+    public List<T> getCandidates(String path) {
+        Node<T> node = root;
+        if (path != null) {
+            int length = path.length();
+            int start = length > 0 && path.charAt(0) == '/' ? 1 : 0;
+            if (start < length) {
+                while (start <= length) {
+                    int end = path.indexOf('/', start);
+                    if (end < 0) {
+                        end = length;
+                    }
+                    Node<T> child = node.getChild(path.substring(start, end));
+                    if (child == null) {
+                        break;
+                    }
+                    node = child;
+                    start = end + 1;
+                }
+            }
+        }
+        return node.candidates;
+    }
+
+    /** @return number of items in this index */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get complete literal segments of URI pattern. Segment is complete if it is followed by '/' or by the end of URI
+     * pattern. Leading '/' is ignored.
+     *
+     * @param pattern URI pattern
+     * @return complete literal segments
+     */
+    static List<String> getLiteralSegments(UriPattern pattern) {
+        String regex = pattern == null ? null : pattern.getRegex();
+        if (regex == null || regex.indexOf('|') >= 0) {
+            return Collections.emptyList();
+        }
+        StringBuilder literal = new StringBuilder();
+        int length = regex.length();
+        int i = 0;
+        while (i < length) {
+            char ch = regex.charAt(i);
+            if (ch == '\\') {
+                if (i + 1 < length && !Character.isLetterOrDigit(regex.charAt(i + 1))) {
+                    literal.append(regex.charAt(i + 1));
+                    i += 2;
+                    continue;
+                }
+                break;
+            }
+            if (REGEX_META_CHARACTERS.indexOf(ch) >= 0) {
+                break;
+            }
+            literal.append(ch);
+            i++;
+        }
+        boolean complete = i == length || regex.substring(i).equals(URI_PATTERN_TAIL);
+        if (!complete && i < length && REGEX_QUANTIFIERS.indexOf(regex.charAt(i)) >= 0 && literal.length() > 0) {
+            literal.setLength(literal.length() - 1);
+        }
+
+        int start = literal.length() > 0 && literal.charAt(0) == '/' ? 1 : 0;
+        if (start == literal.length()) {
+            return Collections.emptyList();
+        }
+        List<String> segments = new ArrayList<>(Arrays.asList(literal.substring(start).split("/", -1)));
+        if (!complete) {
+            segments.remove(segments.size() - 1);
+        }
+        return segments;
+    }
+
+    private static final class Node<T> {
+        final Map<String, Node<T>> children;
+        final List<T>              candidates;
+
+        Node(Map<String, Node<T>> children, List<T> candidates) {
+            this.children = children;
+            this.candidates = candidates;
+        }
+
+        Node<T> getChild(String segment) {
+            return children.isEmpty() ? null : children.get(segment);
+        }
+    }
+
+    private static final class BuildNode {
+        final Map<String, BuildNode> children = new HashMap<>();
+        final List<Integer>          items    = new ArrayList<>();
+
+        <T> Node<T> toNode(int[] parentItems, List<T> allItems) {
+            int[] myItems = Arrays.copyOf(parentItems, parentItems.length + items.size());
+            for (int i = 0; i < items.size(); i++) {
+                myItems[parentItems.length + i] = items.get(i);
+            }
+            Arrays.sort(myItems);
+            List<T> candidates = new ArrayList<>(myItems.length);
+            for (int index : myItems) {
+                candidates.add(allItems.get(index));
+            }
+            Map<String, Node<T>> nodeChildren = new HashMap<>(children.size() * 2);
+            for (Map.Entry<String, BuildNode> entry : children.entrySet()) {
+                nodeChildren.put(entry.getKey(), entry.getValue().toNode(myItems, allItems));
+            }
+            return new Node<>(nodeChildren.isEmpty() ? Collections.emptyMap() : nodeChildren,
+                              Collections.unmodifiableList(candidates));
+        }
+    }
+}
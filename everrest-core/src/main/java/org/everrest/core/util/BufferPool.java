@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.util;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of byte arrays of the same size. Number of arrays that pool keeps is limited, arrays that are released when pool
+ * is full are left to garbage collector. Arrays that are not released back to pool are not leaked either, pool just
+ * allocates new one when it is empty.
+ */
+public final class BufferPool {
+    private final int           bufferSize;
+    private final int           maxPooledBuffers;
+    private final Queue<byte[]> buffers;
+    private final AtomicInteger pooledBuffers;
+
+    /**
+     * @param bufferSize       size of buffers
+     * @param maxPooledBuffers max number of buffers that may be kept in pool
+     */
+    public BufferPool(int bufferSize, int maxPooledBuffers) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException(String.format("Invalid buffer size %d", bufferSize));
+        }
+        if (maxPooledBuffers < 0) {
+            throw new IllegalArgumentException(String.format("Invalid max number of pooled buffers %d", maxPooledBuffers));
+        }
+        this.bufferSize = bufferSize;
+        this.maxPooledBuffers = maxPooledBuffers;
+        buffers = new ConcurrentLinkedQueue<>();
+        pooledBuffers = new AtomicInteger();
+    }
+
+    /** @return buffer from pool or new buffer if pool is empty */
+    public byte[] acquire() {
+        byte[] buffer = buffers.poll();
+        if (buffer == null) {
+            return new byte[bufferSize];
+        }
+        pooledBuffers.decrementAndGet();
+        return buffer;
+    }
+
+    /**
+     * Returns buffer to pool. Buffers of size that differs from size of buffers of this pool are ignored.
+     *
+     * @param buffer buffer
+     */
+    public void release(byte[] buffer) {
+        if (buffer.length != bufferSize) {
+            return;
+        }
+        if (pooledBuffers.incrementAndGet() > maxPooledBuffers) {
+            pooledBuffers.decrementAndGet();
+            return;
+        }
+        buffers.offer(buffer);
+    }
+
+    /** @return size of buffers */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /** @return number of buffers that are currently kept in pool */
+    public int getPooledBufferCount() {
+        return pooledBuffers.get();
+    }
+}
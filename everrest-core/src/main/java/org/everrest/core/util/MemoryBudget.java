@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits number of bytes that may be held by all users of budget at the same time. Bytes are reserved with
+ * {@link #tryReserve(long)} before they are allocated and must be returned with {@link #release(long)} when they are not
+ * needed any more.
+ */
+public final class MemoryBudget {
+    private final long       limit;
+    private final AtomicLong reserved;
+
+    /** @param limit max number of bytes that may be reserved at the same time */
+    public MemoryBudget(long limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException(String.format("Invalid memory limit %d", limit));
+        }
+        this.limit = limit;
+        reserved = new AtomicLong();
+    }
+
+    /**
+     * Reserves specified number of bytes if this does not exceed limit of budget.
+     *
+     * @param bytes number of bytes to reserve
+     * @return {@code true} if bytes are reserved and {@code false} if budget is exhausted
+     */
+    public boolean tryReserve(long bytes) {
+        if (bytes < 0) {
+            throw new IllegalArgumentException(String.format("Invalid number of bytes %d", bytes));
+        }
+        long current;
+        do {
+            current = reserved.get();
+            if (current + bytes > limit) {
+                return false;
+            }
+        } while (!reserved.compareAndSet(current, current + bytes));
+        return true;
+    }
+
+    /**
+     * Returns bytes reserved with {@link #tryReserve(long)} to budget.
+     *
+     * @param bytes number of bytes to release
+     */
+    public void release(long bytes) {
+        if (bytes < 0) {
+            throw new IllegalArgumentException(String.format("Invalid number of bytes %d", bytes));
+        }
+        reserved.addAndGet(-bytes);
+    }
+
+    /** @return max number of bytes that may be reserved at the same time */
+    public long getLimit() {
+        return limit;
+    }
+
+    /** @return number of bytes that are currently reserved */
+    public long getReserved() {
+        return reserved.get();
+    }
+}
@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Output stream that keeps written bytes in chunks acquired from {@link BufferPool}. Chunks must be returned to pool
+ * with {@link #release()} when content of stream is not needed any more. Methods {@link #flush()} and {@link #close()}
+ * do nothing, so written content stays available even if stream is closed by writer of content.
+ * <p>
+ * Instance of this class is not thread-safe.
+ */
+public class PooledBufferOutputStream extends OutputStream {
+    private final BufferPool   bufferPool;
+    private final List<byte[]> chunks;
+    /** Number of bytes in the last chunk. */
+    private       int          count;
+    private       long         size;
+
+    public PooledBufferOutputStream(BufferPool bufferPool) {
+        this.bufferPool = bufferPool;
+        chunks = new ArrayList<>();
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (chunks.isEmpty() || count == bufferPool.getBufferSize()) {
+            addChunk();
+        }
+        chunks.get(chunks.size() - 1)[count++] = (byte)b;
+        size++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || off + len > b.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        while (len > 0) {
+            if (chunks.isEmpty() || count == bufferPool.getBufferSize()) {
+                addChunk();
+            }
+            int n = Math.min(len, bufferPool.getBufferSize() - count);
+            System.arraycopy(b, off, chunks.get(chunks.size() - 1), count, n);
+            count += n;
+            size += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * Reads bytes from specified input stream directly into the last chunk, new chunk is acquired from pool if the last one
+     * is full. At most {@link #getChunkRemaining()} bytes, or size of chunk if the last chunk is full, are read at once.
+     *
+     * @param in input stream
+     * @return number of read bytes or {@code -1} if end of stream is reached
+     * @throws IOException if any i/o error occurs
+     */
+    public int readFrom(InputStream in) throws IOException {
+        if (chunks.isEmpty() || count == bufferPool.getBufferSize()) {
+            addChunk();
+        }
+        int n = in.read(chunks.get(chunks.size() - 1), count, bufferPool.getBufferSize() - count);
+        if (n > 0) {
+            count += n;
+            size += n;
+        }
+        return n;
+    }
+
+    private void addChunk() {
+        chunks.add(bufferPool.acquire());
+        count = 0;
+    }
+
+    /** @return number of written bytes */
+    public long size() {
+        return size;
+    }
+
+    /** @return number of bytes that may be written before next chunk is acquired from pool */
+    public int getChunkRemaining() {
+        return chunks.isEmpty() ? 0 : bufferPool.getBufferSize() - count;
+    }
+
+    /** @return number of chunks that contain written bytes */
+    public int getChunkCount() {
+        return chunks.size();
+    }
+
+    /**
+     * @param index index of chunk
+     * @return chunk, only first {@link #getChunkLength(int)} bytes of chunk contain written bytes
+     */
+    public byte[] getChunk(int index) {
+        return chunks.get(index);
+    }
+
+    /**
+     * @param index index of chunk
+     * @return number of written bytes in chunk
+     */
+    public int getChunkLength(int index) {
+        return index == chunks.size() - 1 ? count : bufferPool.getBufferSize();
+    }
+
+    /**
+     * Writes all written bytes to specified output stream.
+     *
+     * @param out output stream
+     * @throws IOException if any i/o error occurs
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        for (int i = 0; i < chunks.size(); i++) {
+            out.write(chunks.get(i), 0, getChunkLength(i));
+        }
+    }
+
+    /** Returns all chunks to pool and discards written bytes. */
+    public void release() {
+        chunks.forEach(bufferPool::release);
+        chunks.clear();
+        count = 0;
+        size = 0;
+    }
+}
@@ -0,0 +1,342 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.services;
+
+import com.google.common.cache.CacheStats;
+import org.everrest.core.async.AsynchronousJobPool;
+import org.everrest.core.impl.async.AsynchronousJobExecutor;
+import org.everrest.core.impl.async.DefaultAsynchronousJobPool;
+import org.everrest.core.impl.header.HeaderHelper;
+import org.everrest.core.impl.header.MediaTypeHeaderDelegate;
+import org.everrest.core.impl.metrics.LatencyHistogram;
+import org.everrest.core.impl.metrics.RequestPhase;
+import org.everrest.core.impl.metrics.ResourceMethodMetrics;
+import org.everrest.core.impl.metrics.ResourceMetricsRegistry;
+import org.everrest.core.resource.ResourceDescriptor;
+import org.everrest.core.resource.ResourceMethodDescriptor;
+import org.everrest.core.resource.SubResourceMethodDescriptor;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.ContextResolver;
+import javax.ws.rs.ext.Providers;
+import javax.ws.rs.ext.RuntimeDelegate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only view of metrics of resource methods. Metrics are collected only if they are enabled with configuration
+ * property {@link org.everrest.core.impl.ServerConfigurationProperties#EVERREST_METRICS}, otherwise this resource
+ * responds with status 404. All latencies are in microseconds.
+ */
+@Path("metrics")
+public class RestServicesMetrics {
+
+    //
+    public static class Latency {
+        private final long   count;
+        private final double mean;
+        private final long   max;
+        private final long   p50;
+        private final long   p90;
+        private final long   p99;
+        private final long   p999;
+
+        public Latency(LatencyHistogram histogram) {
+            count = histogram.getCount();
+            mean = histogram.getMean();
+            max = histogram.getMax();
+            p50 = histogram.getValueAtPercentile(50);
+            p90 = histogram.getValueAtPercentile(90);
+            p99 = histogram.getValueAtPercentile(99);
+            p999 = histogram.getValueAtPercentile(99.9);
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getMean() {
+            return mean;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        public long getP50() {
+            return p50;
+        }
+
+        public long getP90() {
+            return p90;
+        }
+
+        public long getP99() {
+            return p99;
+        }
+
+        public long getP999() {
+            return p999;
+        }
+    }
+
+    //
+
+    public static class MethodMetrics {
+        private final String               resourceClass;
+        private final String               method;
+        private final String               httpMethod;
+        private final String               path;
+        private final long                 requests;
+        private final Map<String, Long>    statuses;
+        private final Map<String, Latency> latency;
+
+        public MethodMetrics(String resourceClass, String method, String httpMethod, String path, ResourceMethodMetrics metrics) {
+            this.resourceClass = resourceClass;
+            this.method = method;
+            this.httpMethod = httpMethod;
+            this.path = path;
+            requests = metrics.getRequestCount();
+            statuses = new LinkedHashMap<>();
+            for (int statusClass = 1; statusClass <= 5; statusClass++) {
+                statuses.put(statusClass + "xx", metrics.getStatusClassCount(statusClass));
+            }
+            latency = new LinkedHashMap<>();
+            latency.put("total", new Latency(metrics.getLatency()));
+            latency.put("matching", new Latency(metrics.getLatency(RequestPhase.MATCHING)));
+            latency.put("parameterResolution", new Latency(metrics.getLatency(RequestPhase.PARAMETER_RESOLUTION)));
+            latency.put("invocation", new Latency(metrics.getLatency(RequestPhase.INVOCATION)));
+            latency.put("entityWrite", new Latency(metrics.getLatency(RequestPhase.ENTITY_WRITE)));
+        }
+
+        public String getResourceClass() {
+            return resourceClass;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public String getHttpMethod() {
+            return httpMethod;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public long getRequests() {
+            return requests;
+        }
+
+        public Map<String, Long> getStatuses() {
+            return statuses;
+        }
+
+        public Map<String, Latency> getLatency() {
+            return latency;
+        }
+    }
+
+    //
+
+    public static class MetricsList {
+        private final List<MethodMetrics> resourceMethods;
+        private final MethodMetrics       unmatchedRequests;
+
+        public MetricsList(List<MethodMetrics> resourceMethods, MethodMetrics unmatchedRequests) {
+            this.resourceMethods = resourceMethods;
+            this.unmatchedRequests = unmatchedRequests;
+        }
+
+        public List<MethodMetrics> getResourceMethods() {
+            return resourceMethods;
+        }
+
+        public MethodMetrics getUnmatchedRequests() {
+            return unmatchedRequests;
+        }
+    }
+
+    //
+
+    public static class AsynchronousJobsMetrics {
+        private final String  executor;
+        private final int     queued;
+        private final int     running;
+        private final long    completed;
+        private final long    rejected;
+        private final Latency queueTime;
+        private final Latency runTime;
+
+        public AsynchronousJobsMetrics(AsynchronousJobExecutor jobExecutor) {
+            executor = jobExecutor.getMode().getValue();
+            queued = jobExecutor.getQueuedJobs();
+            running = jobExecutor.getRunningJobs();
+            completed = jobExecutor.getCompletedJobs();
+            rejected = jobExecutor.getRejectedJobs();
+            queueTime = new Latency(jobExecutor.getQueueTime());
+            runTime = new Latency(jobExecutor.getRunTime());
+        }
+
+        public String getExecutor() {
+            return executor;
+        }
+
+        public int getQueued() {
+            return queued;
+        }
+
+        public int getRunning() {
+            return running;
+        }
+
+        public long getCompleted() {
+            return completed;
+        }
+
+        public long getRejected() {
+            return rejected;
+        }
+
+        public Latency getQueueTime() {
+            return queueTime;
+        }
+
+        public Latency getRunTime() {
+            return runTime;
+        }
+    }
+
+    //
+
+    public static class HeaderCacheMetrics {
+        private final long   hits;
+        private final long   misses;
+        private final double hitRate;
+
+        public HeaderCacheMetrics(CacheStats stats) {
+            hits = stats.hitCount();
+            misses = stats.missCount();
+            hitRate = stats.hitRate();
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public double getHitRate() {
+            return hitRate;
+        }
+    }
+
+    //
+
+    @Context
+    private Providers providers;
+
+    @GET
+    @Produces({MediaType.APPLICATION_JSON})
+    public MetricsList metrics() {
+        ResourceMetricsRegistry registry = getMetricsRegistry();
+        List<MethodMetrics> resourceMethods = new ArrayList<>();
+        for (Map.Entry<ResourceMethodDescriptor, ResourceMethodMetrics> e : registry.getAllMetrics().entrySet()) {
+            ResourceMethodDescriptor resourceMethod = e.getKey();
+            resourceMethods.add(new MethodMetrics(resourceMethod.getParentResource().getObjectClass().getName(),
+                                                  resourceMethod.getMethod().getName(),
+                                                  resourceMethod.getHttpMethod(),
+                                                  getPath(resourceMethod),
+                                                  e.getValue()));
+        }
+        return new MetricsList(resourceMethods, new MethodMetrics(null, null, null, null, registry.getUnmatchedRequestMetrics()));
+    }
+
+    /**
+     * Metrics of executor of asynchronous jobs. They are collected even if metrics of resource methods are disabled, but
+     * only if {@link DefaultAsynchronousJobPool} is used.
+     */
+    @GET
+    @Path("async")
+    @Produces({MediaType.APPLICATION_JSON})
+    public AsynchronousJobsMetrics asynchronousJobsMetrics() {
+        if (providers != null) {
+            ContextResolver<AsynchronousJobPool> poolResolver = providers.getContextResolver(AsynchronousJobPool.class, null);
+            AsynchronousJobPool pool = poolResolver == null ? null : poolResolver.getContext(null);
+            if (pool instanceof DefaultAsynchronousJobPool) {
+                return new AsynchronousJobsMetrics(((DefaultAsynchronousJobPool)pool).getExecutor());
+            }
+        }
+        throw new WebApplicationException(Response.status(Response.Status.NOT_FOUND)
+                                                  .entity("Asynchronous jobs metrics are not available. ")
+                                                  .type(MediaType.TEXT_PLAIN)
+                                                  .build());
+    }
+
+    /** Hits and misses of caches of parsed headers. They are collected even if metrics of resource methods are disabled. */
+    @GET
+    @Path("headers")
+    @Produces({MediaType.APPLICATION_JSON})
+    public Map<String, HeaderCacheMetrics> headerCachesMetrics() {
+        Map<String, HeaderCacheMetrics> metrics = new LinkedHashMap<>();
+        metrics.put(HttpHeaders.ACCEPT, new HeaderCacheMetrics(HeaderHelper.getAcceptMediaTypeCacheStats()));
+        metrics.put(HttpHeaders.ACCEPT_LANGUAGE, new HeaderCacheMetrics(HeaderHelper.getAcceptLanguageCacheStats()));
+        RuntimeDelegate.HeaderDelegate<MediaType> mediaTypeDelegate = RuntimeDelegate.getInstance().createHeaderDelegate(MediaType.class);
+        if (mediaTypeDelegate instanceof MediaTypeHeaderDelegate) {
+            metrics.put(HttpHeaders.CONTENT_TYPE, new HeaderCacheMetrics(((MediaTypeHeaderDelegate)mediaTypeDelegate).getCacheStats()));
+        }
+        return metrics;
+    }
+
+    private String getPath(ResourceMethodDescriptor resourceMethod) {
+        ResourceDescriptor resource = resourceMethod.getParentResource();
+        StringBuilder path = new StringBuilder();
+        if (resource.getPathValue() != null) {
+            appendPathSegment(path, resource.getPathValue().getPath());
+        }
+        if (resourceMethod instanceof SubResourceMethodDescriptor) {
+            appendPathSegment(path, ((SubResourceMethodDescriptor)resourceMethod).getPathValue().getPath());
+        }
+        return path.toString();
+    }
+
+    private void appendPathSegment(StringBuilder path, String segment) {
+        if (!segment.startsWith("/") && (path.length() == 0 || path.charAt(path.length() - 1) != '/')) {
+            path.append('/');
+        }
+        path.append(segment);
+    }
+
+    private ResourceMetricsRegistry getMetricsRegistry() {
+        if (providers != null) {
+            ContextResolver<ResourceMetricsRegistry> metricsResolver = providers.getContextResolver(ResourceMetricsRegistry.class, null);
+            if (metricsResolver != null) {
+                return metricsResolver.getContext(null);
+            }
+        }
+        throw new WebApplicationException(Response.status(Response.Status.NOT_FOUND)
+                                                  .entity("Metrics are disabled. ")
+                                                  .type(MediaType.TEXT_PLAIN)
+                                                  .build());
+    }
+}
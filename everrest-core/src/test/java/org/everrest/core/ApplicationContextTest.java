@@ -204,6 +204,21 @@ public class ApplicationContextTest {
                    methodInvoker instanceof DefaultMethodInvoker);
     }
 
+    @Test
+    public void reusesMethodInvokerForAllRequests() {
+        when(request.getRequestUri()).thenReturn(URI.create("http://localhost:8080/a/b"));
+        when(request.getRequestHeaders()).thenReturn(new MultivaluedHashMap<>());
+        when(request.getMethod()).thenReturn("GET");
+        ApplicationContext otherApplicationContext = anApplicationContext()
+                .withRequest(request)
+                .withResponse(response)
+                .withProviders(providers)
+                .build();
+
+        assertSame(applicationContext.getMethodInvoker(mock(GenericResourceMethod.class)),
+                   otherApplicationContext.getMethodInvoker(mock(GenericResourceMethod.class)));
+    }
+
     @Test
     public void getsDecoratedMethodInvoker() {
         MethodInvokerDecoratorFactory methodInvokerDecoratorFactory = mock(MethodInvokerDecoratorFactory.class);
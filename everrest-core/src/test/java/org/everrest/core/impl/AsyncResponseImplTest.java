@@ -0,0 +1,258 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl;
+
+import org.everrest.core.ContainerResponseWriter;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.ws.rs.container.CompletionCallback;
+import javax.ws.rs.container.ConnectionCallback;
+import javax.ws.rs.core.Response;
+import java.util.concurrent.CountDownLatch;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AsyncResponseImplTest {
+    private ContainerResponseWriter containerResponseWriter;
+    private ApplicationContext      applicationContext;
+    private AsyncResponseImpl       asyncResponse;
+    private Object[]                processedResult;
+
+    @Before
+    public void setUp() throws Exception {
+        containerResponseWriter = mock(ContainerResponseWriter.class);
+        doAnswer(invocation -> {
+            new Thread((Runnable)invocation.getArguments()[0]).start();
+            return null;
+        }).when(containerResponseWriter).runAsync(any(Runnable.class));
+        ContainerResponse containerResponse = mock(ContainerResponse.class);
+        when(containerResponse.getContainerResponseWriter()).thenReturn(containerResponseWriter);
+        applicationContext = mock(ApplicationContext.class);
+        when(applicationContext.getContainerResponse()).thenReturn(containerResponse);
+
+        asyncResponse = new AsyncResponseImpl(applicationContext);
+        processedResult = new Object[1];
+        asyncResponse.setResumeAction(() -> processedResult[0] = asyncResponse.getResult());
+    }
+
+    @Test
+    public void processesResponseByResumingThreadWhenContainerSupportsSuspending() throws Exception {
+        when(containerResponseWriter.suspend()).thenReturn(true);
+        asyncResponse.suspend();
+
+        assertTrue(asyncResponse.isSuspended());
+        assertNull(processedResult[0]);
+
+        assertTrue(asyncResponse.resume("hello"));
+
+        assertEquals("hello", processedResult[0]);
+        assertFalse(asyncResponse.isSuspended());
+        assertTrue(asyncResponse.isDone());
+        verify(containerResponseWriter).complete(null);
+    }
+
+    @Test
+    public void processesResponseImmediatelyWhenItIsResumedBeforeSuspending() throws Exception {
+        asyncResponse.resume("hello");
+
+        asyncResponse.suspend();
+
+        assertEquals("hello", processedResult[0]);
+        verify(containerResponseWriter, never()).suspend();
+    }
+
+    @Test
+    public void waitsForResumeWhenContainerDoesNotSupportSuspending() throws Exception {
+        new Thread(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException ignored) {
+            }
+            asyncResponse.resume("hello");
+        }).start();
+
+        asyncResponse.suspend();
+
+        assertEquals("hello", processedResult[0]);
+        verify(containerResponseWriter, never()).complete(any(Throwable.class));
+    }
+
+    @Test
+    public void doesNotResumeResponseTwice() throws Exception {
+        assertTrue(asyncResponse.resume("hello"));
+        assertFalse(asyncResponse.resume("bye"));
+        assertFalse(asyncResponse.cancel());
+        assertFalse(asyncResponse.setTimeout(1, SECONDS));
+
+        asyncResponse.suspend();
+
+        assertEquals("hello", processedResult[0]);
+    }
+
+    @Test
+    public void cancelsResponseWithServiceUnavailableStatus() throws Exception {
+        assertTrue(asyncResponse.cancel(120));
+        assertTrue(asyncResponse.cancel());
+        assertTrue(asyncResponse.isCancelled());
+
+        asyncResponse.suspend();
+
+        Response response = (Response)processedResult[0];
+        assertEquals(503, response.getStatus());
+        assertEquals("120", response.getHeaderString("Retry-After"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void rethrowsExceptionThatResponseIsResumedWithWhenContainerDoesNotSupportSuspending() throws Exception {
+        asyncResponse.resume(new IllegalStateException());
+
+        asyncResponse.suspend();
+    }
+
+    @Test
+    public void passesExceptionThatResponseIsResumedWithToContainerWhenResponseIsSuspended() throws Exception {
+        when(containerResponseWriter.suspend()).thenReturn(true);
+        IllegalStateException exception = new IllegalStateException();
+        asyncResponse.suspend();
+
+        asyncResponse.resume(exception);
+
+        verify(containerResponseWriter).complete(exception);
+    }
+
+    @Test
+    public void resumesResponseWithServiceUnavailableStatusWhenTimeoutExpires() throws Exception {
+        when(containerResponseWriter.suspend()).thenReturn(true);
+        CountDownLatch completed = new CountDownLatch(1);
+        asyncResponse.register((CompletionCallback)throwable -> completed.countDown());
+        asyncResponse.setTimeout(50, MILLISECONDS);
+        asyncResponse.suspend();
+
+        assertTrue(completed.await(5, SECONDS));
+        assertEquals(503, ((Response)processedResult[0]).getStatus());
+    }
+
+    @Test
+    public void invokesTimeoutHandlerWhenTimeoutExpires() throws Exception {
+        when(containerResponseWriter.suspend()).thenReturn(true);
+        CountDownLatch completed = new CountDownLatch(1);
+        asyncResponse.register((CompletionCallback)throwable -> completed.countDown());
+        asyncResponse.setTimeoutHandler(response -> response.resume("timeout"));
+        asyncResponse.setTimeout(50, MILLISECONDS);
+        asyncResponse.suspend();
+
+        assertTrue(completed.await(5, SECONDS));
+        assertEquals("timeout", processedResult[0]);
+    }
+
+    @Test
+    public void processesTimedOutResponseWithThreadOfContainer() throws Exception {
+        when(containerResponseWriter.suspend()).thenReturn(true);
+        CountDownLatch completed = new CountDownLatch(1);
+        asyncResponse.register((CompletionCallback)throwable -> completed.countDown());
+        asyncResponse.setTimeout(50, MILLISECONDS);
+        asyncResponse.suspend();
+
+        assertTrue(completed.await(5, SECONDS));
+        verify(containerResponseWriter).runAsync(any(Runnable.class));
+    }
+
+    @Test
+    public void slowProcessingOfTimedOutResponseDoesNotDelayOtherTimeouts() throws Exception {
+        when(containerResponseWriter.suspend()).thenReturn(true);
+        CountDownLatch release = new CountDownLatch(1);
+        asyncResponse.setResumeAction(release::await);
+        asyncResponse.setTimeout(10, MILLISECONDS);
+        asyncResponse.suspend();
+
+        AsyncResponseImpl otherResponse = new AsyncResponseImpl(applicationContext);
+        CountDownLatch otherCompleted = new CountDownLatch(1);
+        otherResponse.setResumeAction(() -> {
+        });
+        otherResponse.register((CompletionCallback)throwable -> otherCompleted.countDown());
+        otherResponse.setTimeout(50, MILLISECONDS);
+        otherResponse.suspend();
+
+        try {
+            assertTrue(otherCompleted.await(5, SECONDS));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void timeoutHandlerMayExtendTimeout() throws Exception {
+        when(containerResponseWriter.suspend()).thenReturn(true);
+        CountDownLatch completed = new CountDownLatch(1);
+        int[] timeouts = new int[1];
+        asyncResponse.register((CompletionCallback)throwable -> completed.countDown());
+        asyncResponse.setTimeoutHandler(response -> {
+            if (++timeouts[0] == 1) {
+                response.setTimeout(50, MILLISECONDS);
+            } else {
+                response.resume("timeout " + timeouts[0]);
+            }
+        });
+        asyncResponse.setTimeout(50, MILLISECONDS);
+        asyncResponse.suspend();
+
+        assertTrue(completed.await(5, SECONDS));
+        assertEquals("timeout 2", processedResult[0]);
+    }
+
+    @Test
+    public void registersOnlyCompletionCallbacks() {
+        CompletionCallback completionCallback = mock(CompletionCallback.class);
+        ConnectionCallback connectionCallback = mock(ConnectionCallback.class);
+
+        assertEquals(singletonList(CompletionCallback.class), asyncResponse.register(completionCallback));
+        assertEquals(emptyList(), asyncResponse.register(connectionCallback));
+    }
+
+    @Test
+    public void notifiesCompletionCallbacksWhenResponseIsProcessed() throws Exception {
+        CompletionCallback completionCallback = mock(CompletionCallback.class);
+        asyncResponse.register(completionCallback);
+
+        asyncResponse.resume("hello");
+        asyncResponse.suspend();
+
+        verify(completionCallback).onComplete(null);
+    }
+
+    @Test
+    public void resultIsExceptionThatResponseIsResumedWith() throws Exception {
+        IllegalStateException exception = new IllegalStateException();
+        asyncResponse.resume(exception);
+        try {
+            asyncResponse.getResult();
+        } catch (IllegalStateException e) {
+            assertSame(exception, e);
+            return;
+        }
+        throw new AssertionError("Exception expected");
+    }
+}
@@ -31,6 +31,7 @@ import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.ext.MessageBodyWriter;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.net.URI;
@@ -62,11 +63,15 @@ import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.isA;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.same;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -431,6 +436,48 @@ public class ContainerResponseTest {
         assertEquals(0, entityStream.size());
     }
 
+    @Test
+    public void addsDateHeaderWhenResponseIsWritten() throws Exception {
+        when(containerRequest.getMethod()).thenReturn(GET);
+        containerResponse.setResponse(mockResponse(200, new MultivaluedHashMap<>(), null));
+
+        long before = System.currentTimeMillis() / 1000 * 1000;
+        containerResponse.writeResponse();
+
+        Date date = containerResponse.getDate();
+        assertTrue(date.getTime() >= before && date.getTime() <= System.currentTimeMillis());
+    }
+
+    @Test
+    public void abortsResponseWriterWhenWritingOfResponseFails() throws Exception {
+        when(containerRequest.getMethod()).thenReturn(GET);
+        containerResponse.setResponse(mockResponse(200, new MultivaluedHashMap<>(), null));
+        IOException failure = new IOException("failed");
+        doThrow(failure).when(containerResponseWriter).writeHeaders(containerResponse);
+
+        try {
+            containerResponse.writeResponse();
+            fail("IOException expected");
+        } catch (IOException expected) {
+            assertSame(failure, expected);
+        }
+
+        verify(containerResponseWriter).abort();
+        verify(containerResponseWriter, never()).finish();
+    }
+
+    @Test
+    public void doesNotReplaceDateHeaderSetByResource() throws Exception {
+        when(containerRequest.getMethod()).thenReturn(GET);
+        MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+        headers.putSingle(DATE, "Sun, 06 Nov 1994 08:49:37 GMT");
+        containerResponse.setResponse(mockResponse(200, headers, null));
+
+        containerResponse.writeResponse();
+
+        assertEquals("Sun, 06 Nov 1994 08:49:37 GMT", containerResponse.getStringHeaders().getFirst(DATE));
+    }
+
     @Test
     public void writesResponseWhenResponseEntityIsNotNullRequestMethodIsHeadAndContentTypeIsSetExplicitly() throws Exception {
         when(containerRequest.getMethod()).thenReturn(HEAD);
@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl;
+
+import org.everrest.core.impl.ContentNegotiationCache.Decision;
+import org.everrest.core.resource.ResourceMethodDescriptor;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static javax.ws.rs.core.MediaType.TEXT_PLAIN_TYPE;
+import static javax.ws.rs.core.Response.Status.NOT_ACCEPTABLE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ContentNegotiationCacheTest {
+    private ContentNegotiationCache        cache;
+    private List<ResourceMethodDescriptor> resourceMethods;
+    private Supplier<Decision<ResourceMethodDescriptor>> negotiation;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        cache = new ContentNegotiationCache();
+        resourceMethods = newArrayList(mock(ResourceMethodDescriptor.class));
+        negotiation = mock(Supplier.class);
+        when(negotiation.get()).thenReturn(Decision.matched(resourceMethods, TEXT_PLAIN_TYPE, "text/plain"));
+    }
+
+    @Test
+    public void reusesResultOfContentNegotiationForTheSameHeaders() throws Exception {
+        Decision<ResourceMethodDescriptor> first = cache.get(resourceMethods, "text/plain", "text/plain", negotiation);
+        Decision<ResourceMethodDescriptor> second = cache.get(resourceMethods, "text/plain", "text/plain", negotiation);
+
+        assertSame(first, second);
+        verify(negotiation, times(1)).get();
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void ignoresParametersOfContentType() throws Exception {
+        for (int i = 0; i < ContentNegotiationCache.DEFAULT_MAX_SIZE * 2; i++) {
+            cache.get(resourceMethods, "multipart/form-data; boundary=----" + i, "text/plain", negotiation);
+        }
+
+        verify(negotiation, times(1)).get();
+        assertEquals(ContentNegotiationCache.DEFAULT_MAX_SIZE * 2 - 1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void doesNotEvictResultsWhenBoundaryIsDifferentForEachRequest() throws Exception {
+        Decision<ResourceMethodDescriptor> json = cache.get(resourceMethods, "application/json", "text/plain", negotiation);
+        for (int i = 0; i < ContentNegotiationCache.DEFAULT_MAX_SIZE * 2; i++) {
+            cache.get(resourceMethods, "multipart/form-data; boundary=----" + i, "text/plain", negotiation);
+        }
+
+        assertSame(json, cache.get(resourceMethods, "application/json", "text/plain", negotiation));
+        verify(negotiation, times(2)).get();
+    }
+
+    @Test
+    public void negotiatesContentAgainForDifferentHeaders() throws Exception {
+        cache.get(resourceMethods, "text/plain", "text/plain", negotiation);
+        cache.get(resourceMethods, "text/plain", "text/*", negotiation);
+        cache.get(resourceMethods, null, "text/plain", negotiation);
+
+        verify(negotiation, times(3)).get();
+        assertEquals(0, cache.getHitCount());
+        assertEquals(3, cache.getMissCount());
+    }
+
+    @Test
+    public void keepsResultsSeparatelyForEachSetOfResourceMethods() throws Exception {
+        List<ResourceMethodDescriptor> otherResourceMethods = newArrayList(resourceMethods);
+
+        cache.get(resourceMethods, "text/plain", "text/plain", negotiation);
+        cache.get(otherResourceMethods, "text/plain", "text/plain", negotiation);
+
+        verify(negotiation, times(2)).get();
+    }
+
+    @Test
+    public void negotiatesContentAgainAfterInvalidation() throws Exception {
+        cache.get(resourceMethods, "text/plain", "text/plain", negotiation);
+        cache.invalidateAll();
+        cache.get(resourceMethods, "text/plain", "text/plain", negotiation);
+
+        verify(negotiation, times(2)).get();
+    }
+
+    @Test
+    public void returnsResponseMediaTypeOnlyForTheSameAcceptHeader() throws Exception {
+        Decision<ResourceMethodDescriptor> decision = cache.get(resourceMethods, "text/plain", "text/plain", negotiation);
+
+        assertTrue(decision.isMatched());
+        assertEquals(TEXT_PLAIN_TYPE, decision.getResponseMediaType("text/plain"));
+        assertNull(decision.getResponseMediaType("text/xml"));
+    }
+
+    @Test
+    public void failedDecisionHasNoCandidates() throws Exception {
+        Decision<ResourceMethodDescriptor> decision = Decision.failed(NOT_ACCEPTABLE);
+
+        assertFalse(decision.isMatched());
+        assertEquals(NOT_ACCEPTABLE, decision.getStatus());
+        assertTrue(decision.getCandidates().isEmpty());
+    }
+}
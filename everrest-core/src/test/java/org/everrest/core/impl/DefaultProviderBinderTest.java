@@ -22,6 +22,7 @@ import org.everrest.core.impl.provider.ByteEntityProvider;
 import org.everrest.core.impl.provider.DOMSourceEntityProvider;
 import org.everrest.core.impl.provider.DefaultExceptionMapper;
 import org.everrest.core.impl.provider.StringEntityProvider;
+import org.everrest.core.resource.ResourceMethodDescriptor;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
@@ -73,21 +74,32 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Predicate;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Sets.newHashSet;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static javax.ws.rs.core.MediaType.TEXT_PLAIN_TYPE;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -1305,6 +1317,55 @@ public class DefaultProviderBinderTest {
         assertTrue(converter instanceof ParamConverterImpl);
     }
 
+    @Test
+    public void reusesParamConverterWhenAllParamConverterProvidersAreSingletons() {
+        providers.register(new ParamConverterProviderImpl());
+
+        assertSame(providers.getConverter(String.class, String.class, null), providers.getConverter(String.class, String.class, null));
+    }
+
+    @Test
+    public void reusesEmbeddedParamConverter() {
+        assertSame(providers.getConverter(Integer.class, Integer.class, null), providers.getConverter(Integer.class, Integer.class, null));
+    }
+
+    @Test
+    public void doesNotReuseParamConverterWhenAnyParamConverterProviderIsPerRequest() {
+        ApplicationContext.setCurrent(context);
+        providers.register(ParamConverterProviderImpl.class);
+
+        assertNotSame(providers.getConverter(String.class, String.class, null), providers.getConverter(String.class, String.class, null));
+    }
+
+    @Test
+    public void doesNotKeepParamConverterResolvedConcurrentlyWithRegistration() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int i = 0; i < 100; i++) {
+                DefaultProviderBinder binder = new DefaultProviderBinder(RuntimeType.SERVER, configurationProperties);
+                AtomicBoolean registered = new AtomicBoolean();
+                List<Future<?>> lookups = new ArrayList<>();
+                for (int j = 0; j < 4; j++) {
+                    lookups.add(executor.submit(() -> {
+                        while (!registered.get()) {
+                            binder.getConverter(String.class, String.class, null);
+                        }
+                    }));
+                }
+                binder.register(new ParamConverterProviderImpl());
+                registered.set(true);
+                for (Future<?> lookup : lookups) {
+                    lookup.get(10, SECONDS);
+                }
+
+                ParamConverter converter = binder.getConverter(String.class, String.class, null);
+                assertTrue(converter instanceof ParamConverterImpl);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     public void registersFeatureClass() {
         providers.register(FeatureImpl.class);
@@ -1385,6 +1446,72 @@ public class DefaultProviderBinderTest {
         assertSame(dynamicFeature, dynamicFeatures.get(0));
     }
 
+    @Test
+    public void reusesInvocationPlanOfResourceMethodWhileProvidersAreNotChanged() {
+        ResourceMethodDescriptor resourceMethod = mockResourceMethod();
+        DynamicFeature dynamicFeature = mock(DynamicFeature.class);
+        providers.register(dynamicFeature);
+        providers.register(new ContainerRequestFilterImplOne());
+
+        ResourceMethodInvocationPlan plan = invocationPlanOf(resourceMethod);
+
+        assertSame(plan, invocationPlanOf(resourceMethod));
+        assertFalse(plan.hasDynamicFeatureContributions());
+        assertEquals(1, plan.getContainerRequestFilters(context).size());
+        verify(dynamicFeature, times(1)).configure(eq(resourceMethod.getResourceInfo()), any(FeatureContext.class));
+    }
+
+    @Test
+    public void createsNewInvocationPlanOfResourceMethodWhenProvidersAreChanged() {
+        ResourceMethodDescriptor resourceMethod = mockResourceMethod();
+        providers.register(new ContainerRequestFilterImplOne());
+        ResourceMethodInvocationPlan plan = invocationPlanOf(resourceMethod);
+
+        providers.register(new ContainerResponseFilterImplOne());
+        ResourceMethodInvocationPlan newPlan = invocationPlanOf(resourceMethod);
+
+        assertNotSame(plan, newPlan);
+        assertTrue(plan.getContainerResponseFilters(context).isEmpty());
+        assertEquals(1, newPlan.getContainerResponseFilters(context).size());
+    }
+
+    @Test
+    public void invocationPlanContainsOnlyFiltersBoundToResourceMethod() {
+        ResourceMethodDescriptor resourceMethod = mockResourceMethod();
+        providers.register(new ContainerRequestFilterImplOne());
+        providers.register(new ContainerRequestFilterImplFive());
+
+        List<ContainerRequestFilter> filters = invocationPlanOf(resourceMethod).getContainerRequestFilters(context);
+
+        assertEquals(1, filters.size());
+        assertTrue(filters.get(0) instanceof ContainerRequestFilterImplOne);
+    }
+
+    @Test
+    public void invocationPlanContainsProvidersRegisteredByDynamicFeatures() {
+        ResourceMethodDescriptor resourceMethod = mockResourceMethod();
+        ContainerRequestFilter filter = new ContainerRequestFilterImplOne();
+        providers.register((DynamicFeature)(resourceInfo, featureContext) -> featureContext.register(filter));
+
+        ResourceMethodInvocationPlan plan = invocationPlanOf(resourceMethod);
+
+        assertTrue(plan.hasDynamicFeatureContributions());
+        assertTrue(plan.getProviders().isRegistered(filter));
+        assertFalse(providers.isRegistered(ContainerRequestFilterImplOne.class));
+        assertEquals(newArrayList(filter), plan.getContainerRequestFilters(context));
+    }
+
+    private ResourceMethodInvocationPlan invocationPlanOf(ResourceMethodDescriptor resourceMethod) {
+        return ((DefaultProviderBinder)providers).getInvocationPlan(resourceMethod);
+    }
+
+    private ResourceMethodDescriptor mockResourceMethod() {
+        ResourceMethodDescriptor resourceMethod = mock(ResourceMethodDescriptor.class);
+        when(resourceMethod.getNameBindingAnnotations()).thenReturn(new Annotation[0]);
+        when(resourceMethod.getResourceInfo()).thenReturn(mock(ResourceInfo.class));
+        return resourceMethod;
+    }
+
     @Test
     public void findsMessageBodyReaderThatSupportsTypeNearestToDeserializedTypeInClassesHierarchy() {
         EntityReader entityReader = new EntityReader();
@@ -1425,6 +1552,121 @@ public class DefaultProviderBinderTest {
         assertSame(extendedExtendedEntityWriter, providers.getMessageBodyWriter(ExtendedExtendedEntity.class, null, null, TEXT_PLAIN_TYPE));
     }
     
+    @Test
+    public void reusesResolvedMessageBodyReaderWhenAllReadersAreSingletons() {
+        CountingEntityReader entityReader = new CountingEntityReader();
+        providers.register(entityReader);
+
+        assertSame(entityReader, providers.getMessageBodyReader(Entity.class, null, new Annotation[0], TEXT_PLAIN_TYPE));
+        assertSame(entityReader, providers.getMessageBodyReader(Entity.class, null, new Annotation[0], TEXT_PLAIN_TYPE));
+
+        assertEquals(1, entityReader.readableChecks);
+    }
+
+    @Test
+    public void resolvesMessageBodyReaderAgainWhenPerRequestReaderIsRegistered() {
+        ApplicationContext.setCurrent(context);
+        CountingEntityReader entityReader = new CountingEntityReader();
+        providers.register(entityReader);
+        providers.register(PerRequestEntityReader.class);
+
+        providers.getMessageBodyReader(Entity.class, null, new Annotation[0], TEXT_PLAIN_TYPE);
+        providers.getMessageBodyReader(Entity.class, null, new Annotation[0], TEXT_PLAIN_TYPE);
+
+        assertEquals(2, entityReader.readableChecks);
+    }
+
+    @Test
+    public void reusesResolvedMessageBodyWriterWhenAllWritersAreSingletons() {
+        CountingEntityWriter entityWriter = new CountingEntityWriter();
+        providers.register(entityWriter);
+
+        assertSame(entityWriter, providers.getMessageBodyWriter(Entity.class, null, new Annotation[0], TEXT_PLAIN_TYPE));
+        assertSame(entityWriter, providers.getMessageBodyWriter(Entity.class, null, new Annotation[0], TEXT_PLAIN_TYPE));
+
+        assertEquals(1, entityWriter.writeableChecks);
+    }
+
+    @Test
+    public void remembersThatMessageBodyWriterIsNotFound() {
+        CountingEntityWriter entityWriter = new CountingEntityWriter();
+        providers.register(entityWriter);
+
+        assertNull(providers.getMessageBodyWriter(String.class, null, new Annotation[0], TEXT_PLAIN_TYPE));
+        assertNull(providers.getMessageBodyWriter(String.class, null, new Annotation[0], TEXT_PLAIN_TYPE));
+
+        assertEquals(1, entityWriter.writeableChecks);
+    }
+
+    @Test
+    public void resolvesMessageBodyWriterSeparatelyForDifferentMediaTypes() {
+        CountingEntityWriter entityWriter = new CountingEntityWriter();
+        providers.register(entityWriter);
+
+        providers.getMessageBodyWriter(Entity.class, null, new Annotation[0], TEXT_PLAIN_TYPE);
+        providers.getMessageBodyWriter(Entity.class, null, new Annotation[0], MediaType.TEXT_HTML_TYPE);
+
+        assertEquals(2, entityWriter.writeableChecks);
+    }
+
+    @Test
+    public void doesNotKeepMessageBodyReadersAndWritersResolvedConcurrentlyWithRegistration() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int i = 0; i < 100; i++) {
+                DefaultProviderBinder binder = new DefaultProviderBinder(RuntimeType.SERVER, configurationProperties);
+                binder.register(new EntityReader());
+                binder.register(new EntityWriter());
+                AtomicBoolean registered = new AtomicBoolean();
+                List<Future<?>> lookups = new ArrayList<>();
+                for (int j = 0; j < 4; j++) {
+                    lookups.add(executor.submit(() -> {
+                        while (!registered.get()) {
+                            binder.getMessageBodyReader(ExtendedEntity.class, null, null, TEXT_PLAIN_TYPE);
+                            binder.getMessageBodyWriter(ExtendedEntity.class, null, null, TEXT_PLAIN_TYPE);
+                        }
+                    }));
+                }
+                ExtendedEntityReader extendedEntityReader = new ExtendedEntityReader();
+                ExtendedEntityWriter extendedEntityWriter = new ExtendedEntityWriter();
+                binder.register(extendedEntityReader);
+                binder.register(extendedEntityWriter);
+                registered.set(true);
+                for (Future<?> lookup : lookups) {
+                    lookup.get(10, SECONDS);
+                }
+
+                assertSame(extendedEntityReader, binder.getMessageBodyReader(ExtendedEntity.class, null, null, TEXT_PLAIN_TYPE));
+                assertSame(extendedEntityWriter, binder.getMessageBodyWriter(ExtendedEntity.class, null, null, TEXT_PLAIN_TYPE));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    static class CountingEntityReader extends EntityReader {
+        int readableChecks;
+
+        @Override
+        public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+            readableChecks++;
+            return super.isReadable(type, genericType, annotations, mediaType);
+        }
+    }
+
+    public static class PerRequestEntityReader extends EntityReader {
+    }
+
+    static class CountingEntityWriter extends EntityWriter {
+        int writeableChecks;
+
+        @Override
+        public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+            writeableChecks++;
+            return super.isWriteable(type, genericType, annotations, mediaType);
+        }
+    }
+
     static class Entity {
     }
 
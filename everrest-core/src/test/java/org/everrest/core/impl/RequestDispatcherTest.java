@@ -19,11 +19,13 @@ import org.everrest.core.impl.header.AcceptMediaType;
 import org.everrest.core.impl.uri.PathSegmentImpl;
 import org.everrest.core.impl.uri.UriBuilderImpl;
 import org.everrest.core.method.MethodInvoker;
+import org.everrest.core.provider.ProviderDescriptor;
 import org.everrest.core.resource.GenericResourceMethod;
 import org.everrest.core.resource.ResourceDescriptor;
 import org.everrest.core.resource.ResourceMethodDescriptor;
 import org.everrest.core.resource.SubResourceLocatorDescriptor;
 import org.everrest.core.resource.SubResourceMethodDescriptor;
+import org.everrest.core.uri.UriMatch;
 import org.everrest.core.uri.UriPattern;
 import org.everrest.core.util.ResourceMethodComparator;
 import org.everrest.core.util.UriPatternComparator;
@@ -78,6 +80,8 @@ import static javax.ws.rs.core.Response.Status.OK;
 import static javax.ws.rs.core.Response.Status.UNSUPPORTED_MEDIA_TYPE;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyList;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
@@ -86,6 +90,7 @@ import static org.mockito.Matchers.same;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -93,13 +98,13 @@ import static org.mockito.Mockito.when;
 public class RequestDispatcherTest {
     @Rule public ExpectedException thrown = ExpectedException.none();
 
-    private ResourceBinder     resources;
-    private ContainerRequest   request;
-    private ContainerResponse  response;
-    private ApplicationContext applicationContext;
-    private MethodInvoker      methodInvoker;
-    private List<String>       pathParameterValues;
-    private ProviderBinder     providers;
+    private ResourceBinder        resources;
+    private ContainerRequest      request;
+    private ContainerResponse     response;
+    private ApplicationContext    applicationContext;
+    private MethodInvoker         methodInvoker;
+    private List<String>          pathParameterValues;
+    private DefaultProviderBinder providers;
 
     private RequestDispatcher requestDispatcher;
 
@@ -685,6 +690,60 @@ public class RequestDispatcherTest {
         assertSame(configuration, featureContext.getConfigurationProperties());
     }
 
+    @Test
+    public void appliesFiltersFromInvocationPlanOfResourceMethod() throws Exception {
+        ContainerRequestFilter requestFilter = mock(ContainerRequestFilter.class);
+        ContainerResponseFilter responseFilter = mock(ContainerResponseFilter.class);
+        DynamicFeature dynamicFeature = mock(DynamicFeature.class);
+        when(providers.getDynamicFeatures()).thenReturn(newArrayList(dynamicFeature));
+
+        Resource resource = new Resource();
+        ResourceMethodDescriptor resourceMethod = mockResourceMethod(Resource.class.getMethod("echo", String.class), "POST", newArrayList(WILDCARD_TYPE), newArrayList(WILDCARD_TYPE));
+        ResourceMethodInvocationPlan plan = new ResourceMethodInvocationPlan(0, null,
+                                                                             newArrayList(mockProviderFactory(requestFilter)),
+                                                                             newArrayList(mockProviderFactory(responseFilter)));
+        when(providers.getInvocationPlan(resourceMethod)).thenReturn(plan);
+        ObjectFactory resourceFactory = mockResourceFactory(resource, newArrayList(resourceMethod), newArrayList(), newArrayList());
+        matchRequestPath();
+        when(applicationContext.getPathSegments(false)).thenReturn(createPathSegments("a", "b"));
+        when(resources.getMatchedResource(eq("/a/b"), anyList())).thenReturn(resourceFactory);
+
+        requestDispatcher.dispatch(request, response);
+
+        verify(requestFilter).filter(request);
+        verify(responseFilter).filter(request, response);
+        verify(dynamicFeature, never()).configure(any(ResourceInfo.class), any(FeatureContext.class));
+        verify(applicationContext, never()).setProviders(any(ProviderBinder.class));
+    }
+
+    @Test
+    public void usesProvidersFromInvocationPlanWhenDynamicFeaturesRegisterProvidersForResourceMethod() throws Exception {
+        ProviderBinder providersWithDynamicFeatures = mock(ProviderBinder.class);
+
+        Resource resource = new Resource();
+        ResourceMethodDescriptor resourceMethod = mockResourceMethod(Resource.class.getMethod("echo", String.class), "POST", newArrayList(WILDCARD_TYPE), newArrayList(WILDCARD_TYPE));
+        when(providers.getInvocationPlan(resourceMethod)).thenReturn(new ResourceMethodInvocationPlan(0, providersWithDynamicFeatures, newArrayList(), newArrayList()));
+        ObjectFactory resourceFactory = mockResourceFactory(resource, newArrayList(resourceMethod), newArrayList(), newArrayList());
+        matchRequestPath();
+        when(applicationContext.getPathSegments(false)).thenReturn(createPathSegments("a", "b"));
+        when(resources.getMatchedResource(eq("/a/b"), anyList())).thenReturn(resourceFactory);
+        when(applicationContext.getConfigurationProperties()).thenReturn(mock(ConfigurationProperties.class));
+
+        requestDispatcher.dispatch(request, response);
+
+        ArgumentCaptor<ProviderBinder> providersCaptor = ArgumentCaptor.forClass(ProviderBinder.class);
+        verify(applicationContext).setProviders(providersCaptor.capture());
+        providersCaptor.getValue().isRegistered(Resource.class);
+        verify(providersWithDynamicFeatures).isRegistered(Resource.class);
+    }
+
+    private ObjectFactory<ProviderDescriptor> mockProviderFactory(Object provider) {
+        @SuppressWarnings("unchecked")
+        ObjectFactory<ProviderDescriptor> providerFactory = mock(ObjectFactory.class);
+        when(providerFactory.getInstance(applicationContext)).thenReturn(provider);
+        return providerFactory;
+    }
+
     private List<PathSegment> createPathSegments(String... segments) {
         return Arrays.stream(segments).map(s -> PathSegmentImpl.fromString(s, false)).collect(toList());
     }
@@ -797,6 +856,17 @@ public class RequestDispatcherTest {
             }
             return matches;
         });
+        when(uriPattern.match(any(CharSequence.class), anyInt(), anyInt(), any(UriMatch.class))).thenAnswer(invocation -> {
+            CharSequence input = (CharSequence)invocation.getArguments()[0];
+            int start = (Integer)invocation.getArguments()[1];
+            int end = (Integer)invocation.getArguments()[2];
+            boolean matches = Pattern.compile(path).matcher(input.subSequence(start, end)).matches();
+            if (matches) {
+                // Literal pattern fills match with the only group, the tail of path, which is not captured.
+                new UriPattern("x").match("/x", 0, 2, (UriMatch)invocation.getArguments()[3]);
+            }
+            return matches;
+        });
         return uriPattern;
     }
 
@@ -138,6 +138,21 @@ public class ResourceBinderImplTest {
         assertEquals(EchoResource.class, resourceFactory.getObjectModel().getObjectClass());
     }
 
+    @Test
+    public void resourceWithLiteralPathTakesPrecedenceOverResourceWithTemplatePath() throws Exception {
+        resourceBinder.addResource("/{x}", EchoResource.class, new MultivaluedHashMap<>());
+        resourceBinder.addResource(EchoResourceWithSubResourceMethod.class, new MultivaluedHashMap<>());
+
+        List<String> parameterValues = newArrayList();
+        ObjectFactory<ResourceDescriptor> resourceFactory = resourceBinder.getMatchedResource("/a/b", parameterValues);
+        assertEquals(EchoResourceWithSubResourceMethod.class, resourceFactory.getObjectModel().getObjectClass());
+        assertEquals(newArrayList("/b"), parameterValues);
+
+        resourceFactory = resourceBinder.getMatchedResource("/c", parameterValues);
+        assertEquals(EchoResource.class, resourceFactory.getObjectModel().getObjectClass());
+        assertEquals(newArrayList("c", null), parameterValues);
+    }
+
     @Test
     public void returnsNullIfNoMatchedResources() throws Exception {
         resourceBinder.addResource(EchoResource.class, new MultivaluedHashMap<>());
@@ -36,6 +36,8 @@ public class ServerConfigurationPropertiesTest {
         assertEquals(100, serverConfiguration.getAsynchronousQueueSize());
         assertEquals(512, serverConfiguration.getAsynchronousCacheSize());
         assertEquals(60, serverConfiguration.getAsynchronousJobTimeout());
+        assertEquals(0, serverConfiguration.getAsynchronousUserQuota());
+        assertEquals("fixed", serverConfiguration.getAsynchronousExecutor());
         assertEquals(204800, serverConfiguration.getMaxBufferSize());
     }
 
@@ -59,6 +61,8 @@ public class ServerConfigurationPropertiesTest {
         serverConfiguration.setAsynchronousQueueSize(256);
         serverConfiguration.setAsynchronousCacheSize(100);
         serverConfiguration.setAsynchronousJobTimeout(10);
+        serverConfiguration.setAsynchronousUserQuota(5);
+        serverConfiguration.setAsynchronousExecutor("virtual");
         serverConfiguration.setMaxBufferSize(2048);
 
         assertFalse(serverConfiguration.isHttpMethodOverrideEnabled());
@@ -70,6 +74,8 @@ public class ServerConfigurationPropertiesTest {
         assertEquals(256, serverConfiguration.getAsynchronousQueueSize());
         assertEquals(100, serverConfiguration.getAsynchronousCacheSize());
         assertEquals(10, serverConfiguration.getAsynchronousJobTimeout());
+        assertEquals(5, serverConfiguration.getAsynchronousUserQuota());
+        assertEquals("virtual", serverConfiguration.getAsynchronousExecutor());
         assertEquals(2048, serverConfiguration.getMaxBufferSize());
     }
 }
\ No newline at end of file
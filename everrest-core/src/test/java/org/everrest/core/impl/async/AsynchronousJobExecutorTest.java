@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl.async;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AsynchronousJobExecutorTest {
+    private ExecutorService         executorService;
+    private AsynchronousJobExecutor executor;
+    private CountDownLatch          started;
+    private CountDownLatch          release;
+
+    @Before
+    public void setUp() throws Exception {
+        executorService = Executors.newSingleThreadExecutor();
+        executor = new AsynchronousJobExecutor(executorService, AsynchronousJobExecutor.Mode.WORK_STEALING, 2);
+        started = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        release.countDown();
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void countsQueuedAndRunningJobs() throws Exception {
+        executor.execute(blockingJob());
+        executor.execute(() -> {});
+        assertTrue(started.await(1, SECONDS));
+
+        assertEquals(1, executor.getRunningJobs());
+        assertEquals(1, executor.getQueuedJobs());
+    }
+
+    @Test
+    public void recordsTimeOfCompletedJobs() throws Exception {
+        executor.execute(blockingJob());
+        executor.execute(() -> {});
+        release.countDown();
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(1, SECONDS));
+
+        assertEquals(0, executor.getRunningJobs());
+        assertEquals(0, executor.getQueuedJobs());
+        assertEquals(2, executor.getCompletedJobs());
+        assertEquals(2, executor.getQueueTime().getCount());
+        assertEquals(2, executor.getRunTime().getCount());
+    }
+
+    @Test
+    public void rejectsJobsWhenTooManyJobsInProgress() throws Exception {
+        executor.execute(blockingJob());
+        executor.execute(() -> {});
+        try {
+            executor.execute(() -> {});
+            fail("RejectedExecutionException expected");
+        } catch (RejectedExecutionException e) {
+            assertEquals("Can't accept new asynchronous request. Too many asynchronous jobs in progress", e.getMessage());
+        }
+        assertEquals(1, executor.getRejectedJobs());
+    }
+
+    @Test
+    public void countsJobsRejectedByUnderlyingExecutor() throws Exception {
+        executorService.shutdown();
+        try {
+            executor.execute(() -> {});
+            fail("RejectedExecutionException expected");
+        } catch (RejectedExecutionException expected) {
+        }
+        assertEquals(1, executor.getRejectedJobs());
+        assertEquals(0, executor.getQueuedJobs());
+    }
+
+    @Test
+    public void parsesModeFromConfigurationValue() {
+        assertEquals(AsynchronousJobExecutor.Mode.FIXED, AsynchronousJobExecutor.Mode.fromValue("fixed"));
+        assertEquals(AsynchronousJobExecutor.Mode.WORK_STEALING, AsynchronousJobExecutor.Mode.fromValue("work-stealing"));
+        assertEquals(AsynchronousJobExecutor.Mode.VIRTUAL, AsynchronousJobExecutor.Mode.fromValue("Virtual"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void failsParseUnknownMode() {
+        AsynchronousJobExecutor.Mode.fromValue("cached");
+    }
+
+    private Runnable blockingJob() {
+        return () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+    }
+}
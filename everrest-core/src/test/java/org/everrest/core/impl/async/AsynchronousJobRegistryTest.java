@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl.async;
+
+import org.everrest.core.async.AsynchronousJob;
+import org.everrest.core.async.AsynchronousJobRejectedException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AsynchronousJobRegistryTest {
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void addsAndGetsJob() throws Exception {
+        AsynchronousJobRegistry registry = new AsynchronousJobRegistry(10, 0);
+        AsynchronousJob job = mockJob(1L, Long.MAX_VALUE);
+
+        registry.add(job, null);
+
+        assertSame(job, registry.get(1L));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    public void removesJob() throws Exception {
+        AsynchronousJobRegistry registry = new AsynchronousJobRegistry(10, 0);
+        AsynchronousJob job = mockJob(1L, Long.MAX_VALUE);
+        registry.add(job, null);
+
+        assertSame(job, registry.remove(1L));
+        assertNull(registry.get(1L));
+        assertNull(registry.remove(1L));
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    public void cancelsAndRemovesEldestJobsWhenMaxSizeIsExceeded() throws Exception {
+        AsynchronousJobRegistry registry = new AsynchronousJobRegistry(2, 0);
+        AsynchronousJob job1 = mockJob(1L, Long.MAX_VALUE);
+        AsynchronousJob job2 = mockJob(2L, Long.MAX_VALUE);
+        AsynchronousJob job3 = mockJob(3L, Long.MAX_VALUE);
+
+        registry.add(job1, null);
+        registry.add(job2, null);
+        registry.add(job3, null);
+
+        verify(job1).cancel();
+        verify(job2, never()).cancel();
+        assertEquals(newArrayList(job2, job3), newArrayList(registry.values()));
+        assertEquals(2, registry.size());
+    }
+
+    @Test
+    public void cancelsAndRemovesExpiredJobs() throws Exception {
+        AsynchronousJobRegistry registry = new AsynchronousJobRegistry(10, 0);
+        long now = System.currentTimeMillis();
+        AsynchronousJob expired = mockJob(1L, now + 1000);
+        AsynchronousJob actual = mockJob(2L, now + 3000);
+        registry.add(expired, null);
+        registry.add(actual, null);
+
+        assertEquals(1, registry.removeExpired(now + 2000));
+
+        verify(expired).cancel();
+        verify(actual, never()).cancel();
+        assertEquals(newArrayList(actual), newArrayList(registry.values()));
+    }
+
+    @Test
+    public void rejectsJobWhenOwnerHasTooManyJobs() throws Exception {
+        AsynchronousJobRegistry registry = new AsynchronousJobRegistry(10, 2);
+        registry.add(mockJob(1L, Long.MAX_VALUE), "andrew");
+        registry.add(mockJob(2L, Long.MAX_VALUE), "andrew");
+        registry.add(mockJob(3L, Long.MAX_VALUE), "john");
+        registry.add(mockJob(4L, Long.MAX_VALUE), null);
+        registry.add(mockJob(5L, Long.MAX_VALUE), null);
+        registry.add(mockJob(6L, Long.MAX_VALUE), null);
+
+        thrown.expect(AsynchronousJobRejectedException.class);
+        thrown.expectMessage("Too many asynchronous jobs of user andrew");
+        registry.add(mockJob(7L, Long.MAX_VALUE), "andrew");
+    }
+
+    @Test
+    public void releasesQuotaOfOwnerWhenJobIsRemovedOrEvicted() throws Exception {
+        AsynchronousJobRegistry registry = new AsynchronousJobRegistry(2, 2);
+        registry.add(mockJob(1L, Long.MAX_VALUE), "andrew");
+        registry.add(mockJob(2L, Long.MAX_VALUE), "andrew");
+
+        registry.remove(1L);
+        assertEquals(1, registry.size("andrew"));
+
+        registry.add(mockJob(3L, Long.MAX_VALUE), "john");
+        registry.add(mockJob(4L, Long.MAX_VALUE), "john");
+        assertEquals(0, registry.size("andrew"));
+        assertEquals(2, registry.size("john"));
+    }
+
+    @Test
+    public void iteratesOverJobsWhileTheyAreRemoved() throws Exception {
+        AsynchronousJobRegistry registry = new AsynchronousJobRegistry(10, 0);
+        registry.add(mockJob(1L, Long.MAX_VALUE), null);
+        registry.add(mockJob(2L, Long.MAX_VALUE), null);
+        registry.add(mockJob(3L, Long.MAX_VALUE), null);
+
+        int count = 0;
+        for (AsynchronousJob job : registry.values()) {
+            registry.remove(job.getJobId());
+            count++;
+        }
+
+        assertEquals(3, count);
+        assertEquals(0, registry.size());
+        assertFalse(registry.values().iterator().hasNext());
+    }
+
+    private AsynchronousJob mockJob(Long id, long expirationDate) {
+        AsynchronousJob job = mock(AsynchronousJob.class);
+        when(job.getJobId()).thenReturn(id);
+        when(job.getExpirationDate()).thenReturn(expirationDate);
+        return job;
+    }
+}
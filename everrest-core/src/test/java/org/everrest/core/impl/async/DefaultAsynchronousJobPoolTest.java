@@ -27,11 +27,15 @@ import org.junit.rules.ExpectedException;
 import org.mockito.ArgumentCaptor;
 import org.mockito.stubbing.Answer;
 
+import javax.ws.rs.core.SecurityContext;
 import java.net.URI;
+import java.security.Principal;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
 
+import static com.google.common.collect.Lists.newArrayList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
 import static org.mockito.Matchers.anyListOf;
@@ -52,6 +56,7 @@ public class DefaultAsynchronousJobPoolTest {
     private DefaultAsynchronousJobPool asynchronousJobPool;
     private Resource                   resource;
     private ResourceMethodDescriptor   methodDescriptor;
+    private AsynchronousFutureFactory  asynchronousFutureFactory;
 
     @Before
     public void setUp() throws Exception {
@@ -71,7 +76,7 @@ public class DefaultAsynchronousJobPoolTest {
         when(job.getExpirationDate()).thenReturn(System.currentTimeMillis() + 10000);
         doAnswer(sleep(500)).when(job).run();
 
-        final AsynchronousFutureFactory asynchronousFutureFactory = mock(AsynchronousFutureFactory.class);
+        asynchronousFutureFactory = mock(AsynchronousFutureFactory.class);
         when(asynchronousFutureFactory.createAsynchronousFuture(isA(Callable.class),
                                                                 anyLong(),
                                                                 isA(ResourceMethodDescriptor.class),
@@ -177,6 +182,99 @@ public class DefaultAsynchronousJobPoolTest {
         assertSame(job, asynchronousJobPool.getJob(job.getJobId()));
     }
 
+    @Test
+    public void failsAddNewJobIfUserHasTooManyJobs() throws Exception {
+        final ServerConfigurationProperties configuration = new ServerConfigurationProperties();
+        configuration.setAsynchronousUserQuota(1);
+        asynchronousJobPool.stop();
+        asynchronousJobPool = new DefaultAsynchronousJobPool(configuration);
+        asynchronousJobPool.setAsynchronousFutureFactory(asynchronousFutureFactory);
+        SecurityContext securityContext = mock(SecurityContext.class);
+        Principal principal = mock(Principal.class);
+        when(principal.getName()).thenReturn("andrew");
+        when(securityContext.getUserPrincipal()).thenReturn(principal);
+        when(applicationContext.getSecurityContext()).thenReturn(securityContext);
+
+        asynchronousJobPool.addJob(resource, methodDescriptor, new Object[]{});
+
+        thrown.expect(AsynchronousJobRejectedException.class);
+        thrown.expectMessage("Can't accept new asynchronous request. Too many asynchronous jobs of user andrew");
+        asynchronousJobPool.addJob(resource, methodDescriptor, new Object[]{});
+    }
+
+    @Test
+    public void forgetsUserWhenAllJobsOfUserAreRemoved() throws Exception {
+        final ServerConfigurationProperties configuration = new ServerConfigurationProperties();
+        configuration.setAsynchronousUserQuota(1);
+        asynchronousJobPool.stop();
+        asynchronousJobPool = new DefaultAsynchronousJobPool(configuration);
+        asynchronousJobPool.setAsynchronousFutureFactory(asynchronousFutureFactory);
+        SecurityContext securityContext = mock(SecurityContext.class);
+        Principal principal = mock(Principal.class);
+        when(principal.getName()).thenReturn("andrew");
+        when(securityContext.getUserPrincipal()).thenReturn(principal);
+        when(applicationContext.getSecurityContext()).thenReturn(securityContext);
+
+        for (int i = 0; i < 2; i++) {
+            AsynchronousFuture job = (AsynchronousFuture)asynchronousJobPool.addJob(resource, methodDescriptor, new Object[]{});
+            assertEquals(1, asynchronousJobPool.getJobRegistry().owners());
+            asynchronousJobPool.removeJob(job.getJobId());
+            assertEquals(0, asynchronousJobPool.getJobRegistry().owners());
+        }
+    }
+
+    @Test
+    public void iteratesOverAllJobs() throws Exception {
+        AsynchronousFuture job = (AsynchronousFuture)asynchronousJobPool.addJob(resource, methodDescriptor, new Object[]{});
+        assertEquals(newArrayList(job), newArrayList(asynchronousJobPool.getJobs()));
+        assertEquals(newArrayList(job), asynchronousJobPool.getAll());
+    }
+
+    @Test
+    public void failsAddNewJobIfTooManyJobsInProgressInWorkStealingMode() throws Exception {
+        final ServerConfigurationProperties configuration = new ServerConfigurationProperties();
+        configuration.setAsynchronousQueueSize(1);
+        configuration.setAsynchronousPoolSize(1);
+        configuration.setAsynchronousExecutor("work-stealing");
+        asynchronousJobPool.stop();
+        asynchronousJobPool = new DefaultAsynchronousJobPool(configuration);
+        asynchronousJobPool.setAsynchronousFutureFactory(asynchronousFutureFactory);
+        assertEquals(AsynchronousJobExecutor.Mode.WORK_STEALING, asynchronousJobPool.getExecutor().getMode());
+
+        asynchronousJobPool.addJob(resource, methodDescriptor, new Object[]{});
+        asynchronousJobPool.addJob(resource, methodDescriptor, new Object[]{});
+
+        thrown.expect(AsynchronousJobRejectedException.class);
+        thrown.expectMessage("Can't accept new asynchronous request. Too many asynchronous jobs in progress");
+        asynchronousJobPool.addJob(resource, methodDescriptor, new Object[]{});
+    }
+
+    @Test
+    public void usesVirtualThreadsIfJvmSupportsThem() throws Exception {
+        final ServerConfigurationProperties configuration = new ServerConfigurationProperties();
+        configuration.setAsynchronousExecutor("virtual");
+        asynchronousJobPool.stop();
+        asynchronousJobPool = new DefaultAsynchronousJobPool(configuration);
+
+        boolean virtualThreadsSupported = true;
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            virtualThreadsSupported = false;
+        }
+        assertEquals(virtualThreadsSupported ? AsynchronousJobExecutor.Mode.VIRTUAL : AsynchronousJobExecutor.Mode.FIXED,
+                     asynchronousJobPool.getExecutor().getMode());
+    }
+
+    @Test
+    public void usesFixedThreadPoolIfExecutorIsUnknown() throws Exception {
+        final ServerConfigurationProperties configuration = new ServerConfigurationProperties();
+        configuration.setAsynchronousExecutor("unknown");
+        asynchronousJobPool.stop();
+        asynchronousJobPool = new DefaultAsynchronousJobPool(configuration);
+        assertEquals(AsynchronousJobExecutor.Mode.FIXED, asynchronousJobPool.getExecutor().getMode());
+    }
+
     private Answer sleep(long millis) {
         return invocation -> {
             Thread.sleep(millis);
@@ -27,6 +27,7 @@ import javax.ws.rs.core.Response;
 import java.io.IOException;
 import java.io.PrintWriter;
 
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static javax.ws.rs.core.HttpHeaders.CONTENT_LENGTH;
 import static javax.ws.rs.core.HttpHeaders.CONTENT_TYPE;
 import static org.everrest.core.impl.header.MediaTypeHelper.withoutParameters;
@@ -69,6 +70,14 @@ public class ClientIntegrationTest {
         assertEquals(new MediaType("text", "plain"), withoutParameters(response.getMediaType()));
     }
 
+    @Test
+    public void sendsRequestWithReactiveInvoker() throws Exception {
+        startServer(new TestingHandler(200, "Hello world", "text/plain"));
+        InvocationBuilder request = (InvocationBuilder) ClientBuilder.newClient().target("http://localhost:9111/").request();
+        String entity = request.rx().get(String.class).toCompletableFuture().get(10, SECONDS);
+        assertEquals("Hello world", entity);
+    }
+
     @Test
     public void sendsRequestAndGetNotSuccessResponse() throws Exception {
         startServer(new TestingHandler(400, "Some error", "text/plain"));
@@ -21,6 +21,7 @@ import org.junit.Test;
 
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.SSLContext;
+import javax.ws.rs.client.Client;
 import javax.ws.rs.client.ClientBuilder;
 import javax.ws.rs.core.Configuration;
 import javax.ws.rs.ext.MessageBodyReader;
@@ -28,6 +29,7 @@ import javax.ws.rs.ext.MessageBodyWriter;
 import java.security.KeyStore;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 import static com.google.common.collect.Sets.newHashSet;
 import static javax.ws.rs.RuntimeType.CLIENT;
@@ -37,6 +39,7 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -245,4 +248,34 @@ public class EverrestClientBuilderTest {
         assertNotNull(clientBuilder.getProviders());
         assertEquals(CLIENT, clientBuilder.getProviders().getRuntimeType());
     }
+
+    @Test
+    public void closesConnectorWhenClientIsClosed() {
+        ClientConnector connector = mock(ClientConnector.class);
+        Client client = new EverrestClientBuilder().connector(() -> connector).build();
+
+        client.close();
+
+        verify(connector).close();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void failsBuildClientWhenConnectorSetInPropertiesCanNotBeCreated() {
+        new EverrestClientBuilder().property(EverrestClientBuilder.CLIENT_CONNECTOR, "org.everrest.NoSuchConnector").build();
+    }
+
+    @Test
+    public void doesNotShutdownExecutorServiceSetInBuilderWhenClientIsClosed() {
+        ExecutorService executorService = mock(ExecutorService.class);
+        Client client = new EverrestClientBuilder().executorService(executorService).build();
+
+        client.close();
+
+        verify(executorService, never()).shutdown();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void failsBuildClientWhenPoolSizeOfExecutorIsNotPositive() {
+        new EverrestClientBuilder().property(EverrestClientBuilder.CLIENT_EXECUTOR_POOL_SIZE, 0).build();
+    }
 }
@@ -22,6 +22,7 @@ import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.GenericType;
 import javax.ws.rs.core.Response;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -308,4 +309,36 @@ public class EverrestInvocationTest {
         invocation.property("name", "value");
         verify(clientRequest).setProperty("name", "value");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void invokesReactivelyAndRetrievesResponse() throws Exception {
+        Response response = mock(Response.class);
+        when(response.getStatus()).thenReturn(400);
+        when(clientResponse.getResponse()).thenReturn(response);
+        when(requestInvocationPipeline.executeAsync(clientRequest, executor)).thenReturn(CompletableFuture.completedFuture(clientResponse));
+
+        assertEquals(400, invocation.rx().toCompletableFuture().get().getStatus());
+    }
+
+    @Test
+    public void invokesReactivelyAndRetrievesEntityWhenResponseStatusIsSuccess() throws Exception {
+        Response response = mock(Response.class);
+        when(response.getStatus()).thenReturn(200);
+        when(response.readEntity(new GenericType<>(String.class))).thenReturn("hello");
+        when(clientResponse.getResponse()).thenReturn(response);
+        when(requestInvocationPipeline.executeAsync(clientRequest, executor)).thenReturn(CompletableFuture.completedFuture(clientResponse));
+
+        assertEquals("hello", invocation.rx(new GenericType<>(String.class)).toCompletableFuture().get());
+    }
+
+    @Test
+    public void completesReactiveInvocationExceptionallyWhenResponseStatusIsNotSuccess() throws Exception {
+        Response response = mock(Response.class);
+        when(response.getStatus()).thenReturn(400);
+        when(clientResponse.getResponse()).thenReturn(response);
+        when(requestInvocationPipeline.executeAsync(clientRequest, executor)).thenReturn(CompletableFuture.completedFuture(clientResponse));
+
+        thrown.expectCause(webApplicationExceptionWithStatus(400));
+        invocation.rx(new GenericType<>(String.class)).toCompletableFuture().get();
+    }
+}
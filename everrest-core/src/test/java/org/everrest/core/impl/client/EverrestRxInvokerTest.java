@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl.client;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.Response;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import static javax.ws.rs.HttpMethod.HEAD;
+import static javax.ws.rs.HttpMethod.OPTIONS;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class EverrestRxInvokerTest {
+    private InvocationBuilder  builder;
+    private EverrestInvocation invocation;
+    private EverrestRxInvoker  rxInvoker;
+
+    @Before
+    public void setUp() throws Exception {
+        builder = mock(InvocationBuilder.class);
+        invocation = mock(EverrestInvocation.class);
+        rxInvoker = new EverrestRxInvoker(builder);
+    }
+
+    @Test
+    public void invokesGet() throws Exception {
+        CompletionStage<Response> response = CompletableFuture.completedFuture(mock(Response.class));
+        when(builder.buildGet()).thenReturn(invocation);
+        when(invocation.rx()).thenReturn(response);
+
+        assertSame(response, rxInvoker.get());
+    }
+
+    @Test
+    public void invokesGetWithResponseType() throws Exception {
+        CompletionStage<String> response = CompletableFuture.completedFuture("hello");
+        when(builder.buildGet()).thenReturn(invocation);
+        when(invocation.rx(new GenericType<String>(String.class))).thenReturn(response);
+
+        assertSame(response, rxInvoker.get(String.class));
+    }
+
+    @Test
+    public void invokesPostWithGenericResponseType() throws Exception {
+        Entity<String> entity = Entity.text("hello");
+        CompletionStage<String> response = CompletableFuture.completedFuture("hello");
+        when(builder.buildPost(entity)).thenReturn(invocation);
+        when(invocation.rx(new GenericType<String>(String.class))).thenReturn(response);
+
+        assertSame(response, rxInvoker.post(entity, new GenericType<>(String.class)));
+    }
+
+    @Test
+    public void invokesHead() throws Exception {
+        CompletionStage<Response> response = CompletableFuture.completedFuture(mock(Response.class));
+        when(builder.build(HEAD)).thenReturn(invocation);
+        when(invocation.rx()).thenReturn(response);
+
+        assertSame(response, rxInvoker.head());
+    }
+
+    @Test
+    public void invokesOptionsWithResponseType() throws Exception {
+        CompletionStage<String> response = CompletableFuture.completedFuture("hello");
+        when(builder.build(OPTIONS)).thenReturn(invocation);
+        when(invocation.rx(new GenericType<String>(String.class))).thenReturn(response);
+
+        assertSame(response, rxInvoker.options(String.class));
+    }
+
+    @Test
+    public void invokesArbitraryMethodWithEntity() throws Exception {
+        Entity<String> entity = Entity.text("hello");
+        CompletionStage<Response> response = CompletableFuture.completedFuture(mock(Response.class));
+        when(builder.build("PATCH", entity)).thenReturn(invocation);
+        when(invocation.rx()).thenReturn(response);
+
+        assertSame(response, rxInvoker.method("PATCH", entity));
+    }
+}
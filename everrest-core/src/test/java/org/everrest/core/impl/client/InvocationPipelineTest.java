@@ -15,12 +15,13 @@ import com.google.common.io.CharStreams;
 import org.everrest.core.ConfigurationProperties;
 import org.everrest.core.ProviderBinder;
 import org.everrest.core.impl.provider.StringEntityProvider;
+import org.everrest.core.util.NotifierOutputStream.EntityStreamListener;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
@@ -47,18 +48,26 @@ import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.util.EventObject;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static javax.ws.rs.core.HttpHeaders.CONTENT_TYPE;
 import static org.everrest.core.$matchers.ExceptionMatchers.exceptionSameInstance;
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.mockito.AdditionalMatchers.aryEq;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Matchers.isA;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -67,7 +76,7 @@ public class InvocationPipelineTest {
     @Rule public ExpectedException thrown = ExpectedException.none();
 
     @Mock private HttpURLConnectionFactory connectionFactory;
-    @InjectMocks private InvocationPipeline pipeline;
+    private InvocationPipeline pipeline;
 
     private URL url;
     private MultivaluedMap<String, Object> requestHeaders;
@@ -89,6 +98,7 @@ public class InvocationPipelineTest {
         mockClientRequest();
         mockHttpUrlConnection();
         when(providers.getMessageBodyWriter(String.class, String.class, new Annotation[0], requestMediaType)).thenReturn(writer);
+        pipeline = new InvocationPipeline(new HttpURLConnectionConnector(connectionFactory));
     }
 
     private void mockClientRequest() throws Exception {
@@ -165,6 +175,64 @@ public class InvocationPipelineTest {
         verify((HttpsURLConnection) connection).setSSLSocketFactory(isA(SSLSocketFactory.class));
     }
 
+    @Test
+    public void reusesSSLSocketFactoryOfSameSSLContext() throws Exception {
+        connection = mock(HttpsURLConnection.class);
+        when(connectionFactory.openConnectionTo(url)).thenReturn(connection);
+        SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(null, null, null);
+        when(client.getSslContext()).thenReturn(sslContext);
+
+        pipeline.execute(request);
+        pipeline.execute(request);
+
+        ArgumentCaptor<SSLSocketFactory> sslSocketFactoryCaptor = ArgumentCaptor.forClass(SSLSocketFactory.class);
+        verify((HttpsURLConnection) connection, times(2)).setSSLSocketFactory(sslSocketFactoryCaptor.capture());
+        assertSame(sslSocketFactoryCaptor.getAllValues().get(0), sslSocketFactoryCaptor.getAllValues().get(1));
+    }
+
+    @Test
+    public void setsUpRequestMethodAndHeadersWhenInvokeWithoutRequestEntity() throws Exception {
+        when(request.hasEntity()).thenReturn(false);
+        when(request.getMethod()).thenReturn("GET");
+        requestStringHeaders.clear();
+        requestStringHeaders.put("Accept", newArrayList("text/plain", "text/xml"));
+
+        pipeline.execute(request);
+
+        verify(connection).setRequestMethod("GET");
+        verify(connection).setRequestProperty("Accept", "text/plain,text/xml");
+        verify(connection, never()).getOutputStream();
+    }
+
+    @Test
+    public void sendsRequestWithConnector() throws Exception {
+        ClientConnector connector = mock(ClientConnector.class);
+        when(request.hasEntity()).thenReturn(false);
+        when(connector.send(request, null)).thenReturn(new ConnectorResponse(204, ImmutableMap.of(), () -> new ByteArrayInputStream(new byte[0])));
+
+        ClientResponse response = new InvocationPipeline(connector).execute(request);
+
+        assertEquals(204, response.getStatus());
+    }
+
+    @Test
+    public void notifiesConnectorOnceWhenRequestEntityIsWritten() throws Exception {
+        ClientConnector connector = mock(ClientConnector.class);
+        when(providers.getMessageBodyWriter(String.class, String.class, new Annotation[0], requestMediaType)).thenReturn(new StringEntityProvider());
+        ByteArrayOutputStream entityStream = new ByteArrayOutputStream();
+        EntityStreamListener onCommit = mock(EntityStreamListener.class);
+        when(connector.send(eq(request), isA(RequestEntityWriter.class))).thenAnswer(invocation -> {
+            ((RequestEntityWriter) invocation.getArguments()[1]).writeEntity(() -> entityStream, onCommit);
+            return new ConnectorResponse(200, ImmutableMap.of(), () -> new ByteArrayInputStream(new byte[0]));
+        });
+
+        new InvocationPipeline(connector).execute(request);
+
+        assertEquals(entity, entityStream.toString());
+        verify(onCommit).onChange(isA(EventObject.class));
+    }
+
     @Test
     public void invokesWithRequestEntity() throws Exception {
         ByteArrayOutputStream entityStream = new ByteArrayOutputStream();
@@ -280,4 +348,70 @@ public class InvocationPipelineTest {
         assertEquals(new MediaType("text", "plain"), response.getMediaType());
         assertEquals("Failed", CharStreams.toString(new InputStreamReader(response.getEntityStream())));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void executesAsynchronouslyAndInvokesThroughClientResponseFilters() throws Exception {
+        ClientResponseFilter filter = mock(ClientResponseFilter.class);
+        when(providers.getClientResponseFilters()).thenReturn(newArrayList(filter));
+        ClientConnector connector = mock(ClientConnector.class);
+        when(request.hasEntity()).thenReturn(false);
+        Executor executor = Runnable::run;
+        when(connector.sendAsync(request, null, executor))
+                .thenReturn(CompletableFuture.completedFuture(new ConnectorResponse(200, ImmutableMap.of(), () -> new ByteArrayInputStream(new byte[0]))));
+
+        ClientResponse response = new InvocationPipeline(connector).executeAsync(request, executor).toCompletableFuture().get();
+
+        assertEquals(200, response.getStatus());
+        verify(filter).filter(request, response);
+    }
+
+    @Test
+    public void executesAsynchronouslyWithBlockingConnectorInExecutor() throws Exception {
+        ByteArrayOutputStream entityStream = new ByteArrayOutputStream();
+        when(connection.getOutputStream()).thenReturn(entityStream);
+        when(providers.getMessageBodyWriter(String.class, String.class, new Annotation[0], requestMediaType)).thenReturn(new StringEntityProvider());
+        Executor executor = mock(Executor.class);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[0]).run();
+            return null;
+        }).when(executor).execute(isA(Runnable.class));
+
+        ClientResponse response = pipeline.executeAsync(request, executor).toCompletableFuture().get();
+
+        assertEquals(200, response.getStatus());
+        assertEquals(entity, entityStream.toString());
+        verify(executor, times(2)).execute(isA(Runnable.class));
+    }
+
+    @Test
+    public void completesAsynchronousExecutionWithProcessingExceptionWhenIOErrorOccurWhileSendingRequest() throws Exception {
+        ClientConnector connector = mock(ClientConnector.class);
+        when(request.hasEntity()).thenReturn(false);
+        CompletableFuture<ConnectorResponse> failed = new CompletableFuture<>();
+        IOException ioError = new IOException("Connection refused");
+        failed.completeExceptionally(ioError);
+        when(connector.sendAsync(eq(request), any(RequestEntityWriter.class), any(Executor.class))).thenReturn(failed);
+
+        CompletableFuture<ClientResponse> response = new InvocationPipeline(connector).executeAsync(request, Runnable::run).toCompletableFuture();
+
+        thrown.expectCause(instanceOf(ProcessingException.class));
+        try {
+            response.get();
+        } catch (ExecutionException e) {
+            assertSame(ioError, e.getCause().getCause());
+            throw e;
+        }
+    }
+
+    @Test
+    public void processesAbortResponseAsynchronously() throws Exception {
+        Response abortResponse = Response.status(403).build();
+        when(request.getAbortResponse()).thenReturn(abortResponse);
+        ClientConnector connector = mock(ClientConnector.class);
+
+        ClientResponse response = new InvocationPipeline(connector).executeAsync(request, Runnable::run).toCompletableFuture().get();
+
+        assertEquals(403, response.getStatus());
+        verify(connector, never()).sendAsync(any(ClientRequest.class), any(RequestEntityWriter.class), any(Executor.class));
+    }
+}
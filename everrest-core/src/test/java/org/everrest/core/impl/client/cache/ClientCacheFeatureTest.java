@@ -0,0 +1,219 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl.client.cache;
+
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static javax.ws.rs.core.HttpHeaders.CACHE_CONTROL;
+import static javax.ws.rs.core.HttpHeaders.ETAG;
+import static javax.ws.rs.core.HttpHeaders.IF_NONE_MATCH;
+import static org.everrest.core.impl.header.MediaTypeHelper.withoutParameters;
+import static org.junit.Assert.assertEquals;
+
+public class ClientCacheFeatureTest {
+    private static final String URL = "http://localhost:9112/";
+
+    private Server             server;
+    private CachingHandler     handler;
+    private ClientCacheFeature cacheFeature;
+    private Client             client;
+
+    @Before
+    public void setUp() throws Exception {
+        handler = new CachingHandler();
+        server = new Server(9112);
+        server.setHandler(handler);
+        server.start();
+        cacheFeature = new ClientCacheFeature();
+        client = ClientBuilder.newClient().register(cacheFeature);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        client.close();
+        server.stop();
+    }
+
+    @Test
+    public void servesFreshResponseFromCache() throws Exception {
+        handler.cacheControl = "max-age=60";
+
+        assertEquals("hello 1", get());
+        Response response = client.target(URL).request().get();
+        assertEquals(200, response.getStatus());
+        assertEquals("hello 1", response.readEntity(String.class));
+        assertEquals(new MediaType("text", "plain"), withoutParameters(response.getMediaType()));
+        assertEquals("0", response.getHeaderString("Age"));
+
+        assertEquals(1, handler.requests.get());
+        ClientCacheStatistics statistics = cacheFeature.getStatistics();
+        assertEquals(1, statistics.getHitCount());
+        assertEquals(1, statistics.getMissCount());
+        assertEquals(1, statistics.getMemoryEntryCount());
+    }
+
+    @Test
+    public void doesNotCacheResponseWithNoStore() throws Exception {
+        handler.cacheControl = "no-store";
+
+        assertEquals("hello 1", get());
+        assertEquals("hello 2", get());
+
+        assertEquals(2, handler.requests.get());
+        assertEquals(0, cacheFeature.getStatistics().getMemoryEntryCount());
+    }
+
+    @Test
+    public void bypassesCacheWhenRequestHasNoStore() throws Exception {
+        handler.cacheControl = "max-age=60";
+
+        assertEquals("hello 1", get());
+        assertEquals("hello 2", client.target(URL).request().header(CACHE_CONTROL, "no-store").get(String.class));
+
+        assertEquals(2, handler.requests.get());
+    }
+
+    @Test
+    public void revalidatesStaleResponseAndServesItFromCacheWhenNotModified() throws Exception {
+        handler.cacheControl = "no-cache";
+        handler.eTag = "\"v1\"";
+
+        assertEquals("hello 1", get());
+        Response response = client.target(URL).request().get();
+        assertEquals(200, response.getStatus());
+        assertEquals("hello 1", response.readEntity(String.class));
+        assertEquals("\"v1\"", response.getHeaderString(ETAG));
+
+        assertEquals(2, handler.requests.get());
+        assertEquals(1, handler.notModified.get());
+        ClientCacheStatistics statistics = cacheFeature.getStatistics();
+        assertEquals(1, statistics.getRevalidationCount());
+        assertEquals(1, statistics.getNotModifiedCount());
+        assertEquals(0, statistics.getHitCount());
+    }
+
+    @Test
+    public void replacesCachedResponseWhenRevalidatedResponseIsModified() throws Exception {
+        handler.cacheControl = "no-cache";
+        handler.eTag = "\"v1\"";
+        assertEquals("hello 1", get());
+
+        handler.eTag = "\"v2\"";
+        assertEquals("hello 2", get());
+        assertEquals("hello 2", get());
+
+        assertEquals(1, handler.notModified.get());
+        assertEquals(2, cacheFeature.getStatistics().getRevalidationCount());
+    }
+
+    @Test
+    public void doesNotCacheResponseWithoutFreshnessAndValidators() throws Exception {
+        assertEquals("hello 1", get());
+        assertEquals("hello 2", get());
+
+        assertEquals(0, cacheFeature.getStatistics().getMemoryEntryCount());
+    }
+
+    @Test
+    public void invalidatesCachedResponseAfterUnsafeRequest() throws Exception {
+        handler.cacheControl = "max-age=60";
+        assertEquals("hello 1", get());
+
+        client.target(URL).request().post(Entity.text("update")).close();
+        assertEquals("hello 3", get());
+    }
+
+    @Test
+    public void doesNotServeResponseThatVariesByRequestHeader() throws Exception {
+        handler.cacheControl = "max-age=60";
+        handler.vary = "Accept-Language";
+
+        assertEquals("hello 1", client.target(URL).request().header("Accept-Language", "en").get(String.class));
+        assertEquals("hello 1", client.target(URL).request().header("Accept-Language", "en").get(String.class));
+        assertEquals("hello 2", client.target(URL).request().header("Accept-Language", "uk").get(String.class));
+
+        assertEquals(2, handler.requests.get());
+    }
+
+    @Test
+    public void clearsCache() throws Exception {
+        handler.cacheControl = "max-age=60";
+        assertEquals("hello 1", get());
+
+        cacheFeature.clear();
+
+        assertEquals("hello 2", get());
+    }
+
+    @Test
+    public void doesNotCacheResponseLargerThanLimit() throws Exception {
+        client.close();
+        cacheFeature = new ClientCacheFeature(16);
+        client = ClientBuilder.newClient().register(cacheFeature);
+        handler.cacheControl = "max-age=60";
+
+        assertEquals("hello 1", get());
+        assertEquals("hello 2", get());
+        assertEquals(0, cacheFeature.getStatistics().getMemoryEntryCount());
+    }
+
+    private String get() {
+        return client.target(URL).request().get(String.class);
+    }
+
+    static class CachingHandler extends AbstractHandler {
+        final AtomicInteger requests    = new AtomicInteger();
+        final AtomicInteger notModified = new AtomicInteger();
+
+        volatile String cacheControl;
+        volatile String eTag;
+        volatile String vary;
+
+        @Override
+        public void handle(String s, Request internalRequest, HttpServletRequest request, HttpServletResponse response) throws IOException {
+            int counter = requests.incrementAndGet();
+            if (cacheControl != null) {
+                response.setHeader(CACHE_CONTROL, cacheControl);
+            }
+            if (vary != null) {
+                response.setHeader("Vary", vary);
+            }
+            if (eTag != null) {
+                response.setHeader(ETAG, eTag);
+                if (eTag.equals(request.getHeader(IF_NONE_MATCH))) {
+                    notModified.incrementAndGet();
+                    response.setStatus(304);
+                    internalRequest.setHandled(true);
+                    return;
+                }
+            }
+            response.setContentType("text/plain");
+            response.setStatus(200);
+            response.getWriter().print("hello " + counter);
+            internalRequest.setHandled(true);
+        }
+    }
+}
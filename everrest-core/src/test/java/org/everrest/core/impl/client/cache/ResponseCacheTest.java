@@ -0,0 +1,212 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl.client.cache;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.ws.rs.core.Response;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ResponseCacheTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File directory;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = temporaryFolder.newFolder();
+    }
+
+    @Test
+    public void keepsResponseInMemory() {
+        ResponseCache cache = new ResponseCache(1024 * 1024, null);
+        CachedResponse response = response("a", 10);
+
+        cache.put(response);
+
+        assertTrue(cache.get("a") == response);
+        assertEquals(1, cache.getMemoryEntryCount());
+    }
+
+    @Test
+    public void removesResponse() {
+        ResponseCache cache = new ResponseCache(1024 * 1024, new DiskResponseStore(directory, 1024 * 1024));
+        cache.put(response("a", 10));
+
+        cache.remove("a");
+
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    public void movesResponsesEvictedFromMemoryToDiskAndBack() {
+        ResponseCache cache = new ResponseCache(16 * 1024, new DiskResponseStore(directory, 1024 * 1024), directExecutor());
+        for (int i = 0; i < 32; i++) {
+            cache.put(response("key" + i, 512));
+        }
+        assertTrue(cache.getDiskEntryCount() > 0);
+        assertTrue(cache.getDiskSize() > 0);
+
+        for (int i = 0; i < 32; i++) {
+            CachedResponse response = cache.get("key" + i);
+            assertNotNull("key" + i, response);
+            assertEquals("key" + i, response.getKey());
+            assertEquals(512, response.getEntity().length);
+        }
+    }
+
+    @Test
+    public void findsResponseEvictedFromMemoryBeforeItIsWrittenToDisk() {
+        List<Runnable> spills = new ArrayList<>();
+        ResponseCache cache = new ResponseCache(16 * 1024, new DiskResponseStore(directory, 1024 * 1024), spills::add);
+        for (int i = 0; i < 32; i++) {
+            cache.put(response("key" + i, 512));
+        }
+        assertFalse(spills.isEmpty());
+        assertEquals(0, cache.getDiskEntryCount());
+
+        CachedResponse response = cache.get("key0");
+        spills.forEach(Runnable::run);
+
+        assertNotNull(response);
+        assertTrue(cache.get("key0") == response);
+        assertEquals(spills.size() - 1, cache.getDiskEntryCount());
+    }
+
+    @Test
+    public void doesNotWriteToDiskResponseRemovedBeforeItIsWrittenToDisk() {
+        List<Runnable> spills = new ArrayList<>();
+        ResponseCache cache = new ResponseCache(16 * 1024, new DiskResponseStore(directory, 1024 * 1024), spills::add);
+        for (int i = 0; i < 32; i++) {
+            cache.put(response("key" + i, 512));
+        }
+
+        cache.remove("key0");
+        spills.forEach(Runnable::run);
+
+        assertNull(cache.get("key0"));
+        assertEquals(spills.size() - 1, cache.getDiskEntryCount());
+    }
+
+    @Test
+    public void returnsResponseMovedFromDiskToMemoryToAllConcurrentLookups() throws Exception {
+        ResponseCache cache = new ResponseCache(16 * 1024, new DiskResponseStore(directory, 1024 * 1024), directExecutor());
+        for (int i = 0; i < 32; i++) {
+            cache.put(response("key" + i, 512));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (int i = 0; i < 32; i++) {
+                String key = "key" + i;
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<CachedResponse>> responses = new ArrayList<>();
+                for (int j = 0; j < 8; j++) {
+                    responses.add(executor.submit(() -> {
+                        start.await();
+                        return cache.get(key);
+                    }));
+                }
+                start.countDown();
+                for (Future<CachedResponse> response : responses) {
+                    assertNotNull(key, response.get(10, SECONDS));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void limitsSizeOfDiskStore() {
+        DiskResponseStore disk = new DiskResponseStore(directory, 4 * 1024);
+        for (int i = 0; i < 32; i++) {
+            disk.put(response("key" + i, 512));
+        }
+
+        assertTrue(disk.getSize() <= 4 * 1024);
+        assertTrue(disk.getEntryCount() < 32);
+        assertNull(disk.remove("key0"));
+        assertNotNull(disk.remove("key31"));
+        assertEquals(disk.getEntryCount(), directory.list().length);
+    }
+
+    @Test
+    public void removesLeftoverFilesWhenDiskStoreIsCreated() {
+        new DiskResponseStore(directory, 1024 * 1024).put(response("a", 10));
+
+        DiskResponseStore disk = new DiskResponseStore(directory, 1024 * 1024);
+
+        assertEquals(0, directory.list().length);
+        assertNull(disk.remove("a"));
+    }
+
+    @Test
+    public void restoresResponseFromDisk() throws IOException {
+        DiskResponseStore disk = new DiskResponseStore(directory, 1024 * 1024);
+        CachedResponse response = response("a", 10);
+
+        disk.put(response);
+        CachedResponse restored = disk.remove("a");
+
+        assertEquals(response.getStatus(), restored.getStatus());
+        assertEquals(response.getHeaders(), restored.getHeaders());
+        assertArrayEquals(response.getEntity(), restored.getEntity());
+        assertEquals(response.getVaryingRequestHeaders(), restored.getVaryingRequestHeaders());
+        assertEquals(response.getStoredAt(), restored.getStoredAt());
+        assertEquals(response.getFreshnessLifetime(), restored.getFreshnessLifetime());
+        assertFalse(new File(directory, "a").exists());
+        assertEquals(0, disk.getEntryCount());
+    }
+
+    @Test
+    public void createsResponseWithAgeHeader() {
+        CachedResponse response = response("a", 10);
+
+        Response jaxrsResponse = response.toResponse(response.getStoredAt() + 5000);
+
+        assertEquals(200, jaxrsResponse.getStatus());
+        assertEquals("5", jaxrsResponse.getHeaderString("Age"));
+        assertEquals("\"x\"", jaxrsResponse.getHeaderString("ETag"));
+        assertEquals("text/plain", jaxrsResponse.getMediaType().toString());
+    }
+
+    private CachedResponse response(String key, int entitySize) {
+        Map<String, List<String>> headers = ImmutableMap.of("Content-Type", Collections.singletonList("text/plain"),
+                                                            "ETag", Collections.singletonList("\"x\""),
+                                                            "Cache-Control", Arrays.asList("max-age=60", "public"));
+        return new CachedResponse(key, 200, headers, new byte[entitySize], ImmutableMap.of("Accept", "text/plain"),
+                                  System.currentTimeMillis(), 60000);
+    }
+}
@@ -37,6 +37,7 @@ import java.util.TimeZone;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
@@ -145,6 +146,18 @@ public class HeaderHelperTest {
         assertEquals(expectedAcceptMediaTypeList, acceptMediaTypeList);
     }
 
+    @Test
+    public void reusesParsedAcceptMediaTypeListForSameHeader() {
+        String header = "application/xml, application/json;q=0.9";
+        List<AcceptMediaType> acceptMediaTypeList = HeaderHelper.createAcceptMediaTypeList(header);
+        assertSame(acceptMediaTypeList, HeaderHelper.createAcceptMediaTypeList(header));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void createsUnmodifiableAcceptedLanguageList() {
+        HeaderHelper.createAcceptedLanguageList("en-US, en;q=0.7").clear();
+    }
+
     @DataProvider
     public static Object[][] forParsesCookies() {
         return new Object[][] {
@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl.header;
+
+import com.google.common.base.Strings;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class HeaderValueCacheTest {
+    private HeaderValueCache<Integer> cache;
+    private AtomicInteger             parsed;
+    private Function<String, Integer> parser;
+
+    @Before
+    public void setUp() {
+        cache = new HeaderValueCache<>(2);
+        parsed = new AtomicInteger();
+        parser = header -> {
+            parsed.incrementAndGet();
+            return Integer.parseInt(header.trim());
+        };
+    }
+
+    @Test
+    public void parsesHeaderOnlyOnce() {
+        assertEquals(1, (int)cache.get("1", parser));
+        assertEquals(1, (int)cache.get("1", parser));
+
+        assertEquals(1, parsed.get());
+        assertEquals(1, cache.getStats().hitCount());
+        assertEquals(1, cache.getStats().missCount());
+    }
+
+    @Test
+    public void doesNotCacheVeryLongHeaders() {
+        String header = Strings.repeat(" ", HeaderValueCache.MAX_CACHED_HEADER_LENGTH) + "1";
+        cache.get(header, parser);
+        cache.get(header, parser);
+
+        assertEquals(2, parsed.get());
+    }
+
+    @Test
+    public void doesNotCacheFailures() {
+        for (int i = 0; i < 2; i++) {
+            try {
+                cache.get("x", parser);
+                fail("NumberFormatException expected");
+            } catch (NumberFormatException expected) {
+            }
+        }
+        assertEquals(2, parsed.get());
+    }
+
+    @Test
+    public void evictsValuesWhenMaxSizeReached() {
+        cache.get("1", parser);
+        cache.get("2", parser);
+        cache.get("3", parser);
+        cache.get("4", parser);
+        cache.get("1", parser);
+
+        assertEquals(5, parsed.get());
+    }
+}
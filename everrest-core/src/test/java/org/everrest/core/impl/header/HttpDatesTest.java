@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl.header;
+
+import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderRunner;
+import com.tngtech.java.junit.dataprovider.UseDataProvider;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(DataProviderRunner.class)
+public class HttpDatesTest {
+    private static final long SUN_06_NOV_1994_08_49_37_GMT = ZonedDateTime.parse("1994-11-06T08:49:37Z").toInstant().toEpochMilli();
+
+    @DataProvider
+    public static Object[][] validDates() {
+        return new Object[][]{
+                {"Sun, 06 Nov 1994 08:49:37 GMT"},
+                {"Sunday, 06-Nov-94 08:49:37 GMT"},
+                {"Sun Nov  6 08:49:37 1994"},
+                {"Sun Nov 6 08:49:37 1994"},
+                {"SUN, 06 NOV 1994 08:49:37 gmt"},
+                {"Sun, 6 Nov 1994 08:49:37 UTC"},
+                {"Sun, 06-Nov-1994 08:49:37 GMT"},
+                {"Sun, 06 Nov 1994 03:49:37 EST"},
+                {"Sun, 06 Nov 1994 10:49:37 +0200"},
+                {"Sun, 06 Nov 1994 10:49:37 GMT+02:00"},
+                {"Sun, 06 Nov 1994 10:49:37 EET"},
+                {"Sun, 06 Nov 1994 10:49:37 Europe/Kiev"},
+                {"  Sun, 06 Nov 1994 08:49:37 GMT  "}
+        };
+    }
+
+    @UseDataProvider("validDates")
+    @Test
+    public void parsesDate(String date) {
+        assertEquals(SUN_06_NOV_1994_08_49_37_GMT, HttpDates.parse(date));
+    }
+
+    @DataProvider
+    public static Object[][] invalidDates() {
+        return new Object[][]{
+                {""},
+                {"12:03:50 GMT"},
+                {"Sun, 06 Nov 1994"},
+                {"Sun, 06 Nov 1994 08:49:37"},
+                {"Sun, 06 Nov 1994 08:49:37 XYZ"},
+                {"Sun, 31 Feb 1994 08:49:37 GMT"},
+                {"Sun, 06 Nov 1994 24:49:37 GMT"},
+                {"Sun, 06 Foo 1994 08:49:37 GMT"},
+                {"Sunny, 06 Nov 1994 08:49:37 GMT"},
+                {"Sun Nov  6 08:49:37 1994 GMT"},
+                {"Sun, 06 Nov 1994 08:49:37 +2500"}
+        };
+    }
+
+    @UseDataProvider("invalidDates")
+    @Test
+    public void returnsInvalidDateWhenDateCanNotBeParsed(String date) {
+        assertEquals(HttpDates.INVALID_DATE, HttpDates.parse(date));
+    }
+
+    @Test
+    public void interpretsTwoDigitsYearThatIsTooFarInFutureAsYearOfPastCentury() {
+        int nextYear = ZonedDateTime.now().getYear() % 100 + 1;
+        long date = HttpDates.parse(String.format("Sunday, 01-Jan-%02d 00:00:00 GMT", nextYear));
+        assertEquals(ZonedDateTime.now().getYear() + 1, Instant.ofEpochMilli(date).atZone(ZoneOffset.UTC).getYear());
+    }
+
+    @Test
+    public void formatsDateInRfc1123Format() {
+        assertEquals("Sun, 06 Nov 1994 08:49:37 GMT", HttpDates.format(SUN_06_NOV_1994_08_49_37_GMT));
+        assertEquals("Thu, 01 Jan 1970 00:00:00 GMT", HttpDates.format(0));
+        assertEquals("Wed, 31 Dec 1969 23:59:59 GMT", HttpDates.format(-1));
+    }
+
+    @Test
+    public void formatsDatesAsSimpleDateFormat() {
+        SimpleDateFormat format = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss zzz", Locale.US);
+        format.setTimeZone(TimeZone.getTimeZone("GMT"));
+        Random random = new Random(7);
+        for (int i = 0; i < 1000; i++) {
+            long date = (long)(random.nextDouble() * 4102444800000L);
+            String formatted = HttpDates.format(date);
+            assertEquals(format.format(new Date(date)), formatted);
+            assertEquals(date / 1000 * 1000, HttpDates.parse(formatted));
+        }
+    }
+
+    @Test
+    public void reusesFormattedDateWithinTheSameSecond() {
+        String formatted = HttpDates.format(SUN_06_NOV_1994_08_49_37_GMT);
+        assertSame(formatted, HttpDates.format(SUN_06_NOV_1994_08_49_37_GMT + 999));
+    }
+
+    @Test
+    public void formatsCurrentTime() {
+        long before = System.currentTimeMillis() / 1000 * 1000;
+        long now = HttpDates.parse(HttpDates.formatNow());
+        assertTrue(now >= before && now <= System.currentTimeMillis());
+    }
+
+    @Test
+    public void keepsFormattedCurrentTimeWhenOtherDatesAreFormatted() {
+        String first;
+        String second;
+        long epochSecond;
+        do {
+            epochSecond = System.currentTimeMillis() / 1000;
+            first = HttpDates.formatNow();
+            HttpDates.format(SUN_06_NOV_1994_08_49_37_GMT);
+            second = HttpDates.formatNow();
+        } while (epochSecond != System.currentTimeMillis() / 1000);
+        assertSame(first, second);
+    }
+}
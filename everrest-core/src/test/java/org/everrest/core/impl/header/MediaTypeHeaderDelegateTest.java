@@ -22,6 +22,8 @@ import org.junit.runner.RunWith;
 import javax.ws.rs.core.MediaType;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 
 /**
  * @author andrew00x
@@ -80,6 +82,44 @@ public class MediaTypeHeaderDelegateTest {
         assertEquals(expectedResult, header);
     }
 
+    @Test
+    public void returnsSameInstanceOfMediaTypeForSameHeader() {
+        MediaType mediaType = mediaTypeHeaderDelegate.fromString("text/plain;charset=utf-8");
+        assertSame(mediaType, mediaTypeHeaderDelegate.fromString("text/plain;charset=utf-8"));
+        assertEquals(1, mediaTypeHeaderDelegate.getCacheStats().hitCount());
+    }
+
+    @Test
+    public void returnsConstantsOfMediaTypeForWellKnownTypes() {
+        assertSame(MediaType.APPLICATION_JSON_TYPE, mediaTypeHeaderDelegate.fromString("application/json"));
+    }
+
+    @Test
+    public void keepsConstantsOfMediaTypeWhenManyOtherMediaTypesAreParsed() {
+        for (int i = 0; i < HeaderValueCache.DEFAULT_MAX_SIZE * 2; i++) {
+            mediaTypeHeaderDelegate.fromString("application/x-" + i);
+        }
+        assertSame(MediaType.APPLICATION_JSON_TYPE, mediaTypeHeaderDelegate.fromString("application/json"));
+    }
+
+    @Test
+    public void doesNotCacheMediaTypesWithParametersOtherThanCharset() {
+        for (int i = 0; i < HeaderValueCache.DEFAULT_MAX_SIZE * 2; i++) {
+            mediaTypeHeaderDelegate.fromString("multipart/form-data;boundary=" + i);
+        }
+        MediaType mediaType = mediaTypeHeaderDelegate.fromString("multipart/form-data; boundary=1");
+
+        assertEquals(new MediaType("multipart", "form-data", ImmutableMap.of("boundary", "1")), mediaType);
+        assertNotSame(mediaType, mediaTypeHeaderDelegate.fromString("multipart/form-data; boundary=1"));
+        assertEquals(0, mediaTypeHeaderDelegate.getCacheStats().requestCount());
+    }
+
+    @Test
+    public void cachesMediaTypesWithCharsetParameter() {
+        MediaType mediaType = mediaTypeHeaderDelegate.fromString("application/json; charset=UTF-8");
+        assertSame(mediaType, mediaTypeHeaderDelegate.fromString("application/json; charset=UTF-8"));
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void throwsExceptionWhenContentTypeHeaderIsNull() throws Exception {
         mediaTypeHeaderDelegate.fromString(null);
@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl.integration;
+
+import org.everrest.core.impl.BaseTest;
+import org.everrest.core.impl.ContainerResponse;
+import org.junit.Test;
+
+import javax.ws.rs.DELETE;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.core.Application;
+import java.util.Set;
+
+import static com.google.common.collect.Sets.newHashSet;
+import static javax.ws.rs.core.HttpHeaders.ALLOW;
+import static org.junit.Assert.assertEquals;
+
+public class MethodNotAllowedTest extends BaseTest {
+
+    @Path("/a")
+    public static class Resource1 {
+        @GET
+        @Path("b/c")
+        public String get() {
+            return "get";
+        }
+
+        @GET
+        @Path("b/{id}")
+        public String get(@PathParam("id") String id) {
+            return id;
+        }
+
+        @DELETE
+        @Path("b/{id}")
+        public void delete(@PathParam("id") String id) {
+        }
+    }
+
+    public void setUp() throws Exception {
+        super.setUp();
+        processor.addApplication(new Application() {
+            @Override
+            public Set<Class<?>> getClasses() {
+                return newHashSet(Resource1.class);
+            }
+        });
+    }
+
+    @Test
+    public void listsMethodsOfLastMatchedSubResourcePathInAllowHeader() throws Exception {
+        ContainerResponse response = launcher.service("PUT", "/a/b/c", "", null, null, null);
+
+        assertEquals(405, response.getStatus());
+        assertEquals(newHashSet("GET", "DELETE", "HEAD"), newHashSet(response.getHeaders().getFirst(ALLOW).toString().split(",")));
+    }
+}
@@ -10,11 +10,14 @@
  *******************************************************************************/
 package org.everrest.core.impl.integration;
 
+import com.google.common.io.Files;
 import org.everrest.core.impl.BaseTest;
 import org.everrest.core.impl.ContainerResponse;
+import org.everrest.core.impl.FileCollector;
 import org.everrest.core.impl.MultivaluedMapImpl;
 import org.everrest.core.impl.header.Ranges;
 import org.everrest.core.tools.ByteArrayContainerResponseWriter;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -22,11 +25,14 @@ import javax.ws.rs.GET;
 import javax.ws.rs.HeaderParam;
 import javax.ws.rs.Path;
 import javax.ws.rs.core.Application;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
-import java.util.Collections;
+import java.io.File;
 import java.util.Set;
 
+import static com.google.common.collect.Sets.newHashSet;
 import static javax.ws.rs.core.HttpHeaders.CONTENT_LENGTH;
 import static org.everrest.core.ExtHttpHeaders.ACCEPT_RANGES;
 import static org.everrest.core.ExtHttpHeaders.CONTENT_RANGE;
@@ -54,22 +60,41 @@ public class PartialContentTest extends BaseTest {
         }
     }
 
+    @Path("b")
+    public static class Resource2 {
+        @GET
+        public Response m() {
+            return Response.ok(file, "text/plain").tag(new EntityTag("v1")).build();
+        }
+    }
+
     private static final String contentString = "to be or not to be";
 
     private static final byte[] contentBytes = contentString.getBytes();
 
+    private static File file;
+
     @Override
     @Before
     public void setUp() throws Exception {
         super.setUp();
+        file = FileCollector.getInstance().createFile();
+        Files.write(contentBytes, file);
         processor.addApplication(new Application() {
             @Override
             public Set<Class<?>> getClasses() {
-                return Collections.singleton(Resource1.class);
+                return newHashSet(Resource1.class, Resource2.class);
             }
         });
     }
 
+    @Override
+    @After
+    public void tearDown() throws Exception {
+        FileCollector.getInstance().clean();
+        super.tearDown();
+    }
+
     @Test
     public void testPartialContent() throws Exception {
         MultivaluedMap<String, String> headers = new MultivaluedMapImpl();
@@ -86,4 +111,103 @@ public class PartialContentTest extends BaseTest {
         assertEquals(" be ", writer.getBodyAsString());
     }
 
+    @Test
+    public void sendsWholeFileWithAcceptRangesHeaderWhenRequestDoesNotContainRange() throws Exception {
+        ByteArrayContainerResponseWriter writer = new ByteArrayContainerResponseWriter();
+
+        ContainerResponse response = launcher.service("GET", "/b", "", null, null, writer, null);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("bytes", response.getHeaders().getFirst("accept-ranges"));
+        assertEquals(contentString, writer.getBodyAsString());
+    }
+
+    @Test
+    public void sendsSingleRangeOfFile() throws Exception {
+        ByteArrayContainerResponseWriter writer = new ByteArrayContainerResponseWriter();
+
+        ContainerResponse response = launcher.service("GET", "/b", "", rangeHeaders("bytes=3-4"), null, writer, null);
+
+        assertEquals(206, response.getStatus());
+        MultivaluedMap<String, Object> responseHeaders = response.getHeaders();
+        assertEquals("2", responseHeaders.getFirst("content-length").toString());
+        assertEquals("bytes 3-4/18", responseHeaders.getFirst("content-range"));
+        assertEquals("text/plain", responseHeaders.getFirst("content-type").toString());
+        assertEquals("be", writer.getBodyAsString());
+    }
+
+    @Test
+    public void sendsMultipleRangesOfFileAsMultipartByteranges() throws Exception {
+        ByteArrayContainerResponseWriter writer = new ByteArrayContainerResponseWriter();
+
+        ContainerResponse response = launcher.service("GET", "/b", "", rangeHeaders("bytes=0-1,-2"), null, writer, null);
+
+        assertEquals(206, response.getStatus());
+        MediaType contentType = MediaType.valueOf(response.getHeaders().getFirst("content-type").toString());
+        assertEquals("multipart/byteranges", contentType.getType() + "/" + contentType.getSubtype());
+        String boundary = contentType.getParameters().get("boundary");
+        String expected = "--" + boundary + "\r\n"
+                          + "Content-Type: text/plain\r\n"
+                          + "Content-Range: bytes 0-1/18\r\n"
+                          + "\r\n"
+                          + "to\r\n"
+                          + "--" + boundary + "\r\n"
+                          + "Content-Type: text/plain\r\n"
+                          + "Content-Range: bytes 16-17/18\r\n"
+                          + "\r\n"
+                          + "be\r\n"
+                          + "--" + boundary + "--\r\n";
+        assertEquals(expected, writer.getBodyAsString());
+        assertEquals(Integer.toString(expected.length()), response.getHeaders().getFirst("content-length").toString());
+    }
+
+    @Test
+    public void sendsRequestedRangeNotSatisfiableWhenNoneOfRangesIsSatisfiable() throws Exception {
+        ByteArrayContainerResponseWriter writer = new ByteArrayContainerResponseWriter();
+
+        ContainerResponse response = launcher.service("GET", "/b", "", rangeHeaders("bytes=100-200"), null, writer, null);
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */18", response.getHeaders().getFirst("content-range"));
+    }
+
+    @Test
+    public void sendsWholeFileWhenRangeHeaderIsInvalid() throws Exception {
+        ByteArrayContainerResponseWriter writer = new ByteArrayContainerResponseWriter();
+
+        ContainerResponse response = launcher.service("GET", "/b", "", rangeHeaders("items=1-2"), null, writer, null);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(contentString, writer.getBodyAsString());
+    }
+
+    @Test
+    public void sendsRangeWhenIfRangeMatchesEntityTag() throws Exception {
+        MultivaluedMap<String, String> headers = rangeHeaders("bytes=3-4");
+        headers.putSingle("if-range", "\"v1\"");
+        ByteArrayContainerResponseWriter writer = new ByteArrayContainerResponseWriter();
+
+        ContainerResponse response = launcher.service("GET", "/b", "", headers, null, writer, null);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("be", writer.getBodyAsString());
+    }
+
+    @Test
+    public void sendsWholeFileWhenIfRangeDoesNotMatchEntityTag() throws Exception {
+        MultivaluedMap<String, String> headers = rangeHeaders("bytes=3-4");
+        headers.putSingle("if-range", "\"v2\"");
+        ByteArrayContainerResponseWriter writer = new ByteArrayContainerResponseWriter();
+
+        ContainerResponse response = launcher.service("GET", "/b", "", headers, null, writer, null);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(contentString, writer.getBodyAsString());
+    }
+
+    private MultivaluedMap<String, String> rangeHeaders(String range) {
+        MultivaluedMap<String, String> headers = new MultivaluedMapImpl();
+        headers.putSingle("range", range);
+        return headers;
+    }
 }
@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl.integration;
+
+import org.everrest.core.ProviderBinder;
+import org.everrest.core.impl.ContainerResponse;
+import org.everrest.core.impl.DefaultProviderBinder;
+import org.everrest.core.impl.EverrestProcessor;
+import org.everrest.core.impl.RequestDispatcher;
+import org.everrest.core.impl.RequestHandlerImpl;
+import org.everrest.core.impl.ResourceBinderImpl;
+import org.everrest.core.impl.ServerConfigurationProperties;
+import org.everrest.core.impl.metrics.RequestPhase;
+import org.everrest.core.impl.metrics.ResourceMethodMetrics;
+import org.everrest.core.impl.metrics.ResourceMetricsRegistry;
+import org.everrest.core.impl.provider.ServerEmbeddedProvidersFeature;
+import org.everrest.core.resource.ResourceMethodDescriptor;
+import org.everrest.core.tools.ByteArrayContainerResponseWriter;
+import org.everrest.core.tools.DependencySupplierImpl;
+import org.everrest.core.tools.ResourceLauncher;
+import org.everrest.services.RestServicesMetrics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.core.Application;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.collect.Sets.newHashSet;
+import static javax.ws.rs.RuntimeType.SERVER;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ResourceMetricsTest {
+    @Path("a")
+    public static class Resource1 {
+        @GET
+        @Path("{x}")
+        public String m1(@PathParam("x") String x) {
+            if ("fail".equals(x)) {
+                throw new IllegalArgumentException();
+            }
+            return x;
+        }
+    }
+
+    private EverrestProcessor processor;
+    private ResourceLauncher  launcher;
+
+    @Before
+    public void setUp() throws Exception {
+        ServerConfigurationProperties configuration = new ServerConfigurationProperties();
+        configuration.setMetrics(true);
+        ResourceBinderImpl resources = new ResourceBinderImpl();
+        ProviderBinder providers = new DefaultProviderBinder(SERVER, configuration);
+        providers.register(new ServerEmbeddedProvidersFeature());
+        resources.addResource(configuration.getMetricsServicePath(), RestServicesMetrics.class, null);
+        processor = new EverrestProcessor(configuration, new DependencySupplierImpl(), new RequestHandlerImpl(new RequestDispatcher(resources), providers), resources, providers, null);
+        processor.addApplication(new Application() {
+            @Override
+            public Set<Class<?>> getClasses() {
+                return newHashSet(Resource1.class);
+            }
+        });
+        launcher = new ResourceLauncher(processor);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        processor.stop();
+    }
+
+    @Test
+    public void recordsMetricsOfResourceMethod() throws Exception {
+        launcher.service("GET", "/a/b", "", null, null, null);
+        launcher.service("GET", "/a/c", "", null, null, null);
+
+        ResourceMethodMetrics metrics = getSingleResourceMethodMetrics();
+        assertEquals(2, metrics.getRequestCount());
+        assertEquals(2, metrics.getStatusClassCount(2));
+        assertEquals(2, metrics.getLatency().getCount());
+        for (RequestPhase phase : RequestPhase.values()) {
+            assertTrue(phase.name(), metrics.getLatency(phase).getCount() <= 2);
+        }
+    }
+
+    @Test
+    public void countsStatusClassesOfResponses() throws Exception {
+        launcher.service("GET", "/a/b", "", null, null, null);
+        try {
+            launcher.service("GET", "/a/fail", "", null, null, null);
+        } catch (Exception ignored) {
+        }
+
+        ResourceMethodMetrics metrics = getSingleResourceMethodMetrics();
+        assertEquals(2, metrics.getRequestCount());
+        assertEquals(1, metrics.getStatusClassCount(2));
+        assertEquals(1, metrics.getStatusClassCount(5));
+    }
+
+    @Test
+    public void recordsMetricsOfUnmatchedRequestsSeparately() throws Exception {
+        ContainerResponse response = launcher.service("GET", "/unknown", "", null, null, null);
+
+        assertEquals(404, response.getStatus());
+        assertTrue(processor.getMetricsRegistry().getAllMetrics().isEmpty());
+        assertEquals(1, processor.getMetricsRegistry().getUnmatchedRequestMetrics().getStatusClassCount(4));
+    }
+
+    @Test
+    public void providesMetricsAsJson() throws Exception {
+        launcher.service("GET", "/a/b", "", null, null, null);
+
+        ByteArrayContainerResponseWriter writer = new ByteArrayContainerResponseWriter();
+        ContainerResponse response = launcher.service("GET", "/metrics", "", null, null, writer, null);
+
+        assertEquals(200, response.getStatus());
+        String json = writer.getBodyAsString();
+        assertTrue(json, json.contains("\"resourceClass\":\"" + Resource1.class.getName() + "\""));
+        assertTrue(json, json.contains("\"path\":\"/a/{x}\""));
+        assertTrue(json, json.contains("\"2xx\":1"));
+        assertTrue(json, json.contains("\"parameterResolution\""));
+    }
+
+    @Test
+    public void providesMetricsOfAsynchronousJobsAsJson() throws Exception {
+        ByteArrayContainerResponseWriter writer = new ByteArrayContainerResponseWriter();
+        ContainerResponse response = launcher.service("GET", "/metrics/async", "", null, null, writer, null);
+
+        assertEquals(200, response.getStatus());
+        String json = writer.getBodyAsString();
+        assertTrue(json, json.contains("\"executor\":\"fixed\""));
+        assertTrue(json, json.contains("\"queueTime\""));
+    }
+
+    @Test
+    public void providesMetricsOfHeaderCachesAsJson() throws Exception {
+        ByteArrayContainerResponseWriter writer = new ByteArrayContainerResponseWriter();
+        ContainerResponse response = launcher.service("GET", "/metrics/headers", "", null, null, writer, null);
+
+        assertEquals(200, response.getStatus());
+        String json = writer.getBodyAsString();
+        assertTrue(json, json.contains("\"Accept\":{"));
+        assertTrue(json, json.contains("\"Content-Type\":{"));
+        assertTrue(json, json.contains("\"hitRate\""));
+    }
+
+    @Test
+    public void doesNotCollectMetricsWhenDisabled() throws Exception {
+        ServerConfigurationProperties configuration = new ServerConfigurationProperties();
+        ResourceBinderImpl resources = new ResourceBinderImpl();
+        ProviderBinder providers = new DefaultProviderBinder(SERVER, configuration);
+        providers.register(new ServerEmbeddedProvidersFeature());
+        resources.addResource("/metrics", RestServicesMetrics.class, null);
+        EverrestProcessor processor = new EverrestProcessor(configuration, new DependencySupplierImpl(), new RequestHandlerImpl(new RequestDispatcher(resources), providers), resources, providers, null);
+
+        ContainerResponse response = new ResourceLauncher(processor).service("GET", "/metrics", "", null, null, null);
+
+        assertNull(processor.getMetricsRegistry());
+        assertEquals(404, response.getStatus());
+    }
+
+    private ResourceMethodMetrics getSingleResourceMethodMetrics() {
+        ResourceMetricsRegistry registry = processor.getMetricsRegistry();
+        Map<ResourceMethodDescriptor, ResourceMethodMetrics> allMetrics = registry.getAllMetrics();
+        assertEquals(1, allMetrics.size());
+        return allMetrics.values().iterator().next();
+    }
+}
@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl.integration;
+
+import org.everrest.core.impl.BaseTest;
+import org.everrest.core.impl.ContainerResponse;
+import org.everrest.core.tools.ByteArrayContainerResponseWriter;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.CompletionCallback;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.Response;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static com.google.common.collect.Sets.newHashSet;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SuspendedResponseTest extends BaseTest {
+    private static final ScheduledExecutorService executor = newSingleThreadScheduledExecutor();
+
+    @AfterClass
+    public static void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Path("a")
+    public static class Resource1 {
+        static CountDownLatch completed;
+
+        @GET
+        @Path("resume")
+        public void resume(@Suspended AsyncResponse response) {
+            executor.schedule(() -> response.resume("resumed"), 50, MILLISECONDS);
+        }
+
+        @GET
+        @Path("resume-immediately")
+        public void resumeImmediately(@Suspended AsyncResponse response) {
+            response.resume("resumed immediately");
+        }
+
+        @GET
+        @Path("resume-with-response")
+        public void resumeWithResponse(@Suspended AsyncResponse response) {
+            executor.schedule(() -> response.resume(Response.status(201).entity("created").build()), 50, MILLISECONDS);
+        }
+
+        @GET
+        @Path("resume-with-exception")
+        public void resumeWithException(@Suspended AsyncResponse response) {
+            executor.schedule(() -> response.resume(new WebApplicationException(Response.status(409).entity("conflict").build())),
+                              50, MILLISECONDS);
+        }
+
+        @GET
+        @Path("timeout")
+        public void timeout(@Suspended AsyncResponse response) {
+            response.setTimeout(50, MILLISECONDS);
+        }
+
+        @GET
+        @Path("timeout-handler")
+        public void timeoutHandler(@Suspended AsyncResponse response) {
+            response.setTimeoutHandler(asyncResponse -> asyncResponse.resume("timeout"));
+            response.setTimeout(50, MILLISECONDS);
+        }
+
+        @GET
+        @Path("cancel")
+        public void cancel(@Suspended AsyncResponse response) {
+            executor.schedule(() -> response.cancel(10), 50, MILLISECONDS);
+        }
+
+        @GET
+        @Path("callback")
+        public void callback(@Suspended AsyncResponse response) {
+            response.register((CompletionCallback)throwable -> completed.countDown());
+            executor.schedule(() -> response.resume("resumed"), 50, MILLISECONDS);
+        }
+    }
+
+    @Before
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        processor.addApplication(new Application() {
+            @Override
+            public Set<Class<?>> getClasses() {
+                return newHashSet(Resource1.class);
+            }
+        });
+    }
+
+    @Test
+    public void writesEntityThatResponseIsResumedWith() throws Exception {
+        ByteArrayContainerResponseWriter writer = new ByteArrayContainerResponseWriter();
+        ContainerResponse response = launcher.service("GET", "/a/resume", "", null, null, writer, null);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("resumed", writer.getBodyAsString());
+    }
+
+    @Test
+    public void writesEntityWhenResponseIsResumedBeforeResourceMethodReturns() throws Exception {
+        ByteArrayContainerResponseWriter writer = new ByteArrayContainerResponseWriter();
+        ContainerResponse response = launcher.service("GET", "/a/resume-immediately", "", null, null, writer, null);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("resumed immediately", writer.getBodyAsString());
+    }
+
+    @Test
+    public void writesResponseThatResponseIsResumedWith() throws Exception {
+        ByteArrayContainerResponseWriter writer = new ByteArrayContainerResponseWriter();
+        ContainerResponse response = launcher.service("GET", "/a/resume-with-response", "", null, null, writer, null);
+
+        assertEquals(201, response.getStatus());
+        assertEquals("created", writer.getBodyAsString());
+    }
+
+    @Test
+    public void processesExceptionThatResponseIsResumedWith() throws Exception {
+        ByteArrayContainerResponseWriter writer = new ByteArrayContainerResponseWriter();
+        ContainerResponse response = launcher.service("GET", "/a/resume-with-exception", "", null, null, writer, null);
+
+        assertEquals(409, response.getStatus());
+        assertEquals("conflict", writer.getBodyAsString());
+    }
+
+    @Test
+    public void respondsWithServiceUnavailableWhenTimeoutExpires() throws Exception {
+        ContainerResponse response = launcher.service("GET", "/a/timeout", "", null, null, null);
+
+        assertEquals(503, response.getStatus());
+    }
+
+    @Test
+    public void timeoutHandlerResumesResponse() throws Exception {
+        ByteArrayContainerResponseWriter writer = new ByteArrayContainerResponseWriter();
+        ContainerResponse response = launcher.service("GET", "/a/timeout-handler", "", null, null, writer, null);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("timeout", writer.getBodyAsString());
+    }
+
+    @Test
+    public void respondsWithServiceUnavailableWhenResponseIsCancelled() throws Exception {
+        ContainerResponse response = launcher.service("GET", "/a/cancel", "", null, null, null);
+
+        assertEquals(503, response.getStatus());
+        assertEquals("10", response.getHeaderString("Retry-After"));
+    }
+
+    @Test
+    public void notifiesCompletionCallbackWhenResponseIsWritten() throws Exception {
+        Resource1.completed = new CountDownLatch(1);
+
+        launcher.service("GET", "/a/callback", "", null, null, null);
+
+        assertTrue(Resource1.completed.await(5, SECONDS));
+    }
+}
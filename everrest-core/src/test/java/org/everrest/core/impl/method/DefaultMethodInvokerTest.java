@@ -52,6 +52,8 @@ import static org.everrest.core.$matchers.ExceptionMatchers.webApplicationExcept
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SuppressWarnings("unchecked")
@@ -227,6 +229,17 @@ public class DefaultMethodInvokerTest {
         assertEquals(ARGUMENT_VALUE, invocationResult);
     }
 
+    @Test
+    public void createsParameterResolversOnceForResourceMethod() throws Exception {
+        when(resourceMethod.getMethodParameters()).thenReturn(newArrayList(annotatedParameter));
+
+        methodInvoker.invokeMethod(new EchoResource(), resourceMethod, applicationContext);
+        methodInvoker.invokeMethod(new EchoResource(), resourceMethod, applicationContext);
+
+        verify(parameterResolverFactory, times(1)).createParameterResolver(parameterAnnotation);
+        verify(parameterResolver, times(2)).resolve(annotatedParameter, applicationContext);
+    }
+
     @DataProvider
     public static Object[][] annotationTypesWhenNeedToThrowWebApplicationExceptionWithStatusNotFound() {
         return new Object[][]{
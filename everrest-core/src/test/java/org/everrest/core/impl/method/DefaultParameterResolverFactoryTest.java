@@ -25,6 +25,7 @@ import javax.ws.rs.MatrixParam;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.Context;
 import java.lang.annotation.Annotation;
 
@@ -45,7 +46,8 @@ public class DefaultParameterResolverFactoryTest {
                 {annotationOfType(HeaderParam.class), HeaderParameterResolver.class},
                 {annotationOfType(MatrixParam.class), MatrixParameterResolver.class},
                 {annotationOfType(PathParam.class),   PathParameterResolver.class},
-                {annotationOfType(QueryParam.class),  QueryParameterResolver.class}
+                {annotationOfType(QueryParam.class),  QueryParameterResolver.class},
+                {annotationOfType(Suspended.class),   SuspendedParameterResolver.class}
         };
     }
 
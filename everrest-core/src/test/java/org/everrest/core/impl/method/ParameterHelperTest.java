@@ -18,6 +18,7 @@ import javax.ws.rs.HeaderParam;
 import javax.ws.rs.MatrixParam;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.Context;
 
 import static org.hamcrest.CoreMatchers.hasItems;
@@ -61,11 +62,11 @@ public class ParameterHelperTest {
 
     @Test
     public void annotationsThatMightBeAppliedToResourceMethodParameters() {
-        assertEquals(7, ParameterHelper.RESOURCE_METHOD_PARAMETER_ANNOTATIONS.size());
+        assertEquals(8, ParameterHelper.RESOURCE_METHOD_PARAMETER_ANNOTATIONS.size());
         assertThat(ParameterHelper.RESOURCE_METHOD_PARAMETER_ANNOTATIONS,
                    hasItems(CookieParam.class.getName(), Context.class.getName(),
                             QueryParam.class.getName(), PathParam.class.getName(), MatrixParam.class.getName(),
-                            HeaderParam.class.getName(), FormParam.class.getName())
+                            HeaderParam.class.getName(), FormParam.class.getName(), Suspended.class.getName())
                   );
     }
 }
\ No newline at end of file
@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl.metrics;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LatencyHistogramTest {
+    private LatencyHistogram histogram;
+
+    @Before
+    public void setUp() throws Exception {
+        histogram = new LatencyHistogram();
+    }
+
+    @Test
+    public void returnsZerosWhenNoValuesRecorded() {
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0.0, histogram.getMean(), 0.0);
+        assertEquals(0, histogram.getValueAtPercentile(99));
+    }
+
+    @Test
+    public void recordsValuesInMicroseconds() {
+        histogram.record(MICROSECONDS.toNanos(10));
+        histogram.record(MICROSECONDS.toNanos(20));
+
+        assertEquals(2, histogram.getCount());
+        assertEquals(20, histogram.getMax());
+        assertEquals(15.0, histogram.getMean(), 0.0);
+    }
+
+    @Test
+    public void calculatesExactPercentilesOfSmallValues() {
+        for (int i = 1; i <= 20; i++) {
+            histogram.record(MICROSECONDS.toNanos(i));
+        }
+
+        assertEquals(10, histogram.getValueAtPercentile(50));
+        assertEquals(18, histogram.getValueAtPercentile(90));
+        assertEquals(20, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void calculatesPercentilesOfLargeValuesWithBoundedRelativeError() {
+        for (int i = 1; i <= 100_000; i++) {
+            histogram.record(MICROSECONDS.toNanos(i));
+        }
+
+        assertWithinRelativeError(50_000, histogram.getValueAtPercentile(50));
+        assertWithinRelativeError(99_000, histogram.getValueAtPercentile(99));
+        assertWithinRelativeError(99_900, histogram.getValueAtPercentile(99.9));
+        assertEquals(100_000, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void countsValuesGreaterThanMaxAsMax() {
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(LatencyHistogram.MAX_VALUE, histogram.getMax());
+        assertEquals(LatencyHistogram.MAX_VALUE, histogram.getValueAtPercentile(50));
+    }
+
+    @Test
+    public void bucketsCoverAllValuesWithoutGaps() {
+        long previousHighestValue = -1;
+        for (int i = 0; i <= LatencyHistogram.getBucketIndex(LatencyHistogram.MAX_VALUE); i++) {
+            long highestValue = LatencyHistogram.getHighestValueInBucket(i);
+            assertEquals(i, LatencyHistogram.getBucketIndex(previousHighestValue + 1));
+            assertEquals(i, LatencyHistogram.getBucketIndex(highestValue));
+            previousHighestValue = highestValue;
+        }
+        assertEquals(LatencyHistogram.MAX_VALUE, previousHighestValue);
+    }
+
+    private void assertWithinRelativeError(long expected, long actual) {
+        assertTrue(String.format("expected %d but was %d", expected, actual), actual >= expected && actual <= expected + expected / 16);
+    }
+}
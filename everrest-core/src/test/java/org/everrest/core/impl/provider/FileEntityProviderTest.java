@@ -12,17 +12,28 @@ package org.everrest.core.impl.provider;
 
 import com.google.common.io.Files;
 
+import org.everrest.core.impl.ApplicationContext;
 import org.everrest.core.impl.FileCollector;
 import org.junit.Before;
 import org.junit.Test;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.util.Collections;
 
+import static javax.ws.rs.core.HttpHeaders.CONTENT_LENGTH;
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class FileEntityProviderTest {
     private byte[] testContent = "to be or not to be".getBytes();
@@ -69,4 +80,50 @@ public class FileEntityProviderTest {
         fileEntityProvider.writeTo(source, File.class, null, null, null, null, out);
         assertArrayEquals(testContent, out.toByteArray());
     }
+
+    @Test
+    public void delegatesSendingOfFileToServletContainerWhenContainerSupportsSendfile() throws Exception {
+        File source = FileCollector.getInstance().createFile();
+        Files.write(testContent, source);
+        MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+        HttpServletRequest servletRequest = mock(HttpServletRequest.class);
+        when(servletRequest.getAttribute("org.apache.tomcat.sendfile.support")).thenReturn(Boolean.TRUE);
+        ApplicationContext context = mock(ApplicationContext.class, RETURNS_DEEP_STUBS);
+        when(context.getEnvironmentContext().get(HttpServletRequest.class)).thenReturn(servletRequest);
+        when(context.getContainerResponse().getHeaders()).thenReturn(headers);
+        when(context.getContainerResponse().getEntityStream()).thenReturn(null);
+        when(context.getProviders().getWriterInterceptors()).thenReturn(Collections.emptyList());
+        ApplicationContext.setCurrent(context);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            fileEntityProvider.writeTo(source, File.class, null, null, null, headers, out);
+        } finally {
+            ApplicationContext.setCurrent(null);
+        }
+
+        assertEquals(0, out.size());
+        assertEquals((long)testContent.length, headers.getFirst(CONTENT_LENGTH));
+        verify(servletRequest).setAttribute("org.apache.tomcat.sendfile.filename", source.getCanonicalPath());
+        verify(servletRequest).setAttribute("org.apache.tomcat.sendfile.start", 0L);
+        verify(servletRequest).setAttribute("org.apache.tomcat.sendfile.end", (long)testContent.length);
+    }
+
+    @Test
+    public void writesFileToOutputStreamWhenServletContainerDoesNotSupportSendfile() throws Exception {
+        File source = FileCollector.getInstance().createFile();
+        Files.write(testContent, source);
+        MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+        ApplicationContext context = mock(ApplicationContext.class, RETURNS_DEEP_STUBS);
+        when(context.getEnvironmentContext().get(HttpServletRequest.class)).thenReturn(mock(HttpServletRequest.class));
+        when(context.getContainerResponse().getHeaders()).thenReturn(headers);
+        ApplicationContext.setCurrent(context);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            fileEntityProvider.writeTo(source, File.class, null, null, null, headers, out);
+        } finally {
+            ApplicationContext.setCurrent(null);
+        }
+
+        assertArrayEquals(testContent, out.toByteArray());
+    }
 }
@@ -2,16 +2,18 @@ package org.everrest.core.impl.provider;
 
 import com.google.common.io.ByteStreams;
 import org.everrest.core.impl.FileCollector;
+import org.everrest.core.util.MemoryBudget;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.io.ByteArrayInputStream;
-import java.io.FileInputStream;
+import java.io.File;
 import java.io.InputStream;
 import java.util.Random;
 
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
@@ -41,7 +43,7 @@ public class IOHelperTest {
         InputStream inputStream = new ByteArrayInputStream(testContent);
         InputStream bufferedStream = IOHelper.bufferStream(inputStream, testContent.length + 1);
 
-        assertTrue(bufferedStream instanceof ByteArrayInputStream);
+        assertEquals(0, countSpilledFiles());
         assertArrayEquals(testContent, ByteStreams.toByteArray(bufferedStream));
     }
 
@@ -50,7 +52,7 @@ public class IOHelperTest {
         InputStream inputStream = new ByteArrayInputStream(testContent);
         InputStream bufferedStream = IOHelper.bufferStream(inputStream, testContent.length - 1);
 
-        assertTrue(bufferedStream instanceof FileInputStream);
+        assertEquals(1, countSpilledFiles());
         try {
             assertArrayEquals(testContent, ByteStreams.toByteArray(bufferedStream));
         } finally {
@@ -58,6 +60,134 @@ public class IOHelperTest {
         }
     }
 
+    @Test
+    public void deletesSpilledFileWhenBufferedStreamIsClosed() throws Exception {
+        InputStream bufferedStream = IOHelper.bufferStream(new ByteArrayInputStream(testContent), testContent.length - 1);
+        bufferedStream.close();
+
+        assertEquals(0, countSpilledFiles());
+    }
+
+    @Test
+    public void buffersGivenInputStreamInMemoryWhenItTakesMoreThanOneChunk() throws Exception {
+        byte[] content = new byte[20000];
+        new Random().nextBytes(content);
+        MemoryBudget memoryBudget = new MemoryBudget(1024 * 1024);
+
+        InputStream bufferedStream = IOHelper.bufferStream(new ByteArrayInputStream(content), content.length, memoryBudget);
+
+        assertEquals(0, countSpilledFiles());
+        assertEquals(content.length, bufferedStream.available());
+        assertArrayEquals(content, ByteStreams.toByteArray(bufferedStream));
+    }
+
+    @Test
+    public void reservesMemoryBudgetUntilBufferedStreamIsClosed() throws Exception {
+        MemoryBudget memoryBudget = new MemoryBudget(1024 * 1024);
+        InputStream bufferedStream = IOHelper.bufferStream(new ByteArrayInputStream(testContent), testContent.length, memoryBudget);
+
+        assertTrue(memoryBudget.getReserved() > 0);
+        ByteStreams.toByteArray(bufferedStream);
+        assertTrue(memoryBudget.getReserved() > 0);
+        assertEquals(-1, bufferedStream.read());
+        bufferedStream.close();
+        assertEquals(0, memoryBudget.getReserved());
+    }
+
+    @Test
+    public void releasesMemoryBudgetWhenBufferedStreamIsClosedBeforeEnd() throws Exception {
+        MemoryBudget memoryBudget = new MemoryBudget(1024 * 1024);
+        InputStream bufferedStream = IOHelper.bufferStream(new ByteArrayInputStream(testContent), testContent.length, memoryBudget);
+
+        bufferedStream.read();
+        bufferedStream.close();
+
+        assertEquals(0, memoryBudget.getReserved());
+    }
+
+    @Test
+    public void resetsBufferedStreamToBeginningWhenItIsReadToEndWithoutMark() throws Exception {
+        MemoryBudget memoryBudget = new MemoryBudget(1024 * 1024);
+        InputStream bufferedStream = IOHelper.bufferStream(new ByteArrayInputStream(testContent), testContent.length + 1, memoryBudget);
+
+        ByteStreams.toByteArray(bufferedStream);
+        bufferedStream.reset();
+
+        assertArrayEquals(testContent, ByteStreams.toByteArray(bufferedStream));
+        bufferedStream.close();
+        assertEquals(0, memoryBudget.getReserved());
+    }
+
+    @Test
+    public void resetsMarkedBufferedStreamWhenItIsReadToEnd() throws Exception {
+        MemoryBudget memoryBudget = new MemoryBudget(1024 * 1024);
+        InputStream bufferedStream = IOHelper.bufferStream(new ByteArrayInputStream(testContent), testContent.length + 1, memoryBudget);
+
+        bufferedStream.mark(testContent.length);
+        ByteStreams.toByteArray(bufferedStream);
+        bufferedStream.reset();
+
+        assertArrayEquals(testContent, ByteStreams.toByteArray(bufferedStream));
+        bufferedStream.close();
+        assertEquals(0, memoryBudget.getReserved());
+    }
+
+    @Test
+    public void buffersGivenInputStreamOnFileSystemWhenMemoryBudgetIsExhausted() throws Exception {
+        MemoryBudget memoryBudget = new MemoryBudget(0);
+        InputStream bufferedStream = IOHelper.bufferStream(new ByteArrayInputStream(testContent), testContent.length + 1, memoryBudget);
+
+        assertEquals(1, countSpilledFiles());
+        try {
+            assertArrayEquals(testContent, ByteStreams.toByteArray(bufferedStream));
+        } finally {
+            bufferedStream.close();
+        }
+        assertEquals(0, memoryBudget.getReserved());
+    }
+
+    @Test
+    public void releasesMemoryBudgetWhenBufferedStreamIsSpilledToFileSystem() throws Exception {
+        byte[] content = new byte[20000];
+        new Random().nextBytes(content);
+        MemoryBudget memoryBudget = new MemoryBudget(1024 * 1024);
+
+        InputStream bufferedStream = IOHelper.bufferStream(new ByteArrayInputStream(content), 10000, memoryBudget);
+
+        assertEquals(0, memoryBudget.getReserved());
+        try {
+            assertArrayEquals(content, ByteStreams.toByteArray(bufferedStream));
+        } finally {
+            bufferedStream.close();
+        }
+    }
+
+    @Test
+    public void bufferedStreamsSupportMarkReset() throws Exception {
+        InputStream inMemory = IOHelper.bufferStream(new ByteArrayInputStream(testContent), testContent.length + 1);
+        InputStream inFile = IOHelper.bufferStream(new ByteArrayInputStream(testContent), testContent.length - 1);
+        try {
+            for (InputStream bufferedStream : new InputStream[]{inMemory, inFile}) {
+                assertFalse(IOHelper.isEmpty(bufferedStream));
+                assertArrayEquals(testContent, ByteStreams.toByteArray(bufferedStream));
+            }
+        } finally {
+            inFile.close();
+        }
+    }
+
+    @Test
+    public void releasesMemoryBudgetWhenBufferedStreamBecomesUnreachable() throws Exception {
+        MemoryBudget memoryBudget = new MemoryBudget(1024 * 1024);
+        IOHelper.bufferStream(new ByteArrayInputStream(testContent), testContent.length, memoryBudget);
+
+        for (int i = 0; i < 100 && memoryBudget.getReserved() > 0; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertEquals(0, memoryBudget.getReserved());
+    }
+
     @Test
     public void testsIsEmptyWhenStreamSupportsMarkReset() throws Exception {
         InputStream entity = mock(InputStream.class);
@@ -78,4 +208,9 @@ public class IOHelperTest {
     public void testsIsEmptyReturnsFalseWhenStreamIsNull() {
         assertTrue(IOHelper.isEmpty(null));
     }
+
+    private int countSpilledFiles() {
+        File[] files = FileCollector.getInstance().getStore().listFiles();
+        return files == null ? 0 : files.length;
+    }
 }
\ No newline at end of file
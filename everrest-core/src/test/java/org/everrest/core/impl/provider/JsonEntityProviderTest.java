@@ -17,6 +17,7 @@ import com.tngtech.java.junit.dataprovider.UseDataProvider;
 
 import org.everrest.core.impl.MultivaluedMapImpl;
 import org.everrest.core.impl.provider.json.DoubleValue;
+import org.everrest.core.impl.provider.json.JsonStreamingOutput;
 import org.everrest.core.impl.provider.json.JsonTransient;
 import org.everrest.core.impl.provider.json.JsonValue;
 import org.everrest.core.impl.provider.json.LongValue;
@@ -46,9 +47,13 @@ import java.io.Writer;
 import java.lang.reflect.Type;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
+import static org.everrest.core.impl.provider.JsonEntityProvider.APPLICATION_NDJSON_TYPE;
+import static org.everrest.core.impl.provider.json.tst.Book.createCSharpBook;
 import static org.everrest.core.impl.provider.json.tst.Book.createJunitBook;
 import static org.everrest.core.util.ParameterizedTypeImpl.newParameterizedType;
 import static org.junit.Assert.assertEquals;
@@ -270,6 +275,91 @@ public class JsonEntityProviderTest {
         assertTrue(outputAsString.contains("\"isdn\":93011099534534"));
     }
 
+    @Test
+    public void writesIteratorAsJsonArray() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        jsonEntityProvider.writeTo(newArrayList("a", "b").iterator(), Iterable.class, null, null, APPLICATION_JSON_TYPE,
+                                   new MultivaluedHashMap<>(), out);
+
+        assertEquals("[\"a\",\"b\"]", out.toString());
+    }
+
+    @Test
+    public void writesStreamAsJsonArrayAndClosesStream() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<Book> books = Stream.of(createJunitBook(), createCSharpBook()).onClose(() -> closed.set(true));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        jsonEntityProvider.writeTo(books, Stream.class, null, null, APPLICATION_JSON_TYPE, new MultivaluedHashMap<>(), out);
+
+        String outputAsString = out.toString();
+        assertTrue(outputAsString.startsWith("[{"));
+        assertTrue(outputAsString.endsWith("}]"));
+        assertTrue(outputAsString.contains("\"title\":\"JUnit in Action\""));
+        assertTrue(outputAsString.contains("\"author\":\"Christian Gross\""));
+        assertTrue(closed.get());
+    }
+
+    @Test
+    public void writesJsonStreamingOutputAsJsonArray() throws Exception {
+        JsonStreamingOutput output = writer -> {
+            for (int i = 0; i < 3; i++) {
+                writer.write(i);
+            }
+        };
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        jsonEntityProvider.writeTo(output, output.getClass(), null, null, APPLICATION_JSON_TYPE, new MultivaluedHashMap<>(), out);
+
+        assertEquals("[0,1,2]", out.toString());
+    }
+
+    @Test
+    public void writesJsonStreamingOutputAsNdjson() throws Exception {
+        JsonStreamingOutput output = writer -> {
+            for (int i = 0; i < 3; i++) {
+                writer.write(ImmutableMap.of("id", i));
+            }
+        };
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        jsonEntityProvider.writeTo(output, output.getClass(), null, null, APPLICATION_NDJSON_TYPE, new MultivaluedHashMap<>(), out);
+
+        assertEquals("{\"id\":0}\n{\"id\":1}\n{\"id\":2}\n", out.toString());
+    }
+
+    @Test
+    public void writesEachElementOfCollectionOnOwnLineAsNdjson() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        jsonEntityProvider.writeTo(newArrayList(createJunitBook(), createCSharpBook()), List.class, null, null, APPLICATION_NDJSON_TYPE,
+                                   new MultivaluedHashMap<>(), out);
+
+        String[] lines = out.toString().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"title\":\"JUnit in Action\""));
+        assertTrue(lines[1].contains("\"author\":\"Christian Gross\""));
+    }
+
+    @Test
+    public void writesEachElementOfArrayOnOwnLineAsNdjson() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        jsonEntityProvider.writeTo(new String[]{"a", "b"}, String[].class, null, null, APPLICATION_NDJSON_TYPE, new MultivaluedHashMap<>(), out);
+
+        assertEquals("\"a\"\n\"b\"\n", out.toString());
+    }
+
+    @Test
+    public void writesObjectOnSingleLineAsNdjson() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        jsonEntityProvider.writeTo(ImmutableMap.of("id", 1), Map.class, null, null, APPLICATION_NDJSON_TYPE, new MultivaluedHashMap<>(), out);
+
+        assertEquals("{\"id\":1}\n", out.toString());
+    }
+
     private ObjectValue createJsonBook(Book book) {
         ObjectValue objectValue = new ObjectValue();
         objectValue.addElement("author", new StringValue(book.getAuthor()));
@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl.provider;
+
+import com.google.common.io.Files;
+import org.everrest.core.impl.FileCollector;
+import org.everrest.core.impl.header.Ranges;
+import org.everrest.core.impl.header.Ranges.Range;
+import org.everrest.core.impl.header.RangesHeaderDelegate;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.util.List;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PartialFileEntityProviderTest {
+    private static final String CONTENT = "to be or not to be";
+
+    private File                      file;
+    private PartialFileEntityProvider partialFileEntityProvider;
+
+    @Before
+    public void setUp() throws Exception {
+        file = FileCollector.getInstance().createFile();
+        Files.write(CONTENT.getBytes(), file);
+        partialFileEntityProvider = new PartialFileEntityProvider();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        FileCollector.getInstance().clean();
+    }
+
+    @Test
+    public void isWritableForPartialFile() throws Exception {
+        assertTrue(partialFileEntityProvider.isWriteable(PartialFile.class, null, null, null));
+    }
+
+    @Test
+    public void isNotWritableForFile() throws Exception {
+        assertFalse(partialFileEntityProvider.isWriteable(File.class, null, null, null));
+    }
+
+    @Test
+    public void writesSingleRangeOfFile() throws Exception {
+        PartialFile partialFile = new PartialFile(file, CONTENT.length(), ranges("bytes=3-4"), "text/plain", null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        partialFileEntityProvider.writeTo(partialFile, PartialFile.class, null, null, null, null, out);
+
+        assertArrayEquals("be".getBytes(), out.toByteArray());
+        assertEquals(2, partialFileEntityProvider.getSize(partialFile, PartialFile.class, null, null, null));
+    }
+
+    @Test
+    public void writesMultipleRangesOfFileAsMultipartContent() throws Exception {
+        PartialFile partialFile = new PartialFile(file, CONTENT.length(), ranges("bytes=0-1,-2"), "text/plain", "xyz");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        partialFileEntityProvider.writeTo(partialFile, PartialFile.class, null, null, null, null, out);
+
+        String expected = "--xyz\r\n"
+                          + "Content-Type: text/plain\r\n"
+                          + "Content-Range: bytes 0-1/18\r\n"
+                          + "\r\n"
+                          + "to\r\n"
+                          + "--xyz\r\n"
+                          + "Content-Type: text/plain\r\n"
+                          + "Content-Range: bytes 16-17/18\r\n"
+                          + "\r\n"
+                          + "be\r\n"
+                          + "--xyz--\r\n";
+        assertEquals(expected, out.toString());
+        assertEquals(expected.length(), partialFileEntityProvider.getSize(partialFile, PartialFile.class, null, null, null));
+    }
+
+    @Test
+    public void omitsContentTypeOfPartsWhenItIsNotKnown() throws Exception {
+        PartialFile partialFile = new PartialFile(file, CONTENT.length(), ranges("bytes=0-1,3-4"), null, "xyz");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        partialFileEntityProvider.writeTo(partialFile, PartialFile.class, null, null, null, null, out);
+
+        assertFalse(out.toString().contains("Content-Type"));
+        assertEquals(out.size(), partialFileEntityProvider.getSize(partialFile, PartialFile.class, null, null, null));
+    }
+
+    @Test(expected = EOFException.class)
+    public void failsWhenFileIsTruncatedAfterRangesAreValidated() throws Exception {
+        PartialFile partialFile = new PartialFile(file, CONTENT.length(), ranges("bytes=10-17"), null, null);
+        Files.write("to be".getBytes(), file);
+
+        partialFileEntityProvider.writeTo(partialFile, PartialFile.class, null, null, null, null, new ByteArrayOutputStream());
+    }
+
+    private List<Range> ranges(String header) {
+        Ranges ranges = new RangesHeaderDelegate().fromString(header);
+        List<Range> result = newArrayList(ranges.getRanges());
+        result.forEach(range -> range.validate(CONTENT.length()));
+        return result;
+    }
+}
@@ -14,6 +14,7 @@ import org.everrest.core.impl.EverrestConfiguration;
 import org.everrest.core.impl.ServerConfigurationProperties;
 import org.everrest.core.impl.async.AsynchronousProcessListWriter;
 import org.everrest.core.impl.async.DefaultAsynchronousJobPool;
+import org.everrest.core.impl.method.filter.RangeFilter;
 import org.everrest.core.impl.method.filter.SecurityConstraintDynamicFeature;
 import org.everrest.core.impl.method.filter.UriNormalizeFilter;
 import org.everrest.core.impl.method.filter.XHTTPMethodOverrideFilter;
@@ -101,6 +102,18 @@ public class ServerEmbeddedProvidersFeatureTest {
         verify(featureContext).register(isA(SAXSourceEntityProvider.class));
     }
 
+    @Test
+    public void registersPartialFileEntityProvider() {
+        embeddedProvidersFeature.configure(featureContext);
+        verify(featureContext).register(isA(PartialFileEntityProvider.class));
+    }
+
+    @Test
+    public void registersRangeFilter() {
+        embeddedProvidersFeature.configure(featureContext);
+        verify(featureContext).register(isA(RangeFilter.class));
+    }
+
     @Test
     public void registersStreamSourceEntityProvider() {
         embeddedProvidersFeature.configure(featureContext);
@@ -0,0 +1,203 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl.provider.json;
+
+import com.google.common.io.ByteStreams;
+import org.everrest.core.impl.provider.json.tst.BeanWithPrimitiveFields;
+import org.everrest.core.impl.provider.json.tst.Book;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+
+import static org.everrest.core.impl.provider.json.tst.BeanWithPrimitiveFields.createBeanWithPrimitiveFields;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class BeanCodecTest {
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void createsCodecOnceForClass() {
+        assertSame(BeanCodec.of(Book.class), BeanCodec.of(Book.class));
+    }
+
+    @Test
+    public void findsSetterByNameOfProperty() {
+        BeanCodec codec = BeanCodec.of(Book.class);
+
+        assertEquals("title", codec.getSetter("title").field);
+        assertNull(codec.getSetter("unknown"));
+    }
+
+    @Test
+    public void readsAndWritesPropertiesOfPrimitiveTypes() throws Exception {
+        JsonValue jsonValue = JsonGenerator.createJsonObject(createBeanWithPrimitiveFields());
+
+        BeanWithPrimitiveFields bean = ObjectBuilder.createObject(BeanWithPrimitiveFields.class, jsonValue);
+
+        assertEquals(1, bean.getaByte());
+        assertEquals(2, bean.getaShort());
+        assertEquals(3, bean.getAnInt());
+        assertEquals(4L, bean.getaLong());
+        assertEquals(5.5F, bean.getaFloat(), 0.0F);
+        assertEquals(7.7, bean.getaDouble(), 0.0);
+        assertEquals(true, bean.isaBoolean());
+        assertEquals('a', bean.getaChar());
+        assertEquals(jsonValue.toString(), JsonGenerator.createJsonObject(bean).toString());
+    }
+
+    @Test
+    public void usesReflectionWhenClassIsNotPublic() throws Exception {
+        ObjectValue jsonValue = new ObjectValue();
+        jsonValue.addElement("name", new StringValue("foo"));
+        jsonValue.addElement("count", new LongValue(3));
+
+        NotPublicBean bean = ObjectBuilder.createObject(NotPublicBean.class, jsonValue);
+
+        assertEquals("foo", bean.getName());
+        assertEquals(3, bean.getCount());
+        JsonValue result = JsonGenerator.createJsonObject(bean);
+        assertEquals("foo", result.getElement("name").getStringValue());
+        assertEquals(3, result.getElement("count").getIntValue());
+    }
+
+    @Test
+    public void wrapsExceptionThrownBySetter() throws Exception {
+        ObjectValue jsonValue = new ObjectValue();
+        jsonValue.addElement("count", new LongValue(-1));
+
+        thrown.expect(JsonException.class);
+        thrown.expectMessage(String.format("Unable restore parameter via method %s#setCount", ValidatingBean.class.getName()));
+        ObjectBuilder.createObject(ValidatingBean.class, jsonValue);
+    }
+
+    @Test
+    public void wrapsExceptionThrownByGetter() throws Exception {
+        ValidatingBean bean = new ValidatingBean();
+
+        thrown.expect(JsonException.class);
+        thrown.expectMessage("count is not set");
+        JsonGenerator.createJsonObject(bean);
+    }
+
+    @Test
+    public void doesNotPreventUnloadingOfClass() throws Exception {
+        WeakReference<ClassLoader> classLoader = loadClassAndUseCodec();
+
+        for (int i = 0; i < 50 && classLoader.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+
+        assertNull(classLoader.get());
+    }
+
+    private WeakReference<ClassLoader> loadClassAndUseCodec() throws Exception {
+        ClassLoader classLoader = new SingleClassLoader(getClass().getClassLoader(), SimpleBean.class.getName());
+        Class<?> beanClass = classLoader.loadClass(SimpleBean.class.getName());
+        ObjectValue jsonValue = new ObjectValue();
+        jsonValue.addElement("name", new StringValue("foo"));
+        Object bean = ObjectBuilder.createObject(beanClass, jsonValue);
+        assertNotNull(BeanCodec.of(beanClass));
+        assertEquals(jsonValue.toString(), JsonGenerator.createJsonObject(bean).toString());
+        return new WeakReference<>(classLoader);
+    }
+
+    public static class SimpleBean {
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    static class NotPublicBean {
+        private String name;
+        private int    count;
+
+        public NotPublicBean() {
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+    }
+
+    public static class ValidatingBean {
+        private Integer count;
+
+        public int getCount() {
+            if (count == null) {
+                throw new IllegalStateException("count is not set");
+            }
+            return count;
+        }
+
+        public void setCount(int count) {
+            if (count < 0) {
+                throw new IllegalArgumentException("count must not be negative");
+            }
+            this.count = count;
+        }
+    }
+
+    /** Defines class with specified name itself and delegates loading of all other classes to parent. */
+    private static class SingleClassLoader extends ClassLoader {
+        private final String className;
+
+        SingleClassLoader(ClassLoader parent, String className) {
+            super(parent);
+            this.className = className;
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!className.equals(name)) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> aClass = findLoadedClass(name);
+                if (aClass == null) {
+                    try (InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                        byte[] bytes = ByteStreams.toByteArray(in);
+                        aClass = defineClass(name, bytes, 0, bytes.length);
+                    } catch (IOException e) {
+                        throw new ClassNotFoundException(name, e);
+                    }
+                }
+                return aClass;
+            }
+        }
+    }
+}
@@ -35,6 +35,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.StringWriter;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -243,6 +245,77 @@ public class JsonGeneratorTest {
         assertionHelper.assertThatJsonHasAllFieldsFromObject(beanWithPrimitiveFields, jsonValue);
     }
 
+    @DataProvider
+    public static Object[][] objectsForStreamingWrite() {
+        return new Object[][]{
+                {createJunitBook()},
+                {createBookWrapperOne(createJunitBook())},
+                {createBookWrapperThree(createCSharpBook())},
+                {createBookCollections()},
+                {createBookArrays()},
+                {createBeanWithEnums()},
+                {createBeanWithClassField()},
+                {createBeanWithPrimitiveFields()},
+                {new BeanWithTransientField()}
+        };
+    }
+
+    @UseDataProvider("objectsForStreamingWrite")
+    @Test
+    public void writesObjectTheSameAsJsonValueCreatedFromObject(Object object) throws Exception {
+        StringWriter output = new StringWriter();
+        JsonWriter jsonWriter = new JsonWriter(output);
+
+        JsonGenerator.writeJsonObject(object, jsonWriter);
+        jsonWriter.flush();
+
+        assertEquals(writeToString(JsonGenerator.createJsonObject(object)), output.toString());
+    }
+
+    @Test
+    public void writesArrayTheSameAsJsonValueCreatedFromArray() throws Exception {
+        Object[] array = {junitBook, csharpBook, null, new int[]{1, 2}, new float[]{1.1f}, new char[]{'a'}, "x"};
+        StringWriter output = new StringWriter();
+        JsonWriter jsonWriter = new JsonWriter(output);
+
+        JsonGenerator.writeJsonArray(array, jsonWriter);
+        jsonWriter.flush();
+
+        assertEquals(writeToString(JsonGenerator.createJsonArray(array)), output.toString());
+    }
+
+    @Test
+    public void writesCollectionAndMapTheSameAsJsonValueCreatedFromThem() throws Exception {
+        List<Book> books = Arrays.asList(junitBook, csharpBook, javaScriptBook);
+        Map<String, Object> map = ImmutableMap.of("books", books, "title", "x", "pages", 1);
+        StringWriter output = new StringWriter();
+        JsonWriter jsonWriter = new JsonWriter(output);
+
+        jsonWriter.writeStartArray();
+        JsonGenerator.writeJsonArray(books, jsonWriter);
+        JsonGenerator.writeJsonObjectFromMap(map, jsonWriter);
+        jsonWriter.writeEndArray();
+        jsonWriter.flush();
+
+        ArrayValue expected = new ArrayValue();
+        expected.addElement(JsonGenerator.createJsonArray(books));
+        expected.addElement(JsonGenerator.createJsonObjectFromMap(map));
+        assertEquals(writeToString(expected), output.toString());
+    }
+
+    @Test(expected = JsonException.class)
+    public void doesNotAcceptOtherThanArrayArgumentsWhenWriteJsonArray() throws Exception {
+        JsonGenerator.writeJsonArray(new Object(), new JsonWriter(new StringWriter()));
+    }
+
+    private String writeToString(JsonValue jsonValue) throws Exception {
+        StringWriter output = new StringWriter();
+        JsonWriter jsonWriter = new JsonWriter(output);
+        jsonValue.writeTo(jsonWriter);
+        jsonWriter.flush();
+        return output.toString();
+    }
+
     @Test
     public void convertsSimpleGroovyBeanToJson() throws Exception {
         Class<?> aClass = parseGroovyClass("SimpleBean.groovy");
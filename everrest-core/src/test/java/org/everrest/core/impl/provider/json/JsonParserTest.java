@@ -19,12 +19,23 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InOrder;
 
+import org.mockito.ArgumentCaptor;
+
 import java.io.ByteArrayInputStream;
+import java.io.FilterReader;
+import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.List;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @RunWith(DataProviderRunner.class)
 public class JsonParserTest {
@@ -277,4 +288,90 @@ public class JsonParserTest {
     public void failsParseInvalidJson(String jsonString) throws Exception {
         parser.parse(new InputStreamReader(new ByteArrayInputStream(jsonString.getBytes())));
     }
+
+    @UseDataProvider("invalidJson")
+    @Test(expected = JsonException.class)
+    public void failsParseInvalidJsonFromStream(String jsonString) throws Exception {
+        parser.parse(new ByteArrayInputStream(jsonString.getBytes(UTF_8)));
+    }
+
+    @Test
+    public void decodesUtf8BytesFromStream() throws Exception {
+        String jsonString = "{\"\u043a\u043b\u044e\u0447\": \"\u00e9 \u20ac \ud83d\ude00\"}";
+        parser.parse(new ByteArrayInputStream(jsonString.getBytes(UTF_8)));
+
+        InOrder inOrder = inOrder(handler);
+        inOrder.verify(handler).startObject();
+        inOrder.verify(handler).key("\u043a\u043b\u044e\u0447");
+        inOrder.verify(handler).characters("\"\u00e9 \u20ac \ud83d\ude00\"".toCharArray());
+        inOrder.verify(handler).endObject();
+    }
+
+    @Test
+    public void replacesMalformedUtf8BytesFromStream() throws Exception {
+        byte[] bytes = {'[', '"', 'a', (byte)0xC3, 'b', (byte)0xFF, '"', ',', '"', (byte)0xE2, (byte)0x82, '"', ']'};
+        parser.parse(new ByteArrayInputStream(bytes));
+
+        InOrder inOrder = inOrder(handler);
+        inOrder.verify(handler).startArray();
+        inOrder.verify(handler).characters("\"a\ufffdb\ufffd\"".toCharArray());
+        inOrder.verify(handler).characters("\"\ufffd\"".toCharArray());
+        inOrder.verify(handler).endArray();
+    }
+
+    @Test
+    public void parsesTheSameFromStreamAndReaderWhenTokensCrossBoundaryOfBuffer() throws Exception {
+        StringBuilder jsonString = new StringBuilder("[");
+        for (int i = 0; i < 2000; i++) {
+            if (i > 0) {
+                jsonString.append(',');
+            }
+            jsonString.append("{\"key").append(i % 7).append("\": \"\u0432\u0430\u043b\ud83d\ude00").append(i)
+                      .append("\", \"escaped\":\"a\\tb\\u0041\", \"number\": ").append(i * 1.5)
+                      .append(", \"flag\": true /* comment */}");
+        }
+        jsonString.append(']');
+        JsonParser expectedParser = new JsonParser();
+        expectedParser.parse(new InputStreamReader(new ByteArrayInputStream(jsonString.toString().getBytes(UTF_8)), UTF_8));
+        String expected = expectedParser.getJsonObject().toString();
+
+        JsonParser streamParser = new JsonParser();
+        streamParser.parse(new ByteArrayInputStream(jsonString.toString().getBytes(UTF_8)));
+        JsonParser readerParser = new JsonParser();
+        readerParser.parse(new SingleCharReader(new StringReader(jsonString.toString())));
+
+        assertEquals(expected, streamParser.getJsonObject().toString());
+        assertEquals(expected, readerParser.getJsonObject().toString());
+    }
+
+    @Test
+    public void sharesInstancesOfKeys() throws Exception {
+        parser.parse(new ByteArrayInputStream("[{\"name\":1},{\"name\":2}]".getBytes(UTF_8)));
+
+        ArgumentCaptor<String> keys = ArgumentCaptor.forClass(String.class);
+        verify(handler, times(2)).key(keys.capture());
+        List<String> values = keys.getAllValues();
+        assertEquals("name", values.get(0));
+        assertSame(values.get(0), values.get(1));
+    }
+
+    @Test
+    public void reusesParserForNextDocument() throws Exception {
+        JsonParser jsonParser = new JsonParser();
+        jsonParser.parse(new ByteArrayInputStream("{\"foo\":\"bar\"}".getBytes(UTF_8)));
+        jsonParser.parse(new StringReader("[1,2]"));
+
+        assertEquals("[1,2]", jsonParser.getJsonObject().toString());
+    }
+
+    private static class SingleCharReader extends FilterReader {
+        SingleCharReader(Reader in) {
+            super(in);
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            return super.read(buffer, offset, Math.min(length, 1));
+        }
+    }
 }
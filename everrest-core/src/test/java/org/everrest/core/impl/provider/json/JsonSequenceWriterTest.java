@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl.provider.json;
+
+import org.everrest.core.impl.provider.json.JsonSequenceWriter.Framing;
+import org.everrest.core.impl.provider.json.tst.Book;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static org.everrest.core.impl.provider.json.tst.Book.createCSharpBook;
+import static org.everrest.core.impl.provider.json.tst.Book.createJunitBook;
+import static org.junit.Assert.assertEquals;
+
+public class JsonSequenceWriterTest {
+    @Test
+    public void writesElementsAsJsonArray() throws Exception {
+        List<Object> elements = Arrays.asList(createJunitBook(), null, "to be", 1, new int[]{1, 2}, newArrayList(createCSharpBook()));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        JsonSequenceWriter sequenceWriter = new JsonSequenceWriter(out, Framing.ARRAY);
+        for (Object element : elements) {
+            sequenceWriter.write(element);
+        }
+        sequenceWriter.finish();
+
+        StringWriter expected = new StringWriter();
+        JsonWriter jsonWriter = new JsonWriter(expected);
+        JsonGenerator.writeJsonArray(elements, jsonWriter);
+        jsonWriter.flush();
+        assertEquals(expected.toString(), out.toString("UTF-8"));
+        assertEquals(elements.size(), sequenceWriter.getCount());
+    }
+
+    @Test
+    public void writesEmptyJsonArrayWhenThereAreNoElements() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        JsonSequenceWriter sequenceWriter = new JsonSequenceWriter(out, Framing.ARRAY);
+        sequenceWriter.finish();
+
+        assertEquals("[]", out.toString("UTF-8"));
+    }
+
+    @Test
+    public void writesEachElementOnOwnLine() throws Exception {
+        Book book = createJunitBook();
+        ObjectValue jsonValue = new ObjectValue();
+        jsonValue.addElement("name", new StringValue("foo"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        JsonSequenceWriter sequenceWriter = new JsonSequenceWriter(out, Framing.NDJSON);
+        sequenceWriter.write(book);
+        sequenceWriter.write("to \"be\"");
+        sequenceWriter.write(1);
+        sequenceWriter.write(null);
+        sequenceWriter.write(newArrayList("a", "b"));
+        sequenceWriter.write(jsonValue);
+        sequenceWriter.write(new StringValue("bar"));
+        sequenceWriter.finish();
+
+        assertEquals(JsonGenerator.createJsonObject(book) + "\n"
+                     + "\"to \\\"be\\\"\"\n"
+                     + "1\n"
+                     + "null\n"
+                     + "[\"a\",\"b\"]\n"
+                     + "{\"name\":\"foo\"}\n"
+                     + "\"bar\"\n",
+                     out.toString("UTF-8"));
+    }
+
+    @Test
+    public void writesNothingForEmptyNdjsonSequence() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        new JsonSequenceWriter(out, Framing.NDJSON).finish();
+
+        assertEquals("", out.toString("UTF-8"));
+    }
+
+    @Test
+    public void flushesOutputAfterEachFlushIntervalAndWhenFinished() throws Exception {
+        FlushCountingOutputStream out = new FlushCountingOutputStream();
+
+        JsonSequenceWriter sequenceWriter = new JsonSequenceWriter(out, Framing.ARRAY, 2);
+        sequenceWriter.write(1);
+        assertEquals(0, out.flushes);
+        assertEquals(0, out.size());
+        sequenceWriter.write(2);
+        assertEquals(1, out.flushes);
+        assertEquals("[1,2", out.toString("UTF-8"));
+        sequenceWriter.write(3);
+        sequenceWriter.finish();
+
+        assertEquals(2, out.flushes);
+        assertEquals("[1,2,3]", out.toString("UTF-8"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void failsWriteElementWhenSequenceIsFinished() throws Exception {
+        JsonSequenceWriter sequenceWriter = new JsonSequenceWriter(new ByteArrayOutputStream(), Framing.ARRAY);
+        sequenceWriter.finish();
+
+        sequenceWriter.write(1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void failsCreateWriterWithInvalidFlushInterval() {
+        new JsonSequenceWriter(new ByteArrayOutputStream(), Framing.ARRAY, 0);
+    }
+
+    private static class FlushCountingOutputStream extends ByteArrayOutputStream {
+        int flushes;
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+    }
+}
@@ -17,7 +17,9 @@ import groovy.lang.GroovyObject;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.CharStreams;
 
+import org.everrest.core.impl.provider.json.tst.BeanWithPrimitiveFields;
 import org.everrest.core.impl.provider.json.tst.Book;
+import org.everrest.core.impl.provider.json.tst.BookArrays;
 import org.everrest.core.impl.provider.json.tst.BookCollections;
 import org.everrest.core.impl.provider.json.tst.BookEnum;
 import org.everrest.core.impl.provider.json.tst.IBook;
@@ -25,6 +27,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -36,9 +39,12 @@ import java.util.Set;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Sets.newHashSet;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.everrest.core.impl.provider.json.tst.BeanWithPrimitiveFields.createBeanWithPrimitiveFields;
 import static org.everrest.core.impl.provider.json.tst.Book.createCSharpBook;
 import static org.everrest.core.impl.provider.json.tst.Book.createJavaScriptBook;
 import static org.everrest.core.impl.provider.json.tst.Book.createJunitBook;
+import static org.everrest.core.impl.provider.json.tst.BookArrays.createBookArrays;
 import static org.everrest.core.impl.provider.json.tst.BookCollections.createBookCollections;
 import static org.everrest.core.impl.provider.json.tst.BookEnum.ADVANCED_JAVA_SCRIPT;
 import static org.everrest.core.impl.provider.json.tst.BookEnum.BEGINNING_C;
@@ -47,6 +53,7 @@ import static org.everrest.core.util.ParameterizedTypeImpl.newParameterizedType;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 public class ObjectBuilderTest {
     @Rule
@@ -360,6 +367,97 @@ public class ObjectBuilderTest {
         return jsonObject;
     }
 
+    @Test
+    public void readsObjectFromStream() throws Exception {
+        Book book = (Book)ObjectBuilder.readObject(Book.class, Book.class, stream(createJsonBook(createJunitBook())));
+        assertEquals(createJunitBook(), book);
+    }
+
+    @Test
+    public void readsObjectWithChildCollectionsFromStream() throws Exception {
+        BookCollections bookCollections = (BookCollections)ObjectBuilder.readObject(BookCollections.class, BookCollections.class,
+                                                                                     stream(givenJsonObjectThatContainsCollections()));
+        assertEquals(createBookCollections(), bookCollections);
+    }
+
+    @Test
+    public void readsObjectWithArraysFromStreamTheSameAsFromJsonValue() throws Exception {
+        JsonValue jsonValue = JsonGenerator.createJsonObject(createBookArrays());
+
+        Object fromStream = ObjectBuilder.readObject(BookArrays.class, BookArrays.class, stream(jsonValue));
+
+        assertEquals(jsonValue.toString(), JsonGenerator.createJsonObject(fromStream).toString());
+    }
+
+    @Test
+    public void readsObjectWithPrimitiveFieldsFromStreamTheSameAsFromJsonValue() throws Exception {
+        JsonValue jsonValue = JsonGenerator.createJsonObject(createBeanWithPrimitiveFields());
+
+        Object fromStream = ObjectBuilder.readObject(BeanWithPrimitiveFields.class, BeanWithPrimitiveFields.class, stream(jsonValue));
+
+        assertEquals(JsonGenerator.createJsonObject(ObjectBuilder.createObject(BeanWithPrimitiveFields.class, jsonValue)).toString(),
+                     JsonGenerator.createJsonObject(fromStream).toString());
+    }
+
+    @Test
+    public void skipsPropertiesThatDoNotHaveSetterWhenReadObjectFromStream() throws Exception {
+        String json = "{\"unknown\":{\"a\":[1,{\"b\":2}]},\"author\":\"Vincent Massol\",\"other\":[[]],\"pages\":386}";
+
+        Book book = (Book)ObjectBuilder.readObject(Book.class, Book.class, new ByteArrayInputStream(json.getBytes(UTF_8)));
+
+        assertEquals("Vincent Massol", book.getAuthor());
+        assertEquals(386, book.getPages());
+        assertNull(book.getTitle());
+    }
+
+    @Test
+    public void readsArrayCollectionAndMapFromStream() throws Exception {
+        assertArrayEquals(new int[]{1, 2, 3},
+                          (int[])ObjectBuilder.readObject(int[].class, int[].class, new ByteArrayInputStream("[1,2,3]".getBytes(UTF_8))));
+        assertArrayEquals(new String[][]{{"a"}, {"b", "c"}},
+                          (String[][])ObjectBuilder.readObject(String[][].class, String[][].class,
+                                                                new ByteArrayInputStream("[[\"a\"],[\"b\",\"c\"]]".getBytes(UTF_8))));
+        assertEquals(newArrayList(createJunitBook()),
+                     ObjectBuilder.readObject(List.class, newParameterizedType(List.class, Book.class),
+                                              stream(createJsonArray(createJsonBook(createJunitBook())))));
+        assertEquals(ImmutableMap.of("1", "to be or"),
+                     ObjectBuilder.readObject(Map.class, newParameterizedType(Map.class, String.class, String.class),
+                                              new ByteArrayInputStream("{\"1\":\"to be or\"}".getBytes(UTF_8))));
+    }
+
+    @Test
+    public void returnsNullWhenReadObjectFromEmptyStream() throws Exception {
+        assertNull(ObjectBuilder.readObject(Book.class, Book.class, new ByteArrayInputStream(new byte[0])));
+    }
+
+    @Test
+    public void doesNotBuildJsonValueWhenReadObjectFromStream() throws Exception {
+        ObjectBuilderHandler handler = new ObjectBuilderHandler(Book.class, Book.class);
+        JsonParser parser = new JsonParser(handler);
+
+        parser.parse(stream(createJsonBook(createJunitBook())));
+
+        assertEquals(createJunitBook(), handler.getObject());
+        assertNull(parser.getJsonObject());
+    }
+
+    @Test
+    public void failsReadObjectWhenInstanceOfClassCanNotBeCreated() throws Exception {
+        thrown.expect(JsonException.class);
+        ObjectBuilder.readObject(ThrowsExceptionInConstructorBook.class, ThrowsExceptionInConstructorBook.class,
+                                 stream(createJsonBook(createJunitBook())));
+    }
+
+    @Test
+    public void failsReadObjectWhenJsonIsMalformed() throws Exception {
+        thrown.expect(JsonException.class);
+        ObjectBuilder.readObject(Book.class, Book.class, new ByteArrayInputStream("{\"author\":".getBytes(UTF_8)));
+    }
+
+    private InputStream stream(JsonValue jsonValue) {
+        return new ByteArrayInputStream(jsonValue.toString().getBytes(UTF_8));
+    }
+
     @Test
     public void createsSimpleGroovyBean() throws Exception {
         Class<?> aClass = parseGroovyClass("SimpleBean.groovy");
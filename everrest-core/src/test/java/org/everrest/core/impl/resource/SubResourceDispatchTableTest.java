@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.impl.resource;
+
+import org.everrest.core.resource.SubResourceLocatorDescriptor;
+import org.everrest.core.resource.SubResourceMethodDescriptor;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.ws.rs.DELETE;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class SubResourceDispatchTableTest {
+    private SubResourceDispatchTable dispatchTable;
+    private List<String>             capturedValues;
+
+    @Before
+    public void setUp() throws Exception {
+        dispatchTable = new AbstractResourceDescriptor(Resource.class).getSubResourceDispatchTable();
+        capturedValues = new ArrayList<>();
+    }
+
+    @Test
+    public void findsSubResourceMethodsWithLiteralPath() throws Exception {
+        Map<String, List<SubResourceMethodDescriptor>> methods = dispatchTable.findSubResourceMethods("GET", "/b/c", capturedValues);
+
+        assertEquals("b/c", methods.get("GET").get(0).getPathValue().getPath());
+        assertEquals(newArrayList((String)null), capturedValues);
+    }
+
+    @Test
+    public void findsSubResourceMethodsWithTemplatePath() throws Exception {
+        Map<String, List<SubResourceMethodDescriptor>> methods = dispatchTable.findSubResourceMethods("GET", "/b/x", capturedValues);
+
+        assertEquals("b/{id}", methods.get("GET").get(0).getPathValue().getPath());
+        assertEquals(newArrayList("x", null), capturedValues);
+    }
+
+    @Test
+    public void pathWithMethodsForRequestedHttpMethodTakesPrecedence() throws Exception {
+        Map<String, List<SubResourceMethodDescriptor>> methods = dispatchTable.findSubResourceMethods("DELETE", "/b/c", capturedValues);
+
+        assertEquals("b/{id}", methods.get("DELETE").get(0).getPathValue().getPath());
+        assertEquals(newArrayList("c", null), capturedValues);
+    }
+
+    @Test
+    public void returnsMethodsOfLastMatchedPathWhenThereIsNoMethodsForRequestedHttpMethod() throws Exception {
+        Map<String, List<SubResourceMethodDescriptor>> methods = dispatchTable.findSubResourceMethods("PUT", "/b/c", capturedValues);
+
+        assertTrue(methods.containsKey("DELETE"));
+        assertEquals("b/{id}", methods.get("GET").get(0).getPathValue().getPath());
+        assertEquals(newArrayList("c", null), capturedValues);
+    }
+
+    @Test
+    public void returnsNullWhenNoSubResourceMethodsMatched() throws Exception {
+        assertNull(dispatchTable.findSubResourceMethods("GET", "/x/y", capturedValues));
+        assertNull(dispatchTable.findSubResourceMethods("GET", "/b/c/d", capturedValues));
+    }
+
+    @Test
+    public void findsSubResourceLocator() throws Exception {
+        SubResourceLocatorDescriptor locator = dispatchTable.findSubResourceLocator("/b/c/d", capturedValues);
+
+        assertEquals("b/c", locator.getPathValue().getPath());
+        assertEquals(newArrayList("/d"), capturedValues);
+    }
+
+    @Test
+    public void returnsNullWhenNoSubResourceLocatorsMatched() throws Exception {
+        assertNull(dispatchTable.findSubResourceLocator("/x/y", capturedValues));
+    }
+
+    @Path("a")
+    public static class Resource {
+        @GET
+        @Path("b/c")
+        public String get() {
+            return null;
+        }
+
+        @GET
+        @Path("b/{id}")
+        public String get(@PathParam("id") String id) {
+            return null;
+        }
+
+        @DELETE
+        @Path("b/{id}")
+        public void delete(@PathParam("id") String id) {
+        }
+
+        @Path("b/c")
+        public Object locator() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.servlet;
+
+import com.google.common.io.CharStreams;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.everrest.core.ProviderBinder;
+import org.everrest.core.impl.ContainerResponse;
+import org.everrest.core.impl.DefaultProviderBinder;
+import org.everrest.core.impl.EnvironmentContext;
+import org.everrest.core.impl.EverrestProcessor;
+import org.everrest.core.impl.RequestDispatcher;
+import org.everrest.core.impl.RequestHandlerImpl;
+import org.everrest.core.impl.ResourceBinderImpl;
+import org.everrest.core.impl.ServerConfigurationProperties;
+import org.everrest.core.impl.provider.ServerEmbeddedProvidersFeature;
+import org.everrest.core.tools.DependencySupplierImpl;
+import org.everrest.core.util.BufferPool;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+
+import static com.google.common.io.ByteStreams.toByteArray;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static javax.ws.rs.RuntimeType.SERVER;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ServletAsynchronousProcessingTest {
+    @Path("a")
+    public static class Resource1 {
+        static ExecutorService executor;
+        static CountDownLatch  released;
+
+        @GET
+        public void m(@Suspended AsyncResponse response) {
+            executor.execute(() -> {
+                try {
+                    response.resume(released.await(5, SECONDS) ? "released" : "not released");
+                } catch (InterruptedException e) {
+                    response.resume(e);
+                }
+            });
+        }
+    }
+
+    @Path("b")
+    public static class Resource2 {
+        static final byte[] ENTITY = new byte[16 * 1024 * 1024];
+
+        static {
+            for (int i = 0; i < ENTITY.length; i++) {
+                ENTITY[i] = (byte)i;
+            }
+        }
+
+        @GET
+        public byte[] m() {
+            return ENTITY;
+        }
+    }
+
+    private Server            server;
+    private CountDownLatch    handlerReturned;
+    private EverrestProcessor processor;
+
+    @Before
+    public void setUp() throws Exception {
+        Resource1.executor = newSingleThreadExecutor();
+        Resource1.released = new CountDownLatch(1);
+        ResourceBinderImpl resources = new ResourceBinderImpl();
+        resources.addResource(Resource1.class, null);
+        resources.addResource(Resource2.class, null);
+        ProviderBinder providers = new DefaultProviderBinder(SERVER, new ServerConfigurationProperties());
+        providers.register(new ServerEmbeddedProvidersFeature());
+        processor = new EverrestProcessor(new ServerConfigurationProperties(), new DependencySupplierImpl(),
+                                          new RequestHandlerImpl(new RequestDispatcher(resources), providers), resources, providers, null);
+
+        handlerReturned = new CountDownLatch(1);
+        BufferPool bufferPool = new BufferPool(8192, 16);
+        server = new Server(0);
+        server.setHandler(new AbstractHandler() {
+            @Override
+            public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) throws IOException {
+                baseRequest.setHandled(true);
+                EnvironmentContext env = new EnvironmentContext();
+                env.put(HttpServletRequest.class, request);
+                env.put(HttpServletResponse.class, response);
+                boolean nonBlockingWrite = request.getRequestURI().endsWith("/b");
+                processor.process(ServletContainerRequest.create(request),
+                                  new ContainerResponse(new ServletContainerResponseWriter(request, response,
+                                                                                           nonBlockingWrite ? bufferPool : null,
+                                                                                           Integer.MAX_VALUE)),
+                                  env);
+                Resource1.released.countDown();
+                handlerReturned.countDown();
+            }
+        });
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.stop();
+        Resource1.executor.shutdownNow();
+    }
+
+    @Test
+    public void releasesContainerThreadWhileRequestIsSuspended() throws Exception {
+        int port = ((ServerConnector)server.getConnectors()[0]).getLocalPort();
+        HttpURLConnection connection = (HttpURLConnection)new URL("http://localhost:" + port + "/a").openConnection();
+        connection.setReadTimeout(10000);
+
+        assertEquals(200, connection.getResponseCode());
+        try (InputStreamReader reader = new InputStreamReader(connection.getInputStream(), UTF_8)) {
+            assertEquals("released", CharStreams.toString(reader));
+        }
+    }
+
+    @Test
+    public void releasesContainerThreadBeforeClientReadsEntityInNonBlockingMode() throws Exception {
+        int port = ((ServerConnector)server.getConnectors()[0]).getLocalPort();
+        HttpURLConnection connection = (HttpURLConnection)new URL("http://localhost:" + port + "/b").openConnection();
+        connection.setReadTimeout(10000);
+
+        assertEquals(200, connection.getResponseCode());
+        assertTrue(handlerReturned.await(5, SECONDS));
+        try (InputStream input = connection.getInputStream()) {
+            assertArrayEquals(Resource2.ENTITY, toByteArray(input));
+        }
+    }
+}
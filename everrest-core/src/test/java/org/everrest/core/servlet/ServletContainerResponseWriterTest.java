@@ -10,16 +10,46 @@
  *******************************************************************************/
 package org.everrest.core.servlet;
 
+import com.google.common.base.Strings;
 import org.everrest.core.GenericContainerResponse;
+import org.everrest.core.UnhandledException;
 import org.everrest.core.impl.provider.StringEntityProvider;
+import org.everrest.core.util.BufferPool;
 import org.junit.Before;
 import org.junit.Test;
 
+import javax.servlet.AsyncContext;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedHashMap;
 import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -61,4 +91,217 @@ public class ServletContainerResponseWriterTest {
         verify(httpServletResponse).setStatus(200);
         verify(httpServletResponse).addHeader("content-type", "text/plain");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void replacesDateHeaderOfServletContainer() throws Exception {
+        MultivaluedMap<String, String> responseHeaders = new MultivaluedHashMap<>();
+        responseHeaders.putSingle("Date", "Sun, 06 Nov 1994 08:49:37 GMT");
+        when(containerResponse.getStringHeaders()).thenReturn(responseHeaders);
+
+        servletContainerResponseWriter.writeHeaders(containerResponse);
+
+        verify(httpServletResponse).setHeader("Date", "Sun, 06 Nov 1994 08:49:37 GMT");
+        verify(httpServletResponse, never()).addHeader(anyString(), anyString());
+    }
+
+    @Test
+    public void doesNotSuspendRequestWhenServletDoesNotSupportAsynchronousProcessing() throws Exception {
+        HttpServletRequest httpServletRequest = mock(HttpServletRequest.class);
+        servletContainerResponseWriter = new ServletContainerResponseWriter(httpServletRequest, httpServletResponse);
+
+        assertFalse(servletContainerResponseWriter.suspend());
+        verify(httpServletRequest, never()).startAsync();
+    }
+
+    @Test
+    public void doesNotSuspendRequestWhenRequestIsNotAvailable() throws Exception {
+        assertFalse(servletContainerResponseWriter.suspend());
+    }
+
+    @Test
+    public void startsAsynchronousProcessingWithoutTimeoutWhenRequestIsSuspended() throws Exception {
+        HttpServletRequest httpServletRequest = mock(HttpServletRequest.class);
+        AsyncContext asyncContext = mock(AsyncContext.class);
+        when(httpServletRequest.isAsyncSupported()).thenReturn(true);
+        when(httpServletRequest.startAsync()).thenReturn(asyncContext);
+        servletContainerResponseWriter = new ServletContainerResponseWriter(httpServletRequest, httpServletResponse);
+
+        assertTrue(servletContainerResponseWriter.suspend());
+        verify(asyncContext).setTimeout(0);
+
+        servletContainerResponseWriter.complete(null);
+        verify(asyncContext).complete();
+        verify(httpServletResponse, never()).sendError(anyInt());
+    }
+
+    @Test
+    public void sendsErrorWhenSuspendedRequestIsCompletedWithFailure() throws Exception {
+        HttpServletRequest httpServletRequest = mock(HttpServletRequest.class);
+        AsyncContext asyncContext = mock(AsyncContext.class);
+        when(httpServletRequest.isAsyncSupported()).thenReturn(true);
+        when(httpServletRequest.startAsync()).thenReturn(asyncContext);
+        servletContainerResponseWriter = new ServletContainerResponseWriter(httpServletRequest, httpServletResponse);
+        servletContainerResponseWriter.suspend();
+
+        servletContainerResponseWriter.complete(new UnhandledException(new RuntimeException()));
+
+        verify(httpServletResponse).sendError(500);
+        verify(asyncContext).complete();
+    }
+
+    @Test
+    public void writesBodyWithWriteListenerInNonBlockingMode() throws Exception {
+        TstServletOutputStream output = new TstServletOutputStream();
+        HttpServletRequest httpServletRequest = mockAsyncSupportedRequest();
+        AsyncContext asyncContext = httpServletRequest.startAsync();
+        BufferPool bufferPool = new BufferPool(4, 8);
+        servletContainerResponseWriter = createNonBlockingWriter(httpServletRequest, output, bufferPool, 100);
+
+        servletContainerResponseWriter.writeBody(containerResponse, new StringEntityProvider());
+        assertEquals(0, output.getData().length);
+
+        servletContainerResponseWriter.finish();
+        verify(httpServletResponse).setContentLengthLong(11);
+        verify(asyncContext).setTimeout(0);
+
+        output.setReady(false);
+        output.getWriteListener().onWritePossible();
+        assertEquals(0, output.getData().length);
+
+        output.setReady(true);
+        output.getWriteListener().onWritePossible();
+        assertArrayEquals("hello world".getBytes(), output.getData());
+        assertEquals(3, bufferPool.getPooledBufferCount());
+        verify(asyncContext).complete();
+    }
+
+    @Test
+    public void completesSuspendedRequestWhenBodyIsWrittenWithWriteListener() throws Exception {
+        TstServletOutputStream output = new TstServletOutputStream();
+        HttpServletRequest httpServletRequest = mockAsyncSupportedRequest();
+        AsyncContext asyncContext = httpServletRequest.startAsync();
+        servletContainerResponseWriter = createNonBlockingWriter(httpServletRequest, output, new BufferPool(4, 8), 100);
+        servletContainerResponseWriter.suspend();
+
+        servletContainerResponseWriter.writeBody(containerResponse, new StringEntityProvider());
+        servletContainerResponseWriter.finish();
+        servletContainerResponseWriter.complete(null);
+        verify(asyncContext, never()).complete();
+
+        output.getWriteListener().onWritePossible();
+        assertArrayEquals("hello world".getBytes(), output.getData());
+        verify(asyncContext).complete();
+    }
+
+    @Test
+    public void writesBodyThatFitsInResponseBufferDirectlyInNonBlockingMode() throws Exception {
+        TstServletOutputStream output = new TstServletOutputStream();
+        HttpServletRequest httpServletRequest = mockAsyncSupportedRequest();
+        when(httpServletResponse.getBufferSize()).thenReturn(64);
+        servletContainerResponseWriter = createNonBlockingWriter(httpServletRequest, output, new BufferPool(4, 8), 100);
+
+        servletContainerResponseWriter.writeBody(containerResponse, new StringEntityProvider());
+        servletContainerResponseWriter.finish();
+
+        assertArrayEquals("hello world".getBytes(), output.getData());
+        assertNull(output.getWriteListener());
+        verify(httpServletRequest, never()).startAsync();
+    }
+
+    @Test
+    public void writesBodyThatExceedsMaxBufferSizeWithWriteListenerWhileBodyIsWritten() throws Exception {
+        TstServletOutputStream output = new TstServletOutputStream();
+        HttpServletRequest httpServletRequest = mockAsyncSupportedRequest();
+        AsyncContext asyncContext = httpServletRequest.startAsync();
+        servletContainerResponseWriter = createNonBlockingWriter(httpServletRequest, output, new BufferPool(4, 64), 40);
+        String entity = Strings.repeat("hello world", 10);
+        when(containerResponse.getEntity()).thenReturn(entity);
+        output.setReady(false);
+
+        ExecutorService executor = newSingleThreadExecutor();
+        try {
+            Future<?> writeBody = executor.submit(() -> {
+                servletContainerResponseWriter.writeBody(containerResponse, new StringEntityProvider());
+                servletContainerResponseWriter.finish();
+                return null;
+            });
+            WriteListener writeListener = awaitWriteListener(output);
+            MILLISECONDS.sleep(100);
+            assertFalse("Must wait while too many bytes of body are not written", writeBody.isDone());
+
+            output.setReady(true);
+            writeListener.onWritePossible();
+            writeBody.get(5, SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertArrayEquals(entity.getBytes(), output.getData());
+        verify(httpServletResponse, never()).setContentLengthLong(anyLong());
+        verify(asyncContext).complete();
+    }
+
+    @Test
+    public void releasesBuffersAndCompletesRequestWhenEntityWriterFailsAfterWriteListenerIsStarted() throws Exception {
+        TstServletOutputStream output = new TstServletOutputStream();
+        HttpServletRequest httpServletRequest = mockAsyncSupportedRequest();
+        AsyncContext asyncContext = httpServletRequest.startAsync();
+        BufferPool bufferPool = new BufferPool(4, 64);
+        servletContainerResponseWriter = createNonBlockingWriter(httpServletRequest, output, bufferPool, 40);
+        output.setReady(false);
+        MessageBodyWriter entityWriter = mock(MessageBodyWriter.class);
+        doAnswer(invocation -> {
+            OutputStream entityStream = (OutputStream)invocation.getArguments()[6];
+            entityStream.write(new byte[60]);
+            throw new IOException("failed");
+        }).when(entityWriter).writeTo(any(), any(Class.class), any(Type.class), any(Annotation[].class), any(MediaType.class),
+                                      any(MultivaluedMap.class), any(OutputStream.class));
+
+        try {
+            servletContainerResponseWriter.writeBody(containerResponse, entityWriter);
+            fail("IOException expected");
+        } catch (IOException expected) {
+            assertNotNull(output.getWriteListener());
+        }
+        servletContainerResponseWriter.abort();
+
+        assertEquals(15, bufferPool.getPooledBufferCount());
+        verify(asyncContext).complete();
+        output.setReady(true);
+        output.getWriteListener().onWritePossible();
+        assertEquals(0, output.getData().length);
+    }
+
+    @Test
+    public void writesBodyDirectlyWhenServletDoesNotSupportAsynchronousProcessing() throws Exception {
+        TstServletOutputStream output = new TstServletOutputStream();
+        when(httpServletResponse.getOutputStream()).thenReturn(output);
+        servletContainerResponseWriter = new ServletContainerResponseWriter(mock(HttpServletRequest.class), httpServletResponse, new BufferPool(4, 8), 100);
+
+        assertSame(output, servletContainerResponseWriter.getOutputStream());
+    }
+
+    private HttpServletRequest mockAsyncSupportedRequest() {
+        HttpServletRequest httpServletRequest = mock(HttpServletRequest.class);
+        AsyncContext asyncContext = mock(AsyncContext.class);
+        when(httpServletRequest.isAsyncSupported()).thenReturn(true);
+        when(httpServletRequest.startAsync()).thenReturn(asyncContext);
+        return httpServletRequest;
+    }
+
+    private WriteListener awaitWriteListener(TstServletOutputStream output) throws Exception {
+        for (int i = 0; i < 500 && output.getWriteListener() == null; i++) {
+            MILLISECONDS.sleep(10);
+        }
+        assertNotNull(output.getWriteListener());
+        return output.getWriteListener();
+    }
+
+    private ServletContainerResponseWriter createNonBlockingWriter(HttpServletRequest httpServletRequest, TstServletOutputStream output,
+                                                                   BufferPool bufferPool, int maxBufferSize) throws Exception {
+        when(httpServletResponse.getOutputStream()).thenReturn(output);
+        when(containerResponse.getEntity()).thenReturn("hello world");
+        when(containerResponse.getHeaders()).thenReturn(new MultivaluedHashMap<>());
+        return new ServletContainerResponseWriter(httpServletRequest, httpServletResponse, bufferPool, maxBufferSize);
+    }
+}
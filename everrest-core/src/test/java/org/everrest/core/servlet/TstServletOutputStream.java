@@ -16,19 +16,30 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 
 class TstServletOutputStream extends ServletOutputStream {
-    private ByteArrayOutputStream data = new ByteArrayOutputStream();
+    private          ByteArrayOutputStream data  = new ByteArrayOutputStream();
+    private volatile boolean               ready = true;
+    private volatile WriteListener         writeListener;
 
     byte[] getData() {
         return data.toByteArray();
     }
 
+    void setReady(boolean ready) {
+        this.ready = ready;
+    }
+
+    WriteListener getWriteListener() {
+        return writeListener;
+    }
+
     @Override
     public boolean isReady() {
-        return true;
+        return ready;
     }
 
     @Override
     public void setWriteListener(WriteListener writeListener) {
+        this.writeListener = writeListener;
     }
 
     @Override
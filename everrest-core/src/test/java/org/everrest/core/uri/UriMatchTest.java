@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.uri;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class UriMatchTest {
+    private UriMatch match;
+
+    @Before
+    public void setUp() throws Exception {
+        match = new UriMatch();
+    }
+
+    @Test
+    public void matchesPartOfCharacterSequence() {
+        UriPattern pattern = new UriPattern("/a/{x}");
+
+        assertTrue(pattern.match("xx/a/b/c;yy", 2, 8, match));
+
+        assertEquals(2, match.groupCount());
+        assertEquals(5, match.start(0));
+        assertEquals(6, match.end(0));
+        assertEquals("b", match.group(0));
+        assertEquals("/c", match.group(1));
+        assertFalse(match.hasEmptyTail());
+    }
+
+    @Test
+    public void leavesMatchUnchangedWhenPatternDoesNotMatch() {
+        new UriPattern("/a/{x}").match("/a/b", 0, 4, match);
+
+        assertFalse(new UriPattern("/c/{x}").match("/a/b", 0, 4, match));
+
+        assertEquals("b", match.group(0));
+    }
+
+    @Test
+    public void matchesLiteralTemplateWithoutRegularExpression() {
+        UriPattern pattern = new UriPattern("/a/b.txt");
+
+        assertTrue(pattern.match("/a/b.txt/", 0, 9, match));
+        assertEquals(1, match.groupCount());
+        assertEquals("/", match.group(0));
+        assertTrue(match.hasEmptyTail());
+
+        assertTrue(pattern.match("/a/b.txt", 0, 8, match));
+        assertNull(match.group(0));
+        assertTrue(match.hasEmptyTail());
+
+        assertFalse(pattern.match("/a/bxtxt", 0, 8, match));
+        assertFalse(pattern.match("/a/b.txtx", 0, 9, match));
+        assertFalse(pattern.match("/a/b", 0, 4, match));
+    }
+
+    @Test
+    public void literalTemplateMatchesTheSameUrisAsRegularExpression() {
+        List<String> templates = newArrayList("", "/", "/a", "/a/", "/a/b", "/a.b(c)");
+        List<String> uris = newArrayList("/", "/a", "/a/", "/ab", "/a/b", "/a/b/c", "/a/\nb", "/a.b(c)", "/a.b(c)/d", "/axb(c)", "a");
+        for (String template : templates) {
+            UriPattern pattern = new UriPattern(template);
+            Pattern regex = Pattern.compile(pattern.getRegex());
+            for (String uri : uris) {
+                assertEquals(template + " -> " + uri, regex.matcher(uri).matches(), pattern.match(uri, 0, uri.length(), match));
+            }
+        }
+    }
+
+    @Test
+    public void copiesValuesOfGroupsToList() {
+        List<String> values = newArrayList("z");
+
+        new UriPattern("/a/{x}/{y}").match("/a/b/c/", 0, 7, match);
+        match.copyGroupsTo(values);
+
+        assertEquals(newArrayList("b", "c", "/"), values);
+    }
+
+    @Test
+    public void doesNotMatchEmptyUri() {
+        assertFalse(new UriPattern("/").match("", 0, 0, match));
+        assertFalse(new UriPattern("/").match("", new ArrayList<>()));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void throwsExceptionWhenGroupDoesNotExist() {
+        new UriPattern("/a/{x}").match("/a/b", 0, 4, match);
+
+        match.group(2);
+    }
+
+    @Test
+    public void matchesTheSamePatternFromSeveralThreads() throws Exception {
+        UriPattern pattern = new UriPattern("/a/{x}/{y:\\d+}");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                String x = "x" + i;
+                String y = Integer.toString(i);
+                results.add(executor.submit(() -> {
+                    for (int j = 0; j < 1000; j++) {
+                        UriMatch threadMatch = new UriMatch();
+                        String path = "/a/" + x + "/" + y;
+                        if (!pattern.match(path, 0, path.length(), threadMatch)
+                            || !x.equals(threadMatch.group(0)) || !y.equals(threadMatch.group(1))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.uri;
+
+import org.everrest.core.util.UriPatternComparator;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class UriPatternIndexTest {
+    private static final List<String> TEMPLATES = newArrayList("/", "/a", "/a/b", "/a/b/", "/a/{x}", "/a/{x:.*}", "/a{x:.*}",
+                                                               "/a/b/{x}/{y}", "/a/b{x}", "/{x}", "/{x}/b", "/a /{x}",
+                                                               "/{x:\\d+}.{y:\\d+}", "/a.b/{x}", "/a/b/c/d", "/x/y", "/x/{y}/z");
+
+    private static final List<String> PATHS = newArrayList("", "/", "/a", "/a/", "/a/b", "/a/b/", "/a/bc", "/a/b/c", "/a/b/c/d",
+                                                           "/a/b/c/d/e", "/ab", "/b", "/x/y", "/x/y/z", "/x/q/z", "/a%20/b",
+                                                           "/111.222", "/a.b/c", "/axb/c", "//a", "/a//b");
+
+    @Test
+    public void extractsLiteralSegmentsOfUriPattern() {
+        assertEquals(newArrayList(), UriPatternIndex.getLiteralSegments(new UriPattern("/")));
+        assertEquals(newArrayList("a", "b"), UriPatternIndex.getLiteralSegments(new UriPattern("/a/b")));
+        assertEquals(newArrayList("a", "b"), UriPatternIndex.getLiteralSegments(new UriPattern("/a/b/")));
+        assertEquals(newArrayList("a"), UriPatternIndex.getLiteralSegments(new UriPattern("/a/b{x}")));
+        assertEquals(newArrayList("a", "b"), UriPatternIndex.getLiteralSegments(new UriPattern("/a/b/{x}/c")));
+        assertEquals(newArrayList("a.b"), UriPatternIndex.getLiteralSegments(new UriPattern("/a.b/{x}")));
+        assertEquals(newArrayList(), UriPatternIndex.getLiteralSegments(new UriPattern("/{x}/b")));
+    }
+
+    @Test
+    public void returnsOnlyCandidatesWhichLiteralPrefixMatchesToPath() {
+        UriPatternIndex<UriPattern> index = createIndex(newArrayList(new UriPattern("/a/b"), new UriPattern("/x/y")));
+
+        assertEquals(newArrayList("/a/b"), getTemplates(index.getCandidates("/a/b/c")));
+        assertEquals(newArrayList("/x/y"), getTemplates(index.getCandidates("/x/y")));
+        assertTrue(index.getCandidates("/a").isEmpty());
+        assertTrue(index.getCandidates("/z").isEmpty());
+    }
+
+    @Test
+    public void keepsOrderOfPatternsInCandidates() {
+        List<UriPattern> patterns = createPatterns(TEMPLATES);
+        UriPatternIndex<UriPattern> index = createIndex(patterns);
+
+        List<UriPattern> candidates = index.getCandidates("/a/b/c/d");
+        assertEquals(patterns.stream().filter(candidates::contains).collect(toList()), candidates);
+    }
+
+    @Test
+    public void findsTheSameMatchedPatternAsLinearScan() {
+        List<UriPattern> patterns = createPatterns(TEMPLATES);
+        UriPatternIndex<UriPattern> index = createIndex(patterns);
+
+        for (String path : PATHS) {
+            assertEquals(String.format("Matched patterns for path %s", path),
+                         getMatched(patterns, path), getMatched(index.getCandidates(path), path));
+        }
+    }
+
+    private List<UriPattern> createPatterns(List<String> templates) {
+        List<UriPattern> patterns = templates.stream().map(UriPattern::new).collect(toList());
+        Collections.sort(patterns, new UriPatternComparator());
+        return patterns;
+    }
+
+    private UriPatternIndex<UriPattern> createIndex(List<UriPattern> patterns) {
+        return new UriPatternIndex<>(patterns, Function.identity());
+    }
+
+    private List<String> getTemplates(List<UriPattern> patterns) {
+        return patterns.stream().map(UriPattern::getTemplate).collect(toList());
+    }
+
+    private List<String> getMatched(List<UriPattern> patterns, String path) {
+        List<String> matched = new ArrayList<>();
+        List<String> parameters = new ArrayList<>();
+        for (UriPattern pattern : patterns) {
+            if (pattern.match(path, parameters)) {
+                matched.add(pattern.getTemplate() + " " + parameters);
+            }
+        }
+        return matched;
+    }
+}
@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class BufferPoolTest {
+    @Test
+    public void reusesReleasedBuffer() {
+        BufferPool pool = new BufferPool(16, 2);
+        byte[] buffer = pool.acquire();
+
+        pool.release(buffer);
+
+        assertEquals(1, pool.getPooledBufferCount());
+        assertSame(buffer, pool.acquire());
+        assertEquals(0, pool.getPooledBufferCount());
+    }
+
+    @Test
+    public void allocatesNewBufferWhenPoolIsEmpty() {
+        BufferPool pool = new BufferPool(16, 2);
+
+        byte[] buffer = pool.acquire();
+
+        assertEquals(16, buffer.length);
+        assertNotSame(buffer, pool.acquire());
+    }
+
+    @Test
+    public void doesNotKeepMoreBuffersThanLimit() {
+        BufferPool pool = new BufferPool(16, 2);
+
+        pool.release(new byte[16]);
+        pool.release(new byte[16]);
+        pool.release(new byte[16]);
+
+        assertEquals(2, pool.getPooledBufferCount());
+    }
+
+    @Test
+    public void ignoresBufferOfOtherSize() {
+        BufferPool pool = new BufferPool(16, 2);
+
+        pool.release(new byte[8]);
+
+        assertEquals(0, pool.getPooledBufferCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsInvalidBufferSize() {
+        new BufferPool(0, 2);
+    }
+}
@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MemoryBudgetTest {
+    @Test
+    public void reservesBytesUntilLimitIsReached() {
+        MemoryBudget budget = new MemoryBudget(16);
+
+        assertTrue(budget.tryReserve(10));
+        assertTrue(budget.tryReserve(6));
+        assertFalse(budget.tryReserve(1));
+        assertEquals(16, budget.getReserved());
+    }
+
+    @Test
+    public void releasedBytesMayBeReservedAgain() {
+        MemoryBudget budget = new MemoryBudget(16);
+        budget.tryReserve(16);
+
+        budget.release(8);
+
+        assertEquals(8, budget.getReserved());
+        assertTrue(budget.tryReserve(8));
+    }
+
+    @Test
+    public void doesNotReserveAnythingWhenRequestExceedsLimit() {
+        MemoryBudget budget = new MemoryBudget(16);
+
+        assertFalse(budget.tryReserve(17));
+        assertEquals(0, budget.getReserved());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNegativeLimit() {
+        new MemoryBudget(-1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNegativeNumberOfReservedBytes() {
+        new MemoryBudget(16).tryReserve(-1);
+    }
+}
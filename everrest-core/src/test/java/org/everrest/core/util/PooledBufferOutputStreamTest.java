@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.core.util;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class PooledBufferOutputStreamTest {
+    private BufferPool               bufferPool;
+    private PooledBufferOutputStream output;
+
+    @Before
+    public void setUp() throws Exception {
+        bufferPool = new BufferPool(4, 8);
+        output = new PooledBufferOutputStream(bufferPool);
+    }
+
+    @Test
+    public void splitsWrittenBytesInChunks() throws Exception {
+        output.write("hello".getBytes());
+        output.write(' ');
+        output.write("world".getBytes(), 0, 5);
+
+        assertEquals(11, output.size());
+        assertEquals(3, output.getChunkCount());
+        assertEquals(4, output.getChunkLength(0));
+        assertEquals(4, output.getChunkLength(1));
+        assertEquals(3, output.getChunkLength(2));
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        output.writeTo(target);
+        assertArrayEquals("hello world".getBytes(), target.toByteArray());
+    }
+
+    @Test
+    public void keepsContentWhenStreamIsClosed() throws Exception {
+        output.write("hello".getBytes());
+        output.close();
+
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        output.writeTo(target);
+        assertArrayEquals("hello".getBytes(), target.toByteArray());
+    }
+
+    @Test
+    public void returnsChunksToPoolWhenReleased() throws Exception {
+        output.write("hello world".getBytes());
+
+        output.release();
+
+        assertEquals(0, output.size());
+        assertEquals(0, output.getChunkCount());
+        assertEquals(3, bufferPool.getPooledBufferCount());
+    }
+
+    @Test
+    public void readsInputStreamDirectlyIntoChunks() throws Exception {
+        ByteArrayInputStream input = new ByteArrayInputStream("hello world".getBytes());
+
+        assertEquals(4, output.readFrom(input));
+        assertEquals(0, output.getChunkRemaining());
+        assertEquals(4, output.readFrom(input));
+        assertEquals(3, output.readFrom(input));
+        assertEquals(1, output.getChunkRemaining());
+        assertEquals(-1, output.readFrom(input));
+
+        ByteArrayOutputStream copy = new ByteArrayOutputStream();
+        output.writeTo(copy);
+        assertArrayEquals("hello world".getBytes(), copy.toByteArray());
+        assertEquals(11, output.size());
+    }
+}
@@ -0,0 +1,442 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.httpclient;
+
+import org.everrest.core.impl.client.ClientConnector;
+import org.everrest.core.impl.client.ClientRequest;
+import org.everrest.core.impl.client.ConnectorResponse;
+import org.everrest.core.impl.client.RequestEntityWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.net.ssl.SSLContext;
+import javax.ws.rs.core.MultivaluedMap;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.lang.String.CASE_INSENSITIVE_ORDER;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Connector based on {@link HttpClient}. One {@code HttpClient} is created for each everrest client with SSLContext of
+ * client and all requests share its pool of connections. With HTTP/2 requests to the same host are multiplexed over
+ * single connection. Connector may be set up with {@link org.everrest.core.impl.client.EverrestClientBuilder}:
+ * <pre>
+ * Client client = new EverrestClientBuilder()
+ *         .connector(() -&gt; HttpClientConnector.builder().maxRequestsPerHost(64).build())
+ *         .build();
+ * </pre>
+ * or with property {@link org.everrest.core.impl.client.EverrestClientBuilder#CLIENT_CONNECTOR}, in this case connector
+ * is created with default settings.
+ * <p>
+ * Requests that are sent with {@link org.everrest.core.impl.client.InvocationBuilder#rx()} do not block any thread while
+ * waiting for response or for permit of limit of requests per host, entity of response is received in memory and decoded
+ * by executor of client once response is completed.
+ * <p>
+ * Entity of request is buffered before sending. HostnameVerifier of client is not supported by {@code HttpClient} and
+ * is ignored.
+ */
+public class HttpClientConnector implements ClientConnector {
+    private static final Logger LOG = LoggerFactory.getLogger(HttpClientConnector.class);
+
+    /** Headers that are set by {@code HttpClient} itself and may not be set by application. */
+    private static final Set<String> RESTRICTED_HEADERS;
+
+    static {
+        Set<String> restrictedHeaders = new TreeSet<>(CASE_INSENSITIVE_ORDER);
+        Collections.addAll(restrictedHeaders, "Connection", "Content-Length", "Expect", "Host", "Upgrade");
+        RESTRICTED_HEADERS = Collections.unmodifiableSet(restrictedHeaders);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private HttpClient.Version version          = HttpClient.Version.HTTP_2;
+        private Duration           connectTimeout;
+        private Duration           requestTimeout;
+        private int                maxRequestsPerHost;
+        private Executor           executor;
+
+        private Builder() {
+        }
+
+        /** Preferred version of HTTP protocol, {@code HTTP_2} by default. Connector falls back to HTTP/1.1 if server does not support HTTP/2. */
+        public Builder version(HttpClient.Version version) {
+            this.version = requireNonNull(version);
+            return this;
+        }
+
+        /** Timeout to establish connection, not limited by default. */
+        public Builder connectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+            return this;
+        }
+
+        /** Timeout to receive headers of response, not limited by default. */
+        public Builder requestTimeout(Duration requestTimeout) {
+            this.requestTimeout = requestTimeout;
+            return this;
+        }
+
+        /**
+         * Max number of requests that are sent to the same host at the same time and wait for response. Other requests wait
+         * until one of requests gets response. Zero or negative value means no limit, it is default.
+         */
+        public Builder maxRequestsPerHost(int maxRequestsPerHost) {
+            this.maxRequestsPerHost = maxRequestsPerHost;
+            return this;
+        }
+
+        /** Executor for asynchronous tasks of {@code HttpClient}, by default {@code HttpClient} creates own executor. */
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public HttpClientConnector build() {
+            return new HttpClientConnector(this);
+        }
+    }
+
+    private final HttpClient.Version version;
+    private final Duration           connectTimeout;
+    private final Duration           requestTimeout;
+    private final int                maxRequestsPerHost;
+    private final Executor           executor;
+
+    private final ConcurrentMap<String, HostLimit> hostLimits;
+    private final LongAdder                        requests;
+    private final LongAdder                        failedRequests;
+    private final LongAdder                        http2Responses;
+    private final AtomicInteger                    activeRequests;
+
+    private volatile HttpClient httpClient;
+
+    /** Creates connector with default settings. */
+    public HttpClientConnector() {
+        this(new Builder());
+    }
+
+    private HttpClientConnector(Builder builder) {
+        version = builder.version;
+        connectTimeout = builder.connectTimeout;
+        requestTimeout = builder.requestTimeout;
+        maxRequestsPerHost = builder.maxRequestsPerHost;
+        executor = builder.executor;
+        hostLimits = new ConcurrentHashMap<>();
+        requests = new LongAdder();
+        failedRequests = new LongAdder();
+        http2Responses = new LongAdder();
+        activeRequests = new AtomicInteger();
+    }
+
+    @Override
+    public ConnectorResponse send(ClientRequest request, RequestEntityWriter entityWriter) throws IOException {
+        HttpClient httpClient = getHttpClient(request.getClient().getSslContext());
+        HttpRequest httpRequest = buildRequest(request, entityWriter);
+        HostLimit hostLimit = awaitHostLimit(httpRequest.uri());
+        activeRequests.incrementAndGet();
+        requests.increment();
+        try {
+            HttpResponse<InputStream> response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofInputStream());
+            if (response.version() == HttpClient.Version.HTTP_2) {
+                http2Responses.increment();
+            }
+            // Stream of HttpClient may report zero available bytes before data is received, buffered stream supports mark
+            // and lets check whether entity is empty without consuming it
+            InputStream entityStream = new BufferedInputStream(response.body());
+            return new ConnectorResponse(response.statusCode(), readHeaders(response), () -> entityStream);
+        } catch (InterruptedException e) {
+            failedRequests.increment();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(String.format("Request to %s was interrupted", httpRequest.uri()));
+        } catch (IOException | RuntimeException e) {
+            failedRequests.increment();
+            throw e;
+        } finally {
+            activeRequests.decrementAndGet();
+            if (hostLimit != null) {
+                hostLimit.release();
+            }
+        }
+    }
+
+    /**
+     * Sends request with {@link HttpClient#sendAsync(HttpRequest, HttpResponse.BodyHandler)}. Returned stage is completed
+     * when entity of response is received, no thread waits for response and for permit of limit of requests per host.
+     */
+    @Override
+    public CompletionStage<ConnectorResponse> sendAsync(ClientRequest request, RequestEntityWriter entityWriter, Executor executor) {
+        HttpClient httpClient = getHttpClient(request.getClient().getSslContext());
+        HttpRequest httpRequest;
+        try {
+            httpRequest = buildRequest(request, entityWriter);
+        } catch (IOException | RuntimeException e) {
+            return failedStage(e);
+        }
+        CompletableFuture<HostLimit> hostLimitPermit;
+        if (maxRequestsPerHost > 0) {
+            hostLimitPermit = getHostLimit(httpRequest.uri()).acquire();
+        } else {
+            hostLimitPermit = CompletableFuture.completedFuture(null);
+        }
+        return hostLimitPermit.thenCompose(hostLimit -> {
+            activeRequests.incrementAndGet();
+            requests.increment();
+            CompletableFuture<HttpResponse<byte[]>> response;
+            try {
+                response = httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofByteArray());
+            } catch (RuntimeException e) {
+                requestCompleted(hostLimit, null, e);
+                throw e;
+            }
+            return response.whenComplete((theResponse, error) -> requestCompleted(hostLimit, theResponse, error));
+        }).thenApply(response -> {
+            InputStream entityStream = new ByteArrayInputStream(response.body());
+            return new ConnectorResponse(response.statusCode(), readHeaders(response), () -> entityStream);
+        });
+    }
+
+    private void requestCompleted(HostLimit hostLimit, HttpResponse<?> response, Throwable error) {
+        activeRequests.decrementAndGet();
+        if (hostLimit != null) {
+            hostLimit.release();
+        }
+        if (error != null) {
+            failedRequests.increment();
+        } else if (response.version() == HttpClient.Version.HTTP_2) {
+            http2Responses.increment();
+        }
+    }
+
+    private static <T> CompletionStage<T> failedStage(Throwable error) {
+        CompletableFuture<T> failed = new CompletableFuture<>();
+        failed.completeExceptionally(error);
+        return failed;
+    }
+
+    private HttpRequest buildRequest(ClientRequest request, RequestEntityWriter entityWriter) throws IOException {
+        HttpRequest.Builder httpRequestBuilder = HttpRequest.newBuilder(request.getUri());
+        if (requestTimeout != null) {
+            httpRequestBuilder.timeout(requestTimeout);
+        }
+        HttpRequest.BodyPublisher body;
+        if (entityWriter == null) {
+            body = HttpRequest.BodyPublishers.noBody();
+        } else {
+            ByteArrayOutputStream entity = new ByteArrayOutputStream();
+            entityWriter.writeEntity(() -> entity, event -> {});
+            body = HttpRequest.BodyPublishers.ofByteArray(entity.toByteArray());
+        }
+        writeHeaders(request.getStringHeaders(), httpRequestBuilder);
+        return httpRequestBuilder.method(request.getMethod(), body).build();
+    }
+
+    private HttpClient getHttpClient(SSLContext sslContext) {
+        HttpClient theHttpClient = httpClient;
+        if (theHttpClient == null) {
+            synchronized (this) {
+                theHttpClient = httpClient;
+                if (theHttpClient == null) {
+                    HttpClient.Builder httpClientBuilder = HttpClient.newBuilder()
+                                                                     .version(version)
+                                                                     .followRedirects(HttpClient.Redirect.NEVER);
+                    if (sslContext != null) {
+                        httpClientBuilder.sslContext(sslContext);
+                    }
+                    if (connectTimeout != null) {
+                        httpClientBuilder.connectTimeout(connectTimeout);
+                    }
+                    if (executor != null) {
+                        httpClientBuilder.executor(executor);
+                    }
+                    httpClient = theHttpClient = httpClientBuilder.build();
+                }
+            }
+        }
+        return theHttpClient;
+    }
+
+    private void writeHeaders(MultivaluedMap<String, String> requestHeaders, HttpRequest.Builder httpRequestBuilder) {
+        requestHeaders.forEach((name, values) -> {
+            if (RESTRICTED_HEADERS.contains(name) || values.isEmpty()) {
+                return;
+            }
+            try {
+                httpRequestBuilder.setHeader(name, values.size() > 1 ? String.join(",", values) : values.get(0));
+            } catch (IllegalArgumentException e) {
+                // Set of restricted headers differs between updates of Java 11, e.g. early ones reject Date and Via
+                LOG.debug("Header {} is not sent, {}", name, e.getMessage());
+            }
+        });
+    }
+
+    private Map<String, List<String>> readHeaders(HttpResponse<?> response) {
+        Map<String, List<String>> headers = new TreeMap<>(CASE_INSENSITIVE_ORDER);
+        response.headers().map().forEach((name, values) -> {
+            // skip HTTP/2 pseudo-headers, e.g. :status
+            if (!name.startsWith(":")) {
+                headers.put(name, values);
+            }
+        });
+        return headers;
+    }
+
+    private HostLimit awaitHostLimit(URI uri) throws InterruptedIOException {
+        if (maxRequestsPerHost <= 0) {
+            return null;
+        }
+        HostLimit hostLimit = getHostLimit(uri);
+        CompletableFuture<HostLimit> permit = hostLimit.acquire();
+        try {
+            return permit.get();
+        } catch (InterruptedException e) {
+            if (!permit.cancel(false)) {
+                // permit was granted while thread was interrupted
+                hostLimit.release();
+            }
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(String.format("Interrupted while waiting to send request to %s", uri));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private HostLimit getHostLimit(URI uri) {
+        return hostLimits.computeIfAbsent(authority(uri), host -> new HostLimit(maxRequestsPerHost));
+    }
+
+    private static String authority(URI uri) {
+        return uri.getScheme() + "://" + uri.getHost() + ':' + uri.getPort();
+    }
+
+    /** Number of requests sent by this connector. */
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    /** Number of requests that failed without response. */
+    public long getFailedRequestCount() {
+        return failedRequests.sum();
+    }
+
+    /** Number of responses received over HTTP/2. */
+    public long getHttp2ResponseCount() {
+        return http2Responses.sum();
+    }
+
+    /** Number of requests that are sent and wait for response. */
+    public int getActiveRequests() {
+        return activeRequests.get();
+    }
+
+    /** Number of requests that wait until limit of requests per host allows to send them. */
+    public int getWaitingRequests() {
+        return hostLimits.values().stream().mapToInt(HostLimit::getWaiting).sum();
+    }
+
+    /**
+     * Number of requests that wait for response for each host. Map is empty if number of requests per host is not
+     * limited.
+     */
+    public Map<String, Integer> getActiveRequestsPerHost() {
+        Map<String, Integer> activeRequestsPerHost = new TreeMap<>();
+        hostLimits.forEach((host, limit) -> activeRequestsPerHost.put(host, limit.getActive()));
+        return activeRequestsPerHost;
+    }
+
+    @Override
+    public void close() {
+        HttpClient theHttpClient = httpClient;
+        httpClient = null;
+        // HttpClient may be closed since JDK 21, with earlier JDK its connections are released when it is garbage collected
+        if (theHttpClient instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable)theHttpClient).close();
+            } catch (Exception ignored) {
+            }
+        }
+    }
+
+    /**
+     * Limit of requests per host. Requests that exceed limit wait in queue for permit without blocking of thread, permit
+     * of completed request is passed to the next request in queue.
+     */
+    private static final class HostLimit {
+        private final int                                  maxRequests;
+        private final Deque<CompletableFuture<HostLimit>> waiting;
+        private int                                        active;
+
+        HostLimit(int maxRequests) {
+            this.maxRequests = maxRequests;
+            this.waiting = new ArrayDeque<>();
+        }
+
+        synchronized CompletableFuture<HostLimit> acquire() {
+            if (active < maxRequests) {
+                active++;
+                return CompletableFuture.completedFuture(this);
+            }
+            CompletableFuture<HostLimit> permit = new CompletableFuture<>();
+            waiting.add(permit);
+            return permit;
+        }
+
+        void release() {
+            CompletableFuture<HostLimit> next;
+            do {
+                synchronized (this) {
+                    next = waiting.poll();
+                    if (next == null) {
+                        active--;
+                        return;
+                    }
+                }
+                // next request keeps permit, skip requests that are cancelled while waiting
+            } while (!next.complete(this));
+        }
+
+        synchronized int getActive() {
+            return active;
+        }
+
+        synchronized int getWaiting() {
+            return waiting.size();
+        }
+    }
+}
@@ -0,0 +1,244 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.everrest.httpclient;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.everrest.core.impl.client.EverrestClientBuilder;
+import org.everrest.core.impl.client.InvocationBuilder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.Response;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class HttpClientConnectorTest {
+    private HttpServer      server;
+    private ExecutorService serverExecutor;
+    private CountDownLatch  blockResponse;
+    private String          baseUri;
+
+    @Before
+    public void setUp() throws Exception {
+        blockResponse = new CountDownLatch(0);
+        serverExecutor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(serverExecutor);
+        server.createContext("/echo", this::echo);
+        server.start();
+        baseUri = String.format("http://localhost:%d", server.getAddress().getPort());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    private void echo(HttpExchange exchange) throws IOException {
+        try {
+            blockResponse.await(10, SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] body = exchange.getRequestBody().readAllBytes();
+        if (body.length == 0) {
+            body = exchange.getRequestMethod().getBytes(UTF_8);
+        }
+        String echoHeader = exchange.getRequestHeaders().getFirst("X-Echo");
+        if (echoHeader != null) {
+            exchange.getResponseHeaders().add("X-Echo", echoHeader);
+        }
+        exchange.getResponseHeaders().add("Content-Type", "text/plain");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+
+    @Test
+    public void sendsRequestWithoutEntity() {
+        HttpClientConnector connector = new HttpClientConnector();
+        Client client = new EverrestClientBuilder().connector(() -> connector).build();
+        try {
+            Response response = client.target(baseUri).path("echo").request().header("X-Echo", "hello").get();
+
+            assertEquals(200, response.getStatus());
+            assertEquals("hello", response.getHeaderString("X-Echo"));
+            assertEquals("GET", response.readEntity(String.class));
+            assertEquals(1, connector.getRequestCount());
+            assertEquals(0, connector.getActiveRequests());
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void sendsRequestWithHeadersRestrictedByEarlyUpdatesOfJava11() {
+        Client client = new EverrestClientBuilder().property(EverrestClientBuilder.CLIENT_CONNECTOR, HttpClientConnector.class).build();
+        try {
+            Response response = client.target(baseUri).path("echo").request()
+                                      .header("Date", "Tue, 15 Nov 1994 08:12:31 GMT")
+                                      .header("X-Echo", "hello")
+                                      .get();
+
+            assertEquals(200, response.getStatus());
+            assertEquals("hello", response.getHeaderString("X-Echo"));
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void sendsRequestWithEntity() {
+        Client client = new EverrestClientBuilder().property(EverrestClientBuilder.CLIENT_CONNECTOR, HttpClientConnector.class).build();
+        try {
+            Response response = client.target(baseUri).path("echo").request().post(Entity.text("to be or not to be"));
+
+            assertEquals(200, response.getStatus());
+            assertEquals("to be or not to be", response.readEntity(String.class));
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void limitsNumberOfRequestsPerHost() throws Exception {
+        blockResponse = new CountDownLatch(1);
+        HttpClientConnector connector = HttpClientConnector.builder().maxRequestsPerHost(1).build();
+        Client client = new EverrestClientBuilder().connector(() -> connector).build();
+        try {
+            Future<Response> first = client.target(baseUri).path("echo").request().async().get();
+            Future<Response> second = client.target(baseUri).path("echo").request().async().get();
+            waitFor(() -> connector.getActiveRequests() == 1 && connector.getWaitingRequests() == 1);
+            assertEquals(1, (int)connector.getActiveRequestsPerHost().get(baseUri));
+
+            blockResponse.countDown();
+
+            assertEquals(200, first.get(10, SECONDS).getStatus());
+            assertEquals(200, second.get(10, SECONDS).getStatus());
+            assertEquals(0, connector.getWaitingRequests());
+            assertEquals(0, (int)connector.getActiveRequestsPerHost().get(baseUri));
+        } finally {
+            blockResponse.countDown();
+            client.close();
+        }
+    }
+
+    @Test
+    public void sendsRequestsWithReactiveInvokerWithoutBlockingOfExecutor() throws Exception {
+        blockResponse = new CountDownLatch(1);
+        HttpClientConnector connector = HttpClientConnector.builder().maxRequestsPerHost(2).build();
+        Client client = new EverrestClientBuilder().connector(() -> connector)
+                                                   .property(EverrestClientBuilder.CLIENT_EXECUTOR_POOL_SIZE, 1)
+                                                   .build();
+        try {
+            List<CompletableFuture<String>> responses = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                InvocationBuilder request = (InvocationBuilder)client.target(baseUri).path("echo").request();
+                responses.add(request.rx().get(String.class).toCompletableFuture());
+            }
+            waitFor(() -> connector.getActiveRequests() == 2 && connector.getWaitingRequests() == 8);
+
+            blockResponse.countDown();
+
+            for (CompletableFuture<String> response : responses) {
+                assertEquals("GET", response.get(10, SECONDS));
+            }
+            assertEquals(10, connector.getRequestCount());
+            assertEquals(0, connector.getWaitingRequests());
+        } finally {
+            blockResponse.countDown();
+            client.close();
+        }
+    }
+
+    @Test
+    public void countsFailedRequests() throws Exception {
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+        HttpClientConnector connector = new HttpClientConnector();
+        Client client = new EverrestClientBuilder().connector(() -> connector).build();
+        try {
+            client.target(String.format("http://localhost:%d/echo", closedPort)).request().get();
+            fail("ProcessingException expected");
+        } catch (ProcessingException expected) {
+            assertEquals(1, connector.getFailedRequestCount());
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void releasesPermitOfHostLimitWhenHttpClientFailsToSendRequest() throws Exception {
+        HttpClientConnector connector = HttpClientConnector.builder()
+                                                           .maxRequestsPerHost(1)
+                                                           .executor(task -> {
+                                                               throw new RejectedExecutionException();
+                                                           })
+                                                           .build();
+        Client client = new EverrestClientBuilder().connector(() -> connector).build();
+        try {
+            for (int i = 0; i < 2; i++) {
+                InvocationBuilder request = (InvocationBuilder)client.target(baseUri).path("echo").request();
+                CompletableFuture<Response> response = request.rx().get().toCompletableFuture();
+                try {
+                    response.get(10, SECONDS);
+                    fail("ExecutionException expected");
+                } catch (ExecutionException expected) {
+                    assertTrue(expected.getCause() instanceof RejectedExecutionException);
+                }
+            }
+            assertEquals(2, connector.getFailedRequestCount());
+            assertEquals(0, connector.getActiveRequests());
+            assertEquals(0, connector.getWaitingRequests());
+            assertEquals(0, (int)connector.getActiveRequestsPerHost().get(baseUri));
+        } finally {
+            client.close();
+        }
+    }
+
+    private void waitFor(Condition condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + SECONDS.toMillis(10);
+        while (!condition.isTrue() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.isTrue());
+    }
+
+    private interface Condition {
+        boolean isTrue();
+    }
+}